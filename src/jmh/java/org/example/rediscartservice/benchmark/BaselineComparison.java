@@ -0,0 +1,125 @@
+package org.example.rediscartservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares a JMH JSON result with the baseline recorded on this machine and prints one line per benchmark:
+ * baseline score, current score and the change, signed so that positive always means slower
+ * (avgt/sample/ss: higher score is worse; thrpt: lower score is worse).
+ *
+ * Usage: {@code BaselineComparison <result.json> <baseline.json> <tolerance> <failOnRegression> <update>}
+ *  - tolerance       : relative slowdown flagged as a regression, e.g. 0.25
+ *  - failOnRegression: exit 1 when any benchmark regressed (CI on the reference machine)
+ *  - update          : copy the result over the baseline instead of comparing
+ *
+ * Benchmarks missing from either side are listed but never fail the run.
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        boolean failOnRegression = Boolean.parseBoolean(args[3]);
+        boolean update = Boolean.parseBoolean(args[4]);
+
+        if (!Files.exists(result)) {
+            System.out.println("No JMH result at " + result + ", nothing to compare");
+            return;
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        if (update || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            mapper.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), withoutRawData(mapper.readTree(result.toFile())));
+            System.out.println("Baseline written to " + baseline);
+            return;
+        }
+
+        Map<String, JsonNode> before = index(mapper.readTree(baseline.toFile()));
+        Map<String, JsonNode> after = index(mapper.readTree(result.toFile()));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> e : after.entrySet()) {
+            JsonNode old = before.get(e.getKey());
+            double current = score(e.getValue());
+            String unit = e.getValue().path("primaryMetric").path("scoreUnit").asText();
+            if (old == null) {
+                System.out.printf(Locale.ROOT, "%-90s %14s %14.3f %9s  %s%n", e.getKey(), "-", current, "new", unit);
+                continue;
+            }
+            double change = slowdown(e.getValue().path("mode").asText(), score(old), current);
+            boolean regressed = change > tolerance;
+            if (regressed) regressions++;
+            System.out.printf(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    e.getKey(), score(old), current, change * 100, unit, regressed ? "  REGRESSION" : "");
+        }
+        for (String gone : before.keySet()) {
+            if (!after.containsKey(gone)) System.out.printf(Locale.ROOT, "%-90s (not run)%n", gone);
+        }
+
+        System.out.printf(Locale.ROOT, "%d regression(s) beyond %.0f%%%n", regressions, tolerance * 100);
+        if (regressions > 0 && failOnRegression) {
+            System.exit(1);
+        }
+    }
+
+    // ---------- helpers ----------
+
+    static double slowdown(String mode, double baseline, double current) {
+        if (baseline == 0) return 0;
+        return "thrpt".equals(mode) ? (baseline - current) / baseline : (current - baseline) / baseline;
+    }
+
+    // Per-iteration samples and percentiles make up most of the file and are not needed to compare scores
+    private static JsonNode withoutRawData(JsonNode runs) {
+        for (JsonNode run : runs) {
+            stripRaw(run.path("primaryMetric"));
+            run.path("secondaryMetrics").forEach(BaselineComparison::stripRaw);
+        }
+        return runs;
+    }
+
+    private static void stripRaw(JsonNode metric) {
+        if (metric instanceof ObjectNode o) {
+            o.remove("rawData");
+            o.remove("rawDataHistogram");
+            o.remove("scorePercentiles");
+        }
+    }
+
+    private static double score(JsonNode run) {
+        return run.path("primaryMetric").path("score").asDouble();
+    }
+
+    // "fqcn.method" plus its params, e.g. "...RedisJsonMapperBenchmark.streamFromBytes{descriptionLength=160}"
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject() && !params.isEmpty()) {
+                StringJoiner joined = new StringJoiner(",", "{", "}");
+                for (Map.Entry<String, JsonNode> p : params.properties()) {
+                    joined.add(p.getKey() + '=' + p.getValue().asText());
+                }
+                key.append(joined);
+            }
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.rediscartservice.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.application.cart.CartService;
+import org.example.rediscartservice.application.product.ProductService;
+import org.example.rediscartservice.application.product.RequestCoalescer;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.port.cart.AsyncCartRepository;
+import org.example.rediscartservice.domain.port.product.AsyncProductRepository;
+import org.example.rediscartservice.domain.port.product.ProductQueryCache;
+import org.example.rediscartservice.infrastructure.memory.cart.InMemoryCartRepository;
+import org.example.rediscartservice.infrastructure.session.InMemorySessionOwnerRegistry;
+import org.example.rediscartservice.web.cart.CartController;
+import org.example.rediscartservice.web.cart.dto.AddCartItemRequest;
+import org.example.rediscartservice.web.cart.dto.CartItemDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CartController endpoints over the real CartService and InMemoryCartRepository, i.e. the web and
+ * service cost of a cart request without Redis:
+ *  - getCart   : read and map a cart of {@code lines} items
+ *  - addProduct: product lookup, line snapshot (description shortened to 160 characters: below, at
+ *                and well above the limit) and the mapped cart that comes back
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartControllerBenchmark {
+
+    @Param({"1", "20"})
+    int lines;
+
+    @Param({"40", "160", "2000"})
+    int descriptionLength;
+
+    private InMemoryCartRepository carts;
+    private CartController controller;
+    private MockHttpSession session;
+    private AddCartItemRequest add;
+
+    @Setup
+    public void setUp() {
+        String description = "  " + "Soft cotton hoodie ".repeat(descriptionLength / 19 + 1).substring(0, descriptionLength) + "  ";
+        InMemoryCatalog products = new InMemoryCatalog();
+        for (int i = 0; i < lines; i++) {
+            products.save(Product.builder()
+                    .id("product-" + i)
+                    .sku("SKU-" + i)
+                    .name("Classic Hoodie " + i)
+                    .description(description)
+                    .price(new BigDecimal("39.99"))
+                    .build());
+        }
+
+        StaticListableBeanFactory none = new StaticListableBeanFactory();
+        carts = new InMemoryCartRepository(Duration.ofHours(1));
+        CartService service = new CartService(carts,
+                new ProductService(products, ProductQueryCache.disabled(), new RequestCoalescer(new SimpleMeterRegistry()),
+                        none.getBeanProvider(AsyncProductRepository.class)),
+                none.getBeanProvider(AsyncCartRepository.class));
+        controller = new CartController(service, new InMemorySessionOwnerRegistry(100, Duration.ofHours(1)));
+
+        session = new MockHttpSession(null, "bench-session");
+        for (int i = 0; i < lines; i++) {
+            AddCartItemRequest line = new AddCartItemRequest();
+            line.setProductId("product-" + i);
+            line.setAmount(1);
+            controller.addProduct(session, line);
+        }
+        add = new AddCartItemRequest();
+        add.setProductId("product-0");
+        add.setAmount(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        carts.close();
+    }
+
+    @Benchmark
+    public List<CartItemDto> getCart() {
+        return controller.getCart(session).getBody();
+    }
+
+    @Benchmark
+    public List<CartItemDto> addProduct() {
+        return controller.addProduct(session, add).getBody();
+    }
+}
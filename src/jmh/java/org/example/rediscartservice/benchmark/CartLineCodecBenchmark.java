@@ -0,0 +1,87 @@
+package org.example.rediscartservice.benchmark;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.redis.cart.CartLineCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read path of one cart line, starting from the bytes Jedis receives:
+ *  - hashLine  : HASH format. Six field/value pairs are decoded to Strings (as Jedis' hgetAll does),
+ *                then amount / total_price are parsed (as JedisCartRepository.toCartItem does)
+ *  - binaryLine: BINARY format, decoded by a reused CartLineCodec.Decoder
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes/op).
+ * {@link #hashPayloadBytes} / {@link #binaryPayloadBytes} are the field + value bytes each format stores per line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartLineCodecBenchmark {
+
+    private static final String CART_ID = "5b7f3f0e-2f7e-4a43-9c36-1f6f0f5b8e21";
+    private static final String PRODUCT_ID = "38c844a4-0ab0-4e0f-8d63-c7129bf97578";
+
+    private final Map<byte[], byte[]> hashReply = new LinkedHashMap<>();
+    private byte[] binaryReply;
+    private final CartLineCodec.Decoder decoder = new CartLineCodec.Decoder();
+
+    public int hashPayloadBytes;
+    public int binaryPayloadBytes;
+
+    @Setup
+    public void setUp() {
+        CartItem item = CartItem.builder()
+                .productId(PRODUCT_ID)
+                .name("Classic Hoodie")
+                .shortDescription("Soft cotton-blend hoodie with kangaroo pocket and adjustable drawstring hood.")
+                .amount(2)
+                .totalPrice(new BigDecimal("79.98"))
+                .build();
+
+        put("cart_id", CART_ID);
+        put("product_id", PRODUCT_ID);
+        put("name", item.getName());
+        put("short_desc", item.getShortDescription());
+        put("amount", String.valueOf(item.getAmount()));
+        put("total_price", item.getTotalPrice().toPlainString());
+        hashReply.forEach((k, v) -> hashPayloadBytes += k.length + v.length);
+
+        binaryReply = CartLineCodec.encode(item);
+        binaryPayloadBytes = PRODUCT_ID.length() + binaryReply.length;   // hash field + blob
+        System.out.printf("%npayload bytes per line: hash=%d binary=%d%n", hashPayloadBytes, binaryPayloadBytes);
+    }
+
+    @Benchmark
+    public CartItem hashLine() {
+        Map<String, String> h = new HashMap<>();
+        for (Map.Entry<byte[], byte[]> e : hashReply.entrySet()) {
+            h.put(new String(e.getKey(), StandardCharsets.UTF_8), new String(e.getValue(), StandardCharsets.UTF_8));
+        }
+        return CartItem.builder()
+                .productId(PRODUCT_ID)
+                .name(h.getOrDefault("name", ""))
+                .shortDescription(h.getOrDefault("short_desc", ""))
+                .amount(Integer.parseInt(h.get("amount")))
+                .totalPrice(new BigDecimal(h.get("total_price")).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    @Benchmark
+    public CartItem binaryLine() {
+        return decoder.decode(PRODUCT_ID, binaryReply);
+    }
+
+    private void put(String field, String value) {
+        hashReply.put(field.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.rediscartservice.benchmark;
+
+import org.example.rediscartservice.config.CartStorageProperties;
+import org.example.rediscartservice.config.CartStorageProperties.LineFormat;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.redis.cart.CartIndexBootstrap;
+import org.example.rediscartservice.infrastructure.redis.cart.JedisCartRepository;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.openjdk.jmh.annotations.*;
+import redis.clients.jedis.JedisPooled;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JedisCartRepository end to end over a real socket, against the in-process RESP stand-in:
+ *  - read     : findBySession on a cart of {@link #lines} lines (HASH: SMEMBERS + one HGETALL per line,
+ *               BINARY: one HGETALL)
+ *  - addRemove: add then remove one line (steady state, the cart does not grow)
+ *  - search   : searchByShortDescription (HASH: FT.SEARCH, BINARY: read + in-memory filter)
+ * The stand-in answers from memory, so the scores are client + protocol + round-trip cost; compare
+ * formats with each other, not with a real Redis. {@link #commandsPerRead} is the command count of one read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartRepositoryRoundTripBenchmark {
+
+    private static final int SESSIONS = 100;
+
+    @Param({"HASH", "BINARY"})
+    LineFormat lineFormat;
+
+    @Param({"5"})
+    int lines;
+
+    private RespServer server;
+    private JedisPooled jedis;
+    private JedisCartRepository repository;
+
+    public long commandsPerRead;
+
+    @Setup
+    public void setUp() {
+        server = RespServer.start();
+        jedis = new JedisPooled(server.host(), server.port());
+        CartIndexBootstrap.createIndex(jedis);
+
+        CartStorageProperties storage = new CartStorageProperties();
+        storage.setLineFormat(lineFormat);
+        repository = new JedisCartRepository(jedis, storage, ReplicaRouter.primaryOnly(jedis));
+        for (int s = 0; s < SESSIONS; s++) {
+            for (int l = 0; l < lines; l++) {
+                repository.add(session(s), item("p-" + l, l % 2 == 0 ? "Black Mug" : "Tea Spoon"));
+            }
+        }
+
+        server.resetCounts();
+        repository.findBySession(session(0));
+        commandsPerRead = server.totalCommands();
+        System.out.printf("%nRedis commands per read (%s, %d lines): %d%n", lineFormat, lines, commandsPerRead);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jedis.close();
+        server.close();
+    }
+
+    @Benchmark
+    public List<CartItem> read() {
+        return repository.findBySession(randomSession());
+    }
+
+    @Benchmark
+    public void addRemove() {
+        String session = randomSession();
+        repository.add(session, item("p-extra", "Water Bottle"));
+        repository.remove(session, "p-extra");
+    }
+
+    @Benchmark
+    public List<CartItem> search() {
+        return repository.searchByShortDescription(randomSession(), "mug");
+    }
+
+    private static String randomSession() {
+        return session(ThreadLocalRandom.current().nextInt(SESSIONS));
+    }
+
+    private static String session(int i) {
+        return "bench-session-" + i;
+    }
+
+    private static CartItem item(String productId, String name) {
+        return CartItem.builder()
+                .productId(productId)
+                .name(name)
+                .shortDescription(name.toLowerCase() + ", dishwasher safe")
+                .amount(1)
+                .totalPrice(new BigDecimal("9.99"))
+                .build();
+    }
+}
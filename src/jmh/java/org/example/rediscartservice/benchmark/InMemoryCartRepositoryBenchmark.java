@@ -0,0 +1,89 @@
+package org.example.rediscartservice.benchmark;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.memory.cart.InMemoryCartRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemoryCartRepository on the same workload as {@link CartRepositoryRoundTripBenchmark}, i.e. the
+ * floor the Redis adapters are measured against (no client, protocol or network cost):
+ *  - read / addRemove / search as there
+ *  - report: sessionsWithItemCountGreaterThan over {@value #SESSIONS} carts, a quarter above the threshold
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryCartRepositoryBenchmark {
+
+    private static final int SESSIONS = 100;
+
+    @Param({"5"})
+    int lines;
+
+    private InMemoryCartRepository repository;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryCartRepository(Duration.ofHours(1));
+        for (int s = 0; s < SESSIONS; s++) {
+            int count = s % 4 == 0 ? lines + 1 : lines;
+            for (int l = 0; l < count; l++) {
+                repository.add(session(s), item("p-" + l, l % 2 == 0 ? "Black Mug" : "Tea Spoon"));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    public List<CartItem> read() {
+        return repository.findBySession(randomSession());
+    }
+
+    @Benchmark
+    public void addRemove() {
+        String session = randomSession();
+        repository.add(session, item("p-extra", "Water Bottle"));
+        repository.remove(session, "p-extra");
+    }
+
+    @Benchmark
+    public List<CartItem> search() {
+        return repository.searchByShortDescription(randomSession(), "mug");
+    }
+
+    @Benchmark
+    public List<String> report() {
+        return repository.sessionsWithItemCountGreaterThan(lines);
+    }
+
+    private static String randomSession() {
+        return session(ThreadLocalRandom.current().nextInt(SESSIONS));
+    }
+
+    private static String session(int i) {
+        return "bench-session-" + i;
+    }
+
+    private static CartItem item(String productId, String name) {
+        return CartItem.builder()
+                .productId(productId)
+                .name(name)
+                .shortDescription(name.toLowerCase() + ", dishwasher safe")
+                .amount(1)
+                .totalPrice(new BigDecimal("9.99"))
+                .build();
+    }
+}
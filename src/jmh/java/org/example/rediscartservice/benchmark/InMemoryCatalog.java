@@ -0,0 +1,99 @@
+package org.example.rediscartservice.benchmark;
+
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.domain.port.product.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read side of the product port from a map; writes other than save are not part of any benchmark.
+ * Not thread-safe: benchmarks fill it in {@code @Setup} and only read afterwards.
+ */
+final class InMemoryCatalog implements ProductRepository {
+
+    private final Map<String, Product> byId = new LinkedHashMap<>();
+
+    List<String> ids() {
+        return List.copyOf(byId.keySet());
+    }
+
+    @Override
+    public Product save(Product product) {
+        byId.put(product.getId(), product);
+        return product;
+    }
+
+    @Override
+    public boolean patch(String id, ProductPatch patch) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return byId.containsKey(id);
+    }
+
+    @Override
+    public List<Product> findAllByIds(List<String> ids) {
+        List<Product> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Product p = byId.get(id);
+            if (p != null) found.add(p);
+        }
+        return found;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return byId.values().stream().filter(p -> sku.equals(p.getSku())).findFirst();
+    }
+
+    @Override
+    public List<Product> findAllBySkus(List<String> skus) {
+        return skus.stream().flatMap(sku -> findBySku(sku).stream()).toList();
+    }
+
+    @Override
+    public List<ProductSearchHit> searchByName(String textQuery, SearchMode mode, int distance, Set<ProductField> fields) {
+        List<ProductSearchHit> hits = new ArrayList<>(byId.size());
+        int rank = 0;
+        for (Product p : byId.values()) {
+            hits.add(new ProductSearchHit(p, 1.0 / ++rank));
+        }
+        return hits;
+    }
+
+    @Override
+    public List<ProductSearchHit> searchByDescription(String textQuery, SearchMode mode, int distance, Set<ProductField> fields) {
+        return searchByName(textQuery, mode, distance, fields);
+    }
+
+    @Override
+    public List<Product> findAll(int offset, int s) {
+        return List.copyOf(byId.values()).subList(offset, Math.min(byId.size(), offset + s));
+    }
+
+    @Override
+    public List<Product> findAll(int offset, int s, Set<ProductField> fields) {
+        return findAll(offset, s);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.rediscartservice.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.application.product.ProductService;
+import org.example.rediscartservice.application.product.RequestCoalescer;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.domain.port.product.AsyncProductRepository;
+import org.example.rediscartservice.domain.port.product.ProductQueryCache;
+import org.example.rediscartservice.web.product.ProductController;
+import org.example.rediscartservice.web.product.dto.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductController endpoints over the real ProductService (coalescer, request-order reassembly)
+ * with the repository answering from memory, i.e. the web and service cost of a page of results
+ * without Redis:
+ *  - getAll      : batch lookup by id, one response per product
+ *  - searchByName: scored search, one response plus the score copy per hit
+ *  - listAll     : paged list
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductControllerBenchmark {
+
+    private static final int PAGE = 20;
+
+    private ProductController controller;
+    private List<String> ids;
+
+    @Setup
+    public void setUp() {
+        InMemoryCatalog catalog = new InMemoryCatalog();
+        for (int i = 0; i < PAGE; i++) {
+            catalog.save(Product.builder()
+                    .id("38c844a4-0ab0-4e0f-8d63-c7129bf975" + (10 + i))
+                    .sku("SKU-" + i)
+                    .name("Classic Hoodie " + i)
+                    .description("Soft cotton hoodie with a kangaroo pocket")
+                    .price(new BigDecimal("39.99"))
+                    .build());
+        }
+        ids = List.copyOf(catalog.ids()).reversed();
+        ProductService service = new ProductService(catalog, ProductQueryCache.disabled(), new RequestCoalescer(new SimpleMeterRegistry()),
+                new StaticListableBeanFactory().getBeanProvider(AsyncProductRepository.class));
+        controller = new ProductController(service);
+    }
+
+    @Benchmark
+    public List<ProductResponse> getAll() {
+        return controller.getAll(ids);
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchByName() {
+        return controller.searchByName("hoodie", SearchMode.EXACT, 1, null);
+    }
+
+    @Benchmark
+    public List<ProductResponse> listAll() {
+        return controller.listAll(0, PAGE, null).getBody();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.rediscartservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.infrastructure.redis.product.JedisProductRepository;
+import org.example.rediscartservice.infrastructure.redis.product.TestRedisIndexHelper;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.openjdk.jmh.annotations.*;
+import redis.clients.jedis.JedisPooled;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JedisProductRepository end to end over a real socket, against the in-process RESP stand-in,
+ * with a catalog of {@link #products} JSON documents:
+ *  - findById : one JSON.GET
+ *  - findBySku: GET of the sku pointer, then JSON.GET
+ *  - batch    : findAllByIds of 20 ids (one JSON.MGET)
+ *  - search   : scored prefix search on name, whole documents (FT.SEARCH, then one JSON.GET per hit)
+ * The stand-in scans its keyspace for FT.SEARCH, so {@code search} grows with the catalog size here,
+ * unlike on RediSearch; use it to compare client-side changes, not to size Redis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductRepositoryRoundTripBenchmark {
+
+    private static final String[] NAMES = {"Black Mug", "Tea Spoon", "Classic Hoodie", "Water Bottle", "Canvas Tote"};
+
+    @Param({"500"})
+    int products;
+
+    private RespServer server;
+    private JedisPooled jedis;
+    private JedisProductRepository repository;
+    private List<String> batch;
+
+    @Setup
+    public void setUp() {
+        server = RespServer.start();
+        jedis = new JedisPooled(server.host(), server.port());
+        TestRedisIndexHelper.createProductsIndex(jedis);
+        repository = new JedisProductRepository(jedis, new ObjectMapper());
+        for (int i = 0; i < products; i++) {
+            repository.save(Product.builder()
+                    .id("p-" + i)
+                    .sku("SKU-" + i)
+                    .name(NAMES[i % NAMES.length] + " " + i)
+                    .description("Catalog item " + i + ", " + NAMES[i % NAMES.length].toLowerCase())
+                    .price(new BigDecimal("19.99"))
+                    .build());
+        }
+        batch = IntStream.range(0, 20).mapToObj(i -> "p-" + i * (products / 20)).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        jedis.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return repository.findById("p-" + ThreadLocalRandom.current().nextInt(products));
+    }
+
+    @Benchmark
+    public Optional<Product> findBySku() {
+        return repository.findBySku("SKU-" + ThreadLocalRandom.current().nextInt(products));
+    }
+
+    @Benchmark
+    public List<Product> batch() {
+        return repository.findAllByIds(batch);
+    }
+
+    @Benchmark
+    public List<ProductSearchHit> search() {
+        return repository.searchByName("hood", SearchMode.PREFIX, 0, Set.of());
+    }
+}
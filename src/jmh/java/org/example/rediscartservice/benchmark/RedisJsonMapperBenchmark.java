@@ -0,0 +1,68 @@
+package org.example.rediscartservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.infrastructure.redis.RedisJsonMapper;
+import org.json.JSONArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree-based vs streaming binding of a JSON.GET reply into a Product.
+ * Run with {@code -prof gc} (the profile default) and compare {@code gc.alloc.rate.norm} (bytes/op):
+ *  - treeFromOrgJson: the old path as it ran (Jedis' jsonGet builds an org.json JSONArray,
+ *                     RedisJsonMapper re-serializes it, parses a JsonNode tree and binds the tree)
+ *  - treeFromString : the old path minus org.json (bytes → String → JsonNode → Product)
+ *  - streamFromBytes: raw RESP bytes bound with a cached ObjectReader
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisJsonMapperBenchmark {
+
+    @Param({"160", "2000", "10000"})
+    int descriptionLength;
+
+    private ObjectMapper mapper;
+    private ObjectReader reader;
+    private byte[] reply;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper();
+        reader = mapper.readerFor(Product.class);
+        Product product = Product.builder()
+                .id("38c844a4-0ab0-4e0f-8d63-c7129bf97578")
+                .sku("SKU-0001")
+                .name("Classic Hoodie")
+                .description("x".repeat(descriptionLength))
+                .price(new BigDecimal("39.99"))
+                .build();
+        // JSON.GET key $ → single-element array, as Redis sends it
+        reply = ("[" + mapper.writeValueAsString(product) + "]").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Optional<Product> treeFromOrgJson() {
+        return RedisJsonMapper.toDomain(new JSONArray(new String(reply, StandardCharsets.UTF_8)), Product.class, mapper);
+    }
+
+    @Benchmark
+    public Optional<Product> treeFromString() {
+        // What Jedis' jsonGet + RedisJsonMapper.toDomain did: decode to String, build a tree, bind the tree
+        return RedisJsonMapper.toDomain(new String(reply, StandardCharsets.UTF_8), Product.class, mapper);
+    }
+
+    @Benchmark
+    public Optional<Product> streamFromBytes() {
+        return RedisJsonMapper.fromBytes(reply, reader);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.rediscartservice.benchmark;
+
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.infrastructure.redis.SearchSanitizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RediSearch query sanitizing, run once per product / cart search request:
+ *  - escapeOnly: {@code sanitize(input)} (regex replace over the trimmed input)
+ *  - exact / prefix / fuzzy: the mode-aware token builder
+ * Inputs: a plain two-word query and one full of operators that all need escaping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchSanitizerBenchmark {
+
+    @Param({"plain", "operators"})
+    String query;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        input = "plain".equals(query) ? "  red mug " : "red-mug (large) \"gift\" ~x* @name:{a|b} 50%";
+    }
+
+    @Benchmark
+    public String escapeOnly() {
+        return SearchSanitizer.sanitize(input);
+    }
+
+    @Benchmark
+    public String exact() {
+        return SearchSanitizer.sanitize(input, SearchMode.EXACT, 0);
+    }
+
+    @Benchmark
+    public String prefix() {
+        return SearchSanitizer.sanitize(input, SearchMode.PREFIX, 0);
+    }
+
+    @Benchmark
+    public String fuzzy() {
+        return SearchSanitizer.sanitize(input, SearchMode.FUZZY, 1);
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.rediscartservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.application.cart.CartService;
+import org.example.rediscartservice.application.product.ProductService;
+import org.example.rediscartservice.application.product.RequestCoalescer;
+import org.example.rediscartservice.config.CartStorageProperties;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.port.cart.AsyncCartRepository;
+import org.example.rediscartservice.domain.port.product.AsyncProductRepository;
+import org.example.rediscartservice.domain.port.product.ProductQueryCache;
+import org.example.rediscartservice.infrastructure.redis.cart.CartIndexBootstrap;
+import org.example.rediscartservice.infrastructure.redis.cart.JedisCartRepository;
+import org.example.rediscartservice.infrastructure.redis.product.JedisProductRepository;
+import org.example.rediscartservice.infrastructure.redis.product.TestRedisIndexHelper;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.example.rediscartservice.infrastructure.session.InMemorySessionOwnerRegistry;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.example.rediscartservice.web.cart.CartController;
+import org.example.rediscartservice.web.cart.dto.AddCartItemRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpSession;
+import redis.clients.jedis.ConnectionPoolConfig;
+import redis.clients.jedis.JedisPooled;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request throughput on platform vs virtual threads through the real add-to-cart path:
+ * CartController → CartService → JedisProductRepository / JedisCartRepository on a JedisPooled of
+ * {@code poolSize} connections, against the RESP stand-in answering each round trip after
+ * {@code rttMicros}. One request is the product JSON.GET, the line write and the cart read back
+ * ({@link #commandsPerRequest} Redis commands once carts hold {@link #PRODUCTS} lines).
+ *  - platform: fixed pool of 200 threads (Tomcat's default max threads)
+ *  - virtual : one virtual thread per request (spring.threads.virtual.enabled=true)
+ *
+ * Expected shape: with a small pool both modes are capped by connections; once the pool is larger
+ * than the platform thread count, only the virtual mode keeps scaling until the stand-in's single
+ * command lock does. Score is requests per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class VirtualThreadThroughputBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int SESSIONS = 500;
+    private static final int PRODUCTS = 5;
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    @Param({"16", "512"})
+    int poolSize;
+
+    @Param({"250"})
+    int rttMicros;
+
+    private RespServer server;
+    private JedisPooled jedis;
+    private ExecutorService executor;
+    private CartController controller;
+    private MockHttpSession[] sessions;
+    private AddCartItemRequest[] adds;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    public long commandsPerRequest;
+
+    @Setup
+    public void setUp() {
+        server = RespServer.start();
+        ConnectionPoolConfig pool = new ConnectionPoolConfig();
+        pool.setMaxTotal(poolSize);
+        pool.setMaxIdle(poolSize);
+        pool.setMaxWait(Duration.ofSeconds(30));
+        jedis = new JedisPooled(pool, server.host(), server.port());
+        CartIndexBootstrap.createIndex(jedis);
+        TestRedisIndexHelper.createProductsIndex(jedis);
+
+        JedisProductRepository products = new JedisProductRepository(jedis, new ObjectMapper());
+        adds = new AddCartItemRequest[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.save(Product.builder()
+                    .id("product-" + i)
+                    .sku("SKU-" + i)
+                    .name("Classic Hoodie " + i)
+                    .description("Soft cotton hoodie")
+                    .price(new BigDecimal("39.99"))
+                    .build());
+            adds[i] = new AddCartItemRequest();
+            adds[i].setProductId("product-" + i);
+            adds[i].setAmount(1);
+        }
+
+        StaticListableBeanFactory none = new StaticListableBeanFactory();
+        CartService service = new CartService(
+                new JedisCartRepository(jedis, new CartStorageProperties(), ReplicaRouter.primaryOnly(jedis)),
+                new ProductService(products, ProductQueryCache.disabled(), new RequestCoalescer(new SimpleMeterRegistry()),
+                        none.getBeanProvider(AsyncProductRepository.class)),
+                none.getBeanProvider(AsyncCartRepository.class));
+        controller = new CartController(service, new InMemorySessionOwnerRegistry(SESSIONS, Duration.ofHours(1)));
+
+        // Full carts up front, so every measured request sees the same cart size
+        sessions = new MockHttpSession[SESSIONS];
+        for (int s = 0; s < SESSIONS; s++) {
+            sessions[s] = new MockHttpSession(null, "bench-session-" + s);
+            for (AddCartItemRequest add : adds) controller.addProduct(sessions[s], add);
+        }
+
+        server.resetCounts();
+        controller.addProduct(sessions[0], adds[0]);
+        commandsPerRequest = server.totalCommands();
+        System.out.printf("%nRedis commands per request: %d%n", commandsPerRequest);
+
+        server.setLatency(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(rttMicros)));
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        jedis.close();
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int requests() throws Exception {
+        List<Future<?>> inFlight = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            MockHttpSession session = sessions[random.nextInt(SESSIONS)];
+            AddCartItemRequest add = adds[random.nextInt(PRODUCTS)];
+            inFlight.add(executor.submit(() -> controller.addProduct(session, add)));
+        }
+        for (Future<?> f : inFlight) {
+            f.get();
+        }
+        return inFlight.size();
+    }
+}
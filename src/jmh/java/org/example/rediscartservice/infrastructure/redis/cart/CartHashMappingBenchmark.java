@@ -0,0 +1,47 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String-level mapping of a HASH cart line (what follows every HGETALL on the read path):
+ *  - toCartItem       : full line → CartItem (two numeric parses + builder)
+ *  - parseMoney       : "39.99" → BigDecimal with scale 2
+ *  - parseMoneyInvalid: the NumberFormatException fallback, to keep an eye on its cost
+ * Lives in the repository's package because the helpers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartHashMappingBenchmark {
+
+    private static final String PRODUCT_ID = "38c844a4-0ab0-4e0f-8d63-c7129bf97578";
+
+    private final Map<String, String> line = Map.of(
+            "name", "Classic Hoodie",
+            "short_desc", "Soft cotton hoodie with a kangaroo pocket",
+            "amount", "3",
+            "total_price", "119.97");
+
+    @Benchmark
+    public CartItem toCartItem() {
+        return JedisCartRepository.toCartItem(PRODUCT_ID, line);
+    }
+
+    @Benchmark
+    public BigDecimal parseMoney() {
+        return JedisCartRepository.parseMoney("39.99");
+    }
+
+    @Benchmark
+    public BigDecimal parseMoneyInvalid() {
+        return JedisCartRepository.parseMoney("n/a");
+    }
+}
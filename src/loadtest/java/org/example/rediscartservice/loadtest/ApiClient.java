@@ -0,0 +1,104 @@
+package org.example.rediscartservice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Thin HTTP client for the API under test. Sessions are carried by hand (one {@code SESSION}
+ * cookie per shopper) so one shared {@link HttpClient} and its connection pool serve every shopper.
+ *
+ * Redis work per request is read from the {@code Server-Timing} header written by
+ * {@code RedisBudgetFilter} ({@code redis.budget.enabled=true}), so it covers the commands the
+ * application issues on the request thread and not Spring Session's own reads and writes.
+ */
+final class ApiClient {
+
+    private static final Pattern SERVER_TIMING = Pattern.compile("desc=\"(\\d+) cmd, (\\d+) rt\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    record Response(int status, String body, String sessionCookie, int redisCommands, int redisRoundTrips) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final URI base;
+    private final HttpClient http;
+
+    ApiClient(URI base) {
+        this.base = base;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    /** POST /api/auth/login; on success {@link Response#sessionCookie()} is the new {@code SESSION=...} cookie. */
+    Response login(String username, String password) throws IOException, InterruptedException {
+        return send("POST", "/api/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}");
+    }
+
+    /** Logs in and returns the session cookie; fails on anything but 200. */
+    String session(String username, String password) throws IOException, InterruptedException {
+        Response r = login(username, password);
+        if (!r.ok() || r.sessionCookie() == null) {
+            throw new IllegalStateException("Login of " + username + " failed with HTTP " + r.status() + ": " + r.body());
+        }
+        return r.sessionCookie();
+    }
+
+    Response get(String path, String cookie) throws IOException, InterruptedException {
+        return send("GET", path, cookie, null);
+    }
+
+    Response post(String path, String cookie, String json) throws IOException, InterruptedException {
+        return send("POST", path, cookie, json);
+    }
+
+    Response delete(String path, String cookie) throws IOException, InterruptedException {
+        return send("DELETE", path, cookie, null);
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // ---------- helpers ----------
+
+    private Response send(String method, String path, String cookie, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        if (cookie != null) request.header("Cookie", cookie);
+        if (json != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        String sessionCookie = response.headers().allValues("Set-Cookie").stream()
+                .filter(c -> c.startsWith("SESSION="))
+                .map(c -> c.substring(0, c.indexOf(';') < 0 ? c.length() : c.indexOf(';')))
+                .findFirst()
+                .orElse(null);
+        int commands = 0;
+        int roundTrips = 0;
+        Matcher m = SERVER_TIMING.matcher(response.headers().firstValue("Server-Timing").orElse(""));
+        if (m.find()) {
+            commands = Integer.parseInt(m.group(1));
+            roundTrips = Integer.parseInt(m.group(2));
+        }
+        return new Response(response.statusCode(), response.body(), sessionCookie, commands, roundTrips);
+    }
+}
@@ -0,0 +1,414 @@
+package org.example.rediscartservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.rediscartservice.RediscartserviceApplication;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Load test for the HTTP API. Boots the application in-process on a random port against the RESP
+ * stand-in or a running Redis, logs in {@code users} shoppers (two sessions each, so restore has a
+ * previous cart) and an admin, then for every rate in {@code rates}:
+ *  - warms up, then issues requests at that fixed arrival rate for {@code duration}, picking the
+ *    scenario, shopper and product from a seeded random sequence
+ *  - latency is measured from each request's scheduled start, so a stalled server shows up as
+ *    queueing delay instead of silently lowering the offered rate
+ *  - reports per scenario: requests, errors, throughput, p50 / p90 / p99 / p99.9 / max and Redis
+ *    commands / round trips per request; per step: all Redis commands the server executed
+ *
+ * Usage: {@code ./mvnw -Ploadtest -DskipTests verify -Dloadtest.args="rates=50,100 duration=30s"};
+ * arguments are described in {@link LoadTestOptions}. Exits with 1 when a step breaks
+ * {@code max-p99} / {@code max-error-rate}. With {@code compare=<property>} the whole run is repeated
+ * with the property false, true, true, false and the p99s of each setting are averaged, e.g. the
+ * blocking against the async cart path:
+ * {@code -Dloadtest.args="compare=redis.async.enabled mix=cart rates=100,200"}.
+ *
+ * Against a running Redis the run writes real sessions, carts and load-test users' data; use a
+ * scratch instance.
+ */
+public final class LoadRunner {
+
+    private static final String PASSWORD = "loadtest";
+    private static final String ADMIN = "admin";
+    private static final String ADMIN_PASSWORD = "admin123";
+    private static final int PAGE_SIZE = 20;
+
+    private record Product(String id, String name) {
+    }
+
+    private static final class Shopper {
+        final String username;
+        volatile String cookie;
+        final Set<String> cart = ConcurrentHashMap.newKeySet();
+
+        Shopper(String username) {
+            this.username = username;
+        }
+    }
+
+    private record Step(int rate, double seconds, List<ScenarioStats.Summary> scenarios, ScenarioStats.Summary total,
+                        long redisCommands, Map<String, Long> redisCommandsByName, List<String> violations) {
+    }
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final Supplier<Map<String, Long>> serverCommands;
+    private final List<Product> catalog = new ArrayList<>();
+    private final List<String> searchWords = new ArrayList<>();
+    private final List<Shopper> shoppers = new ArrayList<>();
+    private String adminCookie;
+
+    private LoadRunner(LoadTestOptions options, ApiClient api, Supplier<Map<String, Long>> serverCommands) {
+        this.options = options;
+        this.api = api;
+        this.serverCommands = serverCommands;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Load test: " + options);
+
+        Map<String, List<List<Step>>> runs = new LinkedHashMap<>();
+        if (options.compare() == null) {
+            runs.put("", List.of(runOnce(options, Map.of())));
+        } else {
+            // Both settings share this JVM, and later runs get a warmer JIT: A B B A puts each setting
+            // early and late once, after a discarded run for the cold start
+            System.out.printf(Locale.ROOT, "%n#### JVM warm-up (discarded) ####%n");
+            runOnce(options.warmUpOnly(), Map.of(options.compare(), "false"));
+            List<String> order = List.of("false", "true", "true", "false");
+            for (int i = 0; i < order.size(); i++) {
+                String label = options.compare() + "=" + order.get(i);
+                System.out.printf(Locale.ROOT, "%n#### %s (run %d of %d) ####%n", label, i + 1, order.size());
+                runs.computeIfAbsent(label, l -> new ArrayList<>()).add(runOnce(options, Map.of(options.compare(), order.get(i))));
+            }
+            printComparison(runs);
+        }
+        System.exit(write(options, runs) ? 0 : 1);
+    }
+
+    // A fresh stand-in and application per run, so compared runs start from the same state
+    private static List<Step> runOnce(LoadTestOptions options, Map<String, String> overrides) throws Exception {
+        try (RespServer standIn = options.standIn() ? RespServer.start() : null) {
+            HostAndPort redis = standIn != null
+                    ? new HostAndPort(standIn.host(), standIn.port())
+                    : HostAndPort.from(options.redis());
+            try (Jedis stats = standIn != null ? null : new Jedis(redis);
+                 ConfigurableApplicationContext app = boot(redis, options, overrides)) {
+                Supplier<Map<String, Long>> serverCommands = standIn != null ? standIn::commandCounts : () -> commandStats(stats);
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                LoadRunner runner = new LoadRunner(options, new ApiClient(URI.create("http://localhost:" + port)), serverCommands);
+                runner.setUp(app);
+                return runner.run();
+            }
+        }
+    }
+
+    // ---------- set-up ----------
+
+    private static ConfigurableApplicationContext boot(HostAndPort redis, LoadTestOptions options, Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.data.redis.host", redis.getHost());
+        properties.put("spring.data.redis.port", String.valueOf(redis.getPort()));
+        properties.put("spring.main.banner-mode", "off");
+        // Server-Timing carries the per-request command counts; the over-budget WARN lines would drown the report
+        properties.put("redis.budget.enabled", "true");
+        properties.put("logging.level.org.example.rediscartservice.web.timing", "ERROR");
+        properties.putAll(options.appProperties());
+        properties.putAll(overrides);
+
+        // Command-line arguments, so they win over application.yml
+        String[] args = properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+        return new SpringApplicationBuilder(RediscartserviceApplication.class).run(args);
+    }
+
+    private void setUp(ConfigurableApplicationContext app) throws Exception {
+        InMemoryUserDetailsManager users = app.getBean(InMemoryUserDetailsManager.class);
+        PasswordEncoder encoder = app.getBean(PasswordEncoder.class);
+        String encoded = encoder.encode(PASSWORD);
+        for (int i = 1; i <= options.users(); i++) {
+            String username = "loadtest-" + i;
+            if (!users.userExists(username)) {
+                users.createUser(User.withUsername(username).password(encoded).roles("USER").build());
+            }
+            shoppers.add(new Shopper(username));
+        }
+
+        adminCookie = api.session(ADMIN, ADMIN_PASSWORD);
+        JsonNode products = new ObjectMapper().readTree(api.get("/api/products?page=0&size=10000&fields=id,name", adminCookie).body());
+        for (JsonNode p : products) {
+            catalog.add(new Product(p.path("id").asText(), p.path("name").asText()));
+            for (String word : p.path("name").asText().split("\\W+")) {
+                if (word.length() >= 3 && !searchWords.contains(word.toLowerCase(Locale.ROOT))) {
+                    searchWords.add(word.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        if (catalog.isEmpty()) throw new IllegalStateException("The catalog is empty; nothing to browse");
+
+        // First visit with one cart line, then a second session: restore has a previous cart to rebind to
+        List<Callable<Void>> visits = new ArrayList<>();
+        for (int i = 0; i < shoppers.size(); i++) {
+            Shopper shopper = shoppers.get(i);
+            Product first = catalog.get(i % catalog.size());
+            visits.add(() -> {
+                shopper.cookie = api.session(shopper.username, PASSWORD);
+                api.post("/api/cart/items", shopper.cookie, "{\"productId\":\"" + first.id() + "\",\"amount\":1}");
+                shopper.cookie = api.session(shopper.username, PASSWORD);
+                return null;
+            });
+        }
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Void> f : pool.invokeAll(visits)) f.get();
+        }
+        System.out.printf(Locale.ROOT, "Set up %d shopper(s), %d product(s), %d search word(s)%n",
+                shoppers.size(), catalog.size(), searchWords.size());
+    }
+
+    // ---------- run ----------
+
+    private List<Step> run() {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < options.rates().size(); i++) {
+            int rate = options.rates().get(i);
+            if (!options.warmup().isZero()) {
+                drive(rate, options.warmup().toNanos(), random);
+            }
+            Map<String, Long> before = serverCommands.get();
+            long start = System.nanoTime();
+            Map<Scenario, ScenarioStats> stats = drive(rate, options.duration().toNanos(), random);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Step step = summarize(rate, seconds, stats, diff(before, serverCommands.get()));
+            print(i + 1, step);
+            steps.add(step);
+        }
+        return steps;
+    }
+
+    private static boolean write(LoadTestOptions options, Map<String, List<List<Step>>> runs) throws IOException {
+        Files.createDirectories(options.out().toAbsolutePath().getParent());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("options", options.toString());
+        if (options.compare() == null) {
+            result.put("steps", runs.get("").get(0));
+        } else {
+            result.put("runs", runs);
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(options.out().toFile(), result);
+        System.out.println("Results written to " + options.out());
+
+        boolean passed = runs.values().stream().flatMap(List::stream).flatMap(List::stream)
+                .allMatch(s -> s.violations().isEmpty());
+        System.out.println(passed ? "PASSED" : "FAILED");
+        return passed;
+    }
+
+    // Open loop: request i is due at start + i / rate whether or not earlier ones have finished
+    private Map<Scenario, ScenarioStats> drive(int rate, long nanos, SplittableRandom random) {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario s : options.mix().weights().keySet()) stats.put(s, new ScenarioStats());
+
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + Math.round(i * 1e9 / rate);
+                if (due - start >= nanos) break;
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Scenario scenario = options.mix().pick(random);
+                Shopper shopper = shoppers.get(random.nextInt(shoppers.size()));
+                int pick = random.nextInt(Integer.MAX_VALUE);
+                ScenarioStats target = stats.get(scenario);
+                if (!inFlight.tryAcquire()) {
+                    target.recordFailure(System.nanoTime() - due);
+                    continue;
+                }
+                pool.execute(() -> {
+                    try {
+                        ApiClient.Response response = call(scenario, shopper, pick);
+                        target.record(System.nanoTime() - due, response);
+                    } catch (IOException | RuntimeException e) {
+                        target.recordFailure(System.nanoTime() - due);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private ApiClient.Response call(Scenario scenario, Shopper shopper, int pick) throws IOException, InterruptedException {
+        return switch (scenario) {
+            case BROWSE -> {
+                int pages = Math.max(1, (catalog.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+                yield api.get("/api/products?page=" + pick % pages + "&size=" + PAGE_SIZE, shopper.cookie);
+            }
+            case SEARCH -> {
+                String word = searchWords.isEmpty() ? catalog.get(pick % catalog.size()).name() : searchWords.get(pick % searchWords.size());
+                SearchMode mode = SearchMode.values()[(pick / 7) % SearchMode.values().length];
+                String q = mode == SearchMode.PREFIX ? word.substring(0, Math.min(3, word.length())) : word;
+                yield api.get("/api/products/search/name?q=" + ApiClient.encode(q) + "&mode=" + mode, shopper.cookie);
+            }
+            case VIEW -> api.get("/api/cart", shopper.cookie);
+            case ADD -> {
+                Product p = catalog.get(pick % catalog.size());
+                ApiClient.Response r = api.post("/api/cart/items", shopper.cookie,
+                        "{\"productId\":\"" + p.id() + "\",\"amount\":" + (1 + pick % 3) + "}");
+                if (r.ok()) shopper.cart.add(p.id());
+                yield r;
+            }
+            case REMOVE -> {
+                Iterator<String> inCart = shopper.cart.iterator();
+                String productId = inCart.hasNext() ? inCart.next() : catalog.get(pick % catalog.size()).id();
+                shopper.cart.remove(productId);
+                yield api.delete("/api/cart/items/" + ApiClient.encode(productId), shopper.cookie);
+            }
+            case RESTORE -> api.post("/api/cart/restore", shopper.cookie, null);
+            case LOGIN -> {
+                ApiClient.Response r = api.login(shopper.username, PASSWORD);
+                if (r.ok() && r.sessionCookie() != null) shopper.cookie = r.sessionCookie();
+                yield r;
+            }
+            case REPORT -> api.get("/api/cart/report?threshold=" + options.reportThreshold(), adminCookie);
+        };
+    }
+
+    // ---------- report ----------
+
+    private Step summarize(int rate, double seconds, Map<Scenario, ScenarioStats> stats, Map<String, Long> redis) {
+        List<ScenarioStats.Summary> scenarios = new ArrayList<>();
+        stats.forEach((scenario, s) -> scenarios.add(s.summarize(scenario.label(), seconds)));
+        ScenarioStats.Summary total = ScenarioStats.total(stats.values(), seconds);
+        long redisCommands = redis.values().stream().mapToLong(Long::longValue).sum();
+
+        List<String> violations = new ArrayList<>();
+        if (total.errorRate() > options.maxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "error rate %.2f%% > %.2f%%", total.errorRate() * 100, options.maxErrorRate() * 100));
+        }
+        if (options.maxP99() != null && total.p99Ms() > options.maxP99().toMillis()) {
+            violations.add(String.format(Locale.ROOT, "p99 %.1f ms > %d ms", total.p99Ms(), options.maxP99().toMillis()));
+        }
+        return new Step(rate, seconds, scenarios, total, redisCommands, redis, violations);
+    }
+
+    private void print(int index, Step step) {
+        System.out.printf(Locale.ROOT, "%n== step %d: %d req/s for %.1fs, mix %s ==%n", index, step.rate(), step.seconds(), options.mix().name());
+        System.out.printf(Locale.ROOT, "%-10s %9s %7s %9s %9s %9s %9s %9s %9s %8s %7s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "cmd/req", "rt/req");
+        for (ScenarioStats.Summary s : step.scenarios()) printRow(s);
+        printRow(step.total());
+
+        long requests = Math.max(1, step.total().requests());
+        StringBuilder top = new StringBuilder();
+        step.redisCommandsByName().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(8)
+                .forEach(e -> top.append(' ').append(e.getKey()).append('=').append(e.getValue()));
+        System.out.printf(Locale.ROOT, "redis server: %d commands, %.0f/s, %.1f per request (incl. Spring Session);%s%n",
+                step.redisCommands(), step.redisCommands() / step.seconds(), (double) step.redisCommands() / requests, top);
+        for (String v : step.violations()) System.out.println("VIOLATION: " + v);
+    }
+
+    // Each row is one scenario (and the total) at one rate; p99 is the mean over that setting's runs
+    private static void printComparison(Map<String, List<List<Step>>> runs) {
+        List<String> labels = new ArrayList<>(runs.keySet());
+        List<List<Step>> a = runs.get(labels.get(0));
+        List<List<Step>> b = runs.get(labels.get(1));
+        System.out.printf(Locale.ROOT, "%n== p99: %s (A) vs %s (B), mean of %d runs each ==%n", labels.get(0), labels.get(1), a.size());
+        System.out.printf(Locale.ROOT, "%6s %-10s %11s %11s %8s%n", "req/s", "scenario", "p99 A ms", "p99 B ms", "change");
+        for (int step = 0; step < a.get(0).size(); step++) {
+            List<String> scenarios = new ArrayList<>();
+            for (ScenarioStats.Summary s : a.get(0).get(step).scenarios()) scenarios.add(s.scenario());
+            scenarios.add(a.get(0).get(step).total().scenario());
+            for (String scenario : scenarios) {
+                double pa = meanP99(a, step, scenario);
+                double pb = meanP99(b, step, scenario);
+                if (Double.isNaN(pa) || Double.isNaN(pb)) continue;
+                System.out.printf(Locale.ROOT, "%6d %-10s %11.2f %11.2f %+7.1f%%%n", a.get(0).get(step).rate(), scenario,
+                        pa, pb, pa == 0 ? 0.0 : (pb / pa - 1) * 100);
+            }
+        }
+    }
+
+    private static double meanP99(List<List<Step>> runs, int step, String scenario) {
+        return runs.stream()
+                .map(steps -> steps.get(step))
+                .flatMap(s -> Stream.concat(s.scenarios().stream(), Stream.of(s.total())))
+                .filter(s -> s.scenario().equals(scenario) && s.requests() > 0)
+                .mapToDouble(ScenarioStats.Summary::p99Ms)
+                .average()
+                .orElse(Double.NaN);
+    }
+
+    private static void printRow(ScenarioStats.Summary s) {
+        System.out.printf(Locale.ROOT, "%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8.1f %7.1f%n",
+                s.scenario(), s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs(),
+                s.redisCommandsPerRequest(), s.redisRoundTripsPerRequest());
+    }
+
+    // ---------- server-side command counts ----------
+
+    private static Map<String, Long> diff(Map<String, Long> before, Map<String, Long> after) {
+        Map<String, Long> out = new TreeMap<>();
+        after.forEach((name, n) -> {
+            long d = n - before.getOrDefault(name, 0L);
+            if (d > 0) out.put(name, d);
+        });
+        return out;
+    }
+
+    // INFO commandstats lines look like cmdstat_hget:calls=12,usec=30,...
+    private static Map<String, Long> commandStats(Jedis jedis) {
+        Map<String, Long> out = new TreeMap<>();
+        for (String line : jedis.info("commandstats").split("\r?\n")) {
+            if (!line.startsWith("cmdstat_")) continue;
+            int colon = line.indexOf(':');
+            int calls = line.indexOf("calls=", colon);
+            if (colon < 0 || calls < 0) continue;
+            int end = line.indexOf(',', calls);
+            String name = line.substring("cmdstat_".length(), colon).toUpperCase(Locale.ROOT);
+            out.put(name, Long.parseLong(line.substring(calls + "calls=".length(), end < 0 ? line.length() : end)));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.rediscartservice.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code key=value} arguments of {@link LoadRunner}; later arguments win:
+ *  - redis=standin | host:port   in-process RESP stand-in (fresh keyspace) or a running Redis Stack
+ *  - mix=shopping                a named {@link Mix} or {@code scenario:weight,...}
+ *  - rates=50,100,200            arrival rates (requests/s), run one after the other as steps
+ *  - warmup=5s / duration=20s    per step; warm-up results are discarded
+ *  - users=20                    shoppers logged in before the run (plus one admin)
+ *  - seed=42                     drives the scenario / shopper / product sequence
+ *  - report-threshold=10         threshold of the admin report
+ *  - max-in-flight=2000          requests beyond this are dropped and counted as errors
+ *  - max-p99=250ms / max-error-rate=0.01   exit 1 when any step breaks either (optional p99)
+ *  - compare=redis.async.enabled  run every step with that property false, true, true, false (a
+ *                                 fresh application each, after a discarded JVM warm-up run), and
+ *                                 print each setting's mean p99 side by side
+ *  - out=target/loadtest-result.json
+ * Any other key containing a dot is passed to the application, e.g. {@code cart.storage.line-format=binary}.
+ */
+record LoadTestOptions(String redis, Mix mix, List<Integer> rates, Duration warmup, Duration duration,
+                       int users, long seed, int reportThreshold, int maxInFlight,
+                       Duration maxP99, double maxErrorRate, String compare, Path out, Map<String, String> appProperties) {
+
+    static final String STAND_IN = "standin";
+
+    static LoadTestOptions parse(String... args) {
+        String redis = STAND_IN;
+        Mix mix = Mix.parse("shopping");
+        List<Integer> rates = List.of(50);
+        Duration warmup = Duration.ofSeconds(5);
+        Duration duration = Duration.ofSeconds(20);
+        int users = 20;
+        long seed = 42;
+        int reportThreshold = 10;
+        int maxInFlight = 2000;
+        Duration maxP99 = null;
+        double maxErrorRate = 0.01;
+        String compare = null;
+        Path out = Path.of("target", "loadtest-result.json");
+        Map<String, String> appProperties = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            if (arg.isBlank()) continue;
+            int eq = arg.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value, got '" + arg + "'");
+            String key = arg.substring(0, eq).trim();
+            String value = arg.substring(eq + 1).trim();
+            switch (key) {
+                case "redis" -> redis = value;
+                case "mix" -> mix = Mix.parse(value);
+                case "rates" -> rates = parseRates(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "users" -> users = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "report-threshold" -> reportThreshold = Integer.parseInt(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "max-p99" -> maxP99 = DurationStyle.detectAndParse(value);
+                case "max-error-rate" -> maxErrorRate = Double.parseDouble(value);
+                case "compare" -> compare = value;
+                case "out" -> out = Path.of(value);
+                default -> {
+                    if (!key.contains(".")) throw new IllegalArgumentException("Unknown load-test argument '" + key + "'");
+                    appProperties.put(key, value);
+                }
+            }
+        }
+        if (users < 1) throw new IllegalArgumentException("users must be at least 1");
+        if (duration.isZero() || duration.isNegative()) throw new IllegalArgumentException("duration must be positive");
+        if (compare != null && appProperties.containsKey(compare)) {
+            throw new IllegalArgumentException("compare=" + compare + " cannot also be set directly");
+        }
+        return new LoadTestOptions(redis, mix, rates, warmup, duration, users, seed, reportThreshold, maxInFlight,
+                maxP99, maxErrorRate, compare, out, appProperties);
+    }
+
+    /** One step at the first rate for the warm-up time, nothing checked or written. */
+    LoadTestOptions warmUpOnly() {
+        Duration time = warmup.isZero() ? duration : warmup;
+        return new LoadTestOptions(redis, mix, rates.subList(0, 1), Duration.ZERO, time, users, seed, reportThreshold,
+                maxInFlight, null, 1.0, compare, out, appProperties);
+    }
+
+    boolean standIn() {
+        return STAND_IN.equals(redis);
+    }
+
+    private static List<Integer> parseRates(String value) {
+        List<Integer> rates = new ArrayList<>();
+        for (String r : value.split(",")) {
+            int rate = Integer.parseInt(r.trim());
+            if (rate < 1) throw new IllegalArgumentException("rates must be positive: " + value);
+            rates.add(rate);
+        }
+        return rates;
+    }
+
+    @Override
+    public String toString() {
+        return "redis=" + redis + " mix=" + mix.name() + " rates=" + rates + " warmup=" + warmup.toSeconds() + "s"
+                + " duration=" + duration.toSeconds() + "s users=" + users + " seed=" + seed
+                + (compare == null ? "" : " compare=" + compare)
+                + (appProperties.isEmpty() ? "" : " " + Arrays.toString(appProperties.entrySet().toArray()));
+    }
+}
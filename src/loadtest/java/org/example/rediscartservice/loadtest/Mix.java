@@ -0,0 +1,55 @@
+package org.example.rediscartservice.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Relative weights of the {@link Scenario}s in a run. Either a named mix or an explicit list,
+ * e.g. {@code browse:50,add:30,remove:20}:
+ *  - shopping : the default storefront day (browse / search heavy, some cart churn, a little admin)
+ *  - browse   : catalog only (listAll + search)
+ *  - cart     : cart only (view / add / remove / restore)
+ */
+record Mix(String name, Map<Scenario, Integer> weights) {
+
+    Mix {
+        weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix '" + name + "' has no positive weight");
+        }
+    }
+
+    static Mix parse(String spec) {
+        return switch (spec) {
+            case "shopping" -> new Mix(spec, Map.of(
+                    Scenario.BROWSE, 30, Scenario.SEARCH, 20, Scenario.VIEW, 15, Scenario.ADD, 15,
+                    Scenario.REMOVE, 10, Scenario.RESTORE, 5, Scenario.LOGIN, 3, Scenario.REPORT, 2));
+            case "browse" -> new Mix(spec, Map.of(Scenario.BROWSE, 60, Scenario.SEARCH, 40));
+            case "cart" -> new Mix(spec, Map.of(
+                    Scenario.VIEW, 30, Scenario.ADD, 40, Scenario.REMOVE, 25, Scenario.RESTORE, 5));
+            default -> {
+                Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+                for (String part : spec.split(",")) {
+                    String[] kv = part.split(":");
+                    if (kv.length != 2) {
+                        throw new IllegalArgumentException("Expected scenario:weight in mix '" + spec + "', got '" + part + "'");
+                    }
+                    weights.merge(Scenario.of(kv[0]), Integer.parseInt(kv[1].trim()), Integer::sum);
+                }
+                yield new Mix(spec, weights);
+            }
+        };
+    }
+
+    Scenario pick(SplittableRandom random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Scenario, Integer> e : weights.entrySet()) {
+            roll -= e.getValue();
+            if (roll < 0) return e.getKey();
+        }
+        throw new IllegalStateException("unreachable");
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.rediscartservice.loadtest;
+
+import java.util.Locale;
+
+/**
+ * One kind of user action the load test issues; each maps to one HTTP call:
+ *  - BROWSE  : GET /api/products (listAll, random page of 20)
+ *  - SEARCH  : GET /api/products/search/name (EXACT, PREFIX or FUZZY on a catalog word)
+ *  - VIEW    : GET /api/cart
+ *  - ADD     : POST /api/cart/items
+ *  - REMOVE  : DELETE /api/cart/items/{productId} (a product the shopper added, if any)
+ *  - RESTORE : POST /api/cart/restore
+ *  - LOGIN   : POST /api/auth/login again, i.e. a returning shopper on a fresh session
+ *  - REPORT  : GET /api/cart/report as the admin
+ */
+enum Scenario {
+    BROWSE, SEARCH, VIEW, ADD, REMOVE, RESTORE, LOGIN, REPORT;
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Scenario of(String label) {
+        try {
+            return valueOf(label.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown scenario '" + label + "'", e);
+        }
+    }
+}
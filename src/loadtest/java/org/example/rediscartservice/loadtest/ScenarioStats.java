@@ -0,0 +1,74 @@
+package org.example.rediscartservice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (microseconds, from the request's scheduled start) and counters of one scenario in one
+ * step. Recorded concurrently by the request threads.
+ */
+final class ScenarioStats {
+
+    /** What the report prints and writes for a scenario or a whole step. */
+    record Summary(String scenario, long requests, long errors, double throughput,
+                   double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+                   double redisCommandsPerRequest, double redisRoundTripsPerRequest) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder redisCommands = new LongAdder();
+    private final LongAdder redisRoundTrips = new LongAdder();
+
+    void record(long latencyNanos, ApiClient.Response response) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencies.getHighestTrackableValue()));
+        requests.increment();
+        if (response == null || !response.ok()) errors.increment();
+        if (response != null) {
+            redisCommands.add(response.redisCommands());
+            redisRoundTrips.add(response.redisRoundTrips());
+        }
+    }
+
+    /** A request that was never sent (too many in flight) or failed on the client side. */
+    void recordFailure(long latencyNanos) {
+        record(latencyNanos, null);
+    }
+
+    Summary summarize(String scenario, double seconds) {
+        return summarize(scenario, seconds, latencies, requests.sum(), errors.sum(), redisCommands.sum(), redisRoundTrips.sum());
+    }
+
+    static Summary total(Iterable<ScenarioStats> all, double seconds) {
+        Histogram merged = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        long requests = 0, errors = 0, commands = 0, roundTrips = 0;
+        for (ScenarioStats s : all) {
+            merged.add(s.latencies);
+            requests += s.requests.sum();
+            errors += s.errors.sum();
+            commands += s.redisCommands.sum();
+            roundTrips += s.redisRoundTrips.sum();
+        }
+        return summarize("total", seconds, merged, requests, errors, commands, roundTrips);
+    }
+
+    private static Summary summarize(String scenario, double seconds, Histogram h,
+                                     long requests, long errors, long commands, long roundTrips) {
+        return new Summary(scenario, requests, errors, requests / seconds,
+                millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0,
+                requests == 0 ? 0 : (double) commands / requests,
+                requests == 0 ? 0 : (double) roundTrips / requests);
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -1,25 +1,40 @@
 package org.example.rediscartservice.application.cart;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.observation.annotation.Observed;
 import org.example.rediscartservice.application.product.ProductService;
 import org.example.rediscartservice.domain.model.cart.CartItem;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.port.cart.AsyncCartRepository;
 import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
+@Observed(name = "cart.service")
 public class CartService {
 
     private static final int SHORT_DESC_LIMIT = 160;
 
     private final CartRepository cartRepository;
     private final ProductService productService;
+    // Set when redis.async.enabled=true; product lookups then go through ProductService#getAsync
+    private final AsyncCartRepository asyncCarts;
+
+    public CartService(CartRepository cartRepository, ProductService productService,
+                       ObjectProvider<AsyncCartRepository> asyncCarts) {
+        this.cartRepository = cartRepository;
+        this.productService = productService;
+        this.asyncCarts = asyncCarts.getIfAvailable();
+    }
 
     /**
      * Return all cart items for the given session.
@@ -40,25 +55,42 @@ public class CartService {
             throw new IllegalArgumentException("amount must be positive");
         }
 
+        if (asyncCarts != null) {
+            return await(addProductAsync(sessionId, productId, amount));
+        }
+
         Product product = productService.get(productId);
+        cartRepository.add(sessionId, snapshot(product, productId, amount));
+        return cartRepository.findBySession(sessionId);
+    }
 
-        BigDecimal unitPrice = product.getPrice() == null
-                ? BigDecimal.ZERO
-                : product.getPrice();
-        BigDecimal totalPrice = unitPrice
-                .multiply(BigDecimal.valueOf(amount))
-                .setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Async variant of {@link #addProduct}: the product lookup (coalesced like the blocking one) and
+     * the cart-id resolution run concurrently, then the line is written and the cart read back.
+     * Completes with {@link NoSuchElementException} for an unknown product.
+     * Without the async ports this runs {@link #addProduct} on the caller's thread; its failures complete
+     * the future the same way.
+     */
+    public CompletableFuture<List<CartItem>> addProductAsync(String sessionId, String productId, int amount) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(productId, "productId must not be null");
+        if (amount <= 0) {
+            throw new IllegalArgumentException("amount must be positive");
+        }
+        if (asyncCarts == null) {
+            try {
+                return CompletableFuture.completedFuture(addProduct(sessionId, productId, amount));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
 
-        CartItem snapshot = CartItem.builder()
-                .productId(productId)
-                .name(product.getName())
-                .shortDescription(shorten(product.getDescription(), SHORT_DESC_LIMIT))
-                .amount(amount)
-                .totalPrice(totalPrice)
-                .build();
+        CompletableFuture<Product> product = productService.getAsync(productId);
+        CompletableFuture<String> cartId = asyncCarts.resolveCartId(sessionId).toCompletableFuture();
 
-        cartRepository.add(sessionId, snapshot);
-        return cartRepository.findBySession(sessionId);
+        return product.thenCombine(cartId, (p, id) -> asyncCarts.add(sessionId, id, snapshot(p, productId, amount))
+                        .thenCompose(v -> asyncCarts.findByCartId(id)))
+                .thenCompose(Function.identity());
     }
 
     public List<CartItem> removeProduct(String sessionId, String productId) {
@@ -107,6 +139,34 @@ public class CartService {
 
     // ---------- helpers ----------
 
+    private static CartItem snapshot(Product product, String productId, int amount) {
+        BigDecimal unitPrice = product.getPrice() == null
+                ? BigDecimal.ZERO
+                : product.getPrice();
+        BigDecimal totalPrice = unitPrice
+                .multiply(BigDecimal.valueOf(amount))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        return CartItem.builder()
+                .productId(productId)
+                .name(product.getName())
+                .shortDescription(shorten(product.getDescription(), SHORT_DESC_LIMIT))
+                .amount(amount)
+                .totalPrice(totalPrice)
+                .build();
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface e.g. NoSuchElementException as-is so the web layer still maps it to 404
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
     private static String shorten(String text, int limit) {
         if (text == null) return "";
         String trimmed = text.trim();
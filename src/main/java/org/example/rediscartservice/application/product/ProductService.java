@@ -1,49 +1,180 @@
 package org.example.rediscartservice.application.product;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.observation.annotation.Observed;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.domain.port.product.AsyncProductRepository;
+import org.example.rediscartservice.domain.port.product.ProductQueryCache;
 import org.example.rediscartservice.domain.port.product.ProductRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
+@Observed(name = "product.service")
 public class ProductService {
 
     private final ProductRepository products;
+    private final ProductQueryCache queryCache;
+    private final RequestCoalescer coalescer;
+    // Set when redis.async.enabled=true
+    private final AsyncProductRepository asyncProducts;
+
+    public ProductService(ProductRepository products, ProductQueryCache queryCache, RequestCoalescer coalescer,
+                          ObjectProvider<AsyncProductRepository> asyncProducts) {
+        this.products = products;
+        this.queryCache = queryCache;
+        this.coalescer = coalescer;
+        this.asyncProducts = asyncProducts.getIfAvailable();
+    }
 
     public Product create(Product product) {
-        return products.save(product);
+        Product saved = products.save(product);
+        queryCache.invalidateAll();
+        return saved;
     }
 
     public Product update(Product product) {
         String id = product.getId();
-        products.findById(id).orElseThrow(() -> new NoSuchElementException("Product not found: " + id));
-        return products.save(product);
+        if (!products.existsById(id)) {
+            throw new NoSuchElementException("Product not found: " + id);
+        }
+        Product saved = products.save(product);
+        queryCache.invalidateAll();
+        return saved;
+    }
+
+    /**
+     * Apply a field-level change without reading the document first. An empty patch is a no-op:
+     * no round trip, no cache invalidation.
+     */
+    public void patch(String id, ProductPatch patch) {
+        if (patch.isEmpty()) return;
+        if (!products.patch(id, patch)) {
+            throw new NoSuchElementException("Product not found: " + id);
+        }
+        queryCache.invalidateAll();
     }
 
     public Product get(String id) {
-        return products.findById(id).orElseThrow(() -> new NoSuchElementException("Product not found: " + id));
+        return coalescer.execute("get", id, () -> products.findById(id))
+                .orElseThrow(() -> new NoSuchElementException("Product not found: " + id));
+    }
+
+    /**
+     * Async {@link #get}, coalesced with blocking and async lookups of the same id. Completes with
+     * {@link NoSuchElementException} for an unknown product. Without the async port this runs
+     * {@link #get} on the caller's thread.
+     */
+    public CompletableFuture<Product> getAsync(String id) {
+        if (asyncProducts == null) {
+            try {
+                return CompletableFuture.completedFuture(get(id));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return coalescer.executeAsync("get", id, () -> asyncProducts.findById(id))
+                .thenApply(p -> p.orElseThrow(() -> new NoSuchElementException("Product not found: " + id)));
+    }
+
+    /**
+     * Batch lookup (one JSON.MGET). Missing ids are skipped; duplicates are fetched once; the result
+     * follows the order of {@code ids}.
+     */
+    public List<Product> getAll(Collection<String> ids) {
+        List<String> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) return List.of();
+        List<String> sorted = distinct.stream().sorted().toList();
+        List<Product> fetched = coalescer.execute("mget", String.join(",", sorted), () -> products.findAllByIds(sorted));
+        return inRequestOrder(distinct, fetched, Product::getId);
+    }
+
+    public Product getBySku(String sku) {
+        return coalescer.execute("sku", sku, () -> products.findBySku(sku))
+                .orElseThrow(() -> new NoSuchElementException("Product not found for SKU: " + sku));
+    }
+
+    /**
+     * Batch lookup by SKU (two round trips: sku pointers, then documents). Unknown SKUs are skipped;
+     * the result follows the order of {@code skus}.
+     */
+    public List<Product> getAllBySkus(Collection<String> skus) {
+        List<String> distinct = skus.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) return List.of();
+        List<String> sorted = distinct.stream().sorted().toList();
+        List<Product> fetched = coalescer.execute("msku", String.join(",", sorted), () -> products.findAllBySkus(sorted));
+        return inRequestOrder(distinct, fetched, Product::getSku);
     }
 
     public void delete(String id) {
         products.deleteById(id);
+        queryCache.invalidateAll();
     }
 
-    public List<Product> searchByName(String query) {
-        return products.searchByName(query);
+    /**
+     * Scored search. An empty {@code fields} selection returns whole products. Concurrent misses are
+     * coalesced per catalog generation, so a search after a write never shares a load with one before it.
+     */
+    public List<ProductSearchHit> searchByName(String query, SearchMode mode, int distance, Set<ProductField> fields) {
+        String key = queryKey("name:" + mode + ":" + distance + ":" + fieldsKey(fields), query);
+        return queryCache.getList(key, ProductSearchHit.class,
+                scoped -> coalescer.execute("search", scoped, () -> products.searchByName(query, mode, distance, fields)));
     }
 
-    public List<Product> searchByDescription(String query) {
-        return products.searchByDescription(query);
+    public List<ProductSearchHit> searchByDescription(String query, SearchMode mode, int distance, Set<ProductField> fields) {
+        String key = queryKey("description:" + mode + ":" + distance + ":" + fieldsKey(fields), query);
+        return queryCache.getList(key, ProductSearchHit.class,
+                scoped -> coalescer.execute("search", scoped, () -> products.searchByDescription(query, mode, distance, fields)));
     }
 
     public List<Product> listAll(int page, int size) {
+        return listAll(page, size, Set.of());
+    }
+
+    public List<Product> listAll(int page, int size, Set<ProductField> fields) {
         int p = Math.max(0, page);
         int s = Math.max(1, size);
         int offset = p * s;
-        return products.findAll(offset, s);
+        String key = "list:" + offset + ":" + s + ":" + fieldsKey(fields);
+        return queryCache.getList(key, Product.class,
+                scoped -> coalescer.execute("search", scoped, () -> products.findAll(offset, s, fields)));
+    }
+
+    // ---------- helpers ----------
+
+    // Coalesced batches are fetched in sorted key order so callers asking for the same set share one
+    // fetch; each caller gets the products back in the order it asked for them
+    private static List<Product> inRequestOrder(List<String> keys, List<Product> fetched, Function<Product, String> keyOf) {
+        Map<String, Product> byKey = new HashMap<>(fetched.size() * 2);
+        for (Product p : fetched) {
+            byKey.putIfAbsent(keyOf.apply(p), p);
+        }
+        return keys.stream().map(byKey::get).filter(Objects::nonNull).toList();
+    }
+
+    private static String fieldsKey(Set<ProductField> fields) {
+        if (fields == null || fields.isEmpty()) return "*";
+        return fields.stream().map(ProductField::alias).sorted().collect(Collectors.joining(","));
+    }
+
+    // "  Red   MUG " and "red mug" share one cache entry (RediSearch matching is case-insensitive anyway)
+    private static String queryKey(String scope, String query) {
+        String normalized = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return "search:" + scope + ":" + normalized;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package org.example.rediscartservice.application.product;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing for read paths: while a load for {@code (operation, key)} is in flight,
+ * concurrent callers for the same key wait for it and share its result (or its exception)
+ * instead of issuing their own Redis call. Nothing is kept once the load completes.
+ *
+ * Metrics:
+ *  - product.coalescing.calls{operation, role=leader|follower} — followers are collapsed calls
+ *  - product.coalescing.collapsed.ratio — followers / all calls since start
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public RequestCoalescer(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("product.coalescing.collapsed.ratio", this, RequestCoalescer::collapsedRatio)
+                .description("Share of product reads served by another caller's in-flight Redis call")
+                .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String key, Supplier<T> loader) {
+        String flightKey = operation + '|' + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, mine);
+
+        if (leader != null) {
+            counters(operation)[1].increment();
+            return (T) await(leader);
+        }
+
+        counters(operation)[0].increment();
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * Async variant of {@link #execute} over the same in-flight table, so blocking and async callers
+     * for one key share a single load. Followers get a copy of the leader's future.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String operation, String key, Supplier<? extends CompletionStage<T>> loader) {
+        String flightKey = operation + '|' + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, mine);
+
+        if (leader != null) {
+            counters(operation)[1].increment();
+            return (CompletableFuture<T>) leader.copy();
+        }
+
+        counters(operation)[0].increment();
+        CompletionStage<T> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            inFlight.remove(flightKey, mine);
+            throw e;
+        }
+        load.whenComplete((value, failure) -> {
+            if (failure != null) {
+                mine.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+            } else {
+                mine.complete(value);
+            }
+            inFlight.remove(flightKey, mine);
+        });
+        return (CompletableFuture<T>) mine.copy();
+    }
+
+    /** Number of distinct loads currently in flight (for tests / diagnostics). */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    // ---------- helpers ----------
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's own exception so callers see e.g. NoSuchElementException, not a wrapper
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private Counter[] counters(String operation) {
+        return counters.computeIfAbsent(operation, op -> new Counter[]{
+                Counter.builder("product.coalescing.calls").tag("operation", op).tag("role", "leader").register(registry),
+                Counter.builder("product.coalescing.calls").tag("operation", op).tag("role", "follower").register(registry)
+        });
+    }
+
+    private double collapsedRatio() {
+        double leaders = 0, followers = 0;
+        for (Counter[] c : counters.values()) {
+            leaders += c[0].count();
+            followers += c[1].count();
+        }
+        double total = leaders + followers;
+        return total == 0 ? 0.0 : followers / total;
+    }
+}
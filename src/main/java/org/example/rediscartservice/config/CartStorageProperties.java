@@ -0,0 +1,45 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "cart.storage")
+public class CartStorageProperties {
+
+    public enum Backend {
+        /** Redis (standalone, cluster or shards, per the redis.* / spring.data.redis.* settings). */
+        REDIS,
+        /** InMemoryCartRepository: carts live in this JVM only and expire with the session idle TTL. */
+        MEMORY
+    }
+
+    public enum LineFormat {
+        /** One HASH per line (cart:{cartId}:item:{productId}), indexed by idx:cart_items. */
+        HASH,
+        /** One binary blob per line in cart:{cartId}:lines (field = productId); not indexed. */
+        BINARY
+    }
+
+    /**
+     * Where carts are kept. MEMORY (the {@code memory} profile) is for single-node deployments and
+     * tests; carts are lost on restart and are not shared between nodes.
+     */
+    private Backend backend = Backend.REDIS;
+
+    /**
+     * How cart lines are stored. Carts written in one format are not visible in the other,
+     * so only switch on a fresh keyspace (or let idle carts age out first).
+     */
+    private LineFormat lineFormat = LineFormat.HASH;
+
+    /**
+     * Redis Cluster only: number of count ZSET shards ({@code cart:idx:counts:{n}}) the item-count
+     * index is spread over. The admin report reads all of them, so keep it near the number of primaries.
+     */
+    private int countShards = 16;
+}
@@ -0,0 +1,37 @@
+package org.example.rediscartservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.infrastructure.memory.cart.InMemoryCartRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Carts held in this JVM ({@code cart.storage.backend=memory}, e.g. the {@code memory} profile; see
+ * {@link InMemoryCartRepository}). Sessions and the product catalog still live in Redis, so this trades
+ * durability and sharing between nodes for no Redis round trips on cart calls. Idle sessions are swept
+ * every {@code cart.idle-ttl / 4} (at least once a minute).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "cart.storage", name = "backend", havingValue = "memory")
+public class InMemoryCartConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public InMemoryCartRepository inMemoryCartRepository(CartIdleProperties idle, Environment env) {
+        if (env.getProperty("redis.shards.enabled", Boolean.class, false)
+                || env.containsProperty("spring.data.redis.cluster.nodes")) {
+            throw new IllegalStateException("cart.storage.backend=memory cannot be combined with redis.shards or a Redis cluster");
+        }
+        InMemoryCartRepository repository = new InMemoryCartRepository(idle.getIdleTtl());
+        Duration sweep = idle.getIdleTtl().dividedBy(4);
+        repository.startExpiry(sweep.compareTo(Duration.ofMinutes(1)) > 0 ? Duration.ofMinutes(1) : sweep);
+        log.info("Carts kept in memory (idle TTL {})", idle.getIdleTtl());
+        return repository;
+    }
+}
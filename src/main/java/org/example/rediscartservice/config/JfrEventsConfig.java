@@ -0,0 +1,23 @@
+package org.example.rediscartservice.config;
+
+import org.example.rediscartservice.infrastructure.diagnostics.jfr.CartEventsAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Custom JFR events ({@code diagnostics.jfr.enabled=true}). This switch installs the hooks that cost
+ * something even when no recording is running: the cart service aspect and the timed pool connections
+ * (see {@link RedisConfig}). Session touch and product cache events are emitted inline regardless.
+ *
+ * All events are disabled by default; record them with {@code jfr/rediscart.jfc}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "diagnostics.jfr", name = "enabled", havingValue = "true")
+public class JfrEventsConfig {
+
+    @Bean
+    public CartEventsAspect cartEventsAspect() {
+        return new CartEventsAspect();
+    }
+}
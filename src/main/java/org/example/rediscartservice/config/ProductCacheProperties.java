@@ -0,0 +1,25 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheProperties {
+    /** Cache search / list results at all. */
+    private boolean enabled = true;
+    /** Max results kept per node (least recently used are dropped first). */
+    private int maxEntries = 10_000;
+    /** Lifetime of a cached result, e.g. 30s. */
+    private Duration ttl = Duration.ofSeconds(30);
+    /** Also share results and the catalog generation through Redis (multi-node). */
+    private boolean shared = false;
+    /** How often a node re-reads the shared generation; bounds cross-node staleness. */
+    private Duration generationCheckInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,101 @@
+package org.example.rediscartservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
+import org.example.rediscartservice.domain.port.cart.AsyncCartRepository;
+import org.example.rediscartservice.domain.port.product.AsyncProductRepository;
+import org.example.rediscartservice.infrastructure.redis.cart.LettuceCartRepository;
+import org.example.rediscartservice.infrastructure.redis.product.LettuceProductRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Async ports on Lettuce ({@code redis.async.enabled=true}). One shared connection per node:
+ * commands from concurrent callers are written back-to-back and their replies matched in order,
+ * so there is no pool to size and no borrow wait. Connection settings come from {@code spring.data.redis.*}.
+ *
+ * Only the HASH cart line format on the {@code spring.data.redis} node is supported on this path:
+ * the Lettuce connection knows neither cart shards nor cluster slots, so both are refused.
+ * Product lookups still go through ProductService's request coalescing.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "redis.async", name = "enabled", havingValue = "true")
+public class RedisAsyncConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(ObjectProvider<ObservationRegistry> observations,
+                                                  @Value("${diagnostics.tracing.redis-commands:false}") boolean commandSpans) {
+        ClientResources.Builder builder = ClientResources.builder();
+        // Command spans under the caller's observation; command arguments (keys, values) are never tagged
+        if (commandSpans) {
+            observations.ifAvailable(registry -> builder.tracing(new MicrometerTracing(registry, "rediscartservice", false)));
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient lettuceClient(ClientResources lettuceClientResources, RedisProperties redis) {
+        return RedisClient.create(lettuceClientResources, redisUri(redis));
+    }
+
+    @Bean(destroyMethod = "close")
+    public StatefulRedisConnection<String, String> lettuceConnection(RedisClient lettuceClient) {
+        return lettuceClient.connect();
+    }
+
+    @Bean
+    public AsyncCartRepository asyncCartRepository(StatefulRedisConnection<String, String> lettuceConnection,
+                                                   CartStorageProperties storage, Environment env) {
+        if (env.getProperty("redis.shards.enabled", Boolean.class, false)
+                || env.containsProperty("spring.data.redis.cluster.nodes")) {
+            throw new IllegalStateException("redis.async.enabled cannot be combined with redis.shards or a Redis cluster");
+        }
+        if (storage.getLineFormat() != CartStorageProperties.LineFormat.HASH) {
+            throw new IllegalStateException("redis.async.enabled requires cart.storage.line-format=hash");
+        }
+        if (storage.getBackend() != CartStorageProperties.Backend.REDIS) {
+            throw new IllegalStateException("redis.async.enabled requires cart.storage.backend=redis");
+        }
+        return new LettuceCartRepository(lettuceConnection.async());
+    }
+
+    @Bean
+    public AsyncProductRepository asyncProductRepository(StatefulRedisConnection<String, String> lettuceConnection,
+                                                         ObjectMapper mapper) {
+        return new LettuceProductRepository(lettuceConnection.async(), mapper);
+    }
+
+    // ---------- spring.data.redis.* → Lettuce ----------
+
+    static RedisURI redisUri(RedisProperties redis) {
+        RedisURI.Builder builder = RedisURI.builder()
+                .withHost(redis.getHost())
+                .withPort(redis.getPort())
+                .withDatabase(redis.getDatabase())
+                .withSsl(redis.getSsl().isEnabled());
+        if (redis.getPassword() != null) {
+            if (redis.getUsername() != null) {
+                builder.withAuthentication(redis.getUsername(), redis.getPassword());
+            } else {
+                builder.withPassword(redis.getPassword().toCharArray());
+            }
+        }
+        if (redis.getClientName() != null) {
+            builder.withClientName(redis.getClientName());
+        }
+        if (redis.getTimeout() != null) {
+            builder.withTimeout(redis.getTimeout());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request Redis round-trip accounting and budgets ({@code redis.budget.*}).
+ * Endpoints are named {@code <Controller>.<method>}, e.g. {@code CartController.getCart}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "redis.budget")
+public class RedisBudgetProperties {
+    private boolean enabled = false;
+    /** Round trips a request may make before it counts as over budget. */
+    private int roundTrips = 12;
+    /** Per-endpoint overrides of {@code roundTrips}. */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, roundTrips);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "redis.client-cache")
+public class RedisClientCacheProperties {
+    /** RESP3 client-side caching with server-assisted invalidation (needs Redis 7.4+). */
+    private boolean enabled = false;
+    /** Max cached replies per node (least recently used are evicted first). */
+    private int maxEntries = 10_000;
+    /** Key patterns whose read replies may be cached; '*' matches any run of characters. */
+    private List<String> keyPatterns = new ArrayList<>(List.of("product:*", "sess:*:meta"));
+}
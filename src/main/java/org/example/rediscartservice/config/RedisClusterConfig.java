@@ -0,0 +1,82 @@
+package org.example.rediscartservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.example.rediscartservice.infrastructure.redis.cart.JedisClusterCartRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Cart storage on Redis Cluster, enabled by {@code spring.data.redis.cluster.nodes}
+ * (plus {@code cluster.max-redirects}). Client, timeout and pool settings are shared with
+ * {@link RedisConfig}; the cluster repository takes precedence over the standalone one.
+ * <p>
+ * Carts, session meta and shared session owners move to the cluster. Products, the shared
+ * product cache and the RediSearch indexes need a single keyspace and stay on the standalone
+ * node at {@code spring.data.redis.host}; startup fails when that node is a cluster member.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "spring.data.redis.cluster", name = "nodes")
+public class RedisClusterConfig {
+
+    private static final int DEFAULT_MAX_REDIRECTS = 5;
+
+    @Bean(destroyMethod = "close")
+    public JedisCluster jedisCluster(RedisProperties redis, JedisPooled jedisClient) {
+        requireStandalone(jedisClient);
+        RedisProperties.Cluster cluster = redis.getCluster();
+        int maxRedirects = cluster.getMaxRedirects() != null ? cluster.getMaxRedirects() : DEFAULT_MAX_REDIRECTS;
+        // Jedis counts attempts, not redirects: the first try plus one per MOVED/ASK
+        return new JedisCluster(clusterNodes(cluster), RedisConfig.clientConfig(redis, false), maxRedirects + 1,
+                RedisConfig.poolConfig(redis));
+    }
+
+    @Bean
+    @Primary
+    public CartRepository clusterCartRepository(JedisCluster jedisCluster, CartStorageProperties storage) {
+        return new JedisClusterCartRepository(jedisCluster, storage);
+    }
+
+    /** Where session keys live: the cluster when one is configured, else the standalone node. */
+    public static UnifiedJedis sessionStore(JedisPooled standalone, ObjectProvider<JedisCluster> cluster) {
+        JedisCluster jedisCluster = cluster.getIfAvailable();
+        return jedisCluster != null ? jedisCluster : standalone;
+    }
+
+    // Products and indexes cannot follow the carts into the cluster
+    static void requireStandalone(JedisPooled jedisClient) {
+        String info;
+        try {
+            info = jedisClient.info("cluster");
+        } catch (Exception e) {
+            log.warn("Could not check that spring.data.redis.host is standalone: {}", e.toString());
+            return;
+        }
+        if (info != null && info.contains("cluster_enabled:1")) {
+            throw new IllegalStateException("Redis Cluster carts require spring.data.redis.host to be a standalone node "
+                    + "for products and indexes, not a cluster member");
+        }
+    }
+
+    // ---------- spring.data.redis.cluster.* → Jedis ----------
+
+    static Set<HostAndPort> clusterNodes(RedisProperties.Cluster cluster) {
+        Set<HostAndPort> nodes = new LinkedHashSet<>();
+        for (String node : cluster.getNodes()) {
+            nodes.add(HostAndPort.from(node.trim()));
+        }
+        return nodes;
+    }
+}
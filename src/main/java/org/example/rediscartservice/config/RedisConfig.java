@@ -1,16 +1,139 @@
 package org.example.rediscartservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.infrastructure.redis.csc.ClientCacheMetrics;
+import org.example.rediscartservice.infrastructure.redis.csc.KeyPatternCacheable;
+import org.example.rediscartservice.infrastructure.redis.metrics.RedisCommandMetrics;
+import org.example.rediscartservice.infrastructure.redis.metrics.TimedConnectionFactory;
+import org.example.rediscartservice.infrastructure.redis.pool.InstrumentedConnectionProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.ConnectionFactory;
+import redis.clients.jedis.ConnectionPoolConfig;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheConfig;
+import redis.clients.jedis.csc.CacheFactory;
 
+/**
+ * Builds the shared {@link JedisPooled} from {@code spring.data.redis.*}:
+ *  - host / port / database / username / password / client-name / ssl.enabled
+ *  - timeout (socket read) and connect-timeout
+ *  - jedis.pool.max-active / max-idle / min-idle / max-wait (borrow timeout) / time-between-eviction-runs
+ * plus {@code redis.pool.warm-up} / {@code redis.pool.max-waiters} and, when enabled, the client-side cache
+ * and the per-command instruments (metrics, round-trip accounting, JFR events, command spans).
+ */
+@Slf4j
 @Configuration
+@EnableConfigurationProperties(RedisProperties.class)
 public class RedisConfig {
 
     @Bean
-    public JedisPooled jedisClient() {
-        return new JedisPooled("localhost", 6379);
+    public JedisPooled jedisClient(RedisProperties redis, RedisPoolProperties poolProps, ObjectProvider<Cache> clientCache,
+                                   TimedConnectionFactory.Instruments redisInstruments, MeterRegistry registry) {
+        return pooledClient(InstrumentedConnectionProvider.PRIMARY, new HostAndPort(redis.getHost(), redis.getPort()),
+                clientCache.getIfAvailable(), redis, poolProps, redisInstruments, registry);
+    }
+
+    /**
+     * Pooled client for one node with the {@code spring.data.redis.*} client and pool settings, pool
+     * metrics tagged {@code pool=<poolName>} and the per-command instruments. The main node, cart
+     * shards and read replicas are all built here, so their traffic lands in the same meters.
+     */
+    static JedisPooled pooledClient(String poolName, HostAndPort node, Cache cache, RedisProperties redis,
+                                    RedisPoolProperties poolProps, TimedConnectionFactory.Instruments instruments,
+                                    MeterRegistry registry) {
+        // Client-side caching needs RESP3: invalidations arrive as push messages on the same connection
+        JedisClientConfig clientConfig = clientConfig(redis, cache != null);
+        ConnectionFactory connections = TimedConnectionFactory.create(node, clientConfig, cache, instruments);
+        InstrumentedConnectionProvider provider = new InstrumentedConnectionProvider(
+                poolName, connections, poolConfig(redis), poolProps.getMaxWaiters(), registry);
+
+        if (poolProps.getWarmUp() > 0) {
+            int opened = provider.warmUp(poolProps.getWarmUp());
+            log.info("Redis pool {} warmed up with {} connection(s)", poolName, opened);
+        }
+        return new JedisPooled(provider);
+    }
+
+    /**
+     * Per-command instruments of the Jedis pools, each off unless its own switch is on. With all of them
+     * off the pools use plain Jedis connections.
+     */
+    @Bean
+    public TimedConnectionFactory.Instruments redisInstruments(RedisBudgetProperties budget,
+                                                               ObjectProvider<RedisCommandMetrics> commandMetrics,
+                                                               @Value("${diagnostics.jfr.enabled:false}") boolean jfrEvents,
+                                                               @Value("${diagnostics.tracing.redis-commands:false}") boolean commandSpans,
+                                                               ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new TimedConnectionFactory.Instruments(
+                commandMetrics.getIfAvailable(),
+                commandSpans ? observationRegistry.getIfAvailable() : null,
+                budget.isEnabled(),
+                jfrEvents);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.client-cache", name = "enabled", havingValue = "true")
+    public Cache redisClientCache(RedisClientCacheProperties props) {
+        return CacheFactory.getCache(CacheConfig.builder()
+                .maxSize(props.getMaxEntries())
+                .cacheable(new KeyPatternCacheable(props.getKeyPatterns()))
+                .build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.client-cache", name = "enabled", havingValue = "true")
+    public MeterBinder redisClientCacheMetrics(Cache redisClientCache) {
+        return new ClientCacheMetrics(redisClientCache);
+    }
+
+    // ---------- spring.data.redis.* → Jedis ----------
+
+    static JedisClientConfig clientConfig(RedisProperties redis, boolean resp3) {
+        DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
+                .database(redis.getDatabase())
+                .user(redis.getUsername())
+                .password(redis.getPassword())
+                .clientName(redis.getClientName())
+                .ssl(redis.getSsl().isEnabled());
+        if (redis.getTimeout() != null) {
+            builder.socketTimeoutMillis(Math.toIntExact(redis.getTimeout().toMillis()));
+        }
+        if (redis.getConnectTimeout() != null) {
+            builder.connectionTimeoutMillis(Math.toIntExact(redis.getConnectTimeout().toMillis()));
+        }
+        if (resp3) {
+            builder.resp3();
+        }
+        return builder.build();
+    }
+
+    static ConnectionPoolConfig poolConfig(RedisProperties redis) {
+        RedisProperties.Pool pool = redis.getJedis().getPool();
+        ConnectionPoolConfig config = new ConnectionPoolConfig();   // keeps Jedis' idle-eviction defaults
+        config.setMaxTotal(pool.getMaxActive());
+        config.setMaxIdle(pool.getMaxIdle());
+        config.setMinIdle(pool.getMinIdle());
+        config.setBlockWhenExhausted(true);
+        // Negative = wait forever; anything else bounds how long a request thread can block on borrow
+        config.setMaxWait(pool.getMaxWait());
+        if (pool.getTimeBetweenEvictionRuns() != null) {
+            config.setTimeBetweenEvictionRuns(pool.getTimeBetweenEvictionRuns());
+        }
+        return config;
     }
 
     @Bean
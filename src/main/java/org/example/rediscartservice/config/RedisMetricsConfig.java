@@ -0,0 +1,29 @@
+package org.example.rediscartservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.rediscartservice.infrastructure.redis.metrics.RedisCommandMetrics;
+import org.example.rediscartservice.infrastructure.redis.metrics.RepositoryMetricsAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-command and per-repository-method Redis metrics ({@code redis.metrics.enabled=true}).
+ * Commands are timed on every client built by {@code RedisConfig.pooledClient}: the main node, the
+ * cart shards ({@code pool=shard:<node>}) and the read replicas ({@code pool=replica:<node>}).
+ * The {@code JedisCluster} client and the Lettuce client of the async path are not instrumented.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "redis.metrics", name = "enabled", havingValue = "true")
+public class RedisMetricsConfig {
+
+    @Bean
+    public RedisCommandMetrics redisCommandMetrics(MeterRegistry registry) {
+        return new RedisCommandMetrics(registry);
+    }
+
+    @Bean
+    public RepositoryMetricsAspect repositoryMetricsAspect(MeterRegistry registry) {
+        return new RepositoryMetricsAspect(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pool extras not covered by {@code spring.data.redis.jedis.pool.*}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "redis.pool")
+public class RedisPoolProperties {
+    /** Connections opened at startup so the first requests do not pay the connect / handshake cost. */
+    private int warmUp = 0;
+    /**
+     * Max threads allowed to block in borrow at once (0 = unbounded); the rest fail fast.
+     * Matters with virtual threads, where request threads vastly outnumber connections.
+     */
+    private int maxWaiters = 0;
+}
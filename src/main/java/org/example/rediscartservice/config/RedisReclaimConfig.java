@@ -0,0 +1,35 @@
+package org.example.rediscartservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.infrastructure.redis.cart.ExpiredSessionReclaimer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import redis.clients.jedis.JedisPooled;
+
+/**
+ * Expired-session reclaimer on the {@code spring.data.redis} node ({@code redis.reclaim.enabled=true}).
+ * It knows the standalone key layout only, so it refuses cluster and shard deployments, whose
+ * cart keys live elsewhere.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "redis.reclaim", name = "enabled", havingValue = "true")
+public class RedisReclaimConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExpiredSessionReclaimer expiredSessionReclaimer(JedisPooled jedisClient, RedisReclaimProperties props,
+                                                           Environment env) {
+        if (env.getProperty("redis.shards.enabled", Boolean.class, false)
+                || env.containsProperty("spring.data.redis.cluster.nodes")) {
+            throw new IllegalStateException("redis.reclaim.enabled cannot be combined with redis.shards or a Redis cluster");
+        }
+        ExpiredSessionReclaimer reclaimer = new ExpiredSessionReclaimer(jedisClient, props.getRetention(),
+                props.getScanCount(), props.getKeysPerSecond(), props.isMeasureBytes());
+        reclaimer.start(props.getInterval());
+        log.info("Reclaiming sessions idle for {} every {} (at most {} keys/s)",
+                props.getRetention(), props.getInterval(), props.getKeysPerSecond());
+        return reclaimer;
+    }
+}
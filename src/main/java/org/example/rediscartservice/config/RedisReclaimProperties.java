@@ -0,0 +1,30 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Background deletion of expired session metadata and the carts only they referred to
+ * (see ExpiredSessionReclaimer).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "redis.reclaim")
+public class RedisReclaimProperties {
+    private boolean enabled = false;
+    /** Pause between runs; with several nodes one of them runs per interval. */
+    private Duration interval = Duration.ofMinutes(10);
+    /** A session idle this long is reclaimed; keep it well above the Spring Session timeout. */
+    private Duration retention = Duration.ofHours(24);
+    /** SCAN COUNT, and so the size of each pipelined batch. */
+    private int scanCount = 500;
+    /** Keys examined per second at most, counted as SCAN COUNT per call (0 = unpaced). */
+    private int keysPerSecond = 5_000;
+    /** Sum MEMORY USAGE of deleted keys into redis.reclaim.bytes (one extra command per key, same pipeline). */
+    private boolean measureBytes = true;
+}
@@ -0,0 +1,46 @@
+package org.example.rediscartservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.infrastructure.redis.metrics.TimedConnectionFactory;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write split: the primary is {@code spring.data.redis}, replicas come from {@code redis.replicas.nodes}
+ * and reuse its client and pool settings, pool metrics ({@code pool=replica:<node>}) and per-command instruments.
+ * With no replicas configured the router sends everything to the primary.
+ */
+@Slf4j
+@Configuration
+public class RedisReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(JedisPooled jedisClient, RedisProperties redis, RedisPoolProperties poolProps,
+                                       RedisReplicaProperties props, TimedConnectionFactory.Instruments redisInstruments,
+                                       MeterRegistry registry) {
+        if (props.getNodes().isEmpty()) {
+            return ReplicaRouter.primaryOnly(jedisClient);
+        }
+        List<UnifiedJedis> replicas = new ArrayList<>();
+        for (String node : props.getNodes()) {
+            String name = node.trim();
+            replicas.add(RedisConfig.pooledClient("replica:" + name, HostAndPort.from(name), null, redis,
+                    poolProps, redisInstruments, registry));
+        }
+        ReplicaRouter router = new ReplicaRouter(jedisClient, replicas, props.getMaxStaleness(),
+                props.getReadYourWritesWindow(), System::currentTimeMillis);
+        router.startHealthChecks(props.getHealthCheckInterval());
+        log.info("Redis read replicas: {} (max staleness {}, read-your-writes window {})",
+                props.getNodes(), props.getMaxStaleness(), props.getReadYourWritesWindow());
+        return router;
+    }
+}
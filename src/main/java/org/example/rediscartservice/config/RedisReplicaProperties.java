@@ -0,0 +1,30 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for catalog reads and admin report scans (see ReplicaRouter).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "redis.replicas")
+public class RedisReplicaProperties {
+    /** Replica nodes as {@code host:port}; empty = all reads on the primary. */
+    private List<String> nodes = new ArrayList<>();
+    /**
+     * A replica leaves rotation when it has heard nothing from the primary for longer than this.
+     * An idle primary only pings every repl-ping-replica-period (10s by default), so stay above that.
+     */
+    private Duration maxStaleness = Duration.ofSeconds(15);
+    /** After a catalog write (this node's, or another node's seen through the shared cache generation), reads stay on the primary this long. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+    private Duration healthCheckInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,67 @@
+package org.example.rediscartservice.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.example.rediscartservice.infrastructure.redis.cart.CartIndexBootstrap;
+import org.example.rediscartservice.infrastructure.redis.cart.JedisCartRepository;
+import org.example.rediscartservice.infrastructure.redis.cart.ShardedCartRepository;
+import org.example.rediscartservice.infrastructure.redis.cart.ShardedCartRepository.Shard;
+import org.example.rediscartservice.infrastructure.redis.metrics.TimedConnectionFactory;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.example.rediscartservice.infrastructure.redis.shard.ConsistentHashRing;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPooled;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Carts sharded over {@code redis.shards.nodes} (see {@link ShardedCartRepository}).
+ * Sessions and the product catalog stay on the {@code spring.data.redis} node: products are read by
+ * RediSearch queries over the whole catalog, which need it in one index, so scale them with replicas
+ * rather than by splitting. Shard pools reuse the {@code spring.data.redis.*} client and pool settings, and
+ * report pool metrics ({@code pool=shard:<node>}) and per-command instruments like the main pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "redis.shards", name = "enabled", havingValue = "true")
+public class RedisShardConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardedCartRepository shardedCartRepository(JedisPooled jedisClient, RedisProperties redis,
+                                                       RedisPoolProperties poolProps, RedisShardProperties shardProps,
+                                                       CartStorageProperties storage,
+                                                       TimedConnectionFactory.Instruments redisInstruments,
+                                                       MeterRegistry registry) {
+        if (shardProps.getNodes().isEmpty()) {
+            throw new IllegalStateException("redis.shards.enabled requires redis.shards.nodes");
+        }
+        Map<String, Shard> shards = new LinkedHashMap<>();
+        for (String node : shardProps.getNodes()) {
+            String name = node.trim();
+            JedisPooled jedis = RedisConfig.pooledClient("shard:" + name, HostAndPort.from(name), null, redis,
+                    poolProps, redisInstruments, registry);
+            if (storage.getLineFormat() == CartStorageProperties.LineFormat.HASH) {
+                CartIndexBootstrap.createIndex(jedis);
+            }
+            shards.put(name, new Shard(name, jedis, new JedisCartRepository(jedis, storage, ReplicaRouter.primaryOnly(jedis))));
+        }
+        log.info("Cart shards: {} ({} virtual nodes each)", shards.keySet(), shardProps.getVirtualNodes());
+
+        return new ShardedCartRepository(
+                new JedisCartRepository(jedisClient, storage, ReplicaRouter.primaryOnly(jedisClient)),
+                new ConsistentHashRing<>(shards, shardProps.getVirtualNodes()),
+                // Fan-out workers continue the caller's trace
+                ContextExecutorService.wrap(Executors.newVirtualThreadPerTaskExecutor(), ContextSnapshotFactory.builder().build()));
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client-side cart sharding over standalone Redis nodes ({@code redis.shards.enabled=true}).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "redis.shards")
+public class RedisShardProperties {
+    private boolean enabled = false;
+    /**
+     * Cart nodes as {@code host:port}. The string is also the node's name on the hash ring, so
+     * keep it identical on every instance; appending a node moves only ~1/N of the carts to it.
+     */
+    private List<String> nodes = new ArrayList<>();
+    /** Ring points per node; more points give a more even spread. */
+    private int virtualNodes = 160;
+}
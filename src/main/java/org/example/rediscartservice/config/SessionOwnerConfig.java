@@ -0,0 +1,55 @@
+package org.example.rediscartservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.infrastructure.session.InMemorySessionOwnerRegistry;
+import org.example.rediscartservice.infrastructure.session.RedisSessionOwnerRegistry;
+import org.example.rediscartservice.infrastructure.session.SessionOwnerRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.session.SessionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPooled;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The session owner registry: per node by default, in Redis with a local near cache when
+ * {@code session.owner.shared=true} (on the cluster when one is configured). Entries live as
+ * long as an idle session does.
+ */
+@Slf4j
+@Configuration
+public class SessionOwnerConfig {
+
+    private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMinutes(30);
+
+    @Bean
+    public SessionOwnerRegistry sessionOwnerRegistry(SessionOwnerProperties props, ObjectProvider<JedisPooled> jedis,
+                                                     ObjectProvider<JedisCluster> cluster,
+                                                     ObjectProvider<SessionProperties> session,
+                                                     ObjectProvider<ServerProperties> server) {
+        Duration ttl = props.getTtl() != null ? props.getTtl() : sessionTimeout(session, server);
+        if (!props.isShared()) {
+            return new InMemorySessionOwnerRegistry(props.getMaxEntries(), ttl);
+        }
+        Duration nearTtl = props.getNearCacheTtl().compareTo(ttl) < 0 ? props.getNearCacheTtl() : ttl;
+        log.info("Session owners shared through Redis (ttl {}, near cache {})", ttl, nearTtl);
+        return new RedisSessionOwnerRegistry(RedisClusterConfig.sessionStore(jedis.getObject(), cluster), ttl,
+                InMemorySessionOwnerRegistry.nearCache(props.getMaxEntries(), nearTtl));
+    }
+
+    // ---------- helpers ----------
+
+    static Duration sessionTimeout(ObjectProvider<SessionProperties> session, ObjectProvider<ServerProperties> server) {
+        Duration servlet = server.stream()
+                .map(s -> s.getServlet().getSession().getTimeout())
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(DEFAULT_SESSION_TIMEOUT);
+        SessionProperties properties = session.getIfAvailable();
+        return properties == null ? servlet : properties.determineTimeout(() -> servlet);
+    }
+}
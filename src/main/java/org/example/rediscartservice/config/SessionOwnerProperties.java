@@ -0,0 +1,23 @@
+package org.example.rediscartservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "session.owner")
+public class SessionOwnerProperties {
+    /** Max session → user entries kept per node (least recently used are dropped first). */
+    private int maxEntries = 100_000;
+    /** Idle lifetime of an entry; unset = the Spring Session timeout (spring.session.timeout / server.servlet.session.timeout). */
+    private Duration ttl;
+    /** Keep ownership in Redis ({@code sess:owner:{id}}) so every node sees the same owner (multi-node). */
+    private boolean shared = false;
+    /** Shared mode: how long a node trusts its local copy; bounds how late an eviction on another node is seen. */
+    private Duration nearCacheTtl = Duration.ofSeconds(5);
+}
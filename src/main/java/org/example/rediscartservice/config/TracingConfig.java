@@ -0,0 +1,33 @@
+package org.example.rediscartservice.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Tracing on top of Spring Boot's Micrometer → OpenTelemetry setup:
+ *  - spans: HTTP server (Boot), every {@code CartService} / {@code ProductService} method ({@code @Observed}),
+ *    and with {@code diagnostics.tracing.redis-commands=true} every Redis command beneath them
+ *    (Jedis pool connections, Lettuce client resources)
+ *  - context propagation into {@code @Async} / application task executors (task decorator below)
+ *    and the shard fan-out executor ({@link RedisShardConfig})
+ *  - export: OTLP when {@code management.otlp.tracing.endpoint} is set (e.g. a local collector),
+ *    and/or the application log when {@code diagnostics.tracing.log-spans=true}
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "diagnostics.tracing", name = "log-spans", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
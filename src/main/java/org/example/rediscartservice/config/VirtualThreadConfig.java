@@ -0,0 +1,29 @@
+package org.example.rediscartservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.rediscartservice.infrastructure.diagnostics.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread mode is Spring Boot's own switch, {@code spring.threads.virtual.enabled=true}:
+ * Tomcat request handling, the application task executor (@Async) and the task scheduler
+ * all run on virtual threads. Pair it with {@code redis.pool.max-waiters} so request threads
+ * cannot pile up on the Jedis pool.
+ *
+ * In that mode we also watch for pinning; see {@link VirtualThreadPinningMonitor}.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${diagnostics.pinning.threshold:20ms}") Duration threshold, MeterRegistry registry) {
+        return new VirtualThreadPinningMonitor(threshold, registry);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.rediscartservice.domain.model.product;
+
+/**
+ * A product read was asked for something the caller got wrong (unknown projection field,
+ * out-of-range search option). Mapped to 400; any other exception stays a server error.
+ */
+public class InvalidProductQueryException extends RuntimeException {
+
+    public InvalidProductQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.rediscartservice.domain.model.product;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Product attributes that can be projected in list / search reads ({@code fields=id,name,price}).
+ * An empty selection means "whole document".
+ */
+public enum ProductField {
+    ID("$.id"),
+    SKU("$.sku"),
+    NAME("$.name"),
+    DESCRIPTION("$.description"),
+    PRICE("$.price");
+
+    private final String jsonPath;
+
+    ProductField(String jsonPath) {
+        this.jsonPath = jsonPath;
+    }
+
+    public String jsonPath() {
+        return jsonPath;
+    }
+
+    /** Lower-case name as used in requests and JSON responses. */
+    public String alias() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parse a comma-separated list (case-insensitive). {@code null}/blank → empty set.
+     * @throws InvalidProductQueryException on unknown field names
+     */
+    public static Set<ProductField> parse(String csv) {
+        Set<ProductField> fields = EnumSet.noneOf(ProductField.class);
+        if (csv == null || csv.isBlank()) return fields;
+        for (String raw : csv.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+            ProductField field = Arrays.stream(values())
+                    .filter(f -> f.alias().equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidProductQueryException("Unknown product field: " + name));
+            fields.add(field);
+        }
+        return fields;
+    }
+}
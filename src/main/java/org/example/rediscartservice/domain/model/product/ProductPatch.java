@@ -0,0 +1,31 @@
+package org.example.rediscartservice.domain.model.product;
+
+import jakarta.validation.constraints.*;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Field-level product change; {@code null} means "leave as is".
+ * SKU is deliberately absent: it is the business key and changes go through a full update.
+ */
+@Value
+@Builder
+public class ProductPatch {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    String name;
+
+    @Size(max = 10_000)
+    String description;
+
+    @DecimalMin(value = "0.00")
+    @Digits(integer = 12, fraction = 2)
+    BigDecimal price;
+
+    /** True when no field would be written. */
+    public boolean isEmpty() {
+        return name == null && description == null && price == null;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.rediscartservice.domain.model.product;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+
+/**
+ * A product matched by full-text search together with its relevance score.
+ */
+@Value
+@AllArgsConstructor
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE) // for JSON (shared result cache)
+public class ProductSearchHit {
+    Product product;
+    double score;
+}
@@ -0,0 +1,13 @@
+package org.example.rediscartservice.domain.model.product;
+
+/**
+ * Match semantics for full-text product search.
+ * - EXACT  : whole-token match (stemmed), e.g. {@code hoodie}
+ * - PREFIX : token prefix match, e.g. {@code hood*}
+ * - FUZZY  : Levenshtein match (distance 1–2), e.g. {@code %hoodei%}
+ */
+public enum SearchMode {
+    EXACT,
+    PREFIX,
+    FUZZY
+}
@@ -0,0 +1,26 @@
+package org.example.rediscartservice.domain.port.cart;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link CartRepository} for callers that compose several Redis reads
+ * concurrently. Cart-id resolution is a separate step so it can run alongside other work
+ * (e.g. the product lookup when adding an item).
+ */
+public interface AsyncCartRepository {
+
+    /** Cart id bound to the session; allocates one if the session has none yet. */
+    CompletionStage<String> resolveCartId(String sessionId);
+
+    /** All lines of the given cart (empty list if none). */
+    CompletionStage<List<CartItem>> findByCartId(String cartId);
+
+    /** Add (or increment if exists) a cart line; {@code sessionId} keys the item-count index. */
+    CompletionStage<Void> add(String sessionId, String cartId, CartItem cartItem);
+
+    /** Remove a cart line entirely (idempotent). */
+    CompletionStage<Void> remove(String sessionId, String cartId, String productId);
+}
@@ -26,4 +26,11 @@ public interface CartRepository {
 
     /** Return session ids whose carts contain STRICTLY more than the given item count. */
     List<String> sessionsWithItemCountGreaterThan(int threshold);
-}
\ No newline at end of file
+
+    /**
+     * Called on every session-touched request with the session's user (null when anonymous).
+     * Only repositories that track sessions themselves need it; Redis-backed ones read {@code sess:*} keys.
+     */
+    default void touchSession(String sessionId, String username) {
+    }
+}
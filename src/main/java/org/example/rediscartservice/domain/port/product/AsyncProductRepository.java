@@ -0,0 +1,18 @@
+package org.example.rediscartservice.domain.port.product;
+
+import org.example.rediscartservice.domain.model.product.Product;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking read side of {@link ProductRepository}.
+ */
+public interface AsyncProductRepository {
+
+    CompletionStage<Optional<Product>> findById(String id);
+
+    /** Missing ids are skipped; order follows {@code ids}. */
+    CompletionStage<List<Product>> findAllByIds(List<String> ids);
+}
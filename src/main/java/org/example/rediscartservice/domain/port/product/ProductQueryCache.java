@@ -0,0 +1,35 @@
+package org.example.rediscartservice.domain.port.product;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for catalog queries (search / list).
+ * Entries are scoped to a catalog generation; {@link #invalidateAll()} bumps it so every
+ * cached result becomes unreachable at once (no per-key bookkeeping on writes).
+ */
+public interface ProductQueryCache {
+
+    /**
+     * Return the cached list for {@code key} or load, cache and return it. The loader gets the
+     * generation-scoped key: loads shared between callers must be keyed on it, so a caller that
+     * missed after a write never joins a load started before it.
+     */
+    <T> List<T> getList(String key, Class<T> elementType, Function<String, List<T>> loader);
+
+    /** Start a new catalog generation (call after any product write). */
+    void invalidateAll();
+
+    /** Pass-through cache: always loads, never stores. */
+    static ProductQueryCache disabled() {
+        return new ProductQueryCache() {
+            @Override
+            public <T> List<T> getList(String key, Class<T> elementType, Function<String, List<T>> loader) {
+                return loader.apply(key);
+            }
+
+            @Override
+            public void invalidateAll() {}
+        };
+    }
+}
@@ -1,17 +1,38 @@
 package org.example.rediscartservice.domain.port.product;
 
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ProductRepository {
     Product save(Product product);
+    /** Write only the non-null fields of {@code patch}; returns false if nothing was written (missing product, empty patch). */
+    boolean patch(String id, ProductPatch patch);
     Optional<Product> findById(String id);
+    /** Existence check that precedes a write: always answered by the primary, never a lagging replica. */
+    boolean existsById(String id);
+    /** Batch lookup in one round trip; missing ids are skipped, order follows {@code ids}. */
+    List<Product> findAllByIds(List<String> ids);
     void deleteById(String id);
 
-    List<Product> searchByName(String textQuery);
-    List<Product> searchByDescription(String textQuery);
+    /** Lookup by business key (SKU). */
+    Optional<Product> findBySku(String sku);
+    /** Batch lookup by SKU; unknown SKUs are skipped, order follows {@code skus}. */
+    List<Product> findAllBySkus(List<String> skus);
+
+    /**
+     * Scored search; {@code distance} (1–2) only applies to {@link SearchMode#FUZZY}.
+     * A non-empty {@code fields} selection returns products with only those attributes set.
+     */
+    List<ProductSearchHit> searchByName(String textQuery, SearchMode mode, int distance, Set<ProductField> fields);
+    List<ProductSearchHit> searchByDescription(String textQuery, SearchMode mode, int distance, Set<ProductField> fields);
 
     List<Product> findAll(int offset, int s);
+    List<Product> findAll(int offset, int s, Set<ProductField> fields);
 }
@@ -0,0 +1,218 @@
+package org.example.rediscartservice.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.config.ProductCacheProperties;
+import org.example.rediscartservice.infrastructure.diagnostics.jfr.ProductCacheEvent;
+import org.example.rediscartservice.domain.port.product.ProductQueryCache;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Function;
+
+/**
+ * Two-tier catalog query cache:
+ *  - L1: per-node LRU map bounded by {@code maxEntries}, entries expire after {@code ttl}
+ *  - L2 (optional, {@code shared=true}): Redis string {@code pcache:{gen}:{key}} with PX ttl
+ *
+ * Invalidation is generation based: every write bumps the generation and all keys of the old
+ * generation become unreachable (L1 is cleared, L2 entries simply age out).
+ * In shared mode the generation lives in Redis ({@code pcache:gen}) and is re-read at most every
+ * {@code generationCheckInterval}, so writes on another node are visible within that interval.
+ * When the bump cannot reach Redis the node bumps its own generation, serves from L1 only and
+ * retries the INCR on its next generation check, so the write is announced once Redis is back.
+ * A node that sees another node's bump reads from the primary for the read-your-writes window
+ * ({@link ReplicaRouter#afterWrite()}), so it does not refill L1 / L2 from a replica that lacks the write.
+ */
+@Slf4j
+@Component
+public class TieredProductQueryCache implements ProductQueryCache {
+
+    static final String GENERATION_KEY = "pcache:gen";
+    private static final String ENTRY_PREFIX = "pcache:";
+
+    private final JedisPooled jedis;
+    private final ObjectMapper mapper;
+    private final ProductCacheProperties props;
+    private final ReplicaRouter replicas;
+    private final LongSupplier clock;   // millis
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> local;
+
+    private volatile long generation;
+    private volatile long generationCheckedAt = Long.MIN_VALUE;
+    private volatile boolean bumpPending;
+
+    @Autowired
+    public TieredProductQueryCache(JedisPooled jedis, ObjectMapper mapper, ProductCacheProperties props,
+                                   ReplicaRouter replicas) {
+        this(jedis, mapper, props, replicas, System::currentTimeMillis);
+    }
+
+    TieredProductQueryCache(JedisPooled jedis, ObjectMapper mapper, ProductCacheProperties props,
+                            ReplicaRouter replicas, LongSupplier clock) {
+        this.jedis = jedis;
+        this.mapper = mapper;
+        this.props = props;
+        this.replicas = replicas;
+        this.clock = clock;
+        int maxEntries = Math.max(1, props.getMaxEntries());
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public <T> List<T> getList(String key, Class<T> elementType, Function<String, List<T>> loader) {
+        if (!props.isEnabled()) return loader.apply(key);
+
+        ProductCacheEvent event = new ProductCacheEvent();
+        event.begin();
+        long now = clock.getAsLong();
+        String genKey = currentGeneration(now) + ":" + key;
+
+        // L1
+        List<T> hit = localGet(genKey, now);
+        if (hit != null) {
+            event.finish(ProductCacheEvent.LOCAL_HIT, hit.size());
+            return hit;
+        }
+
+        // L2
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, elementType);
+        boolean shared = props.isShared() && !bumpPending;
+        if (shared) {
+            List<T> fromShared = sharedGet(genKey, listType);
+            if (fromShared != null) {
+                localPut(genKey, fromShared, now);
+                event.finish(ProductCacheEvent.SHARED_HIT, fromShared.size());
+                return fromShared;
+            }
+        }
+
+        List<T> loaded = loader.apply(genKey);
+        localPut(genKey, loaded, now);
+        if (shared) {
+            sharedPut(genKey, loaded);
+        }
+        event.finish(ProductCacheEvent.MISS, loaded.size());
+        return loaded;
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (props.isShared()) {
+            try {
+                generation = jedis.incr(GENERATION_KEY);
+                bumpPending = false;
+                generationCheckedAt = clock.getAsLong();
+            } catch (Exception e) {
+                // Local floor: this node must not serve entries from before its own write, and must not
+                // share entries under a generation the other nodes have not reached yet
+                log.warn("Could not bump shared catalog generation, retrying on the next check: {}", e.toString());
+                bumpPending = true;
+                generation++;
+            }
+        } else {
+            generation++;
+        }
+        lock.lock();
+        try {
+            local.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------- generation ----------
+
+    private long currentGeneration(long now) {
+        if (!props.isShared()) return generation;
+        boolean fresh = generationCheckedAt != Long.MIN_VALUE
+                && now - generationCheckedAt < props.getGenerationCheckInterval().toMillis();
+        if (fresh) return generation;
+        try {
+            if (bumpPending) {
+                // Announce the write that could not be announced; the new generation is newer than every entry
+                generation = jedis.incr(GENERATION_KEY);
+                bumpPending = false;
+            } else {
+                String raw = jedis.get(GENERATION_KEY);
+                long shared = raw == null ? 0L : Long.parseLong(raw);
+                if (shared != generation && generationCheckedAt != Long.MIN_VALUE) {
+                    // Another node wrote; replicas may not have the write yet
+                    replicas.afterWrite();
+                }
+                generation = shared;
+            }
+        } catch (Exception e) {
+            log.debug("Shared catalog generation unavailable, keeping {}: {}", generation, e.toString());
+        }
+        generationCheckedAt = now;
+        return generation;
+    }
+
+    // ---------- L1 ----------
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> localGet(String genKey, long now) {
+        lock.lock();
+        try {
+            Entry e = local.get(genKey);
+            if (e == null) return null;
+            if (e.expiresAt() <= now) {
+                local.remove(genKey);
+                return null;
+            }
+            return (List<T>) e.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void localPut(String genKey, List<?> value, long now) {
+        long expiresAt = now + props.getTtl().toMillis();
+        lock.lock();
+        try {
+            local.put(genKey, new Entry(List.copyOf(value), expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------- L2 ----------
+
+    private <T> List<T> sharedGet(String genKey, JavaType listType) {
+        try {
+            String json = jedis.get(ENTRY_PREFIX + genKey);
+            return json == null ? null : mapper.readValue(json, listType);
+        } catch (Exception e) {
+            log.debug("Shared cache read failed for {}: {}", genKey, e.toString());
+            return null;
+        }
+    }
+
+    private void sharedPut(String genKey, List<?> value) {
+        try {
+            String json = mapper.writeValueAsString(value);
+            jedis.set(ENTRY_PREFIX + genKey, json, SetParams.setParams().px(props.getTtl().toMillis()));
+        } catch (Exception e) {
+            log.debug("Shared cache write failed for {}: {}", genKey, e.toString());
+        }
+    }
+
+    private record Entry(List<?> value, long expiresAt) {}
+}
@@ -0,0 +1,105 @@
+package org.example.rediscartservice.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Watches JFR's {@code jdk.VirtualThreadPinned} events: a virtual thread that blocks while inside
+ * {@code synchronized} (or a native frame) keeps its carrier thread busy, which quietly caps
+ * throughput at the number of carriers.
+ *
+ * Events whose stack touches the Redis path (Jedis, commons-pool, our infrastructure.redis code)
+ * are logged at WARN with the top frames; everything else at DEBUG.
+ * Counter: jvm.threads.virtual.pinned{path=redis|other}
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final List<String> REDIS_PATH = List.of(
+            "redis.clients.",
+            "org.apache.commons.pool2.",
+            "org.example.rediscartservice.infrastructure.redis."
+    );
+    private static final int FRAMES_LOGGED = 8;
+
+    private final Duration threshold;
+    private final Counter redisPinned;
+    private final Counter otherPinned;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry registry) {
+        this.threshold = threshold;
+        this.redisPinned = counter(registry, "redis");
+        this.otherPinned = counter(registry, "other");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual-thread pinning monitor started (threshold {})", threshold);
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) stream.close();
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<String> frames = frames(event.getStackTrace());
+        if (inRedisPath(frames)) {
+            redisPinned.increment();
+            log.warn("Virtual thread pinned for {} ms in the Redis path (synchronized or native frame):\n\tat {}",
+                    event.getDuration().toMillis(),
+                    frames.stream().limit(FRAMES_LOGGED).collect(Collectors.joining("\n\tat ")));
+        } else {
+            otherPinned.increment();
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(),
+                    frames.isEmpty() ? "<no stack>" : frames.getFirst());
+        }
+    }
+
+    // ---------- helpers ----------
+
+    static boolean inRedisPath(List<String> frames) {
+        for (String frame : frames) {
+            for (String prefix : REDIS_PATH) {
+                if (frame.startsWith(prefix)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> frames(RecordedStackTrace stack) {
+        if (stack == null) return List.of();
+        return stack.getFrames().stream()
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+    }
+
+    private static String describe(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+    }
+
+    private static Counter counter(MeterRegistry registry, String path) {
+        return Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .tag("path", path)
+                .register(registry);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.rediscart.CartAdd")
+@Label("Cart Add")
+@Description("Product added to (or quantity raised in) a cart")
+public class CartAddEvent extends CartEvent {
+}
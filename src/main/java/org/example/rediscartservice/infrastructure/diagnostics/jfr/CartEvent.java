@@ -0,0 +1,33 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the cart operation events. The session id is only recorded hashed
+ * (see {@link SessionIds#hash}), so recordings can be shared without leaking live sessions.
+ */
+@Category({"Redis Cart Service", "Cart"})
+@Enabled(false)
+public abstract class CartEvent extends Event {
+
+    @Label("Session")
+    @Description("Truncated SHA-256 of the HTTP session id")
+    String session;
+
+    @Label("Lines")
+    @Description("Cart lines after the operation")
+    int lines;
+
+    public void finish(String sessionId, int lines) {
+        end();
+        if (shouldCommit()) {
+            this.session = SessionIds.hash(sessionId);
+            this.lines = lines;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.List;
+
+/**
+ * Emits {@link CartAddEvent} / {@link CartRemoveEvent} / {@link CartReadEvent} around the matching
+ * {@code CartService} methods. The events are disabled unless a recording enables them
+ * (see {@code jfr/rediscart.jfc}), in which case only a begin/end timestamp pair is paid per call.
+ */
+@Aspect
+public class CartEventsAspect {
+
+    @Around("execution(* org.example.rediscartservice.application.cart.CartService.addProduct(String, String, int))")
+    public Object add(ProceedingJoinPoint pjp) throws Throwable {
+        return record(new CartAddEvent(), pjp);
+    }
+
+    @Around("execution(* org.example.rediscartservice.application.cart.CartService.removeProduct(String, String))")
+    public Object remove(ProceedingJoinPoint pjp) throws Throwable {
+        return record(new CartRemoveEvent(), pjp);
+    }
+
+    @Around("execution(* org.example.rediscartservice.application.cart.CartService.findBySession(String))")
+    public Object read(ProceedingJoinPoint pjp) throws Throwable {
+        return record(new CartReadEvent(), pjp);
+    }
+
+    // ---------- helpers ----------
+
+    private static Object record(CartEvent event, ProceedingJoinPoint pjp) throws Throwable {
+        event.begin();
+        Object result = pjp.proceed();
+        // Failed operations are not recorded; their Redis commands still are
+        event.finish((String) pjp.getArgs()[0], result instanceof List<?> lines ? lines.size() : 0);
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.rediscart.CartRead")
+@Label("Cart Read")
+@Description("Cart read for a session")
+public class CartReadEvent extends CartEvent {
+}
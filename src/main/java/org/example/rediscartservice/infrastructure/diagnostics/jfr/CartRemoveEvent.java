@@ -0,0 +1,11 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.rediscart.CartRemove")
+@Label("Cart Remove")
+@Description("Product removed from a cart")
+public class CartRemoveEvent extends CartEvent {
+}
@@ -0,0 +1,39 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One catalog query cache lookup; on a miss the duration includes loading from Redis.
+ */
+@Name("org.example.rediscart.ProductCache")
+@Label("Product Cache Lookup")
+@Category({"Redis Cart Service", "Product"})
+@Description("Catalog query cache lookup: local hit, shared (Redis) hit or miss")
+@Enabled(false)
+public class ProductCacheEvent extends Event {
+
+    public static final String LOCAL_HIT = "local-hit";
+    public static final String SHARED_HIT = "shared-hit";
+    public static final String MISS = "miss";
+
+    @Label("Result")
+    String result;
+
+    @Label("Entries")
+    @Description("Items in the cached list")
+    int entries;
+
+    public void finish(String result, int entries) {
+        end();
+        if (shouldCommit()) {
+            this.result = result;
+            this.entries = entries;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import redis.clients.jedis.commands.ProtocolCommand;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One command on a pooled Jedis connection, from write to parsed reply.
+ */
+@Name("org.example.rediscart.RedisCommand")
+@Label("Redis Command")
+@Category({"Redis Cart Service", "Redis"})
+@Description("Round trip of a Redis command on the shared Jedis pool")
+@Enabled(false)
+public class RedisCommandEvent extends Event {
+
+    @Label("Command")
+    String command;
+
+    @Label("Operation")
+    @Description("Repository method or aspect that issued the command")
+    String operation;
+
+    @Label("Failed")
+    boolean failed;
+
+    public void finish(ProtocolCommand command, String operation, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.command = new String(command.getRaw(), StandardCharsets.US_ASCII);
+            this.operation = operation;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Stable, non-reversible session id for diagnostics: the first 6 bytes of its SHA-256, hex encoded.
+ * Enough to follow one session through a recording, useless for hijacking it.
+ */
+public final class SessionIds {
+
+    private SessionIds() {
+    }
+
+    public static String hash(String sessionId) {
+        if (sessionId == null) return null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sessionId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
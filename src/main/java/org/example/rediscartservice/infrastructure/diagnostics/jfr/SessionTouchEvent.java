@@ -0,0 +1,31 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Session bookkeeping done before a {@code @SessionTouch} handler runs (meta hash, cart pointer, idle TTL).
+ */
+@Name("org.example.rediscart.SessionTouch")
+@Label("Session Touch")
+@Category({"Redis Cart Service", "Session"})
+@Description("Sliding idle window refresh and cart pointer resolution for a session")
+@Enabled(false)
+public class SessionTouchEvent extends Event {
+
+    @Label("Session")
+    @Description("Truncated SHA-256 of the HTTP session id")
+    String session;
+
+    public void finish(String sessionId) {
+        end();
+        if (sessionId != null && shouldCommit()) {
+            this.session = SessionIds.hash(sessionId);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package org.example.rediscartservice.infrastructure.memory.cart;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link CartRepository} kept in this JVM ({@code cart.storage.backend=memory}), with the same
+ * session → cart binding rules as the Redis adapters and the session-touch aspect:
+ *  - sessions and carts sit in concurrent maps; a cart's lines are one immutable {@link Lines} value
+ *    (parallel primitive arrays, prices as cents) swapped on write, so reads take no lock
+ *  - writes to a cart are serialized on one of {@value #STRIPES} lock stripes picked by cart id
+ *  - the admin report reads a skip-list index of (distinct item count, cart id), kept for carts
+ *    with at least one line, instead of scanning every cart
+ *  - a session idle for {@code idleTtl} expires: it leaves the report, and its cart is dropped once
+ *    no live session is bound to it; a new session of the same user inherits a live session's cart
+ *
+ * Restore and cart inheritance need each user's recent sessions, fed by {@link #touchSession}.
+ * Nothing is persisted or shared between nodes.
+ */
+@Slf4j
+public class InMemoryCartRepository implements CartRepository, AutoCloseable {
+
+    private static final int STRIPES = 64;
+    private static final int RECENT_SESSIONS_PER_USER = 8;
+
+    private final long idleTtlMillis;
+    private final LongSupplier clock;   // millis
+
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cart> carts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<String>> recentSessions = new ConcurrentHashMap<>();   // most recent first
+    private final NavigableSet<CountEntry> counts = new ConcurrentSkipListSet<>(
+            Comparator.comparingInt(CountEntry::count).thenComparing(CountEntry::cartId));
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private ScheduledExecutorService expiry;
+
+    public InMemoryCartRepository(Duration idleTtl) {
+        this(idleTtl, System::currentTimeMillis);
+    }
+
+    public InMemoryCartRepository(Duration idleTtl, LongSupplier clock) {
+        this.idleTtlMillis = idleTtl.toMillis();
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantLock();
+    }
+
+    // ---------------------------------------------------------------------
+    // Public API (port)
+    // ---------------------------------------------------------------------
+
+    @Override
+    public List<CartItem> findBySession(String sessionId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        return session(sessionId).cart.lines.toItems();
+    }
+
+    @Override
+    public void add(String sessionId, CartItem newItem) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(newItem, "newItem must not be null");
+        update(sessionId, lines -> lines.with(newItem));
+    }
+
+    @Override
+    public void remove(String sessionId, String productId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(productId, "productId must not be null");
+        update(sessionId, lines -> lines.without(productId));
+    }
+
+    @Override
+    public List<CartItem> searchByShortDescription(String sessionId, String query) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        String term = query == null ? "" : query.trim();
+        if (term.isEmpty()) {
+            return findBySession(sessionId);
+        }
+        return session(sessionId).cart.lines.matching(term.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void restoreFromPreviousSession(String username, String currentSessionId) {
+        Objects.requireNonNull(username, "username must not be null");
+        Objects.requireNonNull(currentSessionId, "currentSessionId must not be null");
+
+        // Same rule as Redis: the SECOND most recent session of the user; none (or expired) → no-op
+        List<String> recent = recentSessions.get(username);
+        if (recent == null || recent.size() < 2) return;
+        Session previous = live(recent.get(1));
+        if (previous == null) return;
+
+        Session current = session(currentSessionId);
+        if (current != previous) bind(current, previous.cart);
+    }
+
+    @Override
+    public List<String> sessionsWithItemCountGreaterThan(int threshold) {
+        if (threshold == Integer.MAX_VALUE) return List.of();
+        record Hit(int count, String sessionId) {}
+        List<Hit> hits = new ArrayList<>();
+        for (CountEntry e : counts.tailSet(new CountEntry(threshold + 1, ""), true)) {
+            Cart cart = carts.get(e.cartId());
+            if (cart == null) continue;
+            for (String sessionId : cart.sessions) hits.add(new Hit(e.count(), sessionId));
+        }
+        // Ascending count, then session id, as ZRANGEBYSCORE returns the Redis count index
+        hits.sort(Comparator.comparingInt(Hit::count).thenComparing(Hit::sessionId));
+        return hits.stream().map(Hit::sessionId).toList();
+    }
+
+    @Override
+    public void touchSession(String sessionId, String username) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        long now = clock.getAsLong();
+        Session session = live(sessionId);
+        if (session == null) {
+            // Like SessionTouchAspect: a new session inherits the cart of the user's latest live session
+            Session latest = latestLive(username);
+            session = sessions.computeIfAbsent(sessionId, id -> open(id, now, latest == null ? null : latest.cart));
+        }
+        session.lastActive = now;
+        if (username != null) {
+            session.owner = username;
+            recentSessions.compute(username, (u, recent) -> touched(recent, sessionId));
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Idle expiry
+    // ---------------------------------------------------------------------
+
+    /** Expires every session idle for {@code idleTtl} (also done lazily on access); returns how many. */
+    public int expireIdle() {
+        long now = clock.getAsLong();
+        int expired = 0;
+        for (Session session : sessions.values()) {
+            if (idle(session, now) && expire(session)) expired++;
+        }
+        return expired;
+    }
+
+    /** Runs {@link #expireIdle()} every {@code interval}, until {@link #close()}. */
+    public void startExpiry(Duration interval) {
+        expiry = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cart-memory-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = Math.max(100, interval.toMillis());
+        expiry.scheduleWithFixedDelay(() -> {
+            int expired = expireIdle();
+            if (expired > 0) log.debug("Expired {} idle cart session(s); {} session(s), {} cart(s) left", expired, sessions.size(), carts.size());
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (expiry != null) expiry.shutdownNow();
+    }
+
+    /** Live sessions / carts held (for metrics and tests). */
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public int cartCount() {
+        return carts.size();
+    }
+
+    // ---------------------------------------------------------------------
+    // Sessions and carts
+    // ---------------------------------------------------------------------
+
+    private static final class Session {
+        final String id;
+        volatile Cart cart;
+        volatile long lastActive;
+        volatile String owner;
+
+        Session(String id, long lastActive) {
+            this.id = id;
+            this.lastActive = lastActive;
+        }
+    }
+
+    private static final class Cart {
+        final String id;
+        final Set<String> sessions = ConcurrentHashMap.newKeySet();
+        volatile Lines lines = Lines.EMPTY;
+        boolean dropped;   // guarded by the cart's stripe
+
+        Cart(String id) {
+            this.id = id;
+        }
+    }
+
+    private record CountEntry(int count, String cartId) {
+    }
+
+    // The session, opened with a new cart if unknown or expired; refreshes its idle clock
+    private Session session(String sessionId) {
+        long now = clock.getAsLong();
+        Session session = live(sessionId);
+        if (session == null) {
+            session = sessions.computeIfAbsent(sessionId, id -> open(id, now, null));
+        }
+        session.lastActive = now;
+        return session;
+    }
+
+    // The session if present and not idle past the TTL (an idle one is expired on the way)
+    private Session live(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) return null;
+        if (idle(session, clock.getAsLong())) {
+            expire(session);
+            return null;
+        }
+        return session;
+    }
+
+    private Session latestLive(String username) {
+        List<String> recent = username == null ? null : recentSessions.get(username);
+        return recent == null || recent.isEmpty() ? null : live(recent.getFirst());
+    }
+
+    private boolean idle(Session session, long now) {
+        return now - session.lastActive >= idleTtlMillis;
+    }
+
+    private Session open(String sessionId, long now, Cart inherited) {
+        Session session = new Session(sessionId, now);
+        if (inherited == null || !attach(inherited, sessionId)) {
+            Cart cart;
+            do {
+                cart = new Cart(UUID.randomUUID().toString());
+            } while (carts.putIfAbsent(cart.id, cart) != null);
+            cart.sessions.add(sessionId);
+            inherited = cart;
+        }
+        session.cart = inherited;
+        return session;
+    }
+
+    private void bind(Session session, Cart target) {
+        Cart old = session.cart;
+        if (old == target || !attach(target, session.id)) return;
+        detach(old, session, target);
+    }
+
+    private boolean expire(Session session) {
+        if (!sessions.remove(session.id, session)) return false;
+        String owner = session.owner;
+        if (owner != null) {
+            recentSessions.computeIfPresent(owner, (u, recent) -> {
+                List<String> left = recent.stream().filter(id -> !id.equals(session.id)).toList();
+                return left.isEmpty() ? null : left;
+            });
+        }
+        detach(session.cart, session, null);
+        return true;
+    }
+
+    // False when the cart has just been dropped (its last session went away)
+    private boolean attach(Cart cart, String sessionId) {
+        ReentrantLock lock = stripe(cart.id);
+        lock.lock();
+        try {
+            if (cart.dropped) return false;
+            cart.sessions.add(sessionId);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Unbinds the session from cart, rebinding it to target (if any) under the old cart's stripe,
+    // so a write that resolved the old cart sees the switch (see update)
+    private void detach(Cart cart, Session session, Cart target) {
+        ReentrantLock lock = stripe(cart.id);
+        lock.lock();
+        try {
+            if (target != null) session.cart = target;
+            cart.sessions.remove(session.id);
+            if (cart.sessions.isEmpty() && !cart.dropped) {
+                cart.dropped = true;
+                carts.remove(cart.id, cart);
+                int size = cart.lines.size();
+                if (size > 0) counts.remove(new CountEntry(size, cart.id));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Resolves the session's cart under its stripe: retries if the session was rebound or its cart
+    // dropped between reading the pointer and taking the lock, so no write lands in an orphaned cart
+    private void update(String sessionId, UnaryOperator<Lines> change) {
+        while (true) {
+            Session session = session(sessionId);
+            Cart cart = session.cart;
+            ReentrantLock lock = stripe(cart.id);
+            lock.lock();
+            try {
+                if (session.cart == cart && !cart.dropped) {
+                    write(cart, change.apply(cart.lines));
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Caller holds the cart's stripe
+    private void write(Cart cart, Lines next) {
+        Lines before = cart.lines;
+        if (next == before) return;
+        cart.lines = next;
+        if (cart.dropped || before.size() == next.size()) return;
+        if (before.size() > 0) counts.remove(new CountEntry(before.size(), cart.id));
+        if (next.size() > 0) counts.add(new CountEntry(next.size(), cart.id));
+    }
+
+    private ReentrantLock stripe(String cartId) {
+        return stripes[Math.floorMod(cartId.hashCode(), STRIPES)];
+    }
+
+    private static List<String> touched(List<String> recent, String sessionId) {
+        List<String> next = new ArrayList<>(RECENT_SESSIONS_PER_USER);
+        next.add(sessionId);
+        if (recent != null) {
+            for (String id : recent) {
+                if (next.size() == RECENT_SESSIONS_PER_USER) break;
+                if (!id.equals(sessionId)) next.add(id);
+            }
+        }
+        return List.copyOf(next);
+    }
+
+    // ---------------------------------------------------------------------
+    // Lines: one cart's lines as parallel arrays, never mutated once published
+    // ---------------------------------------------------------------------
+
+    static final class Lines {
+        static final Lines EMPTY = new Lines(new String[0], new String[0], new String[0], new int[0], new long[0]);
+
+        final String[] productIds;
+        final String[] names;
+        final String[] shortDescriptions;
+        final int[] amounts;
+        final long[] totalCents;
+
+        private Lines(String[] productIds, String[] names, String[] shortDescriptions, int[] amounts, long[] totalCents) {
+            this.productIds = productIds;
+            this.names = names;
+            this.shortDescriptions = shortDescriptions;
+            this.amounts = amounts;
+            this.totalCents = totalCents;
+        }
+
+        int size() {
+            return productIds.length;
+        }
+
+        // Merges into an existing line like the Redis adapters: amounts and totals add up, name / description follow the new item
+        Lines with(CartItem item) {
+            int i = indexOf(item.getProductId());
+            long cents = cents(item.getTotalPrice());
+            int n = size();
+            Lines next = i >= 0 ? copy(n) : copy(n + 1);
+            int at = i >= 0 ? i : n;
+            next.productIds[at] = item.getProductId();
+            next.names[at] = item.getName();
+            next.shortDescriptions[at] = item.getShortDescription();
+            next.amounts[at] = (i >= 0 ? amounts[i] : 0) + item.getAmount();
+            next.totalCents[at] = (i >= 0 ? totalCents[i] : 0) + cents;
+            return next;
+        }
+
+        Lines without(String productId) {
+            int i = indexOf(productId);
+            if (i < 0) return this;
+            int n = size();
+            Lines next = new Lines(new String[n - 1], new String[n - 1], new String[n - 1], new int[n - 1], new long[n - 1]);
+            for (int from = 0, to = 0; from < n; from++) {
+                if (from == i) continue;
+                next.productIds[to] = productIds[from];
+                next.names[to] = names[from];
+                next.shortDescriptions[to] = shortDescriptions[from];
+                next.amounts[to] = amounts[from];
+                next.totalCents[to] = totalCents[from];
+                to++;
+            }
+            return next;
+        }
+
+        List<CartItem> toItems() {
+            List<CartItem> out = new ArrayList<>(size());
+            for (int i = 0; i < size(); i++) out.add(item(i));
+            return out;
+        }
+
+        // Case-insensitive substring of the short description or name, as the binary line format matches
+        List<CartItem> matching(String lowerNeedle) {
+            List<CartItem> out = new ArrayList<>();
+            for (int i = 0; i < size(); i++) {
+                if (contains(shortDescriptions[i], lowerNeedle) || contains(names[i], lowerNeedle)) out.add(item(i));
+            }
+            return out;
+        }
+
+        private CartItem item(int i) {
+            return CartItem.builder()
+                    .productId(productIds[i])
+                    .name(names[i])
+                    .shortDescription(shortDescriptions[i])
+                    .amount(amounts[i])
+                    .totalPrice(BigDecimal.valueOf(totalCents[i], 2))
+                    .build();
+        }
+
+        private int indexOf(String productId) {
+            for (int i = 0; i < productIds.length; i++) {
+                if (productIds[i].equals(productId)) return i;
+            }
+            return -1;
+        }
+
+        private Lines copy(int length) {
+            return new Lines(Arrays.copyOf(productIds, length), Arrays.copyOf(names, length),
+                    Arrays.copyOf(shortDescriptions, length), Arrays.copyOf(amounts, length), Arrays.copyOf(totalCents, length));
+        }
+
+        private static long cents(BigDecimal amount) {
+            return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+
+        private static boolean contains(String haystack, String lowerNeedle) {
+            return haystack != null && haystack.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+        }
+    }
+}
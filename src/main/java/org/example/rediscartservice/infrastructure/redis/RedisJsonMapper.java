@@ -1,18 +1,28 @@
 // src/main/java/org/example/rediscartservice/infrastructure/redis/RedisJsonMapper.java
 package org.example.rediscartservice.infrastructure.redis;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import redis.clients.jedis.CommandArguments;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.json.JsonProtocol.JsonCommand;
 import redis.clients.jedis.json.Path2;
+import redis.clients.jedis.util.SafeEncoder;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 public final class RedisJsonMapper {
 
+    private static final byte[] ROOT_PATH = SafeEncoder.encode(Path2.ROOT_PATH.toString());
+
     private RedisJsonMapper() {}
 
     // ---------- High-level helpers ----------
@@ -35,6 +45,76 @@ public final class RedisJsonMapper {
         }
     }
 
+    // ---------- Streaming helpers (raw RESP bytes → domain, no JsonNode tree) ----------
+
+    /**
+     * JSON.GET {@code key} $ as raw bytes, bound directly with a (cached) {@link ObjectReader}.
+     * Replies that are not a bulk string fall back to {@link #normalize}.
+     * The key is declared as a key (not a plain argument) so client-side caching can track it.
+     */
+    public static <T> Optional<T> readJsonBytes(UnifiedJedis jedis, String key, ObjectReader reader, ObjectMapper mapper) {
+        try {
+            Object raw = jedis.executeCommand(new CommandArguments(JsonCommand.GET).key(SafeEncoder.encode(key)).add(ROOT_PATH));
+            return fromReply(raw, reader, mapper);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not read key " + key + " from Redis", e);
+        }
+    }
+
+    /**
+     * JSON.MGET {@code keys...} $ in one round trip; missing keys are skipped, order is kept.
+     */
+    public static <T> List<T> readJsonBytes(UnifiedJedis jedis, List<String> keys, ObjectReader reader, ObjectMapper mapper) {
+        if (keys.isEmpty()) return List.of();
+        CommandArguments args = new CommandArguments(JsonCommand.MGET);
+        for (String key : keys) {
+            args.key(SafeEncoder.encode(key));
+        }
+        args.add(ROOT_PATH);
+        try {
+            Object raw = jedis.executeCommand(args);
+            if (!(raw instanceof List<?> replies)) return List.of();
+            List<T> out = new ArrayList<>(replies.size());
+            for (Object reply : replies) {
+                RedisJsonMapper.<T>fromReply(reply, reader, mapper).ifPresent(out::add);
+            }
+            return out;
+        } catch (Exception e) {
+            throw new RuntimeException("Could not read keys " + keys + " from Redis", e);
+        }
+    }
+
+    public static <T> Optional<T> fromReply(Object raw, ObjectReader reader, ObjectMapper mapper) {
+        if (raw == null) return Optional.empty();
+        if (raw instanceof byte[] bytes) return fromBytes(bytes, reader);
+        try {
+            JsonNode node = normalize(raw, mapper);
+            if (node == null || node.isNull()) return Optional.empty();
+            return Optional.of(reader.readValue(node));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map RedisJSON to " + reader.getValueType(), e);
+        }
+    }
+
+    /**
+     * Bind UTF-8 JSON bytes straight to the reader's type. Accepts both the bare document and
+     * the single-element array returned for the "$" path.
+     */
+    public static <T> Optional<T> fromBytes(byte[] json, ObjectReader reader) {
+        try (JsonParser parser = reader.createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            if (token == null || token == JsonToken.END_ARRAY || token == JsonToken.VALUE_NULL) {
+                return Optional.empty();
+            }
+            return Optional.of(reader.readValue(parser));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map RedisJSON to " + reader.getValueType(), e);
+        }
+    }
+
     // ---------- Generic conversion ----------
 
     public static <T> Optional<T> toDomain(Object raw, Class<T> type, ObjectMapper mapper) {
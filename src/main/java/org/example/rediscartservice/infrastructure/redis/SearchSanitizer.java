@@ -1,12 +1,24 @@
 package org.example.rediscartservice.infrastructure.redis;
 
+import org.example.rediscartservice.domain.model.product.InvalidProductQueryException;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+
+import java.util.StringJoiner;
+
 /**
  * Minimal RediSearch query sanitizer:
  * - null-safe trimming (null -> "", "  x  " -> "x")
  * - escapes characters with special meaning in RediSearch query syntax.
+ * - builds mode-aware term lists (prefix / fuzzy) where only the operators we add stay unescaped.
  */
 public final class SearchSanitizer {
 
+    /** RediSearch supports up to 3, but beyond 2 the result quality drops sharply. */
+    public static final int MAX_FUZZY_DISTANCE = 2;
+
+    /** RediSearch rejects prefix queries shorter than MINPREFIX (default 2). */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
     private SearchSanitizer() {}
 
     public static String sanitize(String input) {
@@ -16,4 +28,40 @@ public final class SearchSanitizer {
         // Escape: - [ ] { } ( ) " ~ * ? : \ /
         return trimmed.replaceAll("([\\-\\[\\]\\{\\}\\(\\)\"~*?:\\\\/])", "\\\\$1");
     }
+
+    /**
+     * Escape every whitespace-separated token of {@code input} and decorate it for the given mode:
+     *  - EXACT  → {@code red mug}
+     *  - PREFIX → {@code red* mug*}
+     *  - FUZZY  → {@code %red% %mug%} (distance 1) or {@code %%red%% %%mug%%} (distance 2)
+     * User-supplied operators ({@code * % |} …) are escaped, so only ours reach the engine.
+     * @throws InvalidProductQueryException for FUZZY with a distance outside 1..{@value #MAX_FUZZY_DISTANCE}
+     */
+    public static String sanitize(String input, SearchMode mode, int distance) {
+        SearchMode m = mode == null ? SearchMode.EXACT : mode;
+        if (m == SearchMode.FUZZY && (distance < 1 || distance > MAX_FUZZY_DISTANCE)) {
+            throw new InvalidProductQueryException("Fuzzy distance must be between 1 and " + MAX_FUZZY_DISTANCE + ": " + distance);
+        }
+        if (input == null) return "";
+        String trimmed = input.trim();
+        if (trimmed.isEmpty()) return "";
+
+        String fuzz = m == SearchMode.FUZZY ? "%".repeat(distance) : "";
+
+        StringJoiner terms = new StringJoiner(" ");
+        for (String token : trimmed.split("\\s+")) {
+            String escaped = escapeToken(token);
+            switch (m) {
+                case PREFIX -> terms.add(token.length() >= MIN_PREFIX_LENGTH ? escaped + "*" : escaped);
+                case FUZZY -> terms.add(fuzz + escaped + fuzz);
+                default -> terms.add(escaped);
+            }
+        }
+        return terms.toString();
+    }
+
+    // Escape all RediSearch punctuation, including the operators sanitize(String) leaves alone (% | @ ...)
+    private static String escapeToken(String token) {
+        return token.replaceAll("([,.<>{}\\[\\]\"':;!@#$%^&*()\\-+=~|/?\\\\])", "\\\\$1");
+    }
 }
@@ -2,26 +2,33 @@
 package org.example.rediscartservice.infrastructure.redis.cart;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
 import redis.clients.jedis.search.IndexDefinition;
 import redis.clients.jedis.search.IndexOptions;
 import redis.clients.jedis.search.Schema;
 
 /**
  * Creates a RediSearch index for cart item HASHes at app startup.
- * Key pattern indexed: cart:{sessionId}:item:{productId}
+ * Key pattern indexed: cart:{cartId}:item:{productId}
  * Fields:
- *  - session_id  (TAG)       — used to scope queries to a single session
+ *  - cart_id     (TAG)       — used to scope queries to a single cart
+ *  - session_id  (TAG)       — legacy, no longer written
  *  - product_id  (TAG)
  *  - name        (TEXT)
  *  - short_desc  (TEXT)
  *  - amount      (NUMERIC)
  *  - total_price (NUMERIC)
- * Safe to run repeatedly; ignores "Index already exists" errors.
+ * Safe to run repeatedly; an existing index created before cart_id gets the field added.
+ * Skipped on Redis Cluster, where carts do not use the index.
  */
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class CartIndexBootstrap {
@@ -29,34 +36,60 @@ public class CartIndexBootstrap {
     public static final String INDEX_NAME = "idx:cart_items";
 
     @Bean
-    CommandLineRunner createCartIndex(JedisPooled jedis) {
+    CommandLineRunner createCartIndex(JedisPooled jedis, ObjectProvider<JedisCluster> cluster) {
         return args -> {
-            try {
-                Schema schema = new Schema()
-                        .addTagField("session_id")
-                        .addTagField("product_id")
-                        .addTextField("name", 1.0)
-                        .addTextField("short_desc", 1.0)
-                        .addNumericField("amount")
-                        .addNumericField("total_price");
-
-                IndexDefinition def = new IndexDefinition(IndexDefinition.Type.HASH)
-                        .setPrefixes("cart:");
-
-                jedis.ftCreate(
-                        INDEX_NAME,
-                        IndexOptions.defaultOptions().setDefinition(def),
-                        schema
-                );
-                System.out.println("✅ Created RediSearch index " + INDEX_NAME);
-            } catch (Exception e) {
-                String msg = e.getMessage() == null ? "" : e.getMessage();
-                if (msg.contains("Index already exists") || msg.contains("already exists")) {
-                    System.out.println("ℹ️ RediSearch index " + INDEX_NAME + " already exists");
-                } else {
-                    throw e;
-                }
+            if (cluster.getIfAvailable() != null) {
+                log.info("Redis Cluster carts: skipping {}", INDEX_NAME);
+                return;
             }
+            createIndex(jedis);
         };
     }
-}
\ No newline at end of file
+
+    /** Creates the index on the given node (also used for each cart shard). */
+    public static void createIndex(UnifiedJedis jedis) {
+        try {
+            Schema schema = new Schema()
+                    .addTagField("cart_id")
+                    .addTagField("session_id")
+                    .addTagField("product_id")
+                    .addTextField("name", 1.0)
+                    .addTextField("short_desc", 1.0)
+                    .addNumericField("amount")
+                    .addNumericField("total_price");
+
+            IndexDefinition def = new IndexDefinition(IndexDefinition.Type.HASH)
+                    .setPrefixes("cart:");
+
+            jedis.ftCreate(
+                    INDEX_NAME,
+                    IndexOptions.defaultOptions().setDefinition(def),
+                    schema
+            );
+            log.info("Created RediSearch index {}", INDEX_NAME);
+        } catch (Exception e) {
+            String msg = e.getMessage() == null ? "" : e.getMessage();
+            if (msg.contains("Index already exists") || msg.contains("already exists")) {
+                log.info("RediSearch index {} already exists", INDEX_NAME);
+                addCartIdField(jedis);
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    // Indexes created before cart_id existed lack the field the cart search filters on. FT.ALTER adds
+    // it in place and RediSearch rescans the existing lines in the background; no drop, so searches
+    // keep answering (without the old lines until the rescan reaches them) during a rolling deploy.
+    private static void addCartIdField(UnifiedJedis jedis) {
+        try {
+            jedis.ftAlter(INDEX_NAME, new Schema().addTagField("cart_id"));
+            log.info("Added cart_id to RediSearch index {}", INDEX_NAME);
+        } catch (Exception e) {
+            String msg = e.getMessage() == null ? "" : e.getMessage();
+            if (!msg.contains("Duplicate field")) {
+                throw e;
+            }
+        }
+    }
+}
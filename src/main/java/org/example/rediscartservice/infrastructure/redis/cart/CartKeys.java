@@ -0,0 +1,70 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cart key layout.
+ *
+ * Standalone (one primary): {@code cart:<cartId>:items}, {@code cart:<cartId>:item:<pid>},
+ * {@code cart:<cartId>:lines} and one global count ZSET {@code cart:idx:counts}.
+ *
+ * Hash-tagged (Redis Cluster): the cart id is the hash tag, {@code cart:{<cartId>}:items} etc.,
+ * so every key of one cart lives in one slot and per-cart pipelines / MULTI / scripts stay legal.
+ * The count ZSET is split into {@code cart:idx:counts:{<n>}} shards (member = sessionId, shard
+ * picked from the session id's slot) so it is neither a cross-slot key nor a single hot node;
+ * readers gather over {@link #countKeys()}.
+ *
+ * Session keys ({@code sess:<id>:meta}, {@code sess:user:<name>}) are only used one key at a time
+ * and keep their names in both layouts.
+ */
+final class CartKeys {
+
+    static final String COUNT_ZSET = "cart:idx:counts";
+
+    private final boolean hashTags;
+    private final List<String> countKeys;
+
+    private CartKeys(boolean hashTags, int countShards) {
+        this.hashTags = hashTags;
+        if (!hashTags) {
+            this.countKeys = List.of(COUNT_ZSET);
+        } else {
+            List<String> shards = new ArrayList<>(countShards);
+            for (int i = 0; i < countShards; i++) {
+                shards.add(COUNT_ZSET + ":{" + i + "}");
+            }
+            this.countKeys = List.copyOf(shards);
+        }
+    }
+
+    static CartKeys standalone() {
+        return new CartKeys(false, 1);
+    }
+
+    static CartKeys hashTagged(int countShards) {
+        if (countShards < 1) throw new IllegalArgumentException("countShards must be >= 1");
+        return new CartKeys(true, countShards);
+    }
+
+    String items(String cartId) { return cart(cartId) + ":items"; }
+    String item(String cartId, String productId) { return cart(cartId) + ":item:" + productId; }
+    String lines(String cartId) { return cart(cartId) + ":lines"; }
+
+    /** Count ZSET holding this session's distinct-product score. */
+    String countKey(String sessionId) {
+        if (countKeys.size() == 1) return countKeys.getFirst();
+        return countKeys.get(JedisClusterCRC16.getSlot(sessionId) % countKeys.size());
+    }
+
+    /** Every count ZSET shard, for reports that must see all sessions. */
+    List<String> countKeys() {
+        return countKeys;
+    }
+
+    private String cart(String cartId) {
+        return hashTags ? "cart:{" + cartId + "}" : "cart:" + cartId;
+    }
+}
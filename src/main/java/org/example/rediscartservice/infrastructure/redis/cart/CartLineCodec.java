@@ -0,0 +1,144 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of a cart line (the BINARY line format).
+ *
+ * Layout, version 1:
+ * <pre>
+ *   u8      version (= 1)
+ *   varint  amount
+ *   varint  total price in cents (scale 2)
+ *   varint  name length,       UTF-8 name bytes
+ *   varint  short_desc length, UTF-8 short_desc bytes
+ * </pre>
+ * cart_id and product_id are not stored: both are already part of the key / hash field.
+ * Varints are unsigned LEB128 (7 bits per byte, low bits first).
+ */
+public final class CartLineCodec {
+
+    public static final byte VERSION = 1;
+
+    private CartLineCodec() {}
+
+    public static byte[] encode(CartItem item) {
+        byte[] name = utf8(item.getName());
+        byte[] desc = utf8(item.getShortDescription());
+        long amount = item.getAmount();
+        long cents = cents(item.getTotalPrice());
+
+        int size = 1 + varintSize(amount) + varintSize(cents)
+                + varintSize(name.length) + name.length
+                + varintSize(desc.length) + desc.length;
+        byte[] out = new byte[size];
+        int pos = 0;
+        out[pos++] = VERSION;
+        pos = writeVarint(out, pos, amount);
+        pos = writeVarint(out, pos, cents);
+        pos = writeBytes(out, pos, name);
+        writeBytes(out, pos, desc);
+        return out;
+    }
+
+    /** One-off decode; a loop over many lines can share one {@link Decoder}. */
+    public static CartItem decode(String productId, byte[] line) {
+        return new Decoder().decode(productId, line);
+    }
+
+    /**
+     * Single-threaded cursor over one reply array at a time. Reads in place, without copying the
+     * line; the allocations per line are the two Strings, the BigDecimal and the CartItem itself.
+     * No scratch buffer is kept between lines.
+     */
+    public static final class Decoder {
+        private byte[] buf;
+        private int pos;
+
+        public CartItem decode(String productId, byte[] line) {
+            if (line == null || line.length == 0) {
+                throw new IllegalArgumentException("Empty cart line for product " + productId);
+            }
+            buf = line;
+            pos = 0;
+            try {
+                byte version = buf[pos++];
+                if (version != VERSION) {
+                    throw new IllegalArgumentException("Unsupported cart line version " + version + " for product " + productId);
+                }
+                int amount = (int) readVarint();
+                long cents = readVarint();
+                String name = readString();
+                String shortDesc = readString();
+                return CartItem.builder()
+                        .productId(productId)
+                        .name(name)
+                        .shortDescription(shortDesc)
+                        .amount(amount)
+                        .totalPrice(BigDecimal.valueOf(cents, 2))
+                        .build();
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Truncated cart line for product " + productId, e);
+            } finally {
+                buf = null;     // do not pin the last reply
+            }
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        private String readString() {
+            int len = (int) readVarint();
+            if (len < 0 || len > buf.length - pos) throw new ArrayIndexOutOfBoundsException(len);
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private static byte[] utf8(String s) {
+        return s == null ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long cents(BigDecimal total) {
+        if (total == null) return 0L;
+        return total.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static int varintSize(long v) {
+        int size = 1;
+        while ((v & ~0x7FL) != 0) {
+            v >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] out, int pos, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out[pos++] = (byte) v;
+        return pos;
+    }
+
+    private static int writeBytes(byte[] out, int pos, byte[] bytes) {
+        pos = writeVarint(out, pos, bytes.length);
+        System.arraycopy(bytes, 0, out, pos, bytes.length);
+        return pos + bytes.length;
+    }
+}
@@ -0,0 +1,394 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.resps.Tuple;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Deletes what idle expiry leaves behind (standalone key layout). {@code SessionTouchAspect} only lets
+ * the {@code active} field of {@code sess:<id>:meta} expire; everything else stays until this runs.
+ *
+ * A session is reclaimable when its meta has no {@code active} field and {@code last_active}
+ * (else {@code created_at}) is older than {@code retention}; metas with neither timestamp are left alone.
+ * One run:
+ *  1. SCAN the metas and note the cart of every session that is not reclaimable; those carts are kept
+ *  2. SCAN the metas again and, per page, in one pipeline: delete reclaimable metas, their
+ *     {@code sess:user:<name>} and {@code cart:idx:counts} members, and (if no kept session refers
+ *     to it) their cart: {@code cart:<cartId>:items}, {@code :lines} and every {@code :item:<pid>}
+ *  3. trim {@code sess:user:*} members last touched before the retention cut-off (ZREMRANGEBYSCORE)
+ *  4. drop {@code cart:idx:counts} members whose meta is gone
+ * Work is paced to {@code keysPerSecond} keys examined (0 = unpaced) so a large keyspace is walked
+ * without hogging the server. Every SCAN call examines {@code scanCount} keys whether they match or
+ * not, so a keyspace mostly made of cart and product keys is paced like one made of metas.
+ *
+ * A cart rebound by a login restore between steps 1 and 2 can still go; retention far above the
+ * session timeout makes that a session idle for the whole retention coming back within one run.
+ * Metrics: redis.reclaim.keys{kind=session|cart}, redis.reclaim.bytes (MEMORY USAGE of deleted keys),
+ * redis.reclaim.members{key=user|counts}, redis.reclaim.runs.
+ */
+@Slf4j
+public class ExpiredSessionReclaimer implements MeterBinder, AutoCloseable {
+
+    static final String LEASE_KEY = "reclaim:lease";
+    private static final String RELEASE_LEASE =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0";
+    private static final String EXTEND_LEASE =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0";
+    private static final String META_PATTERN = "sess:*:meta";
+    private static final String USER_PATTERN = "sess:user:*";
+
+    /** What one run removed. */
+    public record Result(long sessions, long carts, long keys, long bytes, long members) {}
+
+    private final UnifiedJedis jedis;
+    private final long retentionMillis;
+    private final int scanCount;
+    private final int keysPerSecond;
+    private final boolean measureBytes;
+    private final LongSupplier clock;   // millis
+    private final Sleeper sleeper;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final AtomicLong sessionKeys = new AtomicLong();
+    private final AtomicLong cartKeys = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong userMembers = new AtomicLong();
+    private final AtomicLong countMembers = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private ScheduledExecutorService schedule;
+
+    /** Pause used for pacing; replaced in tests. */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    public ExpiredSessionReclaimer(UnifiedJedis jedis, Duration retention, int scanCount, int keysPerSecond,
+                                   boolean measureBytes) {
+        this(jedis, retention, scanCount, keysPerSecond, measureBytes, System::currentTimeMillis, Thread::sleep);
+    }
+
+    ExpiredSessionReclaimer(UnifiedJedis jedis, Duration retention, int scanCount, int keysPerSecond,
+                            boolean measureBytes, LongSupplier clock, Sleeper sleeper) {
+        this.jedis = jedis;
+        this.retentionMillis = retention.toMillis();
+        this.scanCount = Math.max(1, scanCount);
+        this.keysPerSecond = Math.max(0, keysPerSecond);
+        this.measureBytes = measureBytes;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /** One full pass (steps 1-4); safe to run while the application serves traffic. */
+    public Result reclaimOnce() throws InterruptedException {
+        return reclaimOnce(0);
+    }
+
+    /**
+     * One pass holding the {@code reclaim:lease}: its TTL is pushed out to {@code leaseMillis} after every
+     * page, and the run stops with {@link IllegalStateException} once the lease is no longer ours.
+     */
+    Result reclaimOnce(long leaseMillis) throws InterruptedException {
+        Run run = new Run(clock.getAsLong(), leaseMillis);
+
+        // 1. carts still referenced by a session that is not reclaimable
+        Set<String> keptCarts = new HashSet<>();
+        scan(META_PATTERN, "hash", run, page -> {
+            for (Meta meta : readMetas(page)) {
+                if (!meta.reclaimable(run.cutoff) && meta.cartId() != null) keptCarts.add(meta.cartId());
+            }
+        });
+
+        // 2. reclaimable sessions and their unreferenced carts
+        Set<String> droppedCarts = new HashSet<>();
+        scan(META_PATTERN, "hash", run, page -> {
+            List<Meta> dead = readMetas(page).stream().filter(m -> m.reclaimable(run.cutoff)).toList();
+            if (!dead.isEmpty()) reclaimSessions(dead, keptCarts, droppedCarts, run);
+        });
+
+        // 3. user recency entries past the retention
+        scan(USER_PATTERN, "zset", run, page -> {
+            try (AbstractPipeline p = jedis.pipelined()) {
+                List<Response<Long>> removed = new ArrayList<>(page.size());
+                for (String key : page) removed.add(p.zremrangeByScore(key, "-inf", "(" + run.cutoff));
+                p.sync();
+                for (Response<Long> r : removed) run.userMembers += r.get();
+            }
+        });
+
+        // 4. count-index members without a session
+        trimCounts(run);
+
+        runs.incrementAndGet();
+        sessionKeys.addAndGet(run.sessions);
+        cartKeys.addAndGet(run.cartKeys);
+        bytes.addAndGet(run.bytes);
+        userMembers.addAndGet(run.userMembers);
+        countMembers.addAndGet(run.countMembers);
+        Result result = new Result(run.sessions, run.carts, run.sessions + run.cartKeys, run.bytes,
+                run.userMembers + run.countMembers);
+        if (result.keys() > 0 || result.members() > 0) {
+            log.info("Reclaimed {} expired session(s), {} cart(s): {} keys, {} bytes, {} index members in {} ms",
+                    result.sessions(), result.carts(), result.keys(), result.bytes(), result.members(),
+                    clock.getAsLong() - run.startedAt);
+        }
+        return result;
+    }
+
+    /**
+     * Runs {@link #reclaimOnce()} every {@code interval} until {@link #close()}. With several nodes,
+     * only the one holding the {@code reclaim:lease} key runs. The lease is renewed for another
+     * {@code interval} after every page and released when the run ends, so its TTL only lapses for a
+     * node that dies (or stalls) mid-run; a run that finds its lease gone stops.
+     */
+    public void start(Duration interval) {
+        long millis = Math.max(1000, interval.toMillis());
+        schedule = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "redis-reclaimer");
+            t.setDaemon(true);
+            return t;
+        });
+        schedule.scheduleWithFixedDelay(() -> {
+            if (!tryLease(millis)) return;
+            try {
+                reclaimOnce(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Reclaim run failed: {}", e.toString());
+            } finally {
+                releaseLease();
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (schedule != null) schedule.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("redis.reclaim.keys", sessionKeys, AtomicLong::get).tag("kind", "session")
+                .description("Keys deleted by the expired-session reclaimer").register(registry);
+        FunctionCounter.builder("redis.reclaim.keys", cartKeys, AtomicLong::get).tag("kind", "cart")
+                .description("Keys deleted by the expired-session reclaimer").register(registry);
+        FunctionCounter.builder("redis.reclaim.bytes", bytes, AtomicLong::get)
+                .description("MEMORY USAGE of the deleted keys, measured just before deletion")
+                .baseUnit("bytes").register(registry);
+        FunctionCounter.builder("redis.reclaim.members", userMembers, AtomicLong::get).tag("key", "user")
+                .register(registry);
+        FunctionCounter.builder("redis.reclaim.members", countMembers, AtomicLong::get).tag("key", "counts")
+                .register(registry);
+        FunctionCounter.builder("redis.reclaim.runs", runs, AtomicLong::get).register(registry);
+    }
+
+    // ---------- steps ----------
+
+    private record Meta(String sessionId, String active, Long lastActivity, String cartId, String user) {
+        boolean reclaimable(long cutoff) {
+            return active == null && lastActivity != null && lastActivity < cutoff;
+        }
+    }
+
+    private List<Meta> readMetas(List<String> keys) {
+        List<Response<List<String>>> replies = new ArrayList<>(keys.size());
+        try (AbstractPipeline p = jedis.pipelined()) {
+            for (String key : keys) replies.add(p.hmget(key, "active", "last_active", "created_at", "cart_id", "user"));
+            p.sync();
+        }
+        List<Meta> metas = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            List<String> f = replies.get(i).get();
+            String lastActive = f.get(1) != null ? f.get(1) : f.get(2);
+            metas.add(new Meta(sessionId(keys.get(i)), f.get(0), parseLong(lastActive), blankToNull(f.get(3)), f.get(4)));
+        }
+        return metas;
+    }
+
+    private void reclaimSessions(List<Meta> dead, Set<String> keptCarts, Set<String> droppedCarts, Run run) {
+        // Item keys of the carts going away
+        List<String> carts = new ArrayList<>();
+        for (Meta meta : dead) {
+            String cartId = meta.cartId();
+            if (cartId != null && !keptCarts.contains(cartId) && droppedCarts.add(cartId)) carts.add(cartId);
+        }
+        List<Response<Set<String>>> items = new ArrayList<>(carts.size());
+        if (!carts.isEmpty()) {
+            try (AbstractPipeline p = jedis.pipelined()) {
+                for (String cartId : carts) items.add(p.smembers("cart:" + cartId + ":items"));
+                p.sync();
+            }
+        }
+
+        // Metas and recency / count members first, so a concurrent restore finds nothing to rebind to
+        List<String> sessionKeys = dead.stream().map(m -> "sess:" + m.sessionId() + ":meta").toList();
+        List<String> cartKeys = new ArrayList<>();
+        for (int i = 0; i < carts.size(); i++) {
+            String cart = "cart:" + carts.get(i);
+            cartKeys.add(cart + ":items");
+            cartKeys.add(cart + ":lines");
+            for (String productId : items.get(i).get()) cartKeys.add(cart + ":item:" + productId);
+        }
+
+        List<Response<Long>> sizes = new ArrayList<>();
+        List<Response<Long>> deletedSessions = new ArrayList<>();
+        List<Response<Long>> deletedCarts = new ArrayList<>();
+        List<Response<Long>> members = new ArrayList<>();
+        try (AbstractPipeline p = jedis.pipelined()) {
+            if (measureBytes) {
+                for (String key : sessionKeys) sizes.add(p.memoryUsage(key));
+                for (String key : cartKeys) sizes.add(p.memoryUsage(key));
+            }
+            for (Meta meta : dead) {
+                deletedSessions.add(p.del("sess:" + meta.sessionId() + ":meta"));
+                if (meta.user() != null && !"anonymous".equals(meta.user())) {
+                    members.add(p.zrem("sess:user:" + meta.user(), meta.sessionId()));
+                }
+            }
+            Response<Long> counts = p.zrem(CartKeys.COUNT_ZSET, dead.stream().map(Meta::sessionId).toArray(String[]::new));
+            for (String key : cartKeys) deletedCarts.add(p.del(key));
+            p.sync();
+            run.countMembers += counts.get();
+        }
+        for (Response<Long> r : sizes) {
+            Long size = r.get();
+            if (size != null) run.bytes += size;
+        }
+        for (Response<Long> r : deletedSessions) run.sessions += r.get();
+        for (Response<Long> r : deletedCarts) run.cartKeys += r.get();
+        for (Response<Long> r : members) run.userMembers += r.get();
+        run.carts += carts.size();
+    }
+
+    private void trimCounts(Run run) throws InterruptedException {
+        String cursor = ScanParams.SCAN_POINTER_START;
+        ScanParams params = new ScanParams().count(scanCount);
+        do {
+            ScanResult<Tuple> page = jedis.zscan(CartKeys.COUNT_ZSET, cursor, params);
+            List<String> sessions = page.getResult().stream().map(Tuple::getElement).toList();
+            if (!sessions.isEmpty()) {
+                List<Response<Boolean>> exists = new ArrayList<>(sessions.size());
+                try (AbstractPipeline p = jedis.pipelined()) {
+                    for (String sessionId : sessions) exists.add(p.exists("sess:" + sessionId + ":meta"));
+                    p.sync();
+                }
+                List<String> orphans = new ArrayList<>();
+                for (int i = 0; i < sessions.size(); i++) {
+                    if (!exists.get(i).get()) orphans.add(sessions.get(i));
+                }
+                if (!orphans.isEmpty()) run.countMembers += jedis.zrem(CartKeys.COUNT_ZSET, orphans.toArray(String[]::new));
+            }
+            // A small (listpack) set comes back whole, past COUNT
+            pace(run, Math.max(scanCount, sessions.size()));
+            cursor = page.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+    }
+
+    // ---------- helpers ----------
+
+    private final class Run {
+        final long startedAt;
+        final long cutoff;
+        final long leaseMillis;   // 0 = run without the lease
+        long examined;
+        long sessions, carts, cartKeys, bytes, userMembers, countMembers;
+
+        Run(long now, long leaseMillis) {
+            this.startedAt = now;
+            this.cutoff = now - retentionMillis;
+            this.leaseMillis = leaseMillis;
+        }
+    }
+
+    private interface Page {
+        void accept(List<String> keys) throws InterruptedException;
+    }
+
+    private void scan(String pattern, String type, Run run, Page handler) throws InterruptedException {
+        String cursor = ScanParams.SCAN_POINTER_START;
+        ScanParams params = new ScanParams().match(pattern).count(scanCount);
+        do {
+            ScanResult<String> page = jedis.scan(cursor, params, type);
+            if (!page.getResult().isEmpty()) handler.accept(page.getResult());
+            pace(run, scanCount);
+            cursor = page.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+    }
+
+    // Keeps the lease, then sleeps until the keys examined so far fit the keys-per-second budget
+    private void pace(Run run, int keys) throws InterruptedException {
+        if (run.leaseMillis > 0 && !extendLease(run.leaseMillis)) {
+            throw new IllegalStateException("reclaim lease lost mid-run, another node may be running");
+        }
+        run.examined += keys;
+        if (keysPerSecond == 0) return;
+        long due = run.startedAt + run.examined * 1000 / keysPerSecond;
+        long ahead = due - clock.getAsLong();
+        if (ahead > 0) sleeper.sleep(ahead);
+    }
+
+    boolean tryLease(long millis) {
+        try {
+            return "OK".equals(jedis.set(LEASE_KEY, owner, SetParams.setParams().nx().px(millis)));
+        } catch (Exception e) {
+            log.warn("Reclaim lease unavailable: {}", e.toString());
+            return false;
+        }
+    }
+
+    // Only our own lease: after a TTL lapse another node may hold it
+    boolean extendLease(long millis) {
+        try {
+            return Long.valueOf(1L).equals(jedis.eval(EXTEND_LEASE, 1, LEASE_KEY, owner, Long.toString(millis)));
+        } catch (Exception e) {
+            log.warn("Could not extend reclaim lease: {}", e.toString());
+            return false;
+        }
+    }
+
+    void releaseLease() {
+        try {
+            jedis.eval(RELEASE_LEASE, 1, LEASE_KEY, owner);
+        } catch (Exception e) {
+            log.debug("Could not release reclaim lease (expires with its TTL): {}", e.toString());
+        }
+    }
+
+    private static String sessionId(String metaKey) {
+        return metaKey.substring("sess:".length(), metaKey.length() - ":meta".length());
+    }
+
+    private static Long parseLong(String s) {
+        if (s == null) return null;
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s;
+    }
+}
@@ -1,29 +1,48 @@
 // src/main/java/org/example/rediscartservice/infrastructure/redis/cart/JedisCartRepository.java
 package org.example.rediscartservice.infrastructure.redis.cart;
 
-import lombok.RequiredArgsConstructor;
+import org.example.rediscartservice.config.CartStorageProperties;
+import org.example.rediscartservice.config.CartStorageProperties.LineFormat;
 import org.example.rediscartservice.domain.model.cart.CartItem;
 import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.resps.Tuple;
 import redis.clients.jedis.search.Document;
 import redis.clients.jedis.search.Query;
 import redis.clients.jedis.search.SearchResult;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Repository
-@RequiredArgsConstructor
 public class JedisCartRepository implements CartRepository {
 
     private static final String CART_INDEX = "idx:cart_items";      // created by CartIndexBootstrap
-    private static final String COUNT_ZSET = "cart:idx:counts";      // member = cartId, score = distinct product count
 
-    private final JedisPooled jedis;
+    private final UnifiedJedis jedis;
+    private final CartKeys keys;                 // count ZSET(s): member = sessionId, score = distinct product count
+    private final boolean binaryLines;     // cart.storage.line-format=BINARY → CartLineCodec blobs in cart:{cartId}:lines
+    private final ReplicaRouter reports;   // admin report scans may read from a replica
+
+    @Autowired
+    public JedisCartRepository(JedisPooled jedis, CartStorageProperties storage, ReplicaRouter replicas) {
+        this(jedis, storage, CartKeys.standalone(), replicas);
+    }
+
+    JedisCartRepository(UnifiedJedis jedis, CartStorageProperties storage, CartKeys keys, ReplicaRouter reports) {
+        this.jedis = jedis;
+        this.keys = keys;
+        this.reports = reports;
+        this.binaryLines = storage.getLineFormat() == LineFormat.BINARY;
+    }
 
     // ---------------------------------------------------------------------
     // Public API (port)
@@ -32,7 +51,39 @@ public class JedisCartRepository implements CartRepository {
     @Override
     public List<CartItem> findBySession(String sessionId) {
         Objects.requireNonNull(sessionId, "sessionId must not be null");
-        String cartId = cartIdForSession(sessionId);
+        return findByCart(cartIdForSession(sessionId));
+    }
+
+    @Override
+    public void add(String sessionId, CartItem newItem) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(newItem, "newItem must not be null");
+        addToCart(sessionId, cartIdForSession(sessionId), newItem);
+    }
+
+    @Override
+    public void remove(String sessionId, String productId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(productId, "productId must not be null");
+        removeFromCart(sessionId, cartIdForSession(sessionId), productId);
+    }
+
+    @Override
+    public List<CartItem> searchByShortDescription(String sessionId, String query) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        String term = query == null ? "" : query.trim();
+        if (term.isEmpty()) {
+            return findBySession(sessionId);
+        }
+        return searchCart(cartIdForSession(sessionId), term);
+    }
+
+    // ---------------------------------------------------------------------
+    // Cart-scoped operations (the cart id is already resolved; used directly by ShardedCartRepository)
+    // ---------------------------------------------------------------------
+
+    List<CartItem> findByCart(String cartId) {
+        if (binaryLines) return findLines(cartId);
 
         String itemsKey = keyCartItems(cartId);
         Set<String> productIds = jedis.smembers(itemsKey);
@@ -48,18 +99,25 @@ public class JedisCartRepository implements CartRepository {
         return result;
     }
 
-    @Override
-    public void add(String sessionId, CartItem newItem) {
-        Objects.requireNonNull(sessionId, "sessionId must not be null");
-        Objects.requireNonNull(newItem, "newItem must not be null");
-
-        String cartId = cartIdForSession(sessionId);
+    void addToCart(String sessionId, String cartId, CartItem newItem) {
         String itemsKey = keyCartItems(cartId);
         String itemKey  = keyCartItem(cartId, newItem.getProductId());
 
         // Track membership; 1 means it was newly added to the set
         long added = jedis.sadd(itemsKey, newItem.getProductId());
 
+        if (binaryLines) {
+            addLine(cartId, newItem);
+        } else {
+            addHash(itemKey, cartId, newItem);
+        }
+
+        if (added == 1L) {
+            jedis.zincrby(keys.countKey(sessionId), 1.0, sessionId);
+        }
+    }
+
+    private void addHash(String itemKey, String cartId, CartItem newItem) {
         Map<String, String> existing = jedis.hgetAll(itemKey);
         boolean exists = existing != null && !existing.isEmpty();
 
@@ -90,40 +148,30 @@ public class JedisCartRepository implements CartRepository {
 
             jedis.hset(itemKey, payload);
         }
-
-        if (added == 1L) {
-            jedis.zincrby(COUNT_ZSET, 1.0, sessionId);
-        }
     }
 
-    @Override
-    public void remove(String sessionId, String productId) {
-        Objects.requireNonNull(sessionId, "sessionId must not be null");
-        Objects.requireNonNull(productId, "productId must not be null");
-
-        String cartId = cartIdForSession(sessionId);
+    void removeFromCart(String sessionId, String cartId, String productId) {
         String itemsKey = keyCartItems(cartId);
         String itemKey  = keyCartItem(cartId, productId);
 
-        jedis.del(itemKey);
+        if (binaryLines) {
+            jedis.hdel(bytes(keyCartLines(cartId)), bytes(productId));
+        } else {
+            jedis.del(itemKey);
+        }
         long removed = jedis.srem(itemsKey, productId);
         if (removed == 1L) {
-            double newScore = jedis.zincrby(COUNT_ZSET, -1.0, sessionId);
+            String countKey = keys.countKey(sessionId);
+            double newScore = jedis.zincrby(countKey, -1.0, sessionId);
             if (newScore <= 0.0) {
-                jedis.zrem(COUNT_ZSET, sessionId);
+                jedis.zrem(countKey, sessionId);
             }
         }
     }
 
-    @Override
-    public List<CartItem> searchByShortDescription(String sessionId, String query) {
-        Objects.requireNonNull(sessionId, "sessionId must not be null");
-        String term = query == null ? "" : query.trim();
-        if (term.isEmpty()) {
-            return findBySession(sessionId);
-        }
-
-        String cartId = cartIdForSession(sessionId);
+    // term is trimmed and non-empty
+    List<CartItem> searchCart(String cartId, String term) {
+        if (binaryLines) return filterLines(findLines(cartId), term);
 
         // Restrict to this cart and search by short_desc or name
         String escaped = escape(term);
@@ -157,8 +205,21 @@ public class JedisCartRepository implements CartRepository {
     @Override
     public List<String> sessionsWithItemCountGreaterThan(int threshold) {
         String minExclusive = "(" + threshold;
-        List<String> sessionIds = jedis.zrangeByScore(COUNT_ZSET, minExclusive, "+inf");
-        return (sessionIds == null) ? List.of() : sessionIds;
+        List<String> countKeys = keys.countKeys();
+        UnifiedJedis reader = reports.reader();
+        if (countKeys.size() == 1) {
+            List<String> sessionIds = reader.zrangeByScore(countKeys.getFirst(), minExclusive, "+inf");
+            return (sessionIds == null) ? List.of() : sessionIds;
+        }
+
+        // Sharded counts: gather every shard, then merge into one ascending-score list like a single ZSET would give
+        List<Tuple> hits = new ArrayList<>();
+        for (String countKey : countKeys) {
+            List<Tuple> shard = reader.zrangeByScoreWithScores(countKey, minExclusive, "+inf");
+            if (shard != null) hits.addAll(shard);
+        }
+        hits.sort(Comparator.comparingDouble(Tuple::getScore).thenComparing(Tuple::getElement));
+        return hits.stream().map(Tuple::getElement).toList();
     }
 
     @Override
@@ -186,13 +247,14 @@ public class JedisCartRepository implements CartRepository {
     // Key helpers
     // ---------------------------------------------------------------------
 
-    private String keyCartItems(String cartId) { return "cart:" + cartId + ":items"; }
-    private String keyCartItem(String cartId, String productId) { return "cart:" + cartId + ":item:" + productId; }
+    private String keyCartItems(String cartId) { return keys.items(cartId); }
+    private String keyCartItem(String cartId, String productId) { return keys.item(cartId, productId); }
+    private String keyCartLines(String cartId) { return keys.lines(cartId); }
     private String keySessionMeta(String sessionId) { return "sess:" + sessionId + ":meta"; }
     private String keyUserSessions(String username) { return "sess:user:" + username; }
 
     // Ensures a cart_id is present for the session; allocates one if missing
-    private String cartIdForSession(String sessionId) {
+    String cartIdForSession(String sessionId) {
         String metaKey = keySessionMeta(sessionId);
         String cartId = jedis.hget(metaKey, "cart_id");
         if (cartId == null || cartId.isBlank()) {
@@ -202,11 +264,65 @@ public class JedisCartRepository implements CartRepository {
         return cartId;
     }
 
+    // ---------------------------------------------------------------------
+    // Binary line format (see CartLineCodec)
+    // ---------------------------------------------------------------------
+
+    // One HGETALL for the whole cart instead of SMEMBERS + one HGETALL per line
+    private List<CartItem> findLines(String cartId) {
+        Map<byte[], byte[]> lines = jedis.hgetAll(bytes(keyCartLines(cartId)));
+        if (lines == null || lines.isEmpty()) return List.of();
+
+        CartLineCodec.Decoder decoder = new CartLineCodec.Decoder();
+        List<CartItem> result = new ArrayList<>(lines.size());
+        for (Map.Entry<byte[], byte[]> e : lines.entrySet()) {
+            result.add(decoder.decode(new String(e.getKey(), StandardCharsets.UTF_8), e.getValue()));
+        }
+        return result;
+    }
+
+    private void addLine(String cartId, CartItem newItem) {
+        byte[] linesKey = bytes(keyCartLines(cartId));
+        byte[] field = bytes(newItem.getProductId());
+
+        CartItem line = newItem;
+        byte[] existing = jedis.hget(linesKey, field);
+        if (existing != null) {
+            CartItem current = CartLineCodec.decode(newItem.getProductId(), existing);
+            line = newItem.toBuilder()
+                    .amount(current.getAmount() + newItem.getAmount())
+                    .totalPrice(current.getTotalPrice().add(newItem.getTotalPrice()).setScale(2, RoundingMode.HALF_UP))
+                    .build();
+        }
+        jedis.hset(linesKey, field, CartLineCodec.encode(line));
+    }
+
+    // Blobs are not visible to RediSearch; carts are small, so match in memory (case-insensitive substring)
+    static List<CartItem> filterLines(List<CartItem> lines, String term) {
+        String needle = term.toLowerCase(Locale.ROOT);
+        List<CartItem> out = new ArrayList<>();
+        for (CartItem item : lines) {
+            if (containsIgnoreCase(item.getShortDescription(), needle) || containsIgnoreCase(item.getName(), needle)) {
+                out.add(item);
+            }
+        }
+        return out;
+    }
+
+    private static boolean containsIgnoreCase(String haystack, String lowerNeedle) {
+        return haystack != null && haystack.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
     // ---------------------------------------------------------------------
     // Mapping / parsing helpers
     // ---------------------------------------------------------------------
 
-    private CartItem toCartItem(String productId, Map<String, String> h) {
+    // Shared with LettuceCartRepository: both read the same hash layout
+    static CartItem toCartItem(String productId, Map<String, String> h) {
         String name = h.getOrDefault("name", "");
         String shortDesc = h.getOrDefault("short_desc", "");
         int amount = parseInt(h.get("amount"));
@@ -220,12 +336,12 @@ public class JedisCartRepository implements CartRepository {
                 .build();
     }
 
-    private int parseInt(String s) {
+    static int parseInt(String s) {
         try { return s == null ? 0 : Integer.parseInt(s); }
         catch (NumberFormatException e) { return 0; }
     }
 
-    private BigDecimal parseMoney(String s) {
+    static BigDecimal parseMoney(String s) {
         try { return s == null ? BigDecimal.ZERO : new BigDecimal(s).setScale(2, RoundingMode.HALF_UP); }
         catch (NumberFormatException e) { return BigDecimal.ZERO; }
     }
@@ -0,0 +1,27 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.config.CartStorageProperties;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import redis.clients.jedis.JedisCluster;
+
+import java.util.List;
+
+/**
+ * {@link JedisCartRepository} on Redis Cluster, using the hash-tagged {@link CartKeys} layout:
+ * all keys of a cart share one slot and the item-count report gathers over sharded count ZSETs.
+ *
+ * Cart search matches in memory over the cart's own lines: open-source RediSearch indexes are
+ * per shard, so FT.SEARCH on one node cannot see carts stored on the others.
+ */
+public class JedisClusterCartRepository extends JedisCartRepository {
+
+    public JedisClusterCartRepository(JedisCluster jedis, CartStorageProperties storage) {
+        super(jedis, storage, CartKeys.hashTagged(storage.getCountShards()), ReplicaRouter.primaryOnly(jedis));
+    }
+
+    @Override
+    List<CartItem> searchCart(String cartId, String term) {
+        return filterLines(findByCart(cartId), term);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.domain.port.cart.AsyncCartRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link AsyncCartRepository} on Lettuce. All commands go over one shared connection, so
+ * independent commands issued back-to-back (e.g. the HGETALL per cart line) are pipelined
+ * by the client without any explicit batching.
+ *
+ * Same keys and hash layout as {@link JedisCartRepository} (HASH line format only).
+ */
+public class LettuceCartRepository implements AsyncCartRepository {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final RedisAsyncCommands<String, String> redis;
+    private final CartKeys keys = CartKeys.standalone();    // count ZSET: member = sessionId, score = distinct product count
+
+    public LettuceCartRepository(RedisAsyncCommands<String, String> redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public CompletionStage<String> resolveCartId(String sessionId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        String metaKey = keySessionMeta(sessionId);
+        return redis.hget(metaKey, "cart_id").thenCompose(cartId -> {
+            if (cartId != null && !cartId.isBlank()) return CompletableFuture.completedFuture(cartId);
+            String fresh = UUID.randomUUID().toString();
+            // HSETNX: two concurrent first requests of one session agree on a single cart
+            return redis.hsetnx(metaKey, "cart_id", fresh)
+                    .thenCompose(set -> set ? CompletableFuture.completedFuture(fresh) : redis.hget(metaKey, "cart_id"));
+        });
+    }
+
+    @Override
+    public CompletionStage<List<CartItem>> findByCartId(String cartId) {
+        Objects.requireNonNull(cartId, "cartId must not be null");
+        return redis.smembers(keys.items(cartId)).thenCompose(productIds -> {
+            if (productIds == null || productIds.isEmpty()) return CompletableFuture.completedFuture(List.<CartItem>of());
+
+            List<String> ids = List.copyOf(productIds);
+            List<CompletableFuture<Map<String, String>>> reads = new ArrayList<>(ids.size());
+            for (String pid : ids) {
+                reads.add(redis.hgetall(keys.item(cartId, pid)).toCompletableFuture());
+            }
+            return CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).thenApply(v -> {
+                List<CartItem> result = new ArrayList<>(ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    Map<String, String> hash = reads.get(i).join();
+                    if (hash != null && !hash.isEmpty()) {
+                        result.add(JedisCartRepository.toCartItem(ids.get(i), hash));
+                    }
+                }
+                return result;
+            });
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> add(String sessionId, String cartId, CartItem newItem) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(newItem, "newItem must not be null");
+        String itemKey = keys.item(cartId, newItem.getProductId());
+
+        // Issued together; 1 means the product was newly added to the set
+        CompletableFuture<Long> added = redis.sadd(keys.items(cartId), newItem.getProductId()).toCompletableFuture();
+        CompletableFuture<Long> written = redis.hgetall(itemKey).toCompletableFuture()
+                .thenCompose(existing -> redis.hset(itemKey, payload(cartId, merge(existing, newItem))));
+
+        return added.thenCombine(written, (a, w) -> a)
+                .thenCompose(a -> a != null && a == 1L
+                        ? redis.zincrby(keys.countKey(sessionId), 1.0, sessionId).thenApply(score -> (Void) null)
+                        : DONE);
+    }
+
+    @Override
+    public CompletionStage<Void> remove(String sessionId, String cartId, String productId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(productId, "productId must not be null");
+
+        CompletableFuture<Long> deleted = redis.del(keys.item(cartId, productId)).toCompletableFuture();
+        String countKey = keys.countKey(sessionId);
+        CompletableFuture<Void> counted = redis.srem(keys.items(cartId), productId).toCompletableFuture()
+                .thenCompose(removed -> removed != null && removed == 1L
+                        ? redis.zincrby(countKey, -1.0, sessionId).thenCompose(score -> score <= 0.0
+                                ? redis.zrem(countKey, sessionId).thenApply(n -> (Void) null)
+                                : DONE)
+                        : DONE);
+        return deleted.thenCombine(counted, (d, c) -> null);
+    }
+
+    // ---------- helpers ----------
+
+    private static CartItem merge(Map<String, String> existing, CartItem newItem) {
+        if (existing == null || existing.isEmpty()) return newItem;
+        int amount = JedisCartRepository.parseInt(existing.get("amount")) + newItem.getAmount();
+        BigDecimal total = JedisCartRepository.parseMoney(existing.get("total_price"))
+                .add(newItem.getTotalPrice()).setScale(2, RoundingMode.HALF_UP);
+        return newItem.toBuilder().amount(amount).totalPrice(total).build();
+    }
+
+    private static Map<String, String> payload(String cartId, CartItem item) {
+        Map<String, String> payload = new HashMap<>();
+        payload.put("cart_id", cartId);
+        payload.put("product_id", item.getProductId());
+        payload.put("name", item.getName());
+        payload.put("short_desc", item.getShortDescription());
+        payload.put("amount", String.valueOf(item.getAmount()));
+        payload.put("total_price", item.getTotalPrice().toPlainString());
+        return payload;
+    }
+
+    private static String keySessionMeta(String sessionId) { return "sess:" + sessionId + ":meta"; }
+}
@@ -0,0 +1,118 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.example.rediscartservice.infrastructure.redis.shard.ConsistentHashRing;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link CartRepository} over several standalone Redis nodes, routed by cart id on a
+ * {@link ConsistentHashRing}. Every shard keeps the standalone key layout, its own count ZSET
+ * and its own {@code idx:cart_items} index, so cart search stays a single-node FT.SEARCH.
+ *
+ * Session keys ({@code sess:*}) stay on the home node, where the session aspect writes them:
+ * the cart id is resolved there first, then the cart's shard is used. The item-count report
+ * queries all shards in parallel and concatenates the results (ascending score within a shard).
+ */
+public class ShardedCartRepository implements CartRepository, AutoCloseable {
+
+    /** One cart node: the client (owned, closed with the repository) and the repository on it. */
+    public record Shard(String name, UnifiedJedis jedis, JedisCartRepository carts) {}
+
+    private final JedisCartRepository home;
+    private final ConsistentHashRing<Shard> ring;
+    private final ExecutorService fanOut;
+
+    public ShardedCartRepository(JedisCartRepository home, ConsistentHashRing<Shard> ring, ExecutorService fanOut) {
+        this.home = home;
+        this.ring = ring;
+        this.fanOut = fanOut;
+    }
+
+    @Override
+    public List<CartItem> findBySession(String sessionId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        String cartId = home.cartIdForSession(sessionId);
+        return shardFor(cartId).findByCart(cartId);
+    }
+
+    @Override
+    public void add(String sessionId, CartItem cartItem) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(cartItem, "newItem must not be null");
+        String cartId = home.cartIdForSession(sessionId);
+        shardFor(cartId).addToCart(sessionId, cartId, cartItem);
+    }
+
+    @Override
+    public void remove(String sessionId, String productId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(productId, "productId must not be null");
+        String cartId = home.cartIdForSession(sessionId);
+        shardFor(cartId).removeFromCart(sessionId, cartId, productId);
+    }
+
+    @Override
+    public List<CartItem> searchByShortDescription(String sessionId, String query) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        String term = query == null ? "" : query.trim();
+        if (term.isEmpty()) {
+            return findBySession(sessionId);
+        }
+        String cartId = home.cartIdForSession(sessionId);
+        return shardFor(cartId).searchCart(cartId, term);
+    }
+
+    @Override
+    public void restoreFromPreviousSession(String username, String currentSessionId) {
+        // Only rebinds session meta; the cart itself does not move
+        home.restoreFromPreviousSession(username, currentSessionId);
+    }
+
+    @Override
+    public List<String> sessionsWithItemCountGreaterThan(int threshold) {
+        List<CompletableFuture<List<String>>> calls = new ArrayList<>();
+        for (Shard shard : ring.nodes()) {
+            calls.add(CompletableFuture.supplyAsync(() -> shard.carts().sessionsWithItemCountGreaterThan(threshold), fanOut));
+        }
+        // A session rebound to an older cart may have counted lines on two shards; report it once
+        Set<String> merged = new LinkedHashSet<>();
+        for (CompletableFuture<List<String>> call : calls) {
+            merged.addAll(await(call));
+        }
+        return List.copyOf(merged);
+    }
+
+    @Override
+    public void close() {
+        fanOut.shutdown();
+        for (Shard shard : ring.nodes()) {
+            shard.jedis().close();
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private JedisCartRepository shardFor(String cartId) {
+        return ring.nodeFor(cartId).carts();
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+}
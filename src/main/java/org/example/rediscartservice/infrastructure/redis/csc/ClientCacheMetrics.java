@@ -0,0 +1,51 @@
+package org.example.rediscartservice.infrastructure.redis.csc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheStats;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Exposes Jedis client-side cache statistics:
+ *  - redis.client.cache.size / redis.client.cache.max.size
+ *  - redis.client.cache.requests{result=hit|miss}
+ *  - redis.client.cache.evictions, redis.client.cache.invalidations (server pushes)
+ *  - redis.client.cache.uncacheable — reads that bypassed the cache (not allowlisted)
+ */
+public class ClientCacheMetrics implements MeterBinder {
+
+    private final Cache cache;
+
+    public ClientCacheMetrics(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("redis.client.cache.size", cache, Cache::getSize)
+                .description("Replies currently held in the client-side cache")
+                .register(registry);
+        Gauge.builder("redis.client.cache.max.size", cache, Cache::getMaxSize)
+                .register(registry);
+
+        counter(registry, "redis.client.cache.requests", "hit", CacheStats::getHitCount);
+        counter(registry, "redis.client.cache.requests", "miss", CacheStats::getMissCount);
+        FunctionCounter.builder("redis.client.cache.evictions", cache, c -> c.getStats().getEvictCount())
+                .register(registry);
+        FunctionCounter.builder("redis.client.cache.invalidations", cache, c -> c.getStats().getInvalidationCount())
+                .description("Keys invalidated by Redis push messages")
+                .register(registry);
+        FunctionCounter.builder("redis.client.cache.uncacheable", cache, c -> c.getStats().getNonCacheableCount())
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String result, ToLongFunction<CacheStats> f) {
+        FunctionCounter.builder(name, cache, c -> f.applyAsLong(c.getStats()))
+                .tag("result", result)
+                .register(registry);
+    }
+}
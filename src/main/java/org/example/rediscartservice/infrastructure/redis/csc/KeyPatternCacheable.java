@@ -0,0 +1,56 @@
+package org.example.rediscartservice.infrastructure.redis.csc;
+
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.csc.Cacheable;
+import redis.clients.jedis.csc.DefaultCacheable;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Client-side caching allowlist: a reply is cached only when the command is a read that Jedis
+ * can cache anyway (GET, HGET, JSON.GET, …) and EVERY key it touches matches one of the patterns.
+ * Commands without declared keys are never cached: nothing could invalidate them.
+ */
+public class KeyPatternCacheable implements Cacheable {
+
+    private final List<Pattern> patterns;
+
+    public KeyPatternCacheable(List<String> keyPatterns) {
+        this.patterns = keyPatterns.stream().map(KeyPatternCacheable::compile).toList();
+    }
+
+    @Override
+    public boolean isCacheable(ProtocolCommand command, List<Object> keys) {
+        if (!DefaultCacheable.isDefaultCacheableCommand(command)) return false;
+        if (keys == null || keys.isEmpty()) return false;
+        for (Object key : keys) {
+            if (!matches(asString(key))) return false;
+        }
+        return true;
+    }
+
+    boolean matches(String key) {
+        for (Pattern p : patterns) {
+            if (p.matcher(key).matches()) return true;
+        }
+        return false;
+    }
+
+    // ---------- helpers ----------
+
+    // Glob → regex; only '*' is special, everything else is literal
+    private static Pattern compile(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.split("\\*", -1)) {
+            if (!regex.isEmpty()) regex.append(".*");
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static String asString(Object key) {
+        return key instanceof byte[] b ? SafeEncoder.encode(b) : String.valueOf(key);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.commands.ProtocolCommand;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-command Redis meters, tagged by command name and {@link RedisOperation} (never by key):
+ *  - redis.command.duration{command, operation} — round trip incl. reply parsing (percentile histogram)
+ *  - redis.command.request.bytes{command, operation} — encoded argument bytes
+ *  - redis.command.reply.bytes{command, operation} — bulk payload of the reply (one level deep, approximate)
+ *  - redis.command.errors{command, operation, exception}
+ *
+ * Meters are resolved once per (command, operation) and cached, so the hot path is two map lookups.
+ */
+public class RedisCommandMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<ProtocolCommand, ConcurrentMap<String, Meters>> meters = new ConcurrentHashMap<>();
+
+    public RedisCommandMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(CommandArguments args, Object reply, long nanos) {
+        Meters m = meters(args.getCommand(), RedisOperation.current());
+        m.duration.record(nanos, TimeUnit.NANOSECONDS);
+        m.requestBytes.record(requestBytes(args));
+        m.replyBytes.record(replyBytes(reply));
+    }
+
+    public void recordFailure(CommandArguments args, RuntimeException error, long nanos) {
+        String operation = RedisOperation.current();
+        Meters m = meters(args.getCommand(), operation);
+        m.duration.record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("redis.command.errors")
+                .tag("command", m.command).tag("operation", operation)
+                .tag("exception", error.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    // ---------- helpers ----------
+
+    private Meters meters(ProtocolCommand command, String operation) {
+        return meters.computeIfAbsent(command, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, op -> new Meters(commandName(command), op, registry));
+    }
+
+    static String commandName(ProtocolCommand command) {
+        return new String(command.getRaw(), StandardCharsets.US_ASCII);
+    }
+
+    static long requestBytes(CommandArguments args) {
+        long size = 0;
+        for (Rawable arg : args) {
+            size += arg.getRaw().length;
+        }
+        return size;
+    }
+
+    static long replyBytes(Object reply) {
+        if (reply instanceof byte[] b) return b.length;
+        if (reply instanceof String s) return s.length();
+        if (reply instanceof Map<?, ?> map) {
+            long size = 0;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                size += scalarBytes(e.getKey()) + scalarBytes(e.getValue());
+            }
+            return size;
+        }
+        if (reply instanceof Collection<?> items) {
+            long size = 0;
+            for (Object item : items) {
+                size += scalarBytes(item);
+            }
+            return size;
+        }
+        return 0;
+    }
+
+    private static long scalarBytes(Object o) {
+        if (o instanceof byte[] b) return b.length;
+        if (o instanceof String s) return s.length();
+        return 0;
+    }
+
+    private static final class Meters {
+        final String command;
+        final Timer duration;
+        final DistributionSummary requestBytes;
+        final DistributionSummary replyBytes;
+
+        Meters(String command, String operation, MeterRegistry registry) {
+            this.command = command;
+            this.duration = Timer.builder("redis.command.duration")
+                    .description("Redis command round trip")
+                    .tag("command", command).tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.requestBytes = DistributionSummary.builder("redis.command.request.bytes")
+                    .baseUnit("bytes")
+                    .tag("command", command).tag("operation", operation)
+                    .register(registry);
+            this.replyBytes = DistributionSummary.builder("redis.command.reply.bytes")
+                    .baseUnit("bytes")
+                    .tag("command", command).tag("operation", operation)
+                    .register(registry);
+        }
+    }
+}
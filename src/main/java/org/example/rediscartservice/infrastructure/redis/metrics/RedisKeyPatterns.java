@@ -0,0 +1,37 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Reduces a Redis key to its shape for telemetry tags: the structural words of our key layout are
+ * kept, every id / session / search term becomes {@code *}, e.g.
+ * {@code cart:{3f2a…}:item:p-17} → {@code cart:*:item:*}, {@code pcache:12:search:name:red mug} →
+ * {@code pcache:*:search:name:*}. Runs of non-structural segments collapse into one {@code *}, so the
+ * tag stays low-cardinality.
+ */
+final class RedisKeyPatterns {
+
+    private static final Set<String> STRUCTURE = Set.of(
+            "cart", "items", "item", "lines", "idx", "counts",
+            "sess", "meta", "user",
+            "product", "sku",
+            "pcache", "gen", "search", "list", "name", "description");
+
+    private RedisKeyPatterns() {
+    }
+
+    static String of(Object key) {
+        String raw = key instanceof byte[] b ? new String(b, StandardCharsets.UTF_8) : String.valueOf(key);
+        StringBuilder pattern = new StringBuilder();
+        boolean wildcard = false;
+        for (String segment : raw.split(":", -1)) {
+            boolean structural = STRUCTURE.contains(segment);
+            if (!structural && wildcard) continue;     // "pcache:5:list:0:20" → "pcache:*:list:*"
+            if (!pattern.isEmpty()) pattern.append(':');
+            pattern.append(structural ? segment : "*");
+            wildcard = !structural;
+        }
+        return pattern.toString();
+    }
+}
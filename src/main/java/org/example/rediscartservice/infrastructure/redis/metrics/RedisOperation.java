@@ -0,0 +1,40 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+/**
+ * Names the logical operation (e.g. {@code cart.findBySession}, {@code session.touch}) the current
+ * thread is running, so Redis commands can be attributed to it. Scopes nest and restore the outer name.
+ */
+public final class RedisOperation {
+
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RedisOperation() {
+    }
+
+    public static String current() {
+        String op = CURRENT.get();
+        return op != null ? op : NONE;
+    }
+
+    public static Scope open(String operation) {
+        String outer = CURRENT.get();
+        CURRENT.set(operation);
+        return new Scope(outer);
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final String outer;
+
+        private Scope(String outer) {
+            this.outer = outer;
+        }
+
+        @Override
+        public void close() {
+            if (outer == null) CURRENT.remove();
+            else CURRENT.set(outer);
+        }
+    }
+}
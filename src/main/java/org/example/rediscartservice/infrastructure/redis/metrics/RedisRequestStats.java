@@ -0,0 +1,55 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+/**
+ * Redis work done by the current request thread: commands executed, round trips to the server
+ * (a command answered from the client-side cache costs none) and the time spent in them.
+ *
+ * Fed by the pooled {@code JedisPooled} connections (see {@link TimedConnectionFactory}); commands
+ * issued from other threads (shard fan-out workers, Lettuce) are not attributed to the request.
+ */
+public final class RedisRequestStats {
+
+    private static final ThreadLocal<RedisRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int commands;
+    private int roundTrips;
+    private long nanos;
+
+    private RedisRequestStats() {
+    }
+
+    public static RedisRequestStats begin() {
+        RedisRequestStats stats = new RedisRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordCommand(long nanos) {
+        RedisRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.commands++;
+            stats.nanos += nanos;
+        }
+    }
+
+    public static void recordRoundTrip() {
+        RedisRequestStats stats = CURRENT.get();
+        if (stats != null) stats.roundTrips++;
+    }
+
+    public int commands() {
+        return commands;
+    }
+
+    public int roundTrips() {
+        return roundTrips;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@code CartRepository} / {@code ProductRepository} call and opens a {@link RedisOperation}
+ * ({@code cart.<method>} / {@code product.<method>}) so the commands it issues are attributed to it.
+ *
+ * Metric: redis.repository.duration{repository, method, outcome=success|error} (percentile histogram).
+ */
+@Aspect
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* org.example.rediscartservice.domain.port.cart.CartRepository.*(..)) || " +
+            "execution(* org.example.rediscartservice.domain.port.product.ProductRepository.*(..))")
+    public Object around(ProceedingJoinPoint pjp) throws Throwable {
+        String repository = pjp.getTarget() instanceof CartRepository ? "cart" : "product";
+        String method = pjp.getSignature().getName();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try (RedisOperation.Scope ignored = RedisOperation.open(repository + "." + method)) {
+            Object result = pjp.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            timer(repository, method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String repository, String method, String outcome) {
+        return timers.computeIfAbsent(repository + '|' + method + '|' + outcome, k -> Timer.builder("redis.repository.duration")
+                .description("Repository method duration, including every Redis command it issues")
+                .tag("repository", repository).tag("method", method).tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
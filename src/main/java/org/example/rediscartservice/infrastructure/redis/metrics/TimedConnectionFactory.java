@@ -0,0 +1,177 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.example.rediscartservice.infrastructure.diagnostics.jfr.RedisCommandEvent;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.ConnectionFactory;
+import redis.clients.jedis.DefaultJedisSocketFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheConnection;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pool factory whose connections instrument every command they execute, each part behind its own switch:
+ *  - {@link RedisCommandMetrics} ({@code redis.metrics.enabled})
+ *  - the per-request {@link RedisRequestStats} ({@code redis.budget.enabled})
+ *  - a JFR {@link RedisCommandEvent} ({@code diagnostics.jfr.enabled})
+ *  - a {@code redis.command} observation (span), only beneath an existing one such as a service method
+ *    ({@code diagnostics.tracing.redis-commands})
+ *
+ * Every JedisPooled command goes through {@code Connection.executeCommand(CommandObject)}, and every
+ * write to the socket through {@code sendCommand(CommandArguments)}, so this covers all repositories
+ * and aspects sharing the pool without wrapping the client API. Use {@link #create} so that a pool
+ * with every instrument off gets plain Jedis connections.
+ */
+public class TimedConnectionFactory extends ConnectionFactory {
+
+    static final String OBSERVATION = "redis.command";
+
+    private final JedisSocketFactory socketFactory;
+    private final JedisClientConfig clientConfig;
+    private final Cache cache;
+    private final Instruments instruments;
+
+    public TimedConnectionFactory(HostAndPort hostAndPort, JedisClientConfig clientConfig, Cache cache,
+                                  Instruments instruments) {
+        super(hostAndPort, clientConfig, cache);
+        this.socketFactory = new DefaultJedisSocketFactory(hostAndPort, clientConfig);
+        this.clientConfig = clientConfig;
+        this.cache = cache;
+        this.instruments = instruments;
+    }
+
+    /** Timed connections when any instrument is on, plain Jedis connections otherwise. */
+    public static ConnectionFactory create(HostAndPort hostAndPort, JedisClientConfig clientConfig, Cache cache,
+                                           Instruments instruments) {
+        return instruments.any()
+                ? new TimedConnectionFactory(hostAndPort, clientConfig, cache, instruments)
+                : new ConnectionFactory(hostAndPort, clientConfig, cache);
+    }
+
+    @Override
+    public PooledObject<Connection> makeObject() {
+        Connection connection = cache == null
+                ? new TimedConnection(socketFactory, clientConfig, instruments)
+                : new TimedCacheConnection(socketFactory, clientConfig, cache, instruments);
+        return new DefaultPooledObject<>(connection);
+    }
+
+    static final class TimedConnection extends Connection {
+        private final Instruments instruments;
+
+        TimedConnection(JedisSocketFactory socketFactory, JedisClientConfig clientConfig, Instruments instruments) {
+            super(socketFactory, clientConfig);
+            this.instruments = instruments;
+        }
+
+        @Override
+        public <T> T executeCommand(CommandObject<T> commandObject) {
+            return instruments.execute(commandObject, super::executeCommand);
+        }
+
+        @Override
+        public void sendCommand(CommandArguments args) {
+            if (instruments != null) instruments.sent();   // null during the handshake in the super constructor
+            super.sendCommand(args);
+        }
+    }
+
+    // Client-side caching: cache hits are timed too and show up as very fast commands
+    static final class TimedCacheConnection extends CacheConnection {
+        private final Instruments instruments;
+
+        TimedCacheConnection(JedisSocketFactory socketFactory, JedisClientConfig clientConfig, Cache cache,
+                             Instruments instruments) {
+            super(socketFactory, clientConfig, cache);
+            this.instruments = instruments;
+        }
+
+        @Override
+        public <T> T executeCommand(CommandObject<T> commandObject) {
+            return instruments.execute(commandObject, super::executeCommand);
+        }
+
+        @Override
+        public void sendCommand(CommandArguments args) {
+            if (instruments != null) instruments.sent();   // null during the handshake in the super constructor
+            super.sendCommand(args);
+        }
+    }
+
+    /**
+     * What the timed connections record per command.
+     *
+     * @param metrics      per-command meters, or {@code null} to skip them
+     * @param observations registry for command spans, or {@code null} to skip them
+     * @param requestStats feed {@link RedisRequestStats} (round-trip budgets)
+     * @param jfrEvents    emit a {@link RedisCommandEvent} per command
+     */
+    public record Instruments(RedisCommandMetrics metrics, ObservationRegistry observations,
+                              boolean requestStats, boolean jfrEvents) {
+
+        public static final Instruments NONE = new Instruments(null, null, false, false);
+
+        public boolean any() {
+            return metrics != null || observations != null || requestStats || jfrEvents;
+        }
+
+        <T> T execute(CommandObject<T> commandObject, Function<CommandObject<T>, T> command) {
+            CommandArguments args = commandObject.getArguments();
+            RedisCommandEvent event = null;
+            if (jfrEvents) {
+                event = new RedisCommandEvent();
+                event.begin();
+            }
+            Observation observation = observe(observations, args);
+            long start = System.nanoTime();
+            try {
+                T reply = command.apply(commandObject);
+                long nanos = System.nanoTime() - start;
+                if (event != null) event.finish(args.getCommand(), RedisOperation.current(), false);
+                if (observation != null) observation.stop();
+                if (requestStats) RedisRequestStats.recordCommand(nanos);
+                if (metrics != null) metrics.record(args, reply, nanos);
+                return reply;
+            } catch (RuntimeException e) {
+                long nanos = System.nanoTime() - start;
+                if (event != null) event.finish(args.getCommand(), RedisOperation.current(), true);
+                if (observation != null) observation.error(e).stop();
+                if (requestStats) RedisRequestStats.recordCommand(nanos);
+                if (metrics != null) metrics.recordFailure(args, e, nanos);
+                throw e;
+            }
+        }
+
+        void sent() {
+            if (requestStats) RedisRequestStats.recordRoundTrip();
+        }
+    }
+
+    /**
+     * Starts a command observation if something is already being observed on this thread (a service
+     * method, an HTTP request); stray commands such as pool warm-up or health checks get none.
+     * Tags are the command and the key pattern, never the key itself.
+     */
+    static Observation observe(ObservationRegistry observations, CommandArguments args) {
+        if (observations == null || observations.getCurrentObservation() == null) return null;
+        String command = RedisCommandMetrics.commandName(args.getCommand());
+        List<Object> keys = args.getKeys();
+        return Observation.createNotStarted(OBSERVATION, observations)
+                .contextualName(command)
+                .lowCardinalityKeyValue("db.system", "redis")
+                .lowCardinalityKeyValue("db.operation", command)
+                .lowCardinalityKeyValue("db.redis.key_pattern", keys.isEmpty() ? "none" : RedisKeyPatterns.of(keys.get(0)))
+                .lowCardinalityKeyValue("operation", RedisOperation.current())
+                .start();
+    }
+}
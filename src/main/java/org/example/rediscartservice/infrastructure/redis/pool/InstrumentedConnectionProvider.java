@@ -0,0 +1,134 @@
+package org.example.rediscartservice.infrastructure.redis.pool;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.ConnectionFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.providers.PooledConnectionProvider;
+import redis.clients.jedis.util.Pool;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Jedis connection pool that reports how it is doing, tagged {@code pool=<name>} (the main node is
+ * {@value #PRIMARY}; shard and replica pools are named after their node):
+ *  - redis.pool.connections{state=active|idle} — borrowed / parked connections
+ *  - redis.pool.waiters — threads blocked in borrow right now
+ *  - redis.pool.max — configured max total
+ *  - redis.pool.borrow.wait — time spent getting a connection (percentile histogram)
+ *  - redis.pool.borrow.failures — borrows that timed out or could not connect
+ *  - redis.pool.borrow.rejected — borrows refused because {@code maxWaiters} threads were already waiting
+ *
+ * {@code maxWaiters > 0} guards the pool with a semaphore: with virtual threads there can be far more
+ * request threads than connections, and letting all of them queue on the pool only turns a Redis
+ * slowdown into a pile-up. Callers beyond the limit fail fast instead.
+ */
+@Slf4j
+public class InstrumentedConnectionProvider extends PooledConnectionProvider {
+
+    public static final String PRIMARY = "primary";
+
+    private final Timer borrowWait;
+    private final Counter borrowFailures;
+    private final Counter borrowRejected;
+    private final Semaphore borrowers;     // null = unbounded
+
+    public InstrumentedConnectionProvider(HostAndPort hostAndPort, JedisClientConfig clientConfig, Cache cache,
+                                          GenericObjectPoolConfig<Connection> poolConfig, int maxWaiters,
+                                          MeterRegistry registry) {
+        this(PRIMARY, new ConnectionFactory(hostAndPort, clientConfig, cache), poolConfig, maxWaiters, registry);
+    }
+
+    /**
+     * Pool over a custom connection factory (e.g. one whose connections time each command).
+     */
+    public InstrumentedConnectionProvider(String name, PooledObjectFactory<Connection> connectionFactory,
+                                          GenericObjectPoolConfig<Connection> poolConfig, int maxWaiters,
+                                          MeterRegistry registry) {
+        super(connectionFactory, poolConfig);
+        Pool<Connection> pool = getPool();
+        // A permit is held only while borrowing, so this bounds the threads queued on the pool
+        this.borrowers = maxWaiters > 0 ? new Semaphore(maxWaiters) : null;
+
+        Gauge.builder("redis.pool.connections", pool, Pool::getNumActive).tag("pool", name).tag("state", "active")
+                .description("Connections currently borrowed")
+                .register(registry);
+        Gauge.builder("redis.pool.connections", pool, Pool::getNumIdle).tag("pool", name).tag("state", "idle")
+                .description("Connections parked in the pool")
+                .register(registry);
+        Gauge.builder("redis.pool.waiters", pool, Pool::getNumWaiters).tag("pool", name)
+                .description("Threads blocked waiting for a connection")
+                .register(registry);
+        Gauge.builder("redis.pool.max", pool, Pool::getMaxTotal).tag("pool", name)
+                .register(registry);
+        this.borrowWait = Timer.builder("redis.pool.borrow.wait").tag("pool", name)
+                .description("Time spent borrowing a connection from the pool")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.borrowFailures = Counter.builder("redis.pool.borrow.failures").tag("pool", name)
+                .description("Borrows that timed out or could not open a connection")
+                .register(registry);
+        this.borrowRejected = Counter.builder("redis.pool.borrow.rejected").tag("pool", name)
+                .description("Borrows refused because too many threads were already waiting")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() {
+        return timed(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(CommandArguments args) {
+        return timed(() -> super.getConnection(args));
+    }
+
+    /**
+     * Open up to {@code connections} connections now instead of on first use (capped at max total).
+     * Best effort: a Redis that is not up yet only costs a warning.
+     */
+    public int warmUp(int connections) {
+        Pool<Connection> pool = getPool();
+        int target = Math.min(connections, pool.getMaxTotal() < 0 ? connections : pool.getMaxTotal());
+        int opened = 0;
+        try {
+            for (; opened < target; opened++) {
+                pool.addObject();
+            }
+        } catch (Exception e) {
+            log.warn("Redis pool warm-up stopped after {} of {} connections: {}", opened, target, e.toString());
+        }
+        return opened;
+    }
+
+    // ---------- helpers ----------
+
+    private Connection timed(Supplier<Connection> borrow) {
+        if (borrowers != null && !borrowers.tryAcquire()) {
+            borrowRejected.increment();
+            throw new JedisConnectionException("Too many threads waiting for a Redis connection");
+        }
+        long start = System.nanoTime();
+        try {
+            return borrow.get();
+        } catch (RuntimeException e) {
+            borrowFailures.increment();
+            throw e;
+        } finally {
+            borrowWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (borrowers != null) borrowers.release();
+        }
+    }
+}
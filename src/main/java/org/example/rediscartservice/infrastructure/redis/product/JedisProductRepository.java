@@ -1,88 +1,236 @@
 package org.example.rediscartservice.infrastructure.redis.product;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
 import org.example.rediscartservice.domain.port.product.ProductRepository;
 import org.example.rediscartservice.infrastructure.redis.RedisJsonMapper;
 import org.example.rediscartservice.infrastructure.redis.SearchSanitizer;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import redis.clients.jedis.JedisPooled;
-import redis.clients.jedis.json.Path2;
+import redis.clients.jedis.search.Document;
+import redis.clients.jedis.search.FieldName;
 import redis.clients.jedis.search.Query;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-@RequiredArgsConstructor
 public class JedisProductRepository implements ProductRepository {
 
-    private final JedisPooled jedis;
+    private final JedisPooled jedis;              // primary: writes and read-before-write
+    private final ReplicaRouter replicas;         // lag-tolerant reads
     private final ObjectMapper mapper;
+    private final ObjectReader productReader;   // thread-safe, built once
 
     private static final String INDEX = "idx:products";
+    private static final String KEY_PREFIX = "product:";
+    private static final String SKU_PREFIX = "sku:";   // sku:{sku} -> product id
+
+    // Existence check + path writes in one atomic round trip; XX = only overwrite paths that exist.
+    // Returns the number of paths written (0 for a missing document).
+    private static final String PATCH_PATHS =
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local written = 0 " +
+            "for i = 1, #ARGV, 2 do " +
+            "if redis.call('JSON.SET', KEYS[1], ARGV[i], ARGV[i + 1], 'XX') then written = written + 1 end end " +
+            "return written";
+
+    // Shared tail of SAVE / DELETE: drop the pointer of the previous SKU (read into `prev` before the write)
+    // if it still points to this product. ARGV[1] = id, ARGV[2] = new SKU or ''.
+    private static final String DROP_PREVIOUS_SKU =
+            "if prev then local old = cjson.decode(prev)[1] " +
+            "if type(old) == 'string' and old ~= ARGV[2] and redis.call('GET', 'sku:' .. old) == ARGV[1] then " +
+            "redis.call('DEL', 'sku:' .. old) end end ";
+
+    // Document + sku:{sku} pointer in one atomic round trip. The previous SKU is only known inside the
+    // script, so its pointer key is derived there (the product keyspace lives on one standalone node).
+    private static final String SAVE =
+            "local prev = redis.call('JSON.GET', KEYS[1], '$.sku') " +
+            "redis.call('JSON.SET', KEYS[1], '$', ARGV[3]) " +
+            "if ARGV[2] ~= '' then redis.call('SET', 'sku:' .. ARGV[2], ARGV[1]) end " +
+            DROP_PREVIOUS_SKU +
+            "return 1";
+
+    private static final String DELETE =
+            "local prev = redis.call('JSON.GET', KEYS[1], '$.sku') " +
+            "local removed = redis.call('DEL', KEYS[1]) " +
+            DROP_PREVIOUS_SKU +
+            "return removed";
+
+    public JedisProductRepository(JedisPooled jedis, ObjectMapper mapper) {
+        this(jedis, mapper, ReplicaRouter.primaryOnly(jedis));
+    }
+
+    @Autowired
+    public JedisProductRepository(JedisPooled jedis, ObjectMapper mapper, ReplicaRouter replicas) {
+        this.jedis = jedis;
+        this.replicas = replicas;
+        this.mapper = mapper;
+        this.productReader = mapper.readerFor(Product.class);
+    }
 
     @Override
     public Product save(Product product) {
         final String key = "product:" + product.getId();
+        String productJson;
         try {
-            String productJson = mapper.writeValueAsString(product);
-            jedis.jsonSet(key, Path2.ROOT_PATH, productJson);
-            return product;
+            productJson = mapper.writeValueAsString(product);
         } catch (Exception e) {
             throw new RuntimeException("Could not serialize product to JSON", e);
         }
+
+        // Keep the sku:{sku} -> id pointer in step with the document (SKU may change on update)
+        String sku = product.getSku() == null ? "" : product.getSku();
+        jedis.eval(SAVE, List.of(key), List.of(product.getId(), sku, productJson));
+        replicas.afterWrite();
+        return product;
+    }
+
+    @Override
+    public boolean patch(String id, ProductPatch patch) {
+        final String key = "product:" + id;
+        List<String> args = new ArrayList<>(6);
+        try {
+            if (patch.getName() != null) {
+                args.add("$.name");
+                args.add(mapper.writeValueAsString(patch.getName()));
+            }
+            if (patch.getDescription() != null) {
+                args.add("$.description");
+                args.add(mapper.writeValueAsString(patch.getDescription()));
+            }
+            if (patch.getPrice() != null) {
+                args.add("$.price");
+                args.add(mapper.writeValueAsString(patch.getPrice()));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Could not serialize product patch to JSON", e);
+        }
+        if (args.isEmpty()) return false;
+        Object written = jedis.eval(PATCH_PATHS, List.of(key), args);
+        boolean changed = written instanceof Long n && n > 0;
+        if (changed) replicas.afterWrite();
+        return changed;
     }
 
     @Override
     public Optional<Product> findById(String id) {
         final String key = "product:" + id;
         try {
-            return RedisJsonMapper.readJson(jedis, key, Product.class, mapper);
+            return read(key);
         } catch (Exception e) {
             throw new RuntimeException("Could not read/deserialize product " + id, e);
         }
     }
 
+    @Override
+    public boolean existsById(String id) {
+        return replicas.primary().exists(KEY_PREFIX + id);
+    }
+
+    @Override
+    public List<Product> findAllByIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        List<String> keys = ids.stream().map(id -> KEY_PREFIX + id).toList();
+        try {
+            return RedisJsonMapper.readJsonBytes(replicas.reader(), keys, productReader, mapper);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not read/deserialize products " + ids, e);
+        }
+    }
+
     @Override
     public void deleteById(String id) {
-        jedis.del("product:" + id);
+        jedis.eval(DELETE, List.of(KEY_PREFIX + id), List.of(id, ""));
+        replicas.afterWrite();
     }
 
     @Override
-    public List<Product> searchByName(String textQuery) {
-        var query = new Query("@name:" + SearchSanitizer.sanitize(textQuery));
-        var result = jedis.ftSearch(INDEX, query);
-        return result.getDocuments().stream()
-                .map(doc -> RedisJsonMapper.readJson(jedis, doc.getId(), Product.class, mapper))
-                .flatMap(Optional::stream)
-                .toList();
+    public Optional<Product> findBySku(String sku) {
+        if (sku == null || sku.isBlank()) return Optional.empty();
+        String id = replicas.reader().get(SKU_PREFIX + sku);
+        if (id != null) {
+            // Only trust the pointer if the document still carries this SKU (e.g. a replica behind the write)
+            Optional<Product> product = findById(id).filter(p -> sku.equals(p.getSku()));
+            if (product.isPresent()) return product;
+        }
+        return findBySkuViaIndex(sku);
     }
 
     @Override
-    public List<Product> searchByDescription(String textQuery) {
-        var query = new Query("@description:" + SearchSanitizer.sanitize(textQuery));
-        var result = jedis.ftSearch(INDEX, query);
-        return result.getDocuments().stream()
-                .map(doc -> RedisJsonMapper.readJson(jedis, doc.getId(), Product.class, mapper))
-                .flatMap(Optional::stream)
-                .toList();
+    public List<Product> findAllBySkus(List<String> skus) {
+        if (skus == null || skus.isEmpty()) return List.of();
+        List<String> wanted = skus.stream().filter(sku -> sku != null && !sku.isBlank()).toList();
+        if (wanted.isEmpty()) return List.of();
+        String[] skuKeys = wanted.stream().map(sku -> SKU_PREFIX + sku).toArray(String[]::new);
+        List<String> ids = replicas.reader().mget(skuKeys);
+        List<String> found = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).toList();
+
+        Map<String, Product> bySku = new HashMap<>();
+        for (Product p : findAllByIds(found)) {
+            if (p.getSku() != null) bySku.putIfAbsent(p.getSku(), p);
+        }
+        // Missing or stale pointers fall back to the TAG index, like findBySku
+        List<Product> out = new ArrayList<>(wanted.size());
+        for (String sku : wanted) {
+            Product p = bySku.get(sku);
+            if (p == null) p = findBySkuViaIndex(sku).orElse(null);
+            if (p != null) out.add(p);
+        }
+        return out;
+    }
+
+    @Override
+    public List<ProductSearchHit> searchByName(String textQuery, SearchMode mode, int distance, Set<ProductField> fields) {
+        return scoredSearch("name", textQuery, mode, distance, fields);
+    }
+
+    @Override
+    public List<ProductSearchHit> searchByDescription(String textQuery, SearchMode mode, int distance, Set<ProductField> fields) {
+        return scoredSearch("description", textQuery, mode, distance, fields);
     }
 
     @Override
     public List<Product> findAll(int offset, int limit) {
+        return findAll(offset, limit, Set.of());
+    }
+
+    @Override
+    public List<Product> findAll(int offset, int limit, Set<ProductField> fields) {
         int off = Math.max(0, offset);
         int lim = Math.min(Math.max(1, limit), 500); // cap to keep queries reasonable
 
         // Use RediSearch to page across all product docs
         Query query = new Query("*").limit(off, lim);
-        var res = jedis.ftSearch(INDEX, query);
+        if (isProjection(fields)) {
+            project(query, fields);
+        }
+        var res = replicas.reader().ftSearch(INDEX, query);
 
         if (res == null || res.getDocuments() == null || res.getDocuments().isEmpty()) {
             return List.of();
         }
 
+        // Projection: the requested paths come back with the search reply, no per-document read
+        if (isProjection(fields)) {
+            return res.getDocuments().stream()
+                    .map(doc -> fromProjection(doc, fields))
+                    .toList();
+        }
+
         // Each doc id is the Redis JSON key (e.g., product:{id}); fetch and deserialize
         return res.getDocuments().stream()
                 .map(doc -> readJson(doc.getId()))
@@ -90,12 +238,114 @@ public class JedisProductRepository implements ProductRepository {
                 .toList();
     }
 
+    // Fallback for documents written before the sku:{sku} pointer existed, or whose pointer is stale;
+    // repairs the pointer on hit. TAG matching is case-insensitive, so the exact SKU is checked here.
+    private Optional<Product> findBySkuViaIndex(String sku) {
+        var query = new Query("@sku:{" + escapeTag(sku) + "}").limit(0, 10);
+        var result = replicas.reader().ftSearch(INDEX, query);
+        if (result == null || result.getDocuments() == null || result.getDocuments().isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Product> product = result.getDocuments().stream()
+                .map(doc -> read(doc.getId()))
+                .flatMap(Optional::stream)
+                .filter(p -> sku.equals(p.getSku()))
+                .findFirst();
+        product.ifPresent(p -> jedis.set(SKU_PREFIX + sku, p.getId()));
+        return product;
+    }
+
+    // TAG values: every non-alphanumeric character (including spaces) must be escaped
+    private static String escapeTag(String value) {
+        return value.replaceAll("([^A-Za-z0-9_])", "\\\\$1");
+    }
+
+    private List<ProductSearchHit> scoredSearch(String field, String textQuery, SearchMode mode, int distance,
+                                                Set<ProductField> fields) {
+        String terms = SearchSanitizer.sanitize(textQuery, mode, distance);
+        if (terms.isEmpty()) return List.of();
+
+        // Parenthesize so every term is scoped to the field, not just the first one
+        var query = new Query("@" + field + ":(" + terms + ")").setWithScores();
+        if (isProjection(fields)) {
+            project(query, fields);
+        }
+        var result = replicas.reader().ftSearch(INDEX, query);
+        if (result == null || result.getDocuments() == null || result.getDocuments().isEmpty()) {
+            return List.of();
+        }
+
+        if (isProjection(fields)) {
+            return result.getDocuments().stream()
+                    .map(doc -> new ProductSearchHit(fromProjection(doc, fields), doc.getScore() == null ? 0.0 : doc.getScore()))
+                    .toList();
+        }
+
+        return result.getDocuments().stream()
+                .flatMap(doc -> read(doc.getId()).stream()
+                        .map(p -> new ProductSearchHit(p, doc.getScore() == null ? 0.0 : doc.getScore())))
+                .toList();
+    }
+
+    // ---------- projection helpers ----------
+
+    private static boolean isProjection(Set<ProductField> fields) {
+        return fields != null && !fields.isEmpty() && fields.size() < ProductField.values().length;
+    }
+
+    // RETURN only the requested JSON paths; the id is taken from the document key instead
+    private static void project(Query query, Set<ProductField> fields) {
+        FieldName[] names = fields.stream()
+                .filter(f -> f != ProductField.ID)
+                .map(f -> FieldName.of(f.jsonPath()).as(f.alias()))
+                .toArray(FieldName[]::new);
+        if (names.length == 0) {
+            query.setNoContent();
+        } else {
+            query.returnFields(names);
+        }
+    }
+
+    private Product fromProjection(Document doc, Set<ProductField> fields) {
+        var builder = Product.builder();
+        for (ProductField field : fields) {
+            switch (field) {
+                case ID -> builder.id(doc.getId().substring(KEY_PREFIX.length()));
+                case SKU -> builder.sku(projectedString(doc, field));
+                case NAME -> builder.name(projectedString(doc, field));
+                case DESCRIPTION -> builder.description(projectedString(doc, field));
+                case PRICE -> {
+                    String price = projectedString(doc, field);
+                    builder.price(price == null ? null : new BigDecimal(price));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    // RETURN yields scalars as text; strings may come back JSON-quoted depending on the engine version
+    private String projectedString(Document doc, ProductField field) {
+        Object value = doc.get(field.alias());
+        if (value == null) return null;
+        String s = String.valueOf(value);
+        if (s.length() >= 2 && s.startsWith("\"") && s.endsWith("\"")) {
+            try {
+                return mapper.readValue(s, String.class);
+            } catch (Exception e) {
+                return s;
+            }
+        }
+        return s;
+    }
+
+    // Raw JSON.GET bytes bound straight to Product (no String / JsonNode intermediates)
+    private Optional<Product> read(String key) {
+        return RedisJsonMapper.readJsonBytes(replicas.reader(), key, productReader, mapper);
+    }
+
     private Optional<Product> readJson(String key) {
         try {
-            Object raw = jedis.jsonGet(key, redis.clients.jedis.json.Path2.ROOT_PATH);
-            if (raw == null) return Optional.empty();
-            String json = (raw instanceof String) ? (String) raw : String.valueOf(raw);
-            return RedisJsonMapper.readJson(jedis, key, Product.class, mapper);
+            return read(key);
         } catch (Exception e) {
             return Optional.empty();
         }
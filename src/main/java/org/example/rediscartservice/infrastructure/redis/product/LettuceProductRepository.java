@@ -0,0 +1,83 @@
+package org.example.rediscartservice.infrastructure.redis.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.ByteArrayOutput;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.port.product.AsyncProductRepository;
+import org.example.rediscartservice.infrastructure.redis.RedisJsonMapper;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link AsyncProductRepository} on Lettuce. JSON.GET replies are taken as raw bytes and bound
+ * with a cached reader, like the Jedis repository; batch reads are one JSON.MGET.
+ */
+public class LettuceProductRepository implements AsyncProductRepository {
+
+    private static final String KEY_PREFIX = "product:";
+
+    private final RedisAsyncCommands<String, String> redis;
+    private final ObjectReader productReader;
+
+    public LettuceProductRepository(RedisAsyncCommands<String, String> redis, ObjectMapper mapper) {
+        this.redis = redis;
+        this.productReader = mapper.readerFor(Product.class);
+    }
+
+    @Override
+    public CompletionStage<Optional<Product>> findById(String id) {
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).addKey(KEY_PREFIX + id).add("$");
+        return redis.dispatch(CommandType.JSON_GET, new ByteArrayOutput<>(StringCodec.UTF8), args)
+                .thenApply(bytes -> bytes == null ? Optional.<Product>empty() : RedisJsonMapper.fromBytes(bytes, productReader));
+    }
+
+    @Override
+    public CompletionStage<List<Product>> findAllByIds(List<String> ids) {
+        if (ids.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8);
+        for (String id : ids) {
+            args.addKey(KEY_PREFIX + id);
+        }
+        args.add("$");
+        return redis.dispatch(CommandType.JSON_MGET, new BulkBytesListOutput(), args)
+                .thenApply(replies -> {
+                    List<Product> out = new ArrayList<>(replies.size());
+                    for (byte[] bytes : replies) {
+                        if (bytes != null) RedisJsonMapper.<Product>fromBytes(bytes, productReader).ifPresent(out::add);
+                    }
+                    return out;
+                });
+    }
+
+    // ---------- helpers ----------
+
+    // JSON.MGET reply: one bulk string per key, null for a missing key
+    private static final class BulkBytesListOutput extends CommandOutput<String, String, List<byte[]>> {
+
+        BulkBytesListOutput() {
+            super(StringCodec.UTF8, new ArrayList<>());
+        }
+
+        @Override
+        public void set(ByteBuffer bytes) {
+            if (bytes == null) {
+                output.add(null);
+                return;
+            }
+            byte[] copy = new byte[bytes.remaining()];
+            bytes.get(copy);
+            output.add(copy);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.rediscartservice.infrastructure.redis.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks the node for reads that tolerate replication lag (catalog reads, admin report scans).
+ *
+ * Reads go round-robin over usable replicas and fall back to the primary when:
+ *  - no replica is configured, or none is usable: link to the primary down, or no traffic from
+ *    the primary for longer than {@code maxStaleness}, per {@code INFO replication}, re-checked every
+ *    health-check interval
+ *  - a write went through this router less than {@code readYourWritesWindow} ago, so an admin
+ *    who just edited a product reads the edit back instead of a replica's older copy
+ *  - another node's catalog write was seen less than {@code readYourWritesWindow} ago (announced
+ *    through the shared catalog generation), so cache fills after it do not read a lagging replica.
+ *    Until a node sees that generation (at most {@code product.cache.generation-check-interval})
+ *    its reads may still come from a replica within {@code maxStaleness}
+ *
+ * Writes (and reads that precede a write) always use {@link #primary()}.
+ */
+@Slf4j
+public class ReplicaRouter implements AutoCloseable {
+
+    private final UnifiedJedis primary;
+    private final List<Replica> replicas;
+    private final long maxStalenessSeconds;
+    private final long readYourWritesMillis;
+    private final LongSupplier clock;   // millis
+
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile long primaryUntil = Long.MIN_VALUE;
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRouter(UnifiedJedis primary, List<UnifiedJedis> replicas,
+                         Duration maxStaleness, Duration readYourWritesWindow, LongSupplier clock) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxStalenessSeconds = Math.max(1, maxStaleness.toSeconds());   // INFO reports whole seconds
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+        this.clock = clock;
+    }
+
+    /** No replicas: every read goes to the primary. */
+    public static ReplicaRouter primaryOnly(UnifiedJedis primary) {
+        return new ReplicaRouter(primary, List.of(), Duration.ZERO, Duration.ZERO, System::currentTimeMillis);
+    }
+
+    public UnifiedJedis primary() {
+        return primary;
+    }
+
+    /** Node for a lag-tolerant read. */
+    public UnifiedJedis reader() {
+        if (replicas.isEmpty() || clock.getAsLong() < primaryUntil) return primary;
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica replica = replicas.get((start + i) % n);
+            if (replica.usable) return replica.jedis;
+        }
+        return primary;
+    }
+
+    /** Call after a write whose result may be read back next: one of ours, or another node's just announced. */
+    public void afterWrite() {
+        if (replicas.isEmpty() || readYourWritesMillis <= 0) return;
+        primaryUntil = clock.getAsLong() + readYourWritesMillis;
+    }
+
+    /** Re-check every replica's replication state. */
+    public void refresh() {
+        for (Replica replica : replicas) {
+            boolean usable;
+            try {
+                usable = isFresh(replica.jedis.info("replication"), maxStalenessSeconds);
+            } catch (Exception e) {
+                usable = false;
+            }
+            if (usable != replica.usable) {
+                log.info("Redis replica #{} is now {}", replicas.indexOf(replica), usable ? "in rotation" : "out of rotation");
+            }
+            replica.usable = usable;
+        }
+    }
+
+    /** Runs {@link #refresh()} now and then every {@code interval}, until {@link #close()}. */
+    public void startHealthChecks(Duration interval) {
+        if (replicas.isEmpty()) return;
+        refresh();
+        healthChecks = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "redis-replica-health");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = Math.max(100, interval.toMillis());
+        healthChecks.scheduleWithFixedDelay(this::refresh, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops health checks and closes the replica clients (the primary is owned elsewhere). */
+    @Override
+    public void close() {
+        if (healthChecks != null) healthChecks.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.jedis.close();
+        }
+    }
+
+    // ---------- helpers ----------
+
+    // INFO replication of a replica: role:slave, master_link_status:up, master_last_io_seconds_ago:<n>
+    static boolean isFresh(String info, long maxStalenessSeconds) {
+        if (info == null) return false;
+        boolean replica = false, linkUp = false;
+        long lastIo = Long.MAX_VALUE;
+        for (String line : info.split("\r?\n")) {
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+            String field = line.substring(0, colon);
+            String value = line.substring(colon + 1).trim();
+            switch (field) {
+                case "role" -> replica = "slave".equals(value);
+                case "master_link_status" -> linkUp = "up".equals(value);
+                case "master_last_io_seconds_ago" -> {
+                    try { lastIo = Long.parseLong(value); } catch (NumberFormatException ignored) { }
+                }
+                default -> { }
+            }
+        }
+        return replica && linkUp && lastIo >= 0 && lastIo <= maxStalenessSeconds;
+    }
+
+    private static final class Replica {
+        final UnifiedJedis jedis;
+        volatile boolean usable;   // false until the first health check passes
+
+        Replica(UnifiedJedis jedis) {
+            this.jedis = jedis;
+        }
+    }
+}
@@ -1,29 +1,63 @@
 package org.example.rediscartservice.infrastructure.session;
 
-import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
+import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
-@Component
+/**
+ * Per-node session → user map on a Caffeine cache, bounded two ways so sessions that just time out
+ * do not pile up:
+ *  - entries expire after {@code ttl} without a register, touch or lookup (the session idle timeout)
+ *  - at most {@code maxEntries}; Caffeine evicts the entries least likely to be used again
+ * Reads and writes are lock-free per entry, so concurrent logins do not serialize on the registry.
+ * With {@code slideOnRead=false} entries expire {@code ttl} after they were written whatever the
+ * lookups, which makes it a near cache with a fixed lifetime (see {@link RedisSessionOwnerRegistry}).
+ */
 public class InMemorySessionOwnerRegistry implements SessionOwnerRegistry {
-    private final ConcurrentMap<String, String> map = new ConcurrentHashMap<>();
+
+    private final Cache<String, String> cache;
+
+    public InMemorySessionOwnerRegistry(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, true, System::currentTimeMillis);
+    }
+
+    /** Fixed-lifetime variant: lookups do not extend entries. */
+    public static InMemorySessionOwnerRegistry nearCache(int maxEntries, Duration ttl) {
+        return new InMemorySessionOwnerRegistry(maxEntries, ttl, false, System::currentTimeMillis);
+    }
+
+    InMemorySessionOwnerRegistry(int maxEntries, Duration ttl, boolean slideOnRead, LongSupplier clock) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxEntries))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .executor(Runnable::run);   // evict on the calling thread; no background work per write
+        this.cache = (slideOnRead ? builder.expireAfterAccess(ttl) : builder.expireAfterWrite(ttl)).build();
+    }
 
     @Override
     public void register(String sessionId, String username) {
         if (sessionId != null && username != null && !username.isBlank()) {
-            map.put(sessionId, username);
+            cache.put(sessionId, username);
         }
     }
 
     @Override
     public Optional<String> findUsernameBySessionId(String sessionId) {
-        return Optional.ofNullable(map.get(sessionId));
+        return sessionId == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(sessionId));
     }
 
     @Override
     public void evict(String sessionId) {
-        if (sessionId != null) map.remove(sessionId);
+        if (sessionId != null) cache.invalidate(sessionId);
+    }
+
+    /** Live entries (for metrics and tests); runs pending expiry and eviction first. */
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package org.example.rediscartservice.infrastructure.session;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.params.GetExParams;
+import redis.clients.jedis.params.SetParams;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Session owners shared by all nodes: string {@code sess:owner:{sessionId}} = username,
+ * PX {@code ttl}. Lookups go to a local near cache first and to Redis only on a miss; that
+ * read (GETEX PX) also slides the Redis TTL, so a busy session stays registered with one
+ * command per node per near-cache lifetime; session activity ({@link #touch}) does the same
+ * with a SET. An eviction on one node is seen by the others within {@code nearCacheTtl}.
+ * When Redis is unavailable the near cache keeps answering for what this node has seen.
+ */
+@Slf4j
+public class RedisSessionOwnerRegistry implements SessionOwnerRegistry {
+
+    static final String KEY_PREFIX = "sess:owner:";
+
+    private final UnifiedJedis jedis;
+    private final long ttlMillis;
+    private final InMemorySessionOwnerRegistry nearCache;
+
+    public RedisSessionOwnerRegistry(UnifiedJedis jedis, Duration ttl, InMemorySessionOwnerRegistry nearCache) {
+        this.jedis = jedis;
+        this.ttlMillis = ttl.toMillis();
+        this.nearCache = nearCache;
+    }
+
+    @Override
+    public void register(String sessionId, String username) {
+        if (sessionId == null || username == null || username.isBlank()) return;
+        nearCache.register(sessionId, username);
+        try {
+            jedis.set(KEY_PREFIX + sessionId, username, SetParams.setParams().px(ttlMillis));
+        } catch (Exception e) {
+            log.warn("Could not share owner of session {}: {}", sessionId, e.toString());
+        }
+    }
+
+    /**
+     * Session activity slides the shared TTL once per near-cache lifetime: while this node still
+     * holds the same owner locally the Redis key was refreshed recently enough.
+     */
+    @Override
+    public void touch(String sessionId, String username) {
+        if (sessionId == null || username == null || username.isBlank()) return;
+        if (username.equals(nearCache.findUsernameBySessionId(sessionId).orElse(null))) return;
+        register(sessionId, username);
+    }
+
+    @Override
+    public Optional<String> findUsernameBySessionId(String sessionId) {
+        if (sessionId == null) return Optional.empty();
+        Optional<String> local = nearCache.findUsernameBySessionId(sessionId);
+        if (local.isPresent()) return local;
+        try {
+            String username = jedis.getEx(KEY_PREFIX + sessionId, GetExParams.getExParams().px(ttlMillis));
+            if (username != null) nearCache.register(sessionId, username);
+            return Optional.ofNullable(username);
+        } catch (Exception e) {
+            log.debug("Shared session owner unavailable for {}: {}", sessionId, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void evict(String sessionId) {
+        if (sessionId == null) return;
+        nearCache.evict(sessionId);
+        try {
+            jedis.del(KEY_PREFIX + sessionId);
+        } catch (Exception e) {
+            // The key still ages out with its TTL
+            log.debug("Could not evict shared owner of session {}: {}", sessionId, e.toString());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.rediscartservice.infrastructure.session;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.session.events.SessionDestroyedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the owner of a session Spring Session reports as deleted or expired.
+ * Only the indexed Redis repository ({@code spring.session.redis.repository-type=indexed}) publishes
+ * these events; with the default repository the registry's own TTL does the cleanup.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionOwnerExpiryListener {
+
+    private final SessionOwnerRegistry registry;
+
+    @EventListener
+    public void onSessionDestroyed(SessionDestroyedEvent event) {
+        registry.evict(event.getSessionId());
+    }
+}
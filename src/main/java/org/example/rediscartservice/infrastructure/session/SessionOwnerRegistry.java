@@ -6,4 +6,9 @@ public interface SessionOwnerRegistry {
     void register(String sessionId, String username);
     Optional<String> findUsernameBySessionId(String sessionId);
     void evict(String sessionId);
-}
\ No newline at end of file
+
+    /** Session activity: keeps the entry alive like the session itself (registers it if missing). */
+    default void touch(String sessionId, String username) {
+        register(sessionId, username);
+    }
+}
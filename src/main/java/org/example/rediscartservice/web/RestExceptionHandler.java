@@ -1,5 +1,6 @@
 package org.example.rediscartservice.web;
 
+import org.example.rediscartservice.domain.model.product.InvalidProductQueryException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -19,4 +20,13 @@ public class RestExceptionHandler {
                 "message", ex.getMessage()
         );
     }
+
+    @ExceptionHandler(InvalidProductQueryException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> handleBadRequest(InvalidProductQueryException ex) {
+        return Map.of(
+                "error", "Bad Request",
+                "message", String.valueOf(ex.getMessage())
+        );
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.example.rediscartservice.infrastructure.session.SessionOwnerRegistry;
 import org.example.rediscartservice.web.security.annotations.Authenticated;
 import org.example.rediscartservice.web.security.annotations.SessionTouch;
 import org.springframework.http.HttpStatus;
@@ -27,6 +28,7 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final SecurityContextRepository securityContextRepository;
+    private final SessionOwnerRegistry sessionOwners;
 
     @Operation(summary = "Login with username/password (creates session)")
     @PostMapping("/login")
@@ -42,7 +44,8 @@ public class AuthController {
         HttpSession session = request.getSession(true);
 
         // Rotate the session id exactly once (prevents fixation)
-        request.changeSessionId();
+        String sessionId = request.changeSessionId();
+        sessionOwners.register(sessionId, auth.getName());
 
         // Store SecurityContext in session
         SecurityContext context = SecurityContextHolder.createEmptyContext();
@@ -68,7 +71,10 @@ public class AuthController {
     @PostMapping("/logout")
     @Authenticated
     public void logout(HttpSession session) {
-        if (session != null) session.invalidate();
+        if (session != null) {
+            sessionOwners.evict(session.getId());
+            session.invalidate();
+        }
     }
 
     private UserInfo toUserInfo(Authentication auth) {
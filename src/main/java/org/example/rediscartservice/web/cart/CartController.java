@@ -10,6 +10,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.example.rediscartservice.application.cart.CartService;
 import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.session.SessionOwnerRegistry;
 import org.example.rediscartservice.web.cart.dto.AddCartItemRequest;
 import org.example.rediscartservice.web.cart.dto.CartItemDto;
 import org.example.rediscartservice.web.cart.dto.CartDto;
@@ -29,6 +30,7 @@ import java.util.List;
 public class CartController {
 
     private final CartService cartService;
+    private final SessionOwnerRegistry sessionOwners;
 
     @Operation(summary = "Get the current user's cart")
     @ApiResponse(responseCode = "200", description = "List of cart items")
@@ -95,7 +97,8 @@ public class CartController {
 
     @Operation(
             summary = "Admin: report carts containing more than N items",
-            description = "Returns all shopping carts with item count strictly greater than the threshold (default 10)."
+            description = "Returns all shopping carts with item count strictly greater than the threshold (default 10), " +
+                    "with the user signed in to the session when it is known."
     )
     @ApiResponse(responseCode = "200", description = "List of carts > threshold")
     @AdminOnly
@@ -106,13 +109,14 @@ public class CartController {
         // 1) fetch session ids with more than `threshold` items
         List<String> sessionIds = cartService.findSessionsWithMoreThanItems(threshold);
 
-        // 2) load each cart and map to DTO
+        // 2) load each cart, resolve its owner and map to DTO
         List<CartDto> report = sessionIds.stream()
                 .map(sessionId -> {
                     var cartItems = cartService.findBySession(sessionId);
                     var itemDtos = cartItems.stream().map(this::toDto).toList();
                     return CartDto.builder()
                             .sessionId(sessionId)
+                            .username(sessionOwners.findUsernameBySessionId(sessionId).orElse(null))
                             .items(itemDtos)
                             .build();
                 })
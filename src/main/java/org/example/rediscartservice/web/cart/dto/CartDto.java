@@ -1,5 +1,6 @@
 package org.example.rediscartservice.web.cart.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,6 +18,10 @@ public class CartDto {
     @Schema(description = "Session identifier of the cart", example = "a7f6f7a2-0b8f-4a4d-9b1b-0f55e3c1c1c0")
     private String sessionId;
 
+    @Schema(description = "User signed in to the session; absent for anonymous or unknown sessions", example = "alice")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String username;
+
     @Schema(description = "Items contained in the cart")
     private List<CartItemDto> items;
 }
\ No newline at end of file
@@ -6,7 +6,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.rediscartservice.application.product.ProductService;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
 import org.example.rediscartservice.web.product.dto.ProductDto;
+import org.example.rediscartservice.web.product.dto.ProductPatchDto;
 import org.example.rediscartservice.web.product.dto.ProductResponse;
 import org.example.rediscartservice.web.security.annotations.AdminOnly;
 import org.example.rediscartservice.web.security.annotations.Authenticated;
@@ -35,18 +40,53 @@ public class ProductController {
         return toResponse(productService.get(id));
     }
 
-    @Operation(summary = "Search products by name")
+    @Operation(summary = "Get several products by id (unknown ids are skipped; order follows ids)")
+    @Authenticated
+    @GetMapping(params = "ids")
+    public List<ProductResponse> getAll(@RequestParam("ids") List<String> ids) {
+        return productService.getAll(ids).stream().map(this::toResponse).toList();
+    }
+
+    @Operation(summary = "Get a product by SKU (business key)")
+    @Authenticated
+    @GetMapping("/sku/{sku}")
+    public ProductResponse getBySku(@PathVariable String sku) {
+        return toResponse(productService.getBySku(sku));
+    }
+
+    @Operation(summary = "Get several products by SKU (unknown SKUs are skipped; order follows skus)")
+    @Authenticated
+    @GetMapping("/sku")
+    public List<ProductResponse> getAllBySkus(@RequestParam("skus") List<String> skus) {
+        return productService.getAllBySkus(skus).stream().map(this::toResponse).toList();
+    }
+
+    @Operation(summary = "Search products by name (EXACT, PREFIX or FUZZY match; results carry a score)")
     @Authenticated
     @GetMapping("/search/name")
-    public List<ProductResponse> searchByName(@RequestParam String q) {
-        return productService.searchByName(q).stream().map(this::toResponse).toList();
+    public List<ProductResponse> searchByName(
+            @RequestParam String q,
+            @RequestParam(name = "mode", defaultValue = "EXACT") SearchMode mode,
+            @RequestParam(name = "distance", defaultValue = "1") int distance,
+            @RequestParam(name = "fields", required = false) String fields
+    ) {
+        return productService.searchByName(q, mode, distance, ProductField.parse(fields)).stream()
+                .map(this::toResponse)
+                .toList();
     }
 
-    @Operation(summary = "Search products by description")
+    @Operation(summary = "Search products by description (EXACT, PREFIX or FUZZY match; results carry a score)")
     @Authenticated
     @GetMapping("/search/description")
-    public List<ProductResponse> searchByDescription(@RequestParam String q) {
-        return productService.searchByDescription(q).stream().map(this::toResponse).toList();
+    public List<ProductResponse> searchByDescription(
+            @RequestParam String q,
+            @RequestParam(name = "mode", defaultValue = "EXACT") SearchMode mode,
+            @RequestParam(name = "distance", defaultValue = "1") int distance,
+            @RequestParam(name = "fields", required = false) String fields
+    ) {
+        return productService.searchByDescription(q, mode, distance, ProductField.parse(fields)).stream()
+                .map(this::toResponse)
+                .toList();
     }
 
     @Operation(summary = "Create a new product (ADMIN)")
@@ -71,6 +111,14 @@ public class ProductController {
         return toResponse(saved);
     }
 
+    @Operation(summary = "Partially update a product by id (ADMIN); only the given fields are written")
+    @AdminOnly
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void patch(@PathVariable String id, @RequestBody @Valid ProductPatchDto dto) {
+        productService.patch(id, toPatch(dto));
+    }
+
     @Operation(summary = "Delete a product by id (ADMIN)")
     @AdminOnly
     @DeleteMapping("/{id}")
@@ -79,14 +127,15 @@ public class ProductController {
         productService.delete(id);
     }
 
-    @Operation(summary = "List all products (paged)")
+    @Operation(summary = "List all products (paged); fields=id,name,price returns only those attributes")
     @GetMapping
     @Authenticated
     public ResponseEntity<List<ProductResponse>> listAll(
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "50") int size
+            @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "fields", required = false) String fields
     ) {
-        List<Product> all = productService.listAll(page, size);
+        List<Product> all = productService.listAll(page, size, ProductField.parse(fields));
         List<ProductResponse> body = all.stream()
                 .map(this::toResponse)
                 .toList();
@@ -105,6 +154,14 @@ public class ProductController {
                 .build();
     }
 
+    private ProductPatch toPatch(ProductPatchDto dto) {
+        return ProductPatch.builder()
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .price(dto.getPrice())
+                .build();
+    }
+
     private ProductResponse toResponse(Product p) {
         return ProductResponse.builder()
                 .id(p.getId())
@@ -114,4 +171,10 @@ public class ProductController {
                 .price(p.getPrice())
                 .build();
     }
+
+    private ProductResponse toResponse(ProductSearchHit hit) {
+        return toResponse(hit.getProduct()).toBuilder()
+                .score(hit.getScore())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package org.example.rediscartservice.web.product;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.web.product.dto.ProductResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies the {@code fields=} selection of product reads to the JSON body: only the requested
+ * attributes (plus id and, on searches, score) are written. Without a selection every attribute is
+ * written, nulls included.
+ *
+ * Only handlers declaring a {@code fields} request parameter are projected; every other
+ * ProductController response still passes here, because {@link ProductResponse}'s filter needs a
+ * provider, and is written whole whatever its query string says.
+ */
+@RestControllerAdvice(assignableTypes = ProductController.class)
+public class ProductProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String FIELDS = "fields";
+    private static final SimpleFilterProvider ALL_FIELDS = new SimpleFilterProvider()
+            .addFilter(ProductResponse.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll());
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue body, MediaType contentType, MethodParameter returnType,
+                                           ServerHttpRequest request, ServerHttpResponse response) {
+        Set<ProductField> fields = declaresFields(returnType) && request instanceof ServletServerHttpRequest servlet
+                ? ProductField.parse(servlet.getServletRequest().getParameter(FIELDS))
+                : Set.of();
+        if (fields.isEmpty()) {
+            body.setFilters(ALL_FIELDS);
+            return;
+        }
+        Set<String> names = new HashSet<>(Set.of("id", "score"));
+        fields.forEach(f -> names.add(f.alias()));
+        body.setFilters(new SimpleFilterProvider()
+                .addFilter(ProductResponse.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+    }
+
+    // ---------- helpers ----------
+
+    private final Map<Method, Boolean> projected = new ConcurrentHashMap<>();
+
+    private boolean declaresFields(MethodParameter returnType) {
+        Method method = returnType.getMethod();
+        return method != null && projected.computeIfAbsent(method, m -> {
+            for (Parameter parameter : m.getParameters()) {
+                RequestParam param = parameter.getAnnotation(RequestParam.class);
+                if (param != null && FIELDS.equals(param.name())) return true;
+            }
+            return false;
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.rediscartservice.web.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request body for PATCH; only non-null fields are written.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPatchDto {
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    private String name;
+
+    @Size(max = 10_000)
+    private String description;
+
+    @DecimalMin("0.00")
+    @Digits(integer = 12, fraction = 2)
+    private BigDecimal price;
+
+    @JsonIgnore
+    @AssertTrue(message = "at least one of name, description, price is required")
+    public boolean isAnyFieldSet() {
+        return name != null || description != null || price != null;
+    }
+}
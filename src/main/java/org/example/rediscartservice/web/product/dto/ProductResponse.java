@@ -1,16 +1,30 @@
 package org.example.rediscartservice.web.product.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Value;
 
 import java.math.BigDecimal;
 
+/**
+ * Projected reads ({@code fields=...}) only serialize the requested attributes; the
+ * {@link #FIELDS_FILTER} filter is set per response by {@code ProductProjectionAdvice}.
+ */
 @Value
-@Builder
+@Builder(toBuilder = true)
+@JsonFilter(ProductResponse.FIELDS_FILTER)
 public class ProductResponse {
+
+    public static final String FIELDS_FILTER = "productFields";
+
     String id;
     String sku;
     String name;
     String description;
     BigDecimal price;
+
+    /** Relevance score; only present on search results. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Double score;
 }
@@ -1,42 +1,67 @@
 package org.example.rediscartservice.web.security.aop;
 
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.example.rediscartservice.config.CartIdleProperties;
+import org.example.rediscartservice.config.RedisClusterConfig;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.example.rediscartservice.infrastructure.diagnostics.jfr.SessionTouchEvent;
+import org.example.rediscartservice.infrastructure.redis.metrics.RedisOperation;
+import org.example.rediscartservice.infrastructure.session.SessionOwnerRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
 
 import java.util.Map;
 import java.util.UUID;
 
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class SessionTouchAspect {
     private static final Logger log = LoggerFactory.getLogger(SessionTouchAspect.class);
 
-    private final JedisPooled jedis;
+    // Session meta lives next to the carts: on the cluster when one is configured
+    private final UnifiedJedis jedis;
     private final CartIdleProperties props;
     private final HttpServletRequest request;
+    private final CartRepository carts;
+    private final SessionOwnerRegistry sessionOwners;
+
+    public SessionTouchAspect(JedisPooled jedis, ObjectProvider<JedisCluster> cluster, CartIdleProperties props,
+                              HttpServletRequest request, CartRepository carts, SessionOwnerRegistry sessionOwners) {
+        this.jedis = RedisClusterConfig.sessionStore(jedis, cluster);
+        this.props = props;
+        this.request = request;
+        this.carts = carts;
+        this.sessionOwners = sessionOwners;
+    }
 
     @Around("@within(org.example.rediscartservice.web.security.annotations.SessionTouch) || " +
             "@annotation(org.example.rediscartservice.web.security.annotations.SessionTouch)")
     public Object around(ProceedingJoinPoint pjp) throws Throwable {
-        try { touch(); } catch (Exception e) { log.debug("Session touch skipped: {}", e.toString()); }
+        SessionTouchEvent event = new SessionTouchEvent();
+        event.begin();
+        try (var op = RedisOperation.open("session.touch")) {
+            event.finish(touch());
+        } catch (Exception e) {
+            log.debug("Session touch skipped: {}", e.toString());
+        }
         return pjp.proceed();
     }
 
-    private void touch() {
+    // Returns the touched session id, or null when the request has no session
+    private String touch() {
         var session = request.getSession(false);
-        if (session == null) return;
+        if (session == null) return null;
 
         String currentSessionId = session.getId();
         String metaKey = "sess:" + currentSessionId + ":meta";
@@ -45,6 +70,9 @@ public class SessionTouchAspect {
         String user = (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken))
                 ? auth.getName() : "anonymous";
 
+        // Repositories that keep their own session state (in-memory backend); a no-op for Redis
+        carts.touchSession(currentSessionId, "anonymous".equals(user) ? null : user);
+
         long now = System.currentTimeMillis();
         long ttlMs = props.getIdleTtl().toMillis();
 
@@ -85,9 +113,11 @@ public class SessionTouchAspect {
         String script = "return redis.call('HPEXPIRE', KEYS[1], ARGV[1], 'FIELDS', 1, 'active')";
         jedis.eval(script, 1, metaKey, String.valueOf(ttlMs));
 
-        // Track user recency
+        // Track user recency; activity also keeps the session's owner entry alive
         if (!"anonymous".equals(user)) {
             jedis.zadd("sess:user:" + user, now, currentSessionId);
+            sessionOwners.touch(currentSessionId, user);
         }
+        return currentSessionId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package org.example.rediscartservice.web.timing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.rediscartservice.config.RedisBudgetProperties;
+import org.example.rediscartservice.infrastructure.redis.metrics.RedisRequestStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the Redis commands and round trips each request makes and reports them three ways:
+ *  - {@code Server-Timing: redis;dur=<ms>;desc="<commands> cmd, <round trips> rt"} on the response
+ *  - a log line with endpoint / commands / round trips / time (WARN when over budget, DEBUG otherwise)
+ *  - per-endpoint metrics ({@code endpoint = <Controller>.<method>}):
+ *      http.server.redis.commands, http.server.redis.roundtrips (percentile histograms),
+ *      http.server.redis.duration, http.server.redis.budget.exceeded — alert on the last one increasing.
+ *
+ * The header is written just before the response commits, so it covers everything up to the body.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@ConditionalOnProperty(prefix = "redis.budget", name = "enabled", havingValue = "true")
+public class RedisBudgetFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final RedisBudgetProperties props;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public RedisBudgetFilter(RedisBudgetProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RedisRequestStats stats = RedisRequestStats.begin();
+        try {
+            chain.doFilter(request, new ServerTimingResponse(response, stats));
+        } finally {
+            RedisRequestStats.end();
+            if (!response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, serverTiming(stats));
+            }
+            String endpoint = endpoint(request);
+            if (endpoint != null) report(endpoint, stats);
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private void report(String endpoint, RedisRequestStats stats) {
+        Meters m = meters.computeIfAbsent(endpoint, e -> new Meters(e, registry));
+        m.commands.record(stats.commands());
+        m.roundTrips.record(stats.roundTrips());
+        m.duration.record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        int budget = props.budgetFor(endpoint);
+        if (stats.roundTrips() > budget) {
+            m.exceeded.increment();
+            log.warn("Redis round-trip budget exceeded endpoint={} redis.roundTrips={} redis.budget={} redis.commands={} redis.ms={}",
+                    endpoint, stats.roundTrips(), budget, stats.commands(), millis(stats));
+        } else {
+            log.debug("endpoint={} redis.roundTrips={} redis.commands={} redis.ms={}",
+                    endpoint, stats.roundTrips(), stats.commands(), millis(stats));
+        }
+    }
+
+    // Only controller methods are reported; static resources, actuator and 404s are not
+    static String endpoint(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        }
+        return null;
+    }
+
+    static String serverTiming(RedisRequestStats stats) {
+        return "redis;dur=" + millis(stats)
+                + ";desc=\"" + stats.commands() + " cmd, " + stats.roundTrips() + " rt\"";
+    }
+
+    private static String millis(RedisRequestStats stats) {
+        return String.format(Locale.ROOT, "%.2f", stats.nanos() / 1_000_000.0);
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+        private final RedisRequestStats stats;
+
+        ServerTimingResponse(HttpServletResponse response, RedisRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(SERVER_TIMING, serverTiming(stats));
+        }
+    }
+
+    private static final class Meters {
+        final DistributionSummary commands;
+        final DistributionSummary roundTrips;
+        final Timer duration;
+        final Counter exceeded;
+
+        Meters(String endpoint, MeterRegistry registry) {
+            this.commands = DistributionSummary.builder("http.server.redis.commands")
+                    .description("Redis commands issued per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.roundTrips = DistributionSummary.builder("http.server.redis.roundtrips")
+                    .description("Redis round trips per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.duration = Timer.builder("http.server.redis.duration")
+                    .description("Time spent in Redis commands per request")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            this.exceeded = Counter.builder("http.server.redis.budget.exceeded")
+                    .description("Requests that made more Redis round trips than their budget")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+        }
+    }
+}
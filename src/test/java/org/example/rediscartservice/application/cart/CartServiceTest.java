@@ -3,13 +3,18 @@ package org.example.rediscartservice.application.cart;
 import org.example.rediscartservice.application.product.ProductService;
 import org.example.rediscartservice.domain.model.cart.CartItem;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.port.cart.AsyncCartRepository;
 import org.example.rediscartservice.domain.port.cart.CartRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
-import java.util.Optional;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -25,7 +30,7 @@ class CartServiceTest {
     void setUp() {
         cartRepository = mock(CartRepository.class);
         productService = mock(ProductService.class);
-        cartService = new CartService(cartRepository, productService);
+        cartService = newService(null);
     }
 
     @Test
@@ -226,4 +231,78 @@ class CartServiceTest {
                 .hasMessageContaining("threshold must be >= 0");
         verifyNoInteractions(cartRepository, productService);
     }
-}
\ No newline at end of file
+
+    // ---------- async composition ----------
+
+    @Test
+    void addProductAsync_resolves_cart_id_while_product_lookup_is_in_flight() {
+        AsyncCartRepository asyncCarts = mock(AsyncCartRepository.class);
+        CartService service = newService(asyncCarts);
+
+        CompletableFuture<Product> productReply = new CompletableFuture<>();
+        CompletableFuture<String> cartIdReply = new CompletableFuture<>();
+        when(productService.getAsync("p1")).thenReturn(productReply);
+        when(asyncCarts.resolveCartId("sess-1")).thenReturn(cartIdReply);
+        CartItem line = CartItem.builder().productId("p1").name("Mug").shortDescription("Ceramic")
+                .amount(2).totalPrice(new BigDecimal("19.98")).build();
+        when(asyncCarts.add(eq("sess-1"), eq("cart-1"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncCarts.findByCartId("cart-1")).thenReturn(CompletableFuture.completedFuture(List.of(line)));
+
+        CompletableFuture<List<CartItem>> result = service.addProductAsync("sess-1", "p1", 2);
+
+        // both reads were issued before either replied
+        verify(productService).getAsync("p1");
+        verify(asyncCarts).resolveCartId("sess-1");
+        assertThat(result).isNotDone();
+
+        cartIdReply.complete("cart-1");
+        productReply.complete(Product.builder().id("p1").name("Mug")
+                .description("Ceramic").price(new BigDecimal("9.99")).build());
+
+        assertThat(result.join()).containsExactly(line);
+        verify(asyncCarts).add(eq("sess-1"), eq("cart-1"), argThat(ci ->
+                ci.getAmount() == 2 && ci.getTotalPrice().compareTo(new BigDecimal("19.98")) == 0));
+        verifyNoInteractions(cartRepository);
+        verify(productService, never()).get(any());
+    }
+
+    @Test
+    void addProduct_with_async_ports_and_unknown_product_throws_NoSuchElementException() {
+        AsyncCartRepository asyncCarts = mock(AsyncCartRepository.class);
+        CartService service = newService(asyncCarts);
+        when(productService.getAsync("nope"))
+                .thenReturn(CompletableFuture.failedFuture(new NoSuchElementException("Product not found: nope")));
+        when(asyncCarts.resolveCartId("sess-1")).thenReturn(CompletableFuture.completedFuture("cart-1"));
+
+        assertThatThrownBy(() -> service.addProduct("sess-1", "nope", 1))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessageContaining("nope");
+        verify(asyncCarts, never()).add(any(), any(), any());
+    }
+
+    @Test
+    void addProductAsync_without_async_ports_falls_back_to_blocking_path() {
+        when(productService.get("p1")).thenReturn(Product.builder().id("p1").name("Mug")
+                .price(new BigDecimal("1.00")).build());
+        when(cartRepository.findBySession("sess-1")).thenReturn(List.of());
+
+        assertThat(cartService.addProductAsync("sess-1", "p1", 1)).isCompletedWithValue(List.of());
+        verify(cartRepository).add(eq("sess-1"), any());
+
+        when(productService.get("nope")).thenThrow(new NoSuchElementException("Product not found: nope"));
+        assertThat(cartService.addProductAsync("sess-1", "nope", 1))
+                .isCompletedExceptionally()
+                .failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(NoSuchElementException.class);
+        verify(cartRepository, times(1)).add(eq("sess-1"), any());
+    }
+
+    // ---------- helpers ----------
+
+    private CartService newService(AsyncCartRepository asyncCarts) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (asyncCarts != null) beans.addBean("asyncCarts", asyncCarts);
+        return new CartService(cartRepository, productService, beans.getBeanProvider(AsyncCartRepository.class));
+    }
+}
@@ -1,21 +1,46 @@
 package org.example.rediscartservice.application.product;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.config.ProductCacheProperties;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.domain.port.product.AsyncProductRepository;
+import org.example.rediscartservice.domain.port.product.ProductQueryCache;
 import org.example.rediscartservice.domain.port.product.ProductRepository;
+import org.example.rediscartservice.infrastructure.cache.TieredProductQueryCache;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import redis.clients.jedis.JedisPooled;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +53,7 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new ProductService(repo);
+        service = newService(ProductQueryCache.disabled(), new RequestCoalescer(new SimpleMeterRegistry()), null);
     }
 
     // ---- create ----
@@ -53,13 +78,14 @@ class ProductServiceTest {
         String id = UUID.randomUUID().toString();
         Product patch = product(id, "SKU-001", "Mug v2", "New desc", "15.00");
 
-        when(repo.findById(id)).thenReturn(Optional.of(existing(id)));
+        when(repo.existsById(id)).thenReturn(true);
         when(repo.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Product updated = service.update(patch);
 
         assertThat(updated).isEqualTo(patch);
-        verify(repo).findById(id);
+        verify(repo).existsById(id);
+        verify(repo, never()).findById(any());
         verify(repo).save(patch);
     }
 
@@ -67,7 +93,7 @@ class ProductServiceTest {
     void update_throws_when_missing() {
         String id = "missing";
         Product patch = product(id, "SKU-404", "X", "Y", "1.00");
-        when(repo.findById(id)).thenReturn(Optional.empty());
+        when(repo.existsById(id)).thenReturn(false);
 
         assertThatThrownBy(() -> service.update(patch))
                 .isInstanceOf(NoSuchElementException.class)
@@ -76,6 +102,42 @@ class ProductServiceTest {
         verify(repo, never()).save(any());
     }
 
+    // ---- patch ----
+    @Test
+    void patch_delegates_without_reading() {
+        ProductPatch patch = ProductPatch.builder().price(new BigDecimal("3.00")).build();
+        when(repo.patch("p-1", patch)).thenReturn(true);
+
+        service.patch("p-1", patch);
+
+        verify(repo).patch("p-1", patch);
+        verify(repo, never()).findById(any());
+    }
+
+    @Test
+    void patch_throws_when_missing() {
+        ProductPatch patch = ProductPatch.builder().name("x").build();
+        when(repo.patch("nope", patch)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.patch("nope", patch))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessageContaining("nope");
+    }
+
+    @Test
+    void patch_that_writes_nothing_does_not_invalidate() {
+        ProductQueryCache cache = mock(ProductQueryCache.class);
+        service = newService(cache, new RequestCoalescer(new SimpleMeterRegistry()), null);
+        ProductPatch patch = ProductPatch.builder().name("x").build();
+        when(repo.patch("nope", patch)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.patch("nope", patch)).isInstanceOf(NoSuchElementException.class);
+        service.patch("p-1", ProductPatch.builder().build());
+
+        verify(repo, never()).patch(eq("p-1"), any());
+        verifyNoInteractions(cache);
+    }
+
     // ---- get ----
     @Test
     void get_returns_when_present() {
@@ -95,6 +157,78 @@ class ProductServiceTest {
                 .isInstanceOf(NoSuchElementException.class);
     }
 
+    // ---- getAsync ----
+    @Test
+    void getAsync_coalesces_concurrent_lookups_of_one_id() {
+        AsyncProductRepository async = mock(AsyncProductRepository.class);
+        service = newService(ProductQueryCache.disabled(), new RequestCoalescer(new SimpleMeterRegistry()), async);
+        CompletableFuture<Optional<Product>> reply = new CompletableFuture<>();
+        when(async.findById("p1")).thenReturn(reply);
+
+        CompletableFuture<Product> first = service.getAsync("p1");
+        CompletableFuture<Product> second = service.getAsync("p1");
+        Product mug = product("p1", "SKU-1", "Mug", "Stoneware", "9.99");
+        reply.complete(Optional.of(mug));
+
+        assertThat(first.join()).isEqualTo(mug);
+        assertThat(second.join()).isEqualTo(mug);
+        verify(async, times(1)).findById("p1");
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void getAsync_completes_with_NoSuchElementException_when_missing() {
+        AsyncProductRepository async = mock(AsyncProductRepository.class);
+        service = newService(ProductQueryCache.disabled(), new RequestCoalescer(new SimpleMeterRegistry()), async);
+        when(async.findById("nope")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        assertThatThrownBy(() -> service.getAsync("nope").join()).hasCauseInstanceOf(NoSuchElementException.class);
+    }
+
+    // ---- getAll ----
+    @Test
+    void getAll_fetches_distinct_ids_in_one_batch() {
+        List<Product> expected = List.of(existing("a"), existing("b"));
+        when(repo.findAllByIds(List.of("a", "b"))).thenReturn(expected);
+
+        List<Product> result = service.getAll(Arrays.asList("a", "b", "a", null));
+
+        assertThat(result).isEqualTo(expected);
+        verify(repo).findAllByIds(List.of("a", "b"));
+    }
+
+    @Test
+    void coalesced_batches_are_returned_in_each_callers_order() {
+        when(repo.findAllByIds(List.of("a", "b", "c"))).thenReturn(List.of(existing("a"), existing("b")));
+        when(repo.findAllBySkus(List.of("SKU-a", "SKU-b"))).thenReturn(List.of(existing("a"), existing("b")));
+
+        assertThat(service.getAll(List.of("c", "b", "a"))).extracting(Product::getId).containsExactly("b", "a");
+        assertThat(service.getAllBySkus(List.of("SKU-b", "SKU-a"))).extracting(Product::getId).containsExactly("b", "a");
+    }
+
+    @Test
+    void getAll_with_no_ids_skips_repository() {
+        assertThat(service.getAll(List.of())).isEmpty();
+        verifyNoInteractions(repo);
+    }
+
+    // ---- sku ----
+    @Test
+    void getBySku_returns_when_present() {
+        Product stored = existing("s");
+        when(repo.findBySku("SKU-s")).thenReturn(Optional.of(stored));
+
+        assertThat(service.getBySku("SKU-s")).isEqualTo(stored);
+    }
+
+    @Test
+    void getBySku_throws_when_missing() {
+        when(repo.findBySku("nope")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.getBySku("nope"))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessageContaining("nope");
+    }
+
     // ---- delete ----
     @Test
     void delete_invokes_repository() {
@@ -106,13 +240,13 @@ class ProductServiceTest {
     @Test
     void searchByName_passes_query_and_returns_repo_result() {
         String incoming = "  Mug  "; // keep spaces on purpose
-        List<Product> expected = List.of(existing("a"), existing("b"));
-        when(repo.searchByName(incoming)).thenReturn(expected);
+        List<ProductSearchHit> expected = List.of(new ProductSearchHit(existing("a"), 2.0), new ProductSearchHit(existing("b"), 1.0));
+        when(repo.searchByName(incoming, SearchMode.EXACT, 1, Set.of())).thenReturn(expected);
 
-        List<Product> result = service.searchByName(incoming);
+        List<ProductSearchHit> result = service.searchByName(incoming, SearchMode.EXACT, 1, Set.of());
 
         // verify delegation
-        verify(repo).searchByName(incoming);
+        verify(repo).searchByName(incoming, SearchMode.EXACT, 1, Set.of());
 
         // verify the returned value (exact same instance + contents)
         assertThat(result).isSameAs(expected);
@@ -122,28 +256,140 @@ class ProductServiceTest {
     @Test
     void searchByDescription_passes_query_and_returns_repo_result() {
         String incoming = " stoneware ";
-        Product only = existing("c");
-        List<Product> expected = List.of(only);
-        when(repo.searchByDescription(incoming)).thenReturn(expected);
+        ProductSearchHit only = new ProductSearchHit(existing("c"), 1.0);
+        List<ProductSearchHit> expected = List.of(only);
+        when(repo.searchByDescription(incoming, SearchMode.EXACT, 1, Set.of())).thenReturn(expected);
 
-        List<Product> result = service.searchByDescription(incoming);
+        List<ProductSearchHit> result = service.searchByDescription(incoming, SearchMode.EXACT, 1, Set.of());
 
         // verify delegation
-        verify(repo).searchByDescription(incoming);
+        verify(repo).searchByDescription(incoming, SearchMode.EXACT, 1, Set.of());
 
         // verify the returned value (exact same instance + contents)
         assertThat(result).isSameAs(expected);
         assertThat(result).containsExactly(only);
     }
 
+    @Test
+    void scored_searchByName_passes_mode_and_distance() {
+        List<ProductSearchHit> expected = List.of(new ProductSearchHit(existing("d"), 1.0));
+        when(repo.searchByName("mug", SearchMode.PREFIX, 1, Set.of())).thenReturn(expected);
+
+        assertThat(service.searchByName("mug", SearchMode.PREFIX, 1, Set.of())).isSameAs(expected);
+    }
+
+    // ---- query cache ----
+    @Test
+    void projected_list_is_cached_per_field_selection() {
+        ProductQueryCache cache = mock(ProductQueryCache.class);
+        service = newService(cache, new RequestCoalescer(new SimpleMeterRegistry()), null);
+
+        service.listAll(0, 100, EnumSet.of(ProductField.PRICE, ProductField.ID));
+
+        verify(cache).getList(eq("list:0:100:id,price"), eq(Product.class), any());
+    }
+
+    @Test
+    void searches_are_keyed_by_normalized_query() {
+        ProductQueryCache cache = mock(ProductQueryCache.class);
+        service = newService(cache, new RequestCoalescer(new SimpleMeterRegistry()), null);
+
+        service.searchByName("  Red   MUG ", SearchMode.EXACT, 1, Set.of());
+        service.searchByDescription("red mug", SearchMode.EXACT, 1, Set.of());
+        service.searchByName("red", SearchMode.FUZZY, 2, Set.of());
+        service.listAll(2, 10);
+
+        verify(cache).getList(eq("search:name:EXACT:1:*:red mug"), eq(ProductSearchHit.class), any());
+        verify(cache).getList(eq("search:description:EXACT:1:*:red mug"), eq(ProductSearchHit.class), any());
+        verify(cache).getList(eq("search:name:FUZZY:2:*:red"), eq(ProductSearchHit.class), any());
+        verify(cache).getList(eq("list:20:10:*"), eq(Product.class), any());
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void writes_invalidate_query_cache() {
+        ProductQueryCache cache = mock(ProductQueryCache.class);
+        service = newService(cache, new RequestCoalescer(new SimpleMeterRegistry()), null);
+        Product p = existing("w");
+        when(repo.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(repo.existsById("w")).thenReturn(true);
+
+        service.create(p);
+        service.update(p);
+        service.delete("w");
+
+        verify(cache, times(3)).invalidateAll();
+    }
+
+    @Test
+    void search_after_a_write_does_not_join_a_load_started_before_it() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductQueryCache cache = new TieredProductQueryCache(mock(JedisPooled.class), new ObjectMapper(),
+                new ProductCacheProperties(), mock(ReplicaRouter.class));
+        service = newService(cache, new RequestCoalescer(registry), null);
+        List<ProductSearchHit> before = List.of(new ProductSearchHit(existing("old"), 1.0));
+        List<ProductSearchHit> after = List.of(new ProductSearchHit(existing("new"), 1.0));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(repo.searchByName("mug", SearchMode.EXACT, 1, Set.of())).thenAnswer(inv -> {
+            if (loads.incrementAndGet() > 1) return after;
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return before;
+        });
+        when(repo.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<ProductSearchHit>> first = pool.submit(() -> service.searchByName("mug", SearchMode.EXACT, 1, Set.of()));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            service.create(existing("new"));   // bumps the catalog generation mid-load
+            Future<List<ProductSearchHit>> second = pool.submit(() -> service.searchByName("mug", SearchMode.EXACT, 1, Set.of()));
+            // the second caller either joins the first load or starts its own before the first one finishes
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.counter("product.coalescing.calls", "operation", "search", "role", "leader").count()
+                    + registry.counter("product.coalescing.calls", "operation", "search", "role", "follower").count() < 2
+                    && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(before);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(after);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(service.searchByName("mug", SearchMode.EXACT, 1, Set.of())).isEqualTo(after);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failed_update_keeps_query_cache() {
+        ProductQueryCache cache = mock(ProductQueryCache.class);
+        service = newService(cache, new RequestCoalescer(new SimpleMeterRegistry()), null);
+        when(repo.existsById("missing")).thenReturn(false);
+
+        assertThatThrownBy(() -> service.update(existing("missing"))).isInstanceOf(NoSuchElementException.class);
+
+        verify(cache, never()).invalidateAll();
+    }
+
     // ---- helpers ----
+    private ProductService newService(ProductQueryCache cache, RequestCoalescer coalescer, AsyncProductRepository async) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (async != null) beans.addBean("asyncProducts", async);
+        return new ProductService(repo, cache, coalescer, beans.getBeanProvider(AsyncProductRepository.class));
+    }
+
     private static Product product(String id, String sku, String name, String desc, String price) {
         return Product.builder()
                 .id(id)
                 .sku(sku)
                 .name(name)
                 .description(desc)
-                .price(new java.math.BigDecimal(price))
+                .price(new BigDecimal(price))
                 .build();
     }
 
@@ -0,0 +1,130 @@
+package org.example.rediscartservice.application.product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(registry);
+    }
+
+    @Test
+    void concurrent_callers_for_same_key_share_one_load() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(pool.submit(() -> coalescer.execute("get", "p-1", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "product";
+                })));
+            }
+            // let every caller either become the leader or join it before the load finishes
+            waitUntil(() -> registry.counter("product.coalescing.calls", "operation", "get", "role", "follower").count()
+                    + registry.counter("product.coalescing.calls", "operation", "get", "role", "leader").count() == callers);
+            release.countDown();
+
+            for (Future<String> f : futures) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("product");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("product.coalescing.collapsed.ratio").gauge().value()).isEqualTo(7.0 / 8.0);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void sequential_calls_are_not_cached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("get", "p-1", loads::incrementAndGet);
+        coalescer.execute("get", "p-1", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void leader_exception_propagates_unwrapped_and_is_not_kept() {
+        assertThatThrownBy(() -> coalescer.execute("get", "x", () -> { throw new NoSuchElementException("gone"); }))
+                .isInstanceOf(NoSuchElementException.class);
+
+        assertThat(coalescer.execute("get", "x", () -> "back")).isEqualTo("back");
+    }
+
+    @Test
+    void async_callers_share_one_load_with_each_other_and_blocking_callers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> reply = new CompletableFuture<>();
+
+        CompletableFuture<String> leader = coalescer.executeAsync("get", "p-1", () -> { loads.incrementAndGet(); return reply; });
+        CompletableFuture<String> follower = coalescer.executeAsync("get", "p-1", () -> { loads.incrementAndGet(); return reply; });
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> blocking = pool.submit(() -> coalescer.execute("get", "p-1", () -> "own load"));
+            waitUntil(() -> registry.counter("product.coalescing.calls", "operation", "get", "role", "follower").count() == 2);
+            assertThat(leader).isNotDone();
+
+            reply.complete("product");
+
+            assertThat(leader.join()).isEqualTo("product");
+            assertThat(follower.join()).isEqualTo("product");
+            assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo("product");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void async_leader_failure_reaches_followers_unwrapped_and_is_not_kept() {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        CompletableFuture<String> leader = coalescer.executeAsync("get", "x", () -> reply.thenApply(String::trim));
+        CompletableFuture<String> follower = coalescer.executeAsync("get", "x", () -> reply);
+
+        reply.completeExceptionally(new NoSuchElementException("gone"));
+
+        assertThatThrownBy(follower::join).hasCauseInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(NoSuchElementException.class);
+        assertThat(coalescer.executeAsync("get", "x", () -> CompletableFuture.completedFuture("back")).join()).isEqualTo("back");
+    }
+
+    // ---- helpers ----
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.rediscartservice.config;
+
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPooled;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisClusterConfigTest {
+
+    @Test
+    void standalone_node_passes_the_check() {
+        try (RespServer server = RespServer.start();
+             JedisPooled jedis = new JedisPooled(server.host(), server.port())) {
+            assertThatCode(() -> RedisClusterConfig.requireStandalone(jedis)).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void cluster_member_as_the_standalone_node_is_refused() {
+        JedisPooled jedis = mock(JedisPooled.class);
+        when(jedis.info("cluster")).thenReturn("# Cluster\r\ncluster_enabled:1\r\n");
+
+        assertThatThrownBy(() -> RedisClusterConfig.requireStandalone(jedis))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.data.redis.host");
+    }
+
+    @Test
+    void unreachable_node_does_not_block_startup() {
+        JedisPooled jedis = mock(JedisPooled.class);
+        when(jedis.info("cluster")).thenThrow(new IllegalStateException("connection refused"));
+
+        assertThatCode(() -> RedisClusterConfig.requireStandalone(jedis)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void session_keys_follow_the_carts_onto_the_cluster() {
+        JedisPooled standalone = mock(JedisPooled.class);
+        JedisCluster cluster = mock(JedisCluster.class);
+        StaticListableBeanFactory withCluster = new StaticListableBeanFactory();
+        withCluster.addBean("jedisCluster", cluster);
+
+        assertThat(RedisClusterConfig.sessionStore(standalone, withCluster.getBeanProvider(JedisCluster.class)))
+                .isSameAs(cluster);
+        assertThat(RedisClusterConfig.sessionStore(standalone,
+                new StaticListableBeanFactory().getBeanProvider(JedisCluster.class))).isSameAs(standalone);
+    }
+}
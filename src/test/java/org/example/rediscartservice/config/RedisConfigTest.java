@@ -0,0 +1,116 @@
+package org.example.rediscartservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.infrastructure.redis.metrics.RedisCommandMetrics;
+import org.example.rediscartservice.infrastructure.redis.metrics.TimedConnectionFactory;
+import org.example.rediscartservice.infrastructure.redis.product.JedisProductRepository;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import redis.clients.jedis.ConnectionPoolConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.RedisProtocol;
+import redis.clients.jedis.csc.Cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisConfigTest {
+
+    @Test
+    void pool_settings_come_from_spring_data_redis_jedis_pool() {
+        RedisProperties redis = new RedisProperties();
+        RedisProperties.Pool pool = redis.getJedis().getPool();
+        pool.setMaxActive(32);
+        pool.setMaxIdle(12);
+        pool.setMinIdle(3);
+        pool.setMaxWait(Duration.ofMillis(250));
+
+        ConnectionPoolConfig config = RedisConfig.poolConfig(redis);
+
+        assertThat(config.getMaxTotal()).isEqualTo(32);
+        assertThat(config.getMaxIdle()).isEqualTo(12);
+        assertThat(config.getMinIdle()).isEqualTo(3);
+        assertThat(config.getMaxWaitDuration()).isEqualTo(Duration.ofMillis(250));
+        assertThat(config.getBlockWhenExhausted()).isTrue();
+    }
+
+    @Test
+    void timeouts_and_credentials_come_from_spring_data_redis() {
+        RedisProperties redis = new RedisProperties();
+        redis.setTimeout(Duration.ofMillis(750));
+        redis.setConnectTimeout(Duration.ofMillis(300));
+        redis.setDatabase(2);
+        redis.setPassword("secret");
+        redis.setClientName("cart-service");
+
+        JedisClientConfig config = RedisConfig.clientConfig(redis, false);
+
+        assertThat(config.getSocketTimeoutMillis()).isEqualTo(750);
+        assertThat(config.getConnectionTimeoutMillis()).isEqualTo(300);
+        assertThat(config.getDatabase()).isEqualTo(2);
+        assertThat(config.getPassword()).isEqualTo("secret");
+        assertThat(config.getClientName()).isEqualTo("cart-service");
+        assertThat(config.getRedisProtocol()).isNotEqualTo(RedisProtocol.RESP3);
+    }
+
+    @Test
+    void client_side_caching_switches_to_resp3() {
+        assertThat(RedisConfig.clientConfig(new RedisProperties(), true).getRedisProtocol()).isEqualTo(RedisProtocol.RESP3);
+    }
+
+    @Test
+    void node_pools_report_under_their_own_name_with_the_shared_instruments() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TimedConnectionFactory.Instruments instruments =
+                new TimedConnectionFactory.Instruments(new RedisCommandMetrics(registry), null, false, false);
+        try (RespServer server = RespServer.start();
+             JedisPooled shard = RedisConfig.pooledClient("shard:a", new HostAndPort(server.host(), server.port()), null,
+                     new RedisProperties(), new RedisPoolProperties(), instruments, registry)) {
+            shard.set("k", "v");
+
+            assertThat(registry.get("redis.pool.borrow.wait").tag("pool", "shard:a").timer().count()).isPositive();
+            assertThat(registry.get("redis.command.duration").tag("command", "SET").timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void client_side_cache_serves_repeat_reads_until_another_client_writes_the_key() {
+        TimedConnectionFactory.Instruments instruments = new TimedConnectionFactory.Instruments(null, null, false, false);
+        Cache cache = new RedisConfig().redisClientCache(new RedisClientCacheProperties());
+        try (RespServer server = RespServer.start();
+             JedisPooled cached = RedisConfig.pooledClient("primary", new HostAndPort(server.host(), server.port()), cache,
+                     new RedisProperties(), new RedisPoolProperties(), instruments, new SimpleMeterRegistry());
+             JedisPooled other = new JedisPooled(server.host(), server.port())) {
+            JedisProductRepository reader = new JedisProductRepository(cached, new ObjectMapper());
+            JedisProductRepository writer = new JedisProductRepository(other, new ObjectMapper());
+            writer.save(product("39.99"));
+
+            assertThat(reader.findById("p-1")).hasValueSatisfying(p -> assertThat(p.getPrice()).isEqualByComparingTo("39.99"));
+            server.resetCounts();
+            assertThat(reader.findById("p-1")).hasValueSatisfying(p -> assertThat(p.getPrice()).isEqualByComparingTo("39.99"));
+            assertThat(server.commandCounts()).containsEntry("JSON.GET", 0L);
+            assertThat(cache.getSize()).isEqualTo(1);
+
+            // The write pushes "invalidate [product:p-1]" to the tracking connection before the reply to the writer
+            writer.save(product("29.99"));
+            server.resetCounts();
+
+            assertThat(reader.findById("p-1")).hasValueSatisfying(p -> assertThat(p.getPrice()).isEqualByComparingTo("29.99"));
+            assertThat(server.commandCounts()).containsEntry("JSON.GET", 1L);
+            assertThat(cache.getStats().getInvalidationCount()).isEqualTo(1);
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private static Product product(String price) {
+        return Product.builder().id("p-1").sku("SKU-1").name("Classic Hoodie").price(new BigDecimal(price)).build();
+    }
+}
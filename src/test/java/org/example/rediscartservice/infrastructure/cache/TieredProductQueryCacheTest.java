@@ -0,0 +1,195 @@
+package org.example.rediscartservice.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.rediscartservice.config.ProductCacheProperties;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.params.SetParams;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TieredProductQueryCacheTest {
+
+    private JedisPooled jedis;
+    private ObjectMapper mapper;
+    private ProductCacheProperties props;
+    private ReplicaRouter replicas;
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        jedis = mock(JedisPooled.class);
+        mapper = new ObjectMapper();
+        props = new ProductCacheProperties();
+        props.setTtl(Duration.ofSeconds(30));
+        replicas = mock(ReplicaRouter.class);
+        now = new AtomicLong(1_000L);
+    }
+
+    private TieredProductQueryCache cache() {
+        return new TieredProductQueryCache(jedis, mapper, props, replicas, now::get);
+    }
+
+    @Test
+    void second_lookup_is_served_locally() {
+        var cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(product("a")); });
+        List<Product> second = cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).containsExactly(product("a"));
+        verifyNoInteractions(jedis);
+    }
+
+    @Test
+    void entries_expire_after_ttl() {
+        var cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        now.addAndGet(30_000L);
+        cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateAll_drops_every_entry() {
+        var cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getList("a", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        cache.getList("b", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        cache.invalidateAll();
+        cache.getList("a", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        cache.getList("b", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void least_recently_used_entry_is_evicted_beyond_max_entries() {
+        props.setMaxEntries(2);
+        var cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getList("a", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        cache.getList("b", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        cache.getList("a", Product.class, k -> { loads.incrementAndGet(); return List.of(); }); // touch a
+        cache.getList("c", Product.class, k -> { loads.incrementAndGet(); return List.of(); }); // evicts b
+        cache.getList("a", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        cache.getList("b", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void disabled_cache_always_loads() {
+        props.setEnabled(false);
+        var cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+        cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(); });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shared_tier_serves_entries_written_by_other_nodes() throws Exception {
+        props.setShared(true);
+        var hits = List.of(new ProductSearchHit(product("h"), 1.25));
+        when(jedis.get(TieredProductQueryCache.GENERATION_KEY)).thenReturn("7");
+        when(jedis.get("pcache:7:k")).thenReturn(mapper.writeValueAsString(hits));
+
+        List<ProductSearchHit> result = cache().getList("k", ProductSearchHit.class, k -> List.of());
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getProduct()).isEqualTo(product("h"));
+        assertThat(result.get(0).getScore()).isEqualTo(1.25);
+    }
+
+    @Test
+    void shared_tier_stores_misses_with_ttl_and_bumps_generation_on_invalidate() {
+        props.setShared(true);
+        when(jedis.get(TieredProductQueryCache.GENERATION_KEY)).thenReturn("3");
+        when(jedis.incr(TieredProductQueryCache.GENERATION_KEY)).thenReturn(4L);
+        var cache = cache();
+
+        cache.getList("k", Product.class, k -> List.of(product("x")));
+        cache.invalidateAll();
+        cache.getList("k", Product.class, k -> List.of(product("x")));
+
+        verify(jedis).set(eq("pcache:3:k"), anyString(), any(SetParams.class));
+        verify(jedis).set(eq("pcache:4:k"), anyString(), any(SetParams.class));
+    }
+
+    @Test
+    void failed_shared_bump_keeps_the_local_generation_and_is_retried_on_the_next_check() {
+        props.setShared(true);
+        props.setGenerationCheckInterval(Duration.ofSeconds(1));
+        when(jedis.get(TieredProductQueryCache.GENERATION_KEY)).thenReturn("3");
+        when(jedis.incr(TieredProductQueryCache.GENERATION_KEY))
+                .thenThrow(new JedisConnectionException("down"))
+                .thenReturn(5L);
+        var cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(product("x")); });
+        cache.invalidateAll();
+        List<Product> whileDown = cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(product("y")); });
+        now.addAndGet(1_000L);
+        List<Product> afterRecovery = cache.getList("k", Product.class, k -> { loads.incrementAndGet(); return List.of(product("z")); });
+
+        assertThat(loads).hasValue(3);
+        assertThat(whileDown).containsExactly(product("y"));
+        assertThat(afterRecovery).containsExactly(product("z"));
+        verify(jedis, times(2)).incr(TieredProductQueryCache.GENERATION_KEY);
+        verify(jedis, never()).get("pcache:4:k");
+        verify(jedis, never()).set(eq("pcache:4:k"), anyString(), any(SetParams.class));
+        verify(jedis).set(eq("pcache:5:k"), anyString(), any(SetParams.class));
+    }
+
+    @Test
+    void another_nodes_generation_bump_sends_the_refill_to_the_primary() {
+        props.setShared(true);
+        props.setGenerationCheckInterval(Duration.ofSeconds(1));
+        when(jedis.get(TieredProductQueryCache.GENERATION_KEY)).thenReturn("3", "3", "4");
+        var cache = cache();
+
+        cache.getList("k", Product.class, k -> List.of(product("x")));
+        now.addAndGet(1_000L);
+        cache.getList("k", Product.class, k -> List.of(product("x")));
+        verify(replicas, never()).afterWrite();
+
+        now.addAndGet(1_000L);
+        cache.getList("k", Product.class, k -> List.of(product("y")));
+        verify(replicas).afterWrite();
+    }
+
+    // ---- helpers ----
+    private static Product product(String id) {
+        return Product.builder()
+                .id(id)
+                .sku("SKU-" + id)
+                .name("Name " + id)
+                .description("Desc " + id)
+                .price(new BigDecimal("1.00"))
+                .build();
+    }
+}
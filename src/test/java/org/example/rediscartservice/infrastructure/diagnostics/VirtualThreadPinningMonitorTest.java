@@ -0,0 +1,57 @@
+package org.example.rediscartservice.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void classifies_stacks_that_touch_jedis_or_our_redis_code() {
+        assertThat(VirtualThreadPinningMonitor.inRedisPath(List.of(
+                "java.lang.Object.wait0:-1",
+                "redis.clients.jedis.Connection.getOne:1")))
+                .isTrue();
+        assertThat(VirtualThreadPinningMonitor.inRedisPath(List.of(
+                "org.example.rediscartservice.infrastructure.redis.cart.JedisCartRepository.add:70")))
+                .isTrue();
+        assertThat(VirtualThreadPinningMonitor.inRedisPath(List.of(
+                "org.example.rediscartservice.web.cart.CartController.add:40")))
+                .isFalse();
+    }
+
+    @Test
+    void counts_a_virtual_thread_that_sleeps_inside_synchronized() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(5), registry);
+        monitor.afterPropertiesSet();
+        try {
+            // The JFR stream starts asynchronously, so keep pinning until an event has been seen
+            await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> {
+                Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+                assertThat(registry.get("jvm.threads.virtual.pinned").tag("path", "other").counter().count())
+                        .isGreaterThanOrEqualTo(1.0);
+            });
+            assertThat(registry.get("jvm.threads.virtual.pinned").tag("path", "redis").counter().count()).isZero();
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.rediscartservice.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.rediscartservice.application.cart.CartService;
+import org.example.rediscartservice.application.product.ProductService;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import redis.clients.jedis.Protocol;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JfrEventsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void jfc_enables_the_custom_events() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            CartReadEvent read = new CartReadEvent();
+            read.begin();
+            read.finish("session-1", 3);
+            ProductCacheEvent cache = new ProductCacheEvent();
+            cache.begin();
+            cache.finish(ProductCacheEvent.MISS, 2);
+        });
+
+        RecordedEvent read = single(events, "org.example.rediscart.CartRead");
+        assertThat(read.getString("session")).isEqualTo(SessionIds.hash("session-1")).hasSize(12);
+        assertThat(read.getInt("lines")).isEqualTo(3);
+        assertThat(single(events, "org.example.rediscart.ProductCache").getString("result")).isEqualTo("miss");
+    }
+
+    @Test
+    void fast_redis_commands_stay_below_the_threshold() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            RedisCommandEvent event = new RedisCommandEvent();
+            event.begin();
+            event.finish(Protocol.Command.GET, "cart.findBySession", false);
+        });
+
+        assertThat(events).noneMatch(e -> e.getEventType().getName().equals("org.example.rediscart.RedisCommand"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aspect_records_cart_reads_with_line_count() throws Exception {
+        CartRepository repository = mock(CartRepository.class);
+        when(repository.findBySession("s")).thenReturn(List.of(CartItem.builder().build(), CartItem.builder().build()));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CartService(repository, mock(ProductService.class),
+                mock(ObjectProvider.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CartEventsAspect());
+        CartService carts = factory.getProxy();
+
+        List<RecordedEvent> events = record(() -> carts.findBySession("s"));
+
+        RecordedEvent read = single(events, "org.example.rediscart.CartRead");
+        assertThat(read.getInt("lines")).isEqualTo(2);
+        assertThat(read.getString("session")).isEqualTo(SessionIds.hash("s"));
+    }
+
+    @Test
+    void session_ids_are_hashed_consistently() {
+        assertThat(SessionIds.hash("abc")).isEqualTo(SessionIds.hash("abc")).isNotEqualTo(SessionIds.hash("abd"));
+        assertThat(SessionIds.hash(null)).isNull();
+    }
+
+    // ---------- helpers ----------
+
+    private List<RecordedEvent> record(Runnable body) throws Exception {
+        Configuration jfc = Configuration.create(Path.of("jfr/rediscart.jfc"));
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording(jfc)) {
+            recording.start();
+            body.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        assertThat(Files.size(file)).isPositive();
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.rediscartservice.infrastructure.memory.cart;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryCartRepositoryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private InMemoryCartRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryCartRepository(Duration.ofMinutes(5), now::get);
+    }
+
+    @Test
+    void add_merges_lines_like_redis_and_remove_is_idempotent() {
+        repository.add("s1", item("p1", "Mug", "Ceramic mug", 1, "9.99"));
+        repository.add("s1", item("p1", "Big mug", "Large ceramic mug", 2, "19.985"));
+        repository.add("s1", item("p2", "Tea", "Green tea", 1, "4.50"));
+
+        assertThat(repository.findBySession("s1")).containsExactly(
+                item("p1", "Big mug", "Large ceramic mug", 3, "29.98"),
+                item("p2", "Tea", "Green tea", 1, "4.50"));
+
+        repository.remove("s1", "p1");
+        repository.remove("s1", "p1");
+        assertThat(repository.findBySession("s1")).extracting(CartItem::getProductId).containsExactly("p2");
+        assertThat(repository.findBySession("unknown")).isEmpty();
+    }
+
+    @Test
+    void search_matches_short_description_or_name_case_insensitively() {
+        repository.add("s1", item("p1", "Mug", "Ceramic cup", 1, "9.99"));
+        repository.add("s1", item("p2", "Tea", "Green TEA leaves", 1, "4.50"));
+
+        assertThat(repository.searchByShortDescription("s1", "MUG")).extracting(CartItem::getProductId).containsExactly("p1");
+        assertThat(repository.searchByShortDescription("s1", "tea")).extracting(CartItem::getProductId).containsExactly("p2");
+        assertThat(repository.searchByShortDescription("s1", "  ")).hasSize(2);
+        assertThat(repository.searchByShortDescription("s1", "coffee")).isEmpty();
+    }
+
+    @Test
+    void report_lists_sessions_above_threshold_by_count_then_session_id() {
+        fill("s-big", 3);
+        fill("s-mid", 2);
+        fill("s-one", 1);
+        repository.touchSession("s-big", "alice");
+        repository.touchSession("s-big2", "alice");   // inherits s-big's cart
+
+        assertThat(repository.sessionsWithItemCountGreaterThan(1)).containsExactly("s-mid", "s-big", "s-big2");
+        assertThat(repository.sessionsWithItemCountGreaterThan(3)).isEmpty();
+
+        repository.remove("s-mid", "p0");
+        repository.remove("s-mid", "p1");
+        assertThat(repository.sessionsWithItemCountGreaterThan(0)).containsExactly("s-one", "s-big", "s-big2");
+    }
+
+    @Test
+    void restore_binds_the_current_session_to_the_users_previous_cart() {
+        repository.touchSession("old", "alice");
+        fill("old", 2);
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        repository.touchSession("other", "bob");
+        repository.add("new", item("px", "X", "x", 1, "1.00"));   // own cart before login
+        repository.touchSession("new", "alice");
+
+        repository.restoreFromPreviousSession("alice", "new");
+
+        assertThat(repository.findBySession("new")).extracting(CartItem::getProductId).containsExactly("p0", "p1");
+        assertThat(repository.cartCount()).isEqualTo(2);   // the replaced cart had no other session
+        repository.restoreFromPreviousSession("bob", "other");   // no previous session → no-op
+        assertThat(repository.findBySession("other")).isEmpty();
+    }
+
+    @Test
+    void new_session_of_a_user_inherits_the_cart_of_their_latest_live_session() {
+        repository.touchSession("s1", "alice");
+        fill("s1", 2);
+
+        repository.touchSession("s2", "alice");
+        repository.add("s2", item("p9", "Extra", "extra", 1, "1.00"));
+
+        assertThat(repository.findBySession("s1")).hasSize(3);
+        repository.touchSession("anon", null);
+        assertThat(repository.findBySession("anon")).isEmpty();
+    }
+
+    @Test
+    void idle_sessions_expire_and_drop_carts_nothing_refers_to() {
+        repository.touchSession("s1", "alice");
+        fill("s1", 2);
+        now.addAndGet(Duration.ofMinutes(3).toMillis());
+        fill("s2", 2);
+
+        now.addAndGet(Duration.ofMinutes(3).toMillis());
+        assertThat(repository.expireIdle()).isEqualTo(1);
+        assertThat(repository.sessionCount()).isEqualTo(1);
+        assertThat(repository.sessionsWithItemCountGreaterThan(0)).containsExactly("s2");
+
+        // Expired user session is not inherited any more, and s1 comes back empty
+        repository.touchSession("s3", "alice");
+        assertThat(repository.findBySession("s3")).isEmpty();
+        assertThat(repository.findBySession("s1")).isEmpty();
+
+        now.addAndGet(Duration.ofMinutes(5).toMillis());
+        assertThat(repository.findBySession("s2")).isEmpty();   // lazily expired on access
+    }
+
+    @Test
+    void concurrent_writes_to_one_shared_cart_keep_lines_and_report_consistent() throws Exception {
+        repository.touchSession("s0", "alice");
+        for (int i = 1; i < 8; i++) repository.touchSession("s" + i, "alice");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String session = "s" + t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    repository.add(session, item("p" + (i % 20), "n", "d", 1, "1.00"));
+                    if (i % 7 == 0) repository.remove(session, "p" + ((i + 3) % 20));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        int lines = repository.findBySession("s0").size();
+        assertThat(repository.sessionsWithItemCountGreaterThan(lines - 1)).hasSize(8);
+        assertThat(repository.sessionsWithItemCountGreaterThan(lines)).isEmpty();
+    }
+
+    // ---------- helpers ----------
+
+    private void fill(String sessionId, int lines) {
+        for (int i = 0; i < lines; i++) repository.add(sessionId, item("p" + i, "Item " + i, "desc " + i, 1, "1.00"));
+    }
+
+    private static CartItem item(String productId, String name, String shortDescription, int amount, String total) {
+        return CartItem.builder().productId(productId).name(name).shortDescription(shortDescription)
+                .amount(amount).totalPrice(new BigDecimal(total).setScale(2, java.math.RoundingMode.HALF_UP)).build();
+    }
+}
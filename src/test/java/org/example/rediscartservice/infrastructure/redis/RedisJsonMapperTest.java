@@ -0,0 +1,49 @@
+package org.example.rediscartservice.infrastructure.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisJsonMapperTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectReader reader = mapper.readerFor(Product.class);
+
+    private final Product product = Product.builder()
+            .id("p-1").sku("SKU-1").name("Mug").description("Stoneware").price(new BigDecimal("9.99"))
+            .build();
+
+    @Test
+    void fromBytes_binds_root_path_array_reply() throws Exception {
+        byte[] json = ("[" + mapper.writeValueAsString(product) + "]").getBytes(StandardCharsets.UTF_8);
+
+        assertThat(RedisJsonMapper.<Product>fromBytes(json, reader)).contains(product);
+    }
+
+    @Test
+    void fromBytes_binds_bare_document() throws Exception {
+        byte[] json = mapper.writeValueAsBytes(product);
+
+        assertThat(RedisJsonMapper.<Product>fromBytes(json, reader)).contains(product);
+    }
+
+    @Test
+    void fromBytes_treats_empty_array_and_null_as_absent() {
+        assertThat(RedisJsonMapper.<Product>fromBytes("[]".getBytes(StandardCharsets.UTF_8), reader)).isEmpty();
+        assertThat(RedisJsonMapper.<Product>fromBytes("null".getBytes(StandardCharsets.UTF_8), reader)).isEmpty();
+    }
+
+    @Test
+    void fromReply_falls_back_to_normalize_for_strings() throws Exception {
+        String json = "[" + mapper.writeValueAsString(product) + "]";
+
+        assertThat(RedisJsonMapper.<Product>fromReply(json, reader, mapper)).contains(product);
+        assertThat(RedisJsonMapper.<Product>fromReply(null, reader, mapper)).isEmpty();
+    }
+}
@@ -1,11 +1,15 @@
 package org.example.rediscartservice.infrastructure.redis;
 
+import org.example.rediscartservice.domain.model.product.InvalidProductQueryException;
+import org.example.rediscartservice.domain.model.product.SearchMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SearchSanitizerTest {
 
@@ -37,4 +41,37 @@ class SearchSanitizerTest {
     void sanitize_behaves_as_expected(String input, String expected) {
         assertThat(SearchSanitizer.sanitize(input)).isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    static Stream<org.junit.jupiter.params.provider.Arguments> modeCases() {
+        return Stream.of(
+                org.junit.jupiter.params.provider.Arguments.of(null, SearchMode.PREFIX, 1, ""),
+                org.junit.jupiter.params.provider.Arguments.of("  ", SearchMode.FUZZY, 1, ""),
+                org.junit.jupiter.params.provider.Arguments.of("red mug", SearchMode.EXACT, 1, "red mug"),
+                org.junit.jupiter.params.provider.Arguments.of("red mug", SearchMode.PREFIX, 1, "red* mug*"),
+                org.junit.jupiter.params.provider.Arguments.of("a mug", SearchMode.PREFIX, 1, "a mug*"),
+                org.junit.jupiter.params.provider.Arguments.of("hoodei", SearchMode.FUZZY, 1, "%hoodei%"),
+                org.junit.jupiter.params.provider.Arguments.of("hoodei", SearchMode.FUZZY, 2, "%%hoodei%%"),
+                org.junit.jupiter.params.provider.Arguments.of("hoodei", SearchMode.PREFIX, 0, "hoodei*"),
+                org.junit.jupiter.params.provider.Arguments.of("hoodei", null, 1, "hoodei"),
+
+                // user-supplied operators are escaped, ours are kept
+                org.junit.jupiter.params.provider.Arguments.of("t-shirt", SearchMode.PREFIX, 1, "t\\-shirt*"),
+                org.junit.jupiter.params.provider.Arguments.of("50%", SearchMode.FUZZY, 1, "%50\\%%"),
+                org.junit.jupiter.params.provider.Arguments.of("mug*|cup", SearchMode.EXACT, 1, "mug\\*\\|cup")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("modeCases")
+    void sanitize_with_mode_decorates_escaped_tokens(String input, SearchMode mode, int distance, String expected) {
+        assertThat(SearchSanitizer.sanitize(input, mode, distance)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 3, 9, -1})
+    void fuzzy_distance_out_of_range_is_rejected(int distance) {
+        assertThatThrownBy(() -> SearchSanitizer.sanitize("hoodei", SearchMode.FUZZY, distance))
+                .isInstanceOf(InvalidProductQueryException.class)
+                .hasMessageContaining("between 1 and 2");
+    }
+}
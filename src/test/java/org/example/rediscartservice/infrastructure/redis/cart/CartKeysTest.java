@@ -0,0 +1,57 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartKeysTest {
+
+    @Test
+    void standalone_keeps_the_original_key_names() {
+        CartKeys keys = CartKeys.standalone();
+
+        assertThat(keys.items("c1")).isEqualTo("cart:c1:items");
+        assertThat(keys.item("c1", "p1")).isEqualTo("cart:c1:item:p1");
+        assertThat(keys.lines("c1")).isEqualTo("cart:c1:lines");
+        assertThat(keys.countKey("s1")).isEqualTo("cart:idx:counts");
+        assertThat(keys.countKeys()).containsExactly("cart:idx:counts");
+    }
+
+    @Test
+    void hashTagged_puts_every_key_of_a_cart_in_one_slot() {
+        CartKeys keys = CartKeys.hashTagged(16);
+        String cartId = "38c844a4-0ab0-4e0f-8d63-c7129bf97578";
+
+        int slot = JedisClusterCRC16.getSlot(keys.items(cartId));
+        assertThat(keys.items(cartId)).isEqualTo("cart:{" + cartId + "}:items");
+        assertThat(JedisClusterCRC16.getSlot(keys.item(cartId, "p1"))).isEqualTo(slot);
+        assertThat(JedisClusterCRC16.getSlot(keys.item(cartId, "p2"))).isEqualTo(slot);
+        assertThat(JedisClusterCRC16.getSlot(keys.lines(cartId))).isEqualTo(slot);
+    }
+
+    @Test
+    void hashTagged_count_shards_are_stable_and_spread_over_distinct_slots() {
+        CartKeys keys = CartKeys.hashTagged(8);
+
+        assertThat(keys.countKeys()).hasSize(8).contains("cart:idx:counts:{0}", "cart:idx:counts:{7}");
+        Set<Integer> slots = new HashSet<>();
+        keys.countKeys().forEach(k -> slots.add(JedisClusterCRC16.getSlot(k)));
+        assertThat(slots).hasSize(8);
+
+        assertThat(keys.countKey("sess-42")).isEqualTo(keys.countKey("sess-42")).isIn(keys.countKeys());
+        Set<String> used = new HashSet<>();
+        IntStream.range(0, 200).forEach(i -> used.add(keys.countKey("sess-" + i)));
+        assertThat(used).hasSize(8);
+    }
+
+    @Test
+    void hashTagged_rejects_non_positive_shard_count() {
+        assertThatThrownBy(() -> CartKeys.hashTagged(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
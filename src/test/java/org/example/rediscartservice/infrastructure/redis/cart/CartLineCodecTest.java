@@ -0,0 +1,87 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartLineCodecTest {
+
+    @Test
+    void round_trips_all_fields_except_the_key_derived_product_id() {
+        CartItem item = item("Café Mug ☕", "Ceramic, 350 ml — dishwasher safe", 3, "59.97");
+
+        byte[] line = CartLineCodec.encode(item);
+        CartItem decoded = CartLineCodec.decode("p-1", line);
+
+        assertThat(decoded).isEqualTo(item);
+        assertThat(line[0]).isEqualTo(CartLineCodec.VERSION);
+    }
+
+    @Test
+    void total_price_is_rounded_to_cents() {
+        CartItem decoded = CartLineCodec.decode("p-1", CartLineCodec.encode(item("Mug", "Ceramic", 1, "9.995")));
+
+        assertThat(decoded.getTotalPrice()).isEqualTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    void large_amounts_and_prices_use_multi_byte_varints() {
+        CartItem item = item("Mug", "", 300, "999999999999.99");
+
+        CartItem decoded = CartLineCodec.decode("p-1", CartLineCodec.encode(item));
+
+        assertThat(decoded.getAmount()).isEqualTo(300);
+        assertThat(decoded.getTotalPrice()).isEqualTo(new BigDecimal("999999999999.99"));
+        assertThat(decoded.getShortDescription()).isEmpty();
+    }
+
+    @Test
+    void encoding_is_much_smaller_than_the_hash_payload() {
+        // version + amount + cents(2) + len + "Mug" + len + "Ceramic"
+        assertThat(CartLineCodec.encode(item("Mug", "Ceramic", 2, "19.98"))).hasSize(1 + 1 + 2 + 1 + 3 + 1 + 7);
+    }
+
+    @Test
+    void decoder_instance_is_reusable_across_lines() {
+        CartLineCodec.Decoder decoder = new CartLineCodec.Decoder();
+
+        CartItem a = decoder.decode("p-1", CartLineCodec.encode(item("Mug", "Ceramic", 2, "19.98")));
+        CartItem b = decoder.decode("p-2", CartLineCodec.encode(item("Bottle", "Steel", 1, "24.99")));
+
+        assertThat(a.getName()).isEqualTo("Mug");
+        assertThat(b.getName()).isEqualTo("Bottle");
+        assertThat(b.getProductId()).isEqualTo("p-2");
+    }
+
+    @Test
+    void rejects_unknown_versions_and_truncated_lines() {
+        byte[] line = CartLineCodec.encode(item("Mug", "Ceramic", 2, "19.98"));
+
+        byte[] future = line.clone();
+        future[0] = 2;
+        assertThatThrownBy(() -> CartLineCodec.decode("p-1", future))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version 2");
+
+        byte[] truncated = Arrays.copyOf(line, line.length - 3);
+        assertThatThrownBy(() -> CartLineCodec.decode("p-1", truncated))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    private static CartItem item(String name, String desc, int amount, String total) {
+        return CartItem.builder()
+                .productId("p-1")
+                .name(name)
+                .shortDescription(desc)
+                .amount(amount)
+                .totalPrice(new BigDecimal(total).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+}
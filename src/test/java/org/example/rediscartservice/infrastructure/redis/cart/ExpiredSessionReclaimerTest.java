@@ -0,0 +1,201 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.config.CartStorageProperties;
+import org.example.rediscartservice.config.CartStorageProperties.LineFormat;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The reclaimer against the in-process RESP stand-in, with sessions laid out the way
+ * SessionTouchAspect and JedisCartRepository leave them.
+ */
+class ExpiredSessionReclaimerTest {
+
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    private final AtomicLong now = new AtomicLong(Duration.ofDays(30).toMillis());
+    private RespServer server;
+    private JedisPooled jedis;
+
+    @BeforeEach
+    void setUp() {
+        server = RespServer.start(0, now::get);
+        jedis = new JedisPooled(server.host(), server.port());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jedis.close();
+        server.close();
+    }
+
+    @Test
+    void reclaims_expired_sessions_and_their_carts_but_keeps_carts_a_live_session_uses() throws Exception {
+        long old = now.get() - Duration.ofHours(25).toMillis();
+        long recent = now.get() - Duration.ofHours(1).toMillis();
+        session("gone", "alice", old, false, "cart-gone");
+        session("shared-dead", "bob", old, false, "cart-shared");
+        session("shared-live", "bob", now.get(), true, "cart-shared");
+        session("idle", "carol", recent, false, "cart-idle");
+        jedis.hset("sess:undated:meta", "cart_id", "cart-undated");
+        JedisCartRepository carts = new JedisCartRepository(jedis, new CartStorageProperties(), ReplicaRouter.primaryOnly(jedis));
+        for (String s : new String[]{"gone", "shared-dead", "idle", "undated"}) {
+            carts.add(s, item("p-1"));
+            carts.add(s, item("p-2"));
+        }
+        jedis.zadd("cart:idx:counts", 3, "ghost");
+        jedis.zadd("sess:user:alice", old - 1000, "forgotten");
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExpiredSessionReclaimer reclaimer = reclaimer(0);
+        reclaimer.bindTo(registry);
+        ExpiredSessionReclaimer.Result result = reclaimer.reclaimOnce();
+
+        assertThat(jedis.exists("sess:gone:meta", "sess:shared-dead:meta")).isZero();
+        assertThat(jedis.keys("cart:cart-gone:*")).isEmpty();
+        assertThat(jedis.smembers("cart:cart-shared:items")).containsExactlyInAnyOrder("p-1", "p-2");
+        assertThat(jedis.exists("sess:shared-live:meta", "sess:idle:meta", "sess:undated:meta")).isEqualTo(3);
+        assertThat(jedis.smembers("cart:cart-idle:items")).hasSize(2);
+        assertThat(jedis.exists("sess:user:alice")).isFalse();
+        assertThat(jedis.zrange("sess:user:bob", 0, -1)).containsExactly("shared-live");
+        assertThat(jedis.zrange("cart:idx:counts", 0, -1)).containsExactlyInAnyOrder("idle", "undated");
+
+        // 2 metas + cart-gone's items set and two item hashes
+        assertThat(result).extracting("sessions", "carts", "keys").containsExactly(2L, 1L, 5L);
+        assertThat(result.members()).isEqualTo(6);   // alice x2, bob, counts: gone, shared-dead, ghost
+        assertThat(result.bytes()).isPositive();
+        assertThat(registry.find("redis.reclaim.keys").tag("kind", "cart").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.find("redis.reclaim.bytes").functionCounter().count()).isEqualTo(result.bytes());
+
+        assertThat(reclaimer.reclaimOnce()).isEqualTo(new ExpiredSessionReclaimer.Result(0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void binary_line_carts_go_with_their_session() throws Exception {
+        session("gone", "alice", now.get() - Duration.ofDays(2).toMillis(), false, "cart-b");
+        CartStorageProperties storage = new CartStorageProperties();
+        storage.setLineFormat(LineFormat.BINARY);
+        new JedisCartRepository(jedis, storage, ReplicaRouter.primaryOnly(jedis)).add("gone", item("p-1"));
+
+        assertThat(reclaimer(0).reclaimOnce().keys()).isEqualTo(3);   // meta, items set, lines hash
+        assertThat(jedis.dbSize()).isZero();
+    }
+
+    @Test
+    void walk_is_paced_to_the_keys_per_second_budget() throws Exception {
+        for (int i = 0; i < 30; i++) session("s" + i, "u" + i, now.get(), true, "c" + i);
+        long start = now.get();
+
+        reclaimer(20).reclaimOnce();
+
+        // 60 keys examined by each of the three walks at 20/s
+        assertThat(now.get() - start).isGreaterThanOrEqualTo(9_000);
+        assertThat(jedis.dbSize()).isEqualTo(60);
+    }
+
+    @Test
+    void keys_that_do_not_match_count_against_the_budget() throws Exception {
+        for (int i = 0; i < 3; i++) session("s" + i, "u" + i, now.get(), true, "c" + i);
+        for (int i = 0; i < 54; i++) jedis.set("product:" + i, "{}");
+        long start = now.get();
+
+        reclaimer(20).reclaimOnce();
+
+        // 9 metas and user sets match, but every walk examines all 60 keys
+        assertThat(now.get() - start).isGreaterThanOrEqualTo(9_000);
+    }
+
+    @Test
+    void one_node_runs_at_a_time_and_releases_only_its_own_lease() {
+        ExpiredSessionReclaimer a = reclaimer(0);
+        ExpiredSessionReclaimer b = reclaimer(0);
+
+        assertThat(a.tryLease(60_000)).isTrue();
+        assertThat(b.tryLease(60_000)).isFalse();
+        b.releaseLease();
+        assertThat(b.tryLease(60_000)).isFalse();   // not b's to release
+
+        a.releaseLease();
+        assertThat(b.tryLease(60_000)).isTrue();
+        b.releaseLease();
+        assertThat(jedis.exists(ExpiredSessionReclaimer.LEASE_KEY)).isFalse();
+    }
+
+    @Test
+    void lease_of_a_node_that_died_mid_run_lapses_with_its_ttl() {
+        ExpiredSessionReclaimer a = reclaimer(0);
+        ExpiredSessionReclaimer b = reclaimer(0);
+
+        assertThat(a.tryLease(60_000)).isTrue();
+        now.addAndGet(60_000);
+        assertThat(b.tryLease(60_000)).isTrue();
+    }
+
+    @Test
+    void lease_is_renewed_per_page_while_a_run_outlasts_its_ttl() throws Exception {
+        for (int i = 0; i < 30; i++) session("s" + i, "u" + i, now.get(), true, "c" + i);
+        ExpiredSessionReclaimer a = reclaimer(20);
+        ExpiredSessionReclaimer b = reclaimer(0);
+        long start = now.get();
+
+        assertThat(a.tryLease(2_000)).isTrue();
+        a.reclaimOnce(2_000);
+
+        assertThat(now.get() - start).isGreaterThan(2_000);
+        assertThat(b.tryLease(2_000)).isFalse();
+        a.releaseLease();
+        assertThat(b.tryLease(2_000)).isTrue();
+    }
+
+    @Test
+    void run_stops_once_its_lease_is_taken_over() {
+        session("gone", "alice", now.get() - Duration.ofDays(2).toMillis(), false, "cart-gone");
+        ExpiredSessionReclaimer a = reclaimer(0);
+        ExpiredSessionReclaimer b = reclaimer(0);
+        assertThat(a.tryLease(60_000)).isTrue();
+        now.addAndGet(60_000);
+        assertThat(b.tryLease(60_000)).isTrue();
+
+        assertThatThrownBy(() -> a.reclaimOnce(60_000)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jedis.exists("sess:gone:meta")).isTrue();
+        assertThat(b.extendLease(60_000)).isTrue();
+    }
+
+    // ---------- helpers ----------
+
+    private ExpiredSessionReclaimer reclaimer(int keysPerSecond) {
+        return new ExpiredSessionReclaimer(jedis, RETENTION, 7, keysPerSecond, true, now::get, now::addAndGet);
+    }
+
+    private void session(String id, String user, long lastActive, boolean active, String cartId) {
+        Map<String, String> meta = new HashMap<>();
+        meta.put("user", user);
+        meta.put("created_at", String.valueOf(lastActive));
+        meta.put("last_active", String.valueOf(lastActive));
+        meta.put("cart_id", cartId);
+        if (active) meta.put("active", "1");
+        jedis.hset("sess:" + id + ":meta", meta);
+        jedis.zadd("sess:user:" + user, lastActive, id);
+    }
+
+    private static CartItem item(String productId) {
+        return CartItem.builder().productId(productId).name("Mug").shortDescription("Ceramic")
+                .amount(1).totalPrice(new BigDecimal("9.99")).build();
+    }
+}
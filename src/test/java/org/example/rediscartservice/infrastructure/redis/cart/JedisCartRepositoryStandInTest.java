@@ -0,0 +1,151 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.config.CartStorageProperties;
+import org.example.rediscartservice.config.CartStorageProperties.LineFormat;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.search.IndexDefinition;
+import redis.clients.jedis.search.IndexOptions;
+import redis.clients.jedis.search.Schema;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The real repository end to end over RESP, against the in-process stand-in.
+ */
+class JedisCartRepositoryStandInTest {
+
+    static RespServer server;
+    static JedisPooled jedis;
+
+    @BeforeAll
+    static void startServer() {
+        server = RespServer.start();
+        jedis = new JedisPooled(server.host(), server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        jedis.close();
+        server.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        server.flushAll();
+        CartIndexBootstrap.createIndex(jedis);
+    }
+
+    @ParameterizedTest
+    @EnumSource(LineFormat.class)
+    void add_merges_lines_and_remove_drops_them(LineFormat format) {
+        JedisCartRepository repository = repository(format);
+
+        repository.add("s1", item("p-1", "Black Mug", 2, "19.98"));
+        repository.add("s1", item("p-1", "Black Mug", 1, "9.99"));
+        repository.add("s1", item("p-2", "Tea Spoon", 1, "3.50"));
+
+        assertThat(repository.findBySession("s1"))
+                .extracting(CartItem::getProductId, CartItem::getAmount, CartItem::getTotalPrice)
+                .containsExactlyInAnyOrder(
+                        tuple("p-1", 3, new BigDecimal("29.97")),
+                        tuple("p-2", 1, new BigDecimal("3.50")));
+
+        repository.remove("s1", "p-1");
+        assertThat(repository.findBySession("s1")).extracting(CartItem::getProductId).containsExactly("p-2");
+    }
+
+    @ParameterizedTest
+    @EnumSource(LineFormat.class)
+    void search_is_scoped_to_the_sessions_cart(LineFormat format) {
+        JedisCartRepository repository = repository(format);
+        repository.add("s1", item("p-1", "Black Mug", 1, "9.99"));
+        repository.add("s1", item("p-2", "Tea Spoon", 1, "3.50"));
+        repository.add("s2", item("p-3", "Black Hoodie", 1, "39.99"));
+
+        assertThat(repository.searchByShortDescription("s1", "bla"))
+                .extracting(CartItem::getProductId).containsExactly("p-1");
+    }
+
+    @Test
+    void count_index_reports_sessions_above_the_threshold() {
+        JedisCartRepository repository = repository(LineFormat.HASH);
+        repository.add("s1", item("p-1", "Mug", 1, "1.00"));
+        repository.add("s1", item("p-2", "Cup", 1, "1.00"));
+        repository.add("s2", item("p-1", "Mug", 1, "1.00"));
+
+        assertThat(repository.sessionsWithItemCountGreaterThan(1)).containsExactly("s1");
+
+        repository.remove("s1", "p-2");
+        assertThat(repository.sessionsWithItemCountGreaterThan(0)).containsExactly("s1", "s2");
+    }
+
+    @Test
+    void restore_rebinds_the_current_session_to_the_previous_cart() {
+        JedisCartRepository repository = repository(LineFormat.HASH);
+        repository.add("old", item("p-1", "Mug", 1, "1.00"));
+        jedis.zadd("sess:user:alice", 1, "old");
+        jedis.zadd("sess:user:alice", 2, "new");
+
+        repository.restoreFromPreviousSession("alice", "new");
+
+        assertThat(jedis.hget("sess:new:meta", "cart_id")).isEqualTo(jedis.hget("sess:old:meta", "cart_id"));
+        assertThat(repository.findBySession("new")).extracting(CartItem::getProductId).containsExactly("p-1");
+        assertThat(jedis.hgetAll("sess:new:meta")).containsOnlyKeys("cart_id");
+    }
+
+    @Test
+    void hash_lines_carry_the_cart_id_the_index_scopes_on() {
+        repository(LineFormat.HASH).add("s1", item("p-1", "Mug", 1, "1.00"));
+        String cartId = jedis.hget("sess:s1:meta", "cart_id");
+
+        Map<String, String> line = jedis.hgetAll("cart:" + cartId + ":item:p-1");
+        assertThat(line).containsEntry("cart_id", cartId).containsEntry("amount", "1");
+    }
+
+    @Test
+    void index_created_before_cart_id_gains_the_field_on_the_next_startup() {
+        jedis.ftDropIndex(CartIndexBootstrap.INDEX_NAME);
+        jedis.ftCreate(CartIndexBootstrap.INDEX_NAME,
+                IndexOptions.defaultOptions().setDefinition(new IndexDefinition(IndexDefinition.Type.HASH).setPrefixes("cart:")),
+                new Schema().addTagField("session_id").addTagField("product_id").addTextField("short_desc", 1.0));
+        JedisCartRepository repository = repository(LineFormat.HASH);
+        repository.add("s1", item("p-1", "Black Mug", 1, "9.99"));
+        assertThat(repository.searchByShortDescription("s1", "mug")).isEmpty();
+
+        CartIndexBootstrap.createIndex(jedis);
+        CartIndexBootstrap.createIndex(jedis);
+
+        assertThat(repository.searchByShortDescription("s1", "mug")).extracting(CartItem::getProductId).containsExactly("p-1");
+    }
+
+    // ---------- helpers ----------
+
+    private static JedisCartRepository repository(LineFormat format) {
+        CartStorageProperties storage = new CartStorageProperties();
+        storage.setLineFormat(format);
+        return new JedisCartRepository(jedis, storage, ReplicaRouter.primaryOnly(jedis));
+    }
+
+    private static CartItem item(String productId, String name, int amount, String total) {
+        return CartItem.builder()
+                .productId(productId)
+                .name(name)
+                .shortDescription(name.toLowerCase())
+                .amount(amount)
+                .totalPrice(new BigDecimal(total))
+                .build();
+    }
+}
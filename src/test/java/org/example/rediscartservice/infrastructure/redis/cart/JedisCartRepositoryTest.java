@@ -1,8 +1,10 @@
 // src/test/java/org/example/rediscartservice/infrastructure/redis/cart/JedisCartRepositoryTest.java
 package org.example.rediscartservice.infrastructure.redis.cart;
 
+import org.example.rediscartservice.config.CartStorageProperties;
 import org.example.rediscartservice.domain.model.cart.CartItem;
 import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -12,6 +14,7 @@ import redis.clients.jedis.search.Query;
 import redis.clients.jedis.search.SearchResult;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,7 +33,7 @@ class JedisCartRepositoryTest {
     @BeforeEach
     void setUp() {
         jedis = mock(JedisPooled.class);
-        repository = new JedisCartRepository(jedis);
+        repository = new JedisCartRepository(jedis, new CartStorageProperties(), ReplicaRouter.primaryOnly(jedis));
     }
 
     // ---------- findBySession ----------
@@ -340,4 +343,93 @@ class JedisCartRepositoryTest {
         verify(jedis).zrevrange("sess:user:" + username, 1, 1);
         verifyNoMoreInteractions(jedis);
     }
-}
\ No newline at end of file
+
+    // ---------- binary line format ----------
+
+    @Test
+    void binary_findBySession_reads_all_lines_with_one_hgetall() {
+        CartRepository binary = binaryRepository();
+        when(jedis.hget("sess:sid-b:meta", "cart_id")).thenReturn("c-b");
+        Map<byte[], byte[]> lines = new HashMap<>();
+        lines.put(bytes("p-1"), CartLineCodec.encode(item("p-1", "Mug", "Ceramic", 2, "19.98")));
+        lines.put(bytes("p-2"), CartLineCodec.encode(item("p-2", "Bottle", "Steel 750ml", 1, "24.99")));
+        when(jedis.hgetAll(bytes("cart:c-b:lines"))).thenReturn(lines);
+
+        var byId = binary.findBySession("sid-b").stream()
+                .collect(Collectors.toMap(CartItem::getProductId, x -> x));
+
+        assertThat(byId).containsOnlyKeys("p-1", "p-2");
+        assertThat(byId.get("p-1").getAmount()).isEqualTo(2);
+        assertThat(byId.get("p-1").getTotalPrice()).isEqualByComparingTo("19.98");
+        assertThat(byId.get("p-2").getShortDescription()).isEqualTo("Steel 750ml");
+        verify(jedis, never()).smembers(anyString());
+    }
+
+    @Test
+    void binary_add_existing_line_merges_amount_and_total_without_touching_count_index() {
+        CartRepository binary = binaryRepository();
+        when(jedis.hget("sess:sid-b:meta", "cart_id")).thenReturn("c-b");
+        when(jedis.sadd("cart:c-b:items", "p-1")).thenReturn(0L);
+        when(jedis.hget(bytes("cart:c-b:lines"), bytes("p-1")))
+                .thenReturn(CartLineCodec.encode(item("p-1", "Mug", "Ceramic", 2, "19.98")));
+
+        binary.add("sid-b", item("p-1", "Mug", "Ceramic", 1, "9.99"));
+
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        verify(jedis).hset(eq(bytes("cart:c-b:lines")), eq(bytes("p-1")), written.capture());
+        CartItem merged = CartLineCodec.decode("p-1", written.getValue());
+        assertThat(merged.getAmount()).isEqualTo(3);
+        assertThat(merged.getTotalPrice()).isEqualByComparingTo("29.97");
+        verify(jedis, never()).hset(anyString(), anyMap());
+        verify(jedis, never()).zincrby(anyString(), anyDouble(), anyString());
+    }
+
+    @Test
+    void binary_remove_deletes_hash_field_and_decrements_count() {
+        CartRepository binary = binaryRepository();
+        when(jedis.hget("sess:sid-b:meta", "cart_id")).thenReturn("c-b");
+        when(jedis.srem("cart:c-b:items", "p-1")).thenReturn(1L);
+        when(jedis.zincrby(COUNT_ZSET, -1.0, "sid-b")).thenReturn(0.0);
+
+        binary.remove("sid-b", "p-1");
+
+        verify(jedis).hdel(bytes("cart:c-b:lines"), bytes("p-1"));
+        verify(jedis, never()).del(anyString());
+        verify(jedis).zrem(COUNT_ZSET, "sid-b");
+    }
+
+    @Test
+    void binary_search_filters_decoded_lines_in_memory() {
+        CartRepository binary = binaryRepository();
+        when(jedis.hget("sess:sid-b:meta", "cart_id")).thenReturn("c-b");
+        Map<byte[], byte[]> lines = new HashMap<>();
+        lines.put(bytes("p-1"), CartLineCodec.encode(item("p-1", "Mug", "Ceramic", 2, "19.98")));
+        lines.put(bytes("p-2"), CartLineCodec.encode(item("p-2", "Bottle", "Steel 750ml", 1, "24.99")));
+        when(jedis.hgetAll(bytes("cart:c-b:lines"))).thenReturn(lines);
+
+        var hits = binary.searchByShortDescription("sid-b", "STEEL");
+
+        assertThat(hits).extracting(CartItem::getProductId).containsExactly("p-2");
+        verify(jedis, never()).ftSearch(anyString(), any(Query.class));
+    }
+
+    private CartRepository binaryRepository() {
+        CartStorageProperties storage = new CartStorageProperties();
+        storage.setLineFormat(CartStorageProperties.LineFormat.BINARY);
+        return new JedisCartRepository(jedis, storage, ReplicaRouter.primaryOnly(jedis));
+    }
+
+    private static CartItem item(String pid, String name, String desc, int amount, String total) {
+        return CartItem.builder()
+                .productId(pid)
+                .name(name)
+                .shortDescription(desc)
+                .amount(amount)
+                .totalPrice(new BigDecimal(total))
+                .build();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.config.CartStorageProperties;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.resps.Tuple;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JedisClusterCartRepositoryTest {
+
+    private JedisCluster jedis;
+    private JedisClusterCartRepository repository;
+    private CartKeys keys;
+
+    @BeforeEach
+    void setUp() {
+        jedis = mock(JedisCluster.class);
+        CartStorageProperties storage = new CartStorageProperties();
+        storage.setCountShards(4);
+        repository = new JedisClusterCartRepository(jedis, storage);
+        keys = CartKeys.hashTagged(4);
+    }
+
+    @Test
+    void add_writes_hash_tagged_keys_and_the_session_count_shard() {
+        when(jedis.hget("sess:s1:meta", "cart_id")).thenReturn("c1");
+        when(jedis.sadd("cart:{c1}:items", "p1")).thenReturn(1L);
+        when(jedis.hgetAll("cart:{c1}:item:p1")).thenReturn(Map.of());
+
+        repository.add("s1", CartItem.builder().productId("p1").name("Mug").shortDescription("Ceramic")
+                .amount(1).totalPrice(new BigDecimal("9.99")).build());
+
+        verify(jedis).hset(eq("cart:{c1}:item:p1"), anyMap());
+        verify(jedis).zincrby(keys.countKey("s1"), 1.0, "s1");
+    }
+
+    @Test
+    void sessionsWithItemCountGreaterThan_gathers_every_shard_and_merges_by_score() {
+        List<String> shards = keys.countKeys();
+        when(jedis.zrangeByScoreWithScores(anyString(), eq("(2"), eq("+inf"))).thenReturn(List.of());
+        when(jedis.zrangeByScoreWithScores(shards.get(0), "(2", "+inf"))
+                .thenReturn(List.of(new Tuple("s-a", 5.0), new Tuple("s-b", 9.0)));
+        when(jedis.zrangeByScoreWithScores(shards.get(3), "(2", "+inf"))
+                .thenReturn(List.of(new Tuple("s-c", 3.0)));
+
+        List<String> result = repository.sessionsWithItemCountGreaterThan(2);
+
+        assertThat(result).containsExactly("s-c", "s-a", "s-b");
+        shards.forEach(k -> verify(jedis).zrangeByScoreWithScores(k, "(2", "+inf"));
+        verify(jedis, never()).zrangeByScore(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void searchByShortDescription_matches_the_cart_lines_in_memory() {
+        when(jedis.hget("sess:s1:meta", "cart_id")).thenReturn("c1");
+        when(jedis.smembers("cart:{c1}:items")).thenReturn(Set.of("p1", "p2"));
+        when(jedis.hgetAll("cart:{c1}:item:p1"))
+                .thenReturn(Map.of("name", "Mug", "short_desc", "Ceramic", "amount", "1", "total_price", "9.99"));
+        when(jedis.hgetAll("cart:{c1}:item:p2"))
+                .thenReturn(Map.of("name", "Bottle", "short_desc", "Steel", "amount", "1", "total_price", "5.00"));
+
+        List<CartItem> result = repository.searchByShortDescription("s1", "cera");
+
+        assertThat(result).extracting(CartItem::getProductId).containsExactly("p1");
+        verify(jedis, never()).ftSearch(anyString(), any(redis.clients.jedis.search.Query.class));
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class LettuceCartRepositoryTest {
+
+    private RedisAsyncCommands<String, String> redis;
+    private LettuceCartRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(RedisAsyncCommands.class);
+        repository = new LettuceCartRepository(redis);
+    }
+
+    @Test
+    void resolveCartId_returns_existing_cart_id() {
+        when(redis.hget("sess:s1:meta", "cart_id")).thenReturn(done("c1"));
+
+        assertThat(repository.resolveCartId("s1").toCompletableFuture().join()).isEqualTo("c1");
+        verify(redis, never()).hsetnx(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void resolveCartId_when_another_request_won_the_race_uses_its_cart_id() {
+        when(redis.hget("sess:s1:meta", "cart_id")).thenReturn(done(null), done("winner"));
+        when(redis.hsetnx(eq("sess:s1:meta"), eq("cart_id"), anyString())).thenReturn(done(false));
+
+        assertThat(repository.resolveCartId("s1").toCompletableFuture().join()).isEqualTo("winner");
+    }
+
+    @Test
+    void findByCartId_issues_all_line_reads_before_any_reply_and_skips_missing_lines() {
+        when(redis.smembers("cart:c1:items")).thenReturn(done(new LinkedHashSet<>(List.of("p1", "p2"))));
+        TestFuture<Map<String, String>> p1 = new TestFuture<>();
+        TestFuture<Map<String, String>> p2 = new TestFuture<>();
+        when(redis.hgetall("cart:c1:item:p1")).thenReturn(p1);
+        when(redis.hgetall("cart:c1:item:p2")).thenReturn(p2);
+
+        CompletableFuture<List<CartItem>> result = repository.findByCartId("c1").toCompletableFuture();
+
+        verify(redis).hgetall("cart:c1:item:p1");
+        verify(redis).hgetall("cart:c1:item:p2");
+        assertThat(result).isNotDone();
+
+        p2.complete(Map.of());
+        p1.complete(Map.of("name", "Mug", "short_desc", "Ceramic", "amount", "2", "total_price", "19.98"));
+
+        assertThat(result.join()).singleElement().satisfies(ci -> {
+            assertThat(ci.getProductId()).isEqualTo("p1");
+            assertThat(ci.getAmount()).isEqualTo(2);
+            assertThat(ci.getTotalPrice()).isEqualByComparingTo("19.98");
+        });
+    }
+
+    @Test
+    void add_merges_existing_line_and_leaves_count_index_alone() {
+        when(redis.sadd("cart:c1:items", "p1")).thenReturn(done(0L));
+        when(redis.hgetall("cart:c1:item:p1")).thenReturn(done(Map.of("amount", "1", "total_price", "9.99")));
+        when(redis.hset(eq("cart:c1:item:p1"), anyMap())).thenReturn(done(0L));
+
+        repository.add("s1", "c1", item("p1", 2, "19.98")).toCompletableFuture().join();
+
+        verify(redis).hset(eq("cart:c1:item:p1"), argThat((Map<String, String> m) ->
+                m.get("amount").equals("3") && m.get("total_price").equals("29.97") && m.get("cart_id").equals("c1")));
+        verify(redis, never()).zincrby(anyString(), anyDouble(), anyString());
+    }
+
+    @Test
+    void add_new_line_increments_count_index() {
+        when(redis.sadd("cart:c1:items", "p1")).thenReturn(done(1L));
+        when(redis.hgetall("cart:c1:item:p1")).thenReturn(done(Map.of()));
+        when(redis.hset(eq("cart:c1:item:p1"), anyMap())).thenReturn(done(6L));
+        when(redis.zincrby("cart:idx:counts", 1.0, "s1")).thenReturn(done(1.0));
+
+        repository.add("s1", "c1", item("p1", 1, "9.99")).toCompletableFuture().join();
+
+        verify(redis).zincrby("cart:idx:counts", 1.0, "s1");
+    }
+
+    @Test
+    void remove_last_line_drops_session_from_count_index() {
+        when(redis.del("cart:c1:item:p1")).thenReturn(done(1L));
+        when(redis.srem("cart:c1:items", "p1")).thenReturn(done(1L));
+        when(redis.zincrby("cart:idx:counts", -1.0, "s1")).thenReturn(done(0.0));
+        when(redis.zrem("cart:idx:counts", "s1")).thenReturn(done(1L));
+
+        repository.remove("s1", "c1", "p1").toCompletableFuture().join();
+
+        verify(redis).zrem("cart:idx:counts", "s1");
+    }
+
+    // ---------- helpers ----------
+
+    private static CartItem item(String productId, int amount, String total) {
+        return CartItem.builder().productId(productId).name("Mug").shortDescription("Ceramic")
+                .amount(amount).totalPrice(new BigDecimal(total)).build();
+    }
+
+    private static <T> RedisFuture<T> done(T value) {
+        TestFuture<T> f = new TestFuture<>();
+        f.complete(value);
+        return f;
+    }
+
+    private static class TestFuture<T> extends CompletableFuture<T> implements RedisFuture<T> {
+        @Override
+        public String getError() {
+            return null;
+        }
+
+        @Override
+        public boolean await(long timeout, TimeUnit unit) {
+            return isDone();
+        }
+    }
+}
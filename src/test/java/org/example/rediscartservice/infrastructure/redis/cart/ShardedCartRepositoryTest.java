@@ -0,0 +1,95 @@
+package org.example.rediscartservice.infrastructure.redis.cart;
+
+import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.redis.cart.ShardedCartRepository.Shard;
+import org.example.rediscartservice.infrastructure.redis.shard.ConsistentHashRing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ShardedCartRepositoryTest {
+
+    private JedisCartRepository home;
+    private JedisCartRepository shardA;
+    private JedisCartRepository shardB;
+    private ConsistentHashRing<Shard> ring;
+    private ShardedCartRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        home = mock(JedisCartRepository.class);
+        shardA = mock(JedisCartRepository.class);
+        shardB = mock(JedisCartRepository.class);
+        Map<String, Shard> shards = new LinkedHashMap<>();
+        shards.put("a:6379", new Shard("a:6379", mock(JedisPooled.class), shardA));
+        shards.put("b:6379", new Shard("b:6379", mock(JedisPooled.class), shardB));
+        ring = new ConsistentHashRing<>(shards, 160);
+        repository = new ShardedCartRepository(home, ring, Executors.newFixedThreadPool(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void cart_operations_resolve_the_cart_on_the_home_node_and_run_on_the_owning_shard() {
+        String cartId = "cart-7";
+        when(home.cartIdForSession("s1")).thenReturn(cartId);
+        JedisCartRepository owner = ring.nodeFor(cartId).carts();
+        JedisCartRepository other = owner == shardA ? shardB : shardA;
+        CartItem item = CartItem.builder().productId("p1").name("Mug").shortDescription("Ceramic")
+                .amount(1).totalPrice(new BigDecimal("9.99")).build();
+        when(owner.findByCart(cartId)).thenReturn(List.of(item));
+
+        repository.add("s1", item);
+        List<CartItem> cart = repository.findBySession("s1");
+        repository.remove("s1", "p1");
+        repository.searchByShortDescription("s1", " cera ");
+
+        assertThat(cart).containsExactly(item);
+        verify(owner).addToCart("s1", cartId, item);
+        verify(owner).removeFromCart("s1", cartId, "p1");
+        verify(owner).searchCart(cartId, "cera");
+        verifyNoInteractions(other);
+    }
+
+    @Test
+    void sessionsWithItemCountGreaterThan_queries_all_shards_in_parallel_and_merges() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(shardA.sessionsWithItemCountGreaterThan(3)).thenAnswer(inv -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.of("s-1", "s-2");
+        });
+        when(shardB.sessionsWithItemCountGreaterThan(3)).thenAnswer(inv -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.of("s-2", "s-3");
+        });
+
+        assertThat(repository.sessionsWithItemCountGreaterThan(3)).containsExactly("s-1", "s-2", "s-3");
+        verify(home, never()).sessionsWithItemCountGreaterThan(anyInt());
+    }
+
+    @Test
+    void restoreFromPreviousSession_only_touches_the_home_node() {
+        repository.restoreFromPreviousSession("alice", "s1");
+
+        verify(home).restoreFromPreviousSession("alice", "s1");
+        verifyNoInteractions(shardA, shardB);
+    }
+}
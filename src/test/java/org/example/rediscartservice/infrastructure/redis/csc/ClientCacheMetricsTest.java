@@ -0,0 +1,40 @@
+package org.example.rediscartservice.infrastructure.redis.csc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheConfig;
+import redis.clients.jedis.csc.CacheEntry;
+import redis.clients.jedis.csc.CacheFactory;
+import redis.clients.jedis.csc.CacheKey;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientCacheMetricsTest {
+
+    @Test
+    void exposes_cache_size_evictions_and_request_counters() {
+        Cache cache = CacheFactory.getCache(CacheConfig.builder()
+                .maxSize(2)
+                .cacheable(new KeyPatternCacheable(List.of("product:*")))
+                .build());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ClientCacheMetrics(cache).bindTo(registry);
+
+        for (String key : List.of("product:1", "product:2", "product:3")) {
+            CacheKey<String> cacheKey = new CacheKey<>(new CommandObjects().get(key));
+            cache.set(cacheKey, new CacheEntry<>(cacheKey, "{}", null));
+        }
+
+        assertThat(registry.get("redis.client.cache.size").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("redis.client.cache.max.size").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("redis.client.cache.evictions").functionCounter().count()).isEqualTo(1.0);
+        // hits / misses are recorded by Jedis' caching connection, so they start at zero here
+        assertThat(registry.get("redis.client.cache.requests").tag("result", "hit").functionCounter().count()).isZero();
+        assertThat(registry.get("redis.client.cache.requests").tag("result", "miss").functionCounter().count()).isZero();
+        assertThat(registry.get("redis.client.cache.invalidations").functionCounter().count()).isZero();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.rediscartservice.infrastructure.redis.csc;
+
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.json.JsonProtocol.JsonCommand;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyPatternCacheableTest {
+
+    private final KeyPatternCacheable cacheable = new KeyPatternCacheable(List.of("product:*", "sess:*:meta"));
+
+    @Test
+    void caches_allowlisted_reads() {
+        assertThat(cacheable.isCacheable(JsonCommand.GET, List.of(bytes("product:42")))).isTrue();
+        assertThat(cacheable.isCacheable(Command.HGET, List.of("sess:abc:meta"))).isTrue();
+    }
+
+    @Test
+    void skips_keys_outside_the_allowlist() {
+        assertThat(cacheable.isCacheable(Command.HGETALL, List.of("cart:c-1:item:p-1"))).isFalse();
+        assertThat(cacheable.isCacheable(Command.HGET, List.of("sess:abc:metadata"))).isFalse();
+        assertThat(cacheable.isCacheable(Command.GET, List.of("pcache:gen"))).isFalse();
+    }
+
+    @Test
+    void every_key_of_a_multi_key_read_must_match() {
+        assertThat(cacheable.isCacheable(JsonCommand.MGET, List.of(bytes("product:1"), bytes("product:2")))).isTrue();
+        assertThat(cacheable.isCacheable(Command.MGET, List.of("product:1", "sku:SKU-1"))).isFalse();
+    }
+
+    @Test
+    void never_caches_writes_or_keyless_commands() {
+        assertThat(cacheable.isCacheable(Command.HSET, List.of("sess:abc:meta"))).isFalse();
+        assertThat(cacheable.isCacheable(JsonCommand.GET, List.of())).isFalse();
+    }
+
+    @Test
+    void glob_treats_regex_characters_literally() {
+        KeyPatternCacheable dotted = new KeyPatternCacheable(List.of("a.b:*"));
+
+        assertThat(dotted.matches("a.b:1")).isTrue();
+        assertThat(dotted.matches("axb:1")).isFalse();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.json.JsonProtocol;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCommandMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private RedisCommandMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new RedisCommandMetrics(registry);
+    }
+
+    @Test
+    void records_duration_and_sizes_per_command_and_operation() {
+        CommandArguments get = new CommandArguments(Protocol.Command.GET).key("product:1");
+        try (var op = RedisOperation.open("product.findById")) {
+            metrics.record(get, "hello", 2_000_000);
+        }
+
+        var timer = registry.get("redis.command.duration")
+                .tag("command", "GET").tag("operation", "product.findById").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+        // "GET" + "product:1"
+        assertThat(registry.get("redis.command.request.bytes").tag("command", "GET").summary().totalAmount())
+                .isEqualTo(12.0);
+        assertThat(registry.get("redis.command.reply.bytes").tag("command", "GET").summary().totalAmount())
+                .isEqualTo(5.0);
+    }
+
+    @Test
+    void module_commands_are_named_by_their_wire_name() {
+        metrics.record(new CommandArguments(JsonProtocol.JsonCommand.GET).key("product:1"), null, 1_000);
+
+        assertThat(registry.get("redis.command.duration").tag("command", "JSON.GET").tag("operation", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failures_are_timed_and_counted_by_exception() {
+        CommandArguments hget = new CommandArguments(Protocol.Command.HGET).key("cart:1:items").add("p1");
+        metrics.recordFailure(hget, new JedisConnectionException("boom"), 1_000);
+
+        assertThat(registry.get("redis.command.errors")
+                .tag("command", "HGET").tag("exception", "JedisConnectionException").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("redis.command.duration").tag("command", "HGET").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void operation_scopes_nest_and_restore() {
+        assertThat(RedisOperation.current()).isEqualTo(RedisOperation.NONE);
+        try (var outer = RedisOperation.open("cart.addItem")) {
+            try (var inner = RedisOperation.open("session.touch")) {
+                assertThat(RedisOperation.current()).isEqualTo("session.touch");
+            }
+            assertThat(RedisOperation.current()).isEqualTo("cart.addItem");
+        }
+        assertThat(RedisOperation.current()).isEqualTo(RedisOperation.NONE);
+    }
+
+    @Test
+    void reply_size_counts_bulk_payloads_one_level_deep() {
+        assertThat(RedisCommandMetrics.replyBytes(new byte[7])).isEqualTo(7);
+        assertThat(RedisCommandMetrics.replyBytes(List.of("ab", "cde"))).isEqualTo(5);
+        assertThat(RedisCommandMetrics.replyBytes(Map.of("qty", "12"))).isEqualTo(5);
+        assertThat(RedisCommandMetrics.replyBytes(42L)).isZero();
+    }
+}
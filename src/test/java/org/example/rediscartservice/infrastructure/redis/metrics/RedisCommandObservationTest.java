@@ -0,0 +1,73 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCommandObservationTest {
+
+    private ObservationRegistry registry;
+    private final List<Observation.Context> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStart(Observation.Context context) {
+                started.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void command_under_a_service_observation_is_a_child_tagged_with_the_key_pattern() {
+        Observation parent = Observation.start("cart.service", registry);
+        Observation command;
+        try (Observation.Scope scope = parent.openScope()) {
+            command = TimedConnectionFactory.observe(registry,
+                    new CommandArguments(Protocol.Command.HGETALL).key("cart:{3f2a-77}:item:p-17"));
+        } finally {
+            parent.stop();
+        }
+
+        assertThat(command).isNotNull();
+        Observation.Context context = command.getContext();
+        assertThat(context.getParentObservation()).isSameAs(parent);
+        assertThat(context.getContextualName()).isEqualTo("HGETALL");
+        assertThat(context.getLowCardinalityKeyValue("db.redis.key_pattern").getValue()).isEqualTo("cart:*:item:*");
+        assertThat(context.getAllKeyValues().stream().map(kv -> kv.getValue()))
+                .noneMatch(v -> v.contains("3f2a") || v.contains("p-17"));
+        command.stop();
+    }
+
+    @Test
+    void commands_outside_any_observation_are_not_traced() {
+        assertThat(TimedConnectionFactory.observe(registry, new CommandArguments(Protocol.Command.PING))).isNull();
+        assertThat(started).isEmpty();
+    }
+
+    @Test
+    void key_patterns_keep_structure_and_drop_ids() {
+        assertThat(RedisKeyPatterns.of("sess:9C1D0E:meta")).isEqualTo("sess:*:meta");
+        assertThat(RedisKeyPatterns.of("sess:user:alice")).isEqualTo("sess:user:*");
+        assertThat(RedisKeyPatterns.of("cart:idx:counts:{7}")).isEqualTo("cart:idx:counts:*");
+        assertThat(RedisKeyPatterns.of("pcache:12:search:name:red mug")).isEqualTo("pcache:*:search:name:*");
+        assertThat(RedisKeyPatterns.of("pcache:3:list:0:20:*")).isEqualTo("pcache:*:list:*");
+        assertThat(RedisKeyPatterns.of("product:38c844a4".getBytes())).isEqualTo("product:*");
+    }
+}
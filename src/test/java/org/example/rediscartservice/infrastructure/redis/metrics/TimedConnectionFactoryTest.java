@@ -0,0 +1,79 @@
+package org.example.rediscartservice.infrastructure.redis.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.infrastructure.redis.metrics.TimedConnectionFactory.Instruments;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.ConnectionFactory;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPooled;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedConnectionFactoryTest {
+
+    static RespServer server;
+
+    @BeforeAll
+    static void startServer() {
+        server = RespServer.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RedisRequestStats.end();
+    }
+
+    @Test
+    void pools_with_every_instrument_off_get_plain_connections() {
+        assertThat(factory(Instruments.NONE)).isNotInstanceOf(TimedConnectionFactory.class);
+        assertThat(factory(new Instruments(null, null, false, true))).isInstanceOf(TimedConnectionFactory.class);
+        assertThat(factory(new Instruments(new RedisCommandMetrics(new SimpleMeterRegistry()), null, false, false)))
+                .isInstanceOf(TimedConnectionFactory.class);
+    }
+
+    @Test
+    void request_stats_are_fed_only_when_budgets_are_on() {
+        RedisRequestStats withBudget = run(new Instruments(null, null, true, false));
+        assertThat(withBudget.commands()).isEqualTo(2);
+        assertThat(withBudget.roundTrips()).isEqualTo(2);
+
+        RedisRequestStats jfrOnly = run(new Instruments(null, null, false, true));
+        assertThat(jfrOnly.commands()).isZero();
+        assertThat(jfrOnly.roundTrips()).isZero();
+    }
+
+    @Test
+    void command_metrics_are_recorded_without_the_other_instruments() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        run(new Instruments(new RedisCommandMetrics(registry), null, false, false));
+
+        assertThat(registry.find("redis.command.duration").tag("command", "SET").timer()).isNotNull();
+    }
+
+    // ---------- helpers ----------
+
+    private static ConnectionFactory factory(Instruments instruments) {
+        return TimedConnectionFactory.create(new HostAndPort(server.host(), server.port()),
+                DefaultJedisClientConfig.builder().build(), null, instruments);
+    }
+
+    private static RedisRequestStats run(Instruments instruments) {
+        try (JedisPooled jedis = new JedisPooled(factory(instruments))) {
+            RedisRequestStats stats = RedisRequestStats.begin();
+            jedis.set("k", "v");
+            jedis.get("k");
+            RedisRequestStats.end();
+            return stats;
+        }
+    }
+}
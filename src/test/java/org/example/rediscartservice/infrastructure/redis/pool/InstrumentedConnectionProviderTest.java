@@ -0,0 +1,91 @@
+package org.example.rediscartservice.infrastructure.redis.pool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.ConnectionPoolConfig;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedConnectionProviderTest {
+
+    private SimpleMeterRegistry registry;
+    private InstrumentedConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = new SimpleMeterRegistry();
+        ConnectionPoolConfig pool = new ConnectionPoolConfig();
+        pool.setMaxTotal(3);
+        provider = new InstrumentedConnectionProvider(
+                new HostAndPort("localhost", closedPort()),
+                DefaultJedisClientConfig.builder().connectionTimeoutMillis(200).build(),
+                null, pool, 0, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void registers_pool_gauges() {
+        assertThat(registry.get("redis.pool.connections").tag("state", "active").gauge().value()).isZero();
+        assertThat(registry.get("redis.pool.connections").tag("state", "idle").gauge().value()).isZero();
+        assertThat(registry.get("redis.pool.waiters").gauge().value()).isZero();
+        assertThat(registry.get("redis.pool.max").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void failed_borrow_is_timed_and_counted() {
+        assertThatThrownBy(() -> provider.getConnection()).isInstanceOf(RuntimeException.class);
+
+        assertThat(registry.get("redis.pool.borrow.wait").timer().count()).isEqualTo(1);
+        assertThat(registry.get("redis.pool.borrow.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void warm_up_is_best_effort_when_redis_is_down() {
+        assertThat(provider.warmUp(2)).isZero();
+    }
+
+    @Test
+    void borrowers_beyond_max_waiters_fail_fast() throws Exception {
+        ConnectionPoolConfig pool = new ConnectionPoolConfig();
+        pool.setMaxTotal(1);
+        // One connection, held by a blocking socket the test controls
+        try (ServerSocket server = new ServerSocket(0);
+             InstrumentedConnectionProvider guarded = new InstrumentedConnectionProvider(
+                     new HostAndPort("localhost", server.getLocalPort()),
+                     DefaultJedisClientConfig.builder().connectionTimeoutMillis(200).socketTimeoutMillis(200).build(),
+                     null, pool, 1, registry)) {
+            CountDownLatch inBorrow = new CountDownLatch(1);
+            Thread waiter = Thread.ofVirtual().start(() -> {
+                inBorrow.countDown();
+                try { guarded.getConnection(); } catch (RuntimeException ignored) { }
+            });
+            inBorrow.await();
+            Thread.sleep(50);   // let the waiter block inside borrow (connect never completes the handshake)
+
+            assertThatThrownBy(guarded::getConnection).isInstanceOf(JedisConnectionException.class);
+            assertThat(registry.get("redis.pool.borrow.rejected").counter().count()).isEqualTo(1.0);
+            waiter.join();
+        }
+    }
+
+    // A port nothing listens on: bind an ephemeral port, then release it
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
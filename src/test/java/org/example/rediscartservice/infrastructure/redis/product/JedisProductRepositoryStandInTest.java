@@ -0,0 +1,179 @@
+package org.example.rediscartservice.infrastructure.redis.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The real repository end to end over RESP (RedisJSON, RediSearch, EVAL), against the in-process stand-in.
+ */
+class JedisProductRepositoryStandInTest {
+
+    static RespServer server;
+    static JedisPooled jedis;
+
+    JedisProductRepository repository;
+
+    @BeforeAll
+    static void startServer() {
+        server = RespServer.start();
+        jedis = new JedisPooled(server.host(), server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        jedis.close();
+        server.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        server.flushAll();
+        TestRedisIndexHelper.createProductsIndex(jedis);
+        repository = new JedisProductRepository(jedis, new ObjectMapper());
+    }
+
+    @Test
+    void save_then_read_by_id_sku_and_batch() {
+        repository.save(product("1", "SKU-1", "Black Mug", "Stoneware mug", "12.99"));
+        repository.save(product("2", "SKU-2", "Tea Spoon", "Steel spoon", "3.50"));
+
+        assertThat(repository.findById("1")).get().extracting(Product::getName).isEqualTo("Black Mug");
+        assertThat(repository.findBySku("SKU-2")).get().extracting(Product::getId).isEqualTo("2");
+        assertThat(repository.findAllByIds(List.of("2", "missing", "1"))).extracting(Product::getId).containsExactly("2", "1");
+        assertThat(repository.findAllBySkus(List.of("SKU-1", "SKU-9"))).extracting(Product::getId).containsExactly("1");
+    }
+
+    @Test
+    void sku_change_moves_the_pointer_and_delete_drops_it() {
+        repository.save(product("1", "SKU-1", "Black Mug", "Stoneware mug", "12.99"));
+        repository.save(product("1", "SKU-1B", "Black Mug", "Stoneware mug", "12.99"));
+
+        assertThat(jedis.get("sku:SKU-1")).isNull();
+        assertThat(jedis.get("sku:SKU-1B")).isEqualTo("1");
+
+        repository.deleteById("1");
+        assertThat(jedis.exists("sku:SKU-1B")).isFalse();
+        assertThat(repository.findById("1")).isEmpty();
+    }
+
+    @Test
+    void save_and_delete_are_one_round_trip_each_and_keep_pointers_of_other_products() {
+        repository.save(product("1", "SKU-1", "Black Mug", "Stoneware mug", "12.99"));
+        repository.save(product("2", "SKU-2", "Tea Spoon", "Steel spoon", "3.50"));
+        jedis.set("sku:SKU-1", "2");   // SKU-1 has been handed to another product meanwhile
+
+        server.resetCounts();
+        repository.save(product("1", "SKU-1B", "Black Mug", "Stoneware mug", "12.99"));
+        repository.deleteById("2");
+
+        // one EVAL each (the stand-in also counts the redis.call()s made inside the scripts)
+        assertThat(server.commandCounts()).containsEntry("EVAL", 2L).containsEntry("SET", 1L);
+        assertThat(jedis.get("sku:SKU-1")).isEqualTo("2");   // not product 1's pointer any more, left alone
+        assertThat(jedis.get("sku:SKU-1B")).isEqualTo("1");
+        assertThat(jedis.exists("sku:SKU-2")).isFalse();
+    }
+
+    @Test
+    void stale_pointers_are_checked_against_the_document_and_fall_back_to_the_index() {
+        repository.save(product("1", "SKU-1", "Black Mug", "Stoneware mug", "12.99"));
+        repository.save(product("2", "SKU-2", "Tea Spoon", "Steel spoon", "3.50"));
+        jedis.set("sku:SKU-2", "1");   // stale: points to a product with another SKU
+        jedis.set("sku:SKU-GONE", "1");
+
+        assertThat(repository.findBySku("SKU-2")).get().extracting(Product::getId).isEqualTo("2");
+        assertThat(jedis.get("sku:SKU-2")).isEqualTo("2");   // repaired
+        jedis.set("sku:SKU-2", "1");
+        assertThat(repository.findAllBySkus(List.of("SKU-GONE", "SKU-2", "SKU-1")))
+                .extracting(Product::getId).containsExactly("2", "1");
+        assertThat(repository.findBySku("SKU-GONE")).isEmpty();
+    }
+
+    @Test
+    void sku_lookup_falls_back_to_the_index_and_repairs_the_pointer() {
+        repository.save(product("1", "SKU-0001", "Black Mug", "Stoneware mug", "12.99"));
+        jedis.del("sku:SKU-0001");
+
+        assertThat(repository.findBySku("SKU-0001")).get().extracting(Product::getId).isEqualTo("1");
+        assertThat(jedis.get("sku:SKU-0001")).isEqualTo("1");
+    }
+
+    @Test
+    void patch_writes_only_existing_documents() {
+        repository.save(product("1", "SKU-1", "Black Mug", "Stoneware mug", "12.99"));
+
+        assertThat(repository.patch("1", ProductPatch.builder().price(new BigDecimal("9.99")).build())).isTrue();
+        assertThat(repository.patch("missing", ProductPatch.builder().name("x").build())).isFalse();
+        assertThat(repository.patch("1", ProductPatch.builder().build())).isFalse();
+        assertThat(repository.findById("1")).get().extracting(Product::getPrice).isEqualTo(new BigDecimal("9.99"));
+        assertThat(jedis.exists("product:missing")).isFalse();
+    }
+
+    @Test
+    void search_modes_rank_and_project() {
+        repository.save(product("1", "SKU-1", "Black Mug", "Stoneware mug", "12.99"));
+        repository.save(product("2", "SKU-2", "Black Hoodie", "Warm black hoodie", "39.99"));
+        repository.save(product("3", "SKU-3", "Tea Spoon", "Steel spoon", "3.50"));
+
+        assertThat(repository.searchByName("black", SearchMode.EXACT, 1, Set.of()))
+                .extracting(h -> h.getProduct().getId()).containsExactlyInAnyOrder("1", "2");
+        assertThat(repository.searchByDescription("spoon", SearchMode.EXACT, 1, Set.of()))
+                .extracting(h -> h.getProduct().getId()).containsExactly("3");
+
+        List<ProductSearchHit> prefix = repository.searchByName("hoo", SearchMode.PREFIX, 0, Set.of());
+        assertThat(prefix).extracting(h -> h.getProduct().getId()).containsExactly("2");
+
+        List<ProductSearchHit> fuzzy = repository.searchByName("blak", SearchMode.FUZZY, 1,
+                EnumSet.of(ProductField.ID, ProductField.NAME));
+        assertThat(fuzzy).extracting(h -> h.getProduct().getName()).containsExactlyInAnyOrder("Black Mug", "Black Hoodie");
+        assertThat(fuzzy).allSatisfy(h -> {
+            assertThat(h.getScore()).isPositive();
+            assertThat(h.getProduct().getPrice()).isNull();
+        });
+    }
+
+    @Test
+    void findAll_pages_in_a_stable_order_with_optional_projection() {
+        for (int i = 1; i <= 5; i++) {
+            repository.save(product(String.valueOf(i), "SKU-" + i, "Item " + i, "Description " + i, i + ".00"));
+        }
+
+        List<Product> first = repository.findAll(0, 3);
+        List<Product> second = repository.findAll(3, 3);
+        assertThat(first).extracting(Product::getId).containsExactly("1", "2", "3");
+        assertThat(second).extracting(Product::getId).containsExactly("4", "5");
+
+        List<Product> projected = repository.findAll(0, 2, EnumSet.of(ProductField.ID, ProductField.PRICE));
+        // numbers come back normalized (1.00 → 1), as RedisJSON stores them
+        assertThat(projected).extracting(Product::getId, p -> p.getPrice().intValueExact())
+                .containsExactly(tuple("1", 1), tuple("2", 2));
+        assertThat(projected).extracting(Product::getName).containsOnlyNulls();
+    }
+
+    private static Product product(String id, String sku, String name, String description, String price) {
+        return Product.builder()
+                .id(id)
+                .sku(sku)
+                .name(name)
+                .description(description)
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
@@ -2,22 +2,38 @@ package org.example.rediscartservice.infrastructure.redis.product;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
 import org.example.rediscartservice.domain.port.product.ProductRepository;
+import org.example.rediscartservice.infrastructure.redis.replica.ReplicaRouter;
+import org.json.JSONArray;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.clients.jedis.CommandArguments;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.json.JsonProtocol.JsonCommand;
 import redis.clients.jedis.json.Path2;
 import redis.clients.jedis.search.Document;
 import redis.clients.jedis.search.Query;
 import redis.clients.jedis.search.SearchResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -45,15 +61,15 @@ class JedisProductRepositoryTest {
         Product saved = productRepository.save(product);
         assertThat(saved).isEqualTo(product);
 
-        ArgumentCaptor<String> keyCap = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<Path2> pathCap = ArgumentCaptor.forClass(Path2.class);
-        ArgumentCaptor<String> jsonCap = ArgumentCaptor.forClass(String.class);
+        // document + sku pointer in one script call: ARGV = id, sku, json
+        ArgumentCaptor<List<String>> keysCap = ArgumentCaptor.captor();
+        ArgumentCaptor<List<String>> argsCap = ArgumentCaptor.captor();
+        verify(jedis).eval(anyString(), keysCap.capture(), argsCap.capture());
+        verify(jedis, never()).jsonSet(anyString(), any(Path2.class), anyString());
+        assertThat(keysCap.getValue()).containsExactly("product:id-123");
+        assertThat(argsCap.getValue()).startsWith("id-123", "SKU-0001");
 
-        verify(jedis).jsonSet(keyCap.capture(), pathCap.capture(), jsonCap.capture());
-        assertThat(keyCap.getValue()).isEqualTo("product:id-123");
-        assertThat(pathCap.getValue()).isEqualTo(Path2.ROOT_PATH);
-
-        Product roundTrip = objectMapper.readValue(jsonCap.getValue(), Product.class);
+        Product roundTrip = objectMapper.readValue(argsCap.getValue().get(2), Product.class);
         assertThat(roundTrip).isEqualTo(product);
     }
 
@@ -61,7 +77,7 @@ class JedisProductRepositoryTest {
     void findById_returns_product_when_present() throws Exception {
         Product product = product("id-456", "SKU-0002", "Blue Bottle", "Aluminum bottle", new BigDecimal("19.50"));
         String productJson = objectMapper.writeValueAsString(product);
-        when(jedis.jsonGet("product:id-456", Path2.ROOT_PATH)).thenReturn(productJson);
+        stubJson("product:id-456", productJson);
 
         Optional<Product> opt = productRepository.findById("id-456");
 
@@ -71,7 +87,7 @@ class JedisProductRepositoryTest {
 
     @Test
     void findById_returns_empty_when_missing() {
-        when(jedis.jsonGet("product:missing", Path2.ROOT_PATH)).thenReturn(null);
+        stubJson("product:missing", null);
 
         Optional<Product> productOptional = productRepository.findById("missing");
 
@@ -79,9 +95,164 @@ class JedisProductRepositoryTest {
     }
 
     @Test
-    void deleteById_deletes_key() {
+    void findAllByIds_uses_single_mget_and_skips_missing() throws Exception {
+        Product product = product("id-1", "SKU-1", "Mug", "Stoneware", new BigDecimal("9.99"));
+        List<Object> replies = new java.util.ArrayList<>();
+        replies.add(bytes("[" + objectMapper.writeValueAsString(product) + "]"));
+        replies.add(null);
+        when(jedis.executeCommand(argThat(command(JsonCommand.MGET, "product:id-1", "product:id-2")))).thenReturn(replies);
+
+        List<Product> result = productRepository.findAllByIds(List.of("id-1", "id-2"));
+
+        assertThat(result).containsExactly(product);
+        verify(jedis, never()).executeCommand(argThat(command(JsonCommand.GET)));
+    }
+
+    @Test
+    void deleteById_deletes_key_and_pointer_in_one_script_call() {
         productRepository.deleteById("id-789");
-        verify(jedis).del("product:id-789");
+        verify(jedis).eval(anyString(), eq(List.of("product:id-789")), eq(List.of("id-789", "")));
+        verifyNoMoreInteractions(jedis);
+    }
+
+    // ---- projection ----
+
+    @Test
+    void findAll_with_fields_returns_paths_from_search_reply_without_json_get() {
+        Document document = new Document("product:id-7", Map.of("name", "Mug", "price", "12.5"), 1.0);
+        SearchResult sr = mock(SearchResult.class);
+        when(sr.getDocuments()).thenReturn(List.of(document));
+        ArgumentCaptor<Query> queryCap = ArgumentCaptor.forClass(Query.class);
+        when(jedis.ftSearch(eq("idx:products"), queryCap.capture())).thenReturn(sr);
+
+        List<Product> result = productRepository.findAll(0, 100,
+                EnumSet.of(ProductField.ID, ProductField.NAME, ProductField.PRICE));
+
+        assertThat(result).hasSize(1);
+        Product p = result.get(0);
+        assertThat(p.getId()).isEqualTo("id-7");
+        assertThat(p.getName()).isEqualTo("Mug");
+        assertThat(p.getPrice()).isEqualByComparingTo("12.5");
+        assertThat(p.getDescription()).isNull();
+        assertThat(p.getSku()).isNull();
+        assertThat((Object[]) ReflectionTestUtils.getField(queryCap.getValue(), "returnFieldNames")).hasSize(2);
+        verify(jedis, never()).executeCommand(any(CommandArguments.class));
+    }
+
+    @Test
+    void projected_search_unquotes_json_strings_and_keeps_scores() {
+        Document document = new Document("product:id-8", Map.of("name", "\"Red \\\"Mug\\\"\""), 2.0);
+        SearchResult sr = mock(SearchResult.class);
+        when(sr.getDocuments()).thenReturn(List.of(document));
+        when(jedis.ftSearch(eq("idx:products"), any(Query.class))).thenReturn(sr);
+
+        List<ProductSearchHit> hits = productRepository.searchByName("red", SearchMode.EXACT, 1, EnumSet.of(ProductField.NAME));
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getProduct().getName()).isEqualTo("Red \"Mug\"");
+        assertThat(hits.get(0).getProduct().getId()).isNull();
+        assertThat(hits.get(0).getScore()).isEqualTo(2.0);
+    }
+
+    // ---- patch ----
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void patch_writes_only_given_paths_in_one_script_call() {
+        when(jedis.eval(anyString(), anyList(), anyList())).thenReturn(1L);
+
+        boolean written = productRepository.patch("id-9", ProductPatch.builder()
+                .name("Renamed")
+                .price(new BigDecimal("7.50"))
+                .build());
+
+        assertThat(written).isTrue();
+        ArgumentCaptor<List<String>> keysCap = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> argsCap = ArgumentCaptor.forClass(List.class);
+        verify(jedis).eval(anyString(), keysCap.capture(), argsCap.capture());
+        assertThat(keysCap.getValue()).containsExactly("product:id-9");
+        assertThat(argsCap.getValue()).containsExactly("$.name", "\"Renamed\"", "$.price", "7.50");
+        verify(jedis, never()).executeCommand(any(CommandArguments.class));
+        verify(jedis, never()).jsonSet(anyString(), any(Path2.class), anyString());
+    }
+
+    @Test
+    void patch_reports_missing_product() {
+        when(jedis.eval(anyString(), anyList(), anyList())).thenReturn(0L);
+
+        assertThat(productRepository.patch("gone", ProductPatch.builder().price(BigDecimal.ONE).build())).isFalse();
+    }
+
+    @Test
+    void empty_patch_skips_redis() {
+        assertThat(productRepository.patch("id-9", ProductPatch.builder().build())).isFalse();
+        verifyNoInteractions(jedis);
+    }
+
+    // ---- SKU pointer ----
+
+    @Test
+    void save_without_sku_passes_an_empty_sku() {
+        productRepository.save(product("id-1", null, "Mug", "d", new BigDecimal("1.00")));
+
+        ArgumentCaptor<List<String>> argsCap = ArgumentCaptor.captor();
+        verify(jedis).eval(anyString(), eq(List.of("product:id-1")), argsCap.capture());
+        assertThat(argsCap.getValue()).startsWith("id-1", "");
+    }
+
+    @Test
+    void findBySku_follows_pointer() throws Exception {
+        Product product = product("id-3", "SKU-3", "Cap", "d", new BigDecimal("5.00"));
+        when(jedis.get("sku:SKU-3")).thenReturn("id-3");
+        stubJson("product:id-3", objectMapper.writeValueAsString(product));
+
+        assertThat(productRepository.findBySku("SKU-3")).contains(product);
+        verify(jedis, never()).ftSearch(anyString(), any(Query.class));
+    }
+
+    @Test
+    void findBySku_with_pointer_to_another_sku_falls_back_to_index() throws Exception {
+        Product other = product("id-3", "SKU-OTHER", "Cap", "d", new BigDecimal("5.00"));
+        Product wanted = product("id-7", "SKU-7", "Hat", "d", new BigDecimal("6.00"));
+        when(jedis.get("sku:SKU-7")).thenReturn("id-3");
+        stubJson("product:id-3", objectMapper.writeValueAsString(other));
+        Document document = mock(Document.class);
+        when(document.getId()).thenReturn("product:id-7");
+        SearchResult sr = mock(SearchResult.class);
+        when(sr.getDocuments()).thenReturn(List.of(document));
+        when(jedis.ftSearch(eq("idx:products"), any(Query.class))).thenReturn(sr);
+        stubJson("product:id-7", objectMapper.writeValueAsString(wanted));
+
+        assertThat(productRepository.findBySku("SKU-7")).contains(wanted);
+        verify(jedis).set("sku:SKU-7", "id-7");
+    }
+
+    @Test
+    void findBySku_without_pointer_uses_tag_index_and_repairs_pointer() throws Exception {
+        Product product = product("id-4", "SKU 4", "Cap", "d", new BigDecimal("5.00"));
+        Document document = mock(Document.class);
+        when(document.getId()).thenReturn("product:id-4");
+        SearchResult sr = mock(SearchResult.class);
+        when(sr.getDocuments()).thenReturn(List.of(document));
+        ArgumentCaptor<Query> queryCap = ArgumentCaptor.forClass(Query.class);
+        when(jedis.ftSearch(eq("idx:products"), queryCap.capture())).thenReturn(sr);
+        stubJson("product:id-4", objectMapper.writeValueAsString(product));
+
+        assertThat(productRepository.findBySku("SKU 4")).contains(product);
+        assertThat(ReflectionTestUtils.getField(queryCap.getValue(), "_queryString")).isEqualTo("@sku:{SKU\\ 4}");
+        verify(jedis).set("sku:SKU 4", "id-4");
+    }
+
+    @Test
+    void findAllBySkus_resolves_pointers_then_mgets_documents() throws Exception {
+        Product product = product("id-5", "SKU-5", "Cap", "d", new BigDecimal("5.00"));
+        when(jedis.mget("sku:SKU-5", "sku:NOPE")).thenReturn(java.util.Arrays.asList("id-5", null));
+        when(jedis.executeCommand(argThat(command(JsonCommand.MGET, "product:id-5"))))
+                .thenReturn(List.of(bytes("[" + objectMapper.writeValueAsString(product) + "]")));
+
+        when(jedis.ftSearch(eq("idx:products"), any(Query.class))).thenReturn(mock(SearchResult.class));
+
+        assertThat(productRepository.findAllBySkus(List.of("SKU-5", "NOPE"))).containsExactly(product);
     }
 
     @Test
@@ -99,12 +270,12 @@ class JedisProductRepositoryTest {
         when(searchResult.getDocuments()).thenReturn(List.of(document1, document2));
         when(jedis.ftSearch(eq("idx:products"), any(Query.class))).thenReturn(searchResult);
 
-        when(jedis.jsonGet("product:id-100", Path2.ROOT_PATH)).thenReturn(objectMapper.writeValueAsString(product1));
-        when(jedis.jsonGet("product:id-101", Path2.ROOT_PATH)).thenReturn(objectMapper.writeValueAsString(product2));
+        stubJson("product:id-100", objectMapper.writeValueAsString(product1));
+        stubJson("product:id-101", objectMapper.writeValueAsString(product2));
 
-        List<Product> result = productRepository.searchByName("Red");
+        List<ProductSearchHit> result = productRepository.searchByName("Red", SearchMode.EXACT, 1, Set.of());
 
-        assertThat(result).containsExactly(product1, product2);
+        assertThat(result).extracting(ProductSearchHit::getProduct).containsExactly(product1, product2);
         verify(jedis).ftSearch(eq("idx:products"), any(Query.class));
     }
 
@@ -122,16 +293,113 @@ class JedisProductRepositoryTest {
         when(sr.getDocuments()).thenReturn(List.of(document1, document2));
         when(jedis.ftSearch(eq("idx:products"), any(Query.class))).thenReturn(sr);
 
-        when(jedis.jsonGet("product:id-200", Path2.ROOT_PATH)).thenReturn(objectMapper.writeValueAsString(product1));
-        when(jedis.jsonGet("product:id-201", Path2.ROOT_PATH)).thenReturn(objectMapper.writeValueAsString(product2));
+        stubJson("product:id-200", objectMapper.writeValueAsString(product1));
+        stubJson("product:id-201", objectMapper.writeValueAsString(product2));
 
-        List<Product> result = productRepository.searchByDescription("Cotton");
+        List<ProductSearchHit> result = productRepository.searchByDescription("Cotton", SearchMode.EXACT, 1, Set.of());
 
-        assertThat(result).containsExactly(product1, product2);
+        assertThat(result).extracting(ProductSearchHit::getProduct).containsExactly(product1, product2);
         verify(jedis).ftSearch(eq("idx:products"), any(Query.class));
     }
 
+    @Test
+    void searchByName_fuzzy_scopes_terms_to_field_and_returns_scores() throws Exception {
+        Product product = product("id-300", "SKU-0300", "Grey Hoodie", "Fleece", new BigDecimal("39.00"));
+
+        Document document = mock(Document.class);
+        when(document.getId()).thenReturn("product:id-300");
+        when(document.getScore()).thenReturn(1.5);
+
+        SearchResult sr = mock(SearchResult.class);
+        when(sr.getDocuments()).thenReturn(List.of(document));
+        ArgumentCaptor<Query> queryCap = ArgumentCaptor.forClass(Query.class);
+        when(jedis.ftSearch(eq("idx:products"), queryCap.capture())).thenReturn(sr);
+        stubJson("product:id-300", objectMapper.writeValueAsString(product));
+
+        List<ProductSearchHit> hits = productRepository.searchByName("grey hoodei", SearchMode.FUZZY, 1, Set.of());
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getProduct()).isEqualTo(product);
+        assertThat(hits.get(0).getScore()).isEqualTo(1.5);
+        assertThat(ReflectionTestUtils.getField(queryCap.getValue(), "_queryString")).isEqualTo("@name:(%grey% %hoodei%)");
+        assertThat(queryCap.getValue().getWithScores()).isTrue();
+    }
+
+    @Test
+    void scored_search_with_blank_query_skips_redis() {
+        assertThat(productRepository.searchByDescription("   ", SearchMode.PREFIX, 1, Set.of())).isEmpty();
+        verifyNoInteractions(jedis);
+    }
+
+    @Test
+    void findById_falls_back_to_normalize_for_non_bulk_replies() throws Exception {
+        Product product = product("id-600", "SKU-0600", "Lamp", "Desk lamp", new BigDecimal("25.00"));
+        when(jedis.executeCommand(argThat(command(JsonCommand.GET, "product:id-600"))))
+                .thenReturn(new JSONArray("[" + objectMapper.writeValueAsString(product) + "]"));
+
+        assertThat(productRepository.findById("id-600")).contains(product);
+    }
+
+    @Test
+    void with_a_replica_reads_go_to_it_and_writes_plus_pointer_repair_stay_on_primary() throws Exception {
+        JedisPooled replica = mock(JedisPooled.class);
+        AtomicLong now = new AtomicLong(1_000);
+        ReplicaRouter router = new ReplicaRouter(jedis, List.of(replica), Duration.ofSeconds(15), Duration.ofSeconds(2), now::get);
+        when(replica.info("replication")).thenReturn("role:slave\r\nmaster_link_status:up\r\nmaster_last_io_seconds_ago:1\r\n");
+        router.refresh();
+        ProductRepository repository = new JedisProductRepository(jedis, objectMapper, router);
+
+        Product product = product("id-9", "SKU-9", "Cap", "d", new BigDecimal("5.00"));
+        Document document = mock(Document.class);
+        when(document.getId()).thenReturn("product:id-9");
+        SearchResult sr = mock(SearchResult.class);
+        when(sr.getDocuments()).thenReturn(List.of(document));
+        when(replica.ftSearch(eq("idx:products"), any(Query.class))).thenReturn(sr);
+        when(replica.executeCommand(argThat(command(JsonCommand.GET, "product:id-9"))))
+                .thenReturn(bytes("[" + objectMapper.writeValueAsString(product) + "]"));
+
+        assertThat(repository.findBySku("SKU-9")).contains(product);
+        verify(replica).get("sku:SKU-9");
+        verify(jedis).set("sku:SKU-9", "id-9");
+
+        // read-your-writes: right after a write the next read is served by the primary
+        repository.deleteById("id-9");
+        repository.findBySku("SKU-9");
+        verify(jedis).get("sku:SKU-9");
+        verify(replica, times(1)).get("sku:SKU-9");
+    }
+
+    @Test
+    void existence_check_before_a_write_skips_a_usable_replica() {
+        JedisPooled replica = mock(JedisPooled.class);
+        ReplicaRouter router = new ReplicaRouter(jedis, List.of(replica), Duration.ofSeconds(15), Duration.ofSeconds(2), () -> 1_000L);
+        when(replica.info("replication")).thenReturn("role:slave\r\nmaster_link_status:up\r\nmaster_last_io_seconds_ago:1\r\n");
+        router.refresh();
+        when(jedis.exists("product:id-9")).thenReturn(true);
+
+        assertThat(new JedisProductRepository(jedis, objectMapper, router).existsById("id-9")).isTrue();
+        verify(replica, never()).exists(anyString());
+    }
+
     // ---- helpers ----
+    // JSON.GET key $ replies with the document wrapped in a single-element array
+    private void stubJson(String key, String json) {
+        when(jedis.executeCommand(argThat(command(JsonCommand.GET, key))))
+                .thenReturn(json == null ? null : bytes("[" + json + "]"));
+    }
+
+    // Matches a raw command by name and, if given, its declared keys (in order)
+    private static ArgumentMatcher<CommandArguments> command(ProtocolCommand cmd, String... keys) {
+        return args -> args != null && args.getCommand() == cmd
+                && (keys.length == 0 || args.getKeys().stream()
+                        .map(k -> k instanceof byte[] b ? new String(b, java.nio.charset.StandardCharsets.UTF_8) : String.valueOf(k))
+                        .toList().equals(List.of(keys)));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    }
+
     private static Product product(String id, String sku, String name, String desc, BigDecimal price) {
         return Product.builder()
                 .id(id)
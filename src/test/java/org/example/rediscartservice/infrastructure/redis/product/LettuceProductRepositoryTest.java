@@ -0,0 +1,80 @@
+package org.example.rediscartservice.infrastructure.redis.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Lettuce read side against the in-process stand-in, with documents written by the Jedis repository.
+ */
+class LettuceProductRepositoryTest {
+
+    static RespServer server;
+    static JedisPooled jedis;
+    static RedisClient client;
+    static StatefulRedisConnection<String, String> connection;
+
+    LettuceProductRepository repository;
+
+    @BeforeAll
+    static void startServer() {
+        server = RespServer.start();
+        jedis = new JedisPooled(server.host(), server.port());
+        client = RedisClient.create(RedisURI.create(server.host(), server.port()));
+        connection = client.connect();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        connection.close();
+        client.shutdown();
+        jedis.close();
+        server.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        server.flushAll();
+        TestRedisIndexHelper.createProductsIndex(jedis);
+        JedisProductRepository writer = new JedisProductRepository(jedis, new ObjectMapper());
+        writer.save(product("1", "Black Mug", "12.99"));
+        writer.save(product("2", "Tea Spoon", "3.50"));
+        repository = new LettuceProductRepository(connection.async(), new ObjectMapper());
+    }
+
+    @Test
+    void findById_binds_the_document_and_misses_are_empty() {
+        assertThat(repository.findById("1").toCompletableFuture().join())
+                .get().extracting(Product::getName).isEqualTo("Black Mug");
+        assertThat(repository.findById("missing").toCompletableFuture().join()).isEmpty();
+    }
+
+    @Test
+    void findAllByIds_is_one_mget_that_skips_missing_ids_and_keeps_order() {
+        server.resetCounts();
+
+        List<Product> found = repository.findAllByIds(List.of("2", "missing", "1")).toCompletableFuture().join();
+
+        assertThat(found).extracting(Product::getId).containsExactly("2", "1");
+        assertThat(server.commandCounts()).containsEntry("JSON.MGET", 1L).containsEntry("JSON.GET", 0L);
+    }
+
+    // ---------- helpers ----------
+
+    private static Product product(String id, String name, String price) {
+        return Product.builder().id(id).sku("SKU-" + id).name(name).description(name).price(new BigDecimal(price)).build();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.rediscartservice.infrastructure.redis.replica;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReplicaRouterTest {
+
+    private static final String FRESH = "# Replication\r\nrole:slave\r\nmaster_link_status:up\r\nmaster_last_io_seconds_ago:1\r\n";
+
+    private UnifiedJedis primary;
+    private UnifiedJedis replicaA;
+    private UnifiedJedis replicaB;
+    private AtomicLong now;
+    private ReplicaRouter router;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(UnifiedJedis.class);
+        replicaA = mock(UnifiedJedis.class);
+        replicaB = mock(UnifiedJedis.class);
+        now = new AtomicLong(10_000);
+        router = new ReplicaRouter(primary, List.of(replicaA, replicaB),
+                Duration.ofSeconds(5), Duration.ofSeconds(2), now::get);
+    }
+
+    @Test
+    void primaryOnly_always_reads_from_primary() {
+        ReplicaRouter only = ReplicaRouter.primaryOnly(primary);
+        only.afterWrite();
+
+        assertThat(only.reader()).isSameAs(primary);
+    }
+
+    @Test
+    void replicas_are_out_of_rotation_until_the_first_health_check() {
+        assertThat(router.reader()).isSameAs(primary);
+    }
+
+    @Test
+    void healthy_replicas_are_used_round_robin() {
+        when(replicaA.info("replication")).thenReturn(FRESH);
+        when(replicaB.info("replication")).thenReturn(FRESH);
+        router.refresh();
+
+        assertThat(List.of(router.reader(), router.reader(), router.reader(), router.reader()))
+                .containsExactly(replicaA, replicaB, replicaA, replicaB);
+    }
+
+    @Test
+    void stale_or_unreachable_replicas_leave_rotation() {
+        when(replicaA.info("replication")).thenReturn(FRESH.replace("io_seconds_ago:1", "io_seconds_ago:9"));
+        when(replicaB.info("replication")).thenThrow(new JedisConnectionException("down"));
+        router.refresh();
+
+        assertThat(router.reader()).isSameAs(primary);
+
+        when(replicaA.info("replication")).thenReturn(FRESH);
+        router.refresh();
+        assertThat(router.reader()).isSameAs(replicaA);
+        assertThat(router.reader()).isSameAs(replicaA);
+    }
+
+    @Test
+    void reads_stay_on_primary_for_the_read_your_writes_window_after_a_write() {
+        when(replicaA.info("replication")).thenReturn(FRESH);
+        when(replicaB.info("replication")).thenReturn(FRESH);
+        router.refresh();
+
+        router.afterWrite();
+        now.addAndGet(1_999);
+        assertThat(router.reader()).isSameAs(primary);
+
+        now.addAndGet(1);
+        assertThat(router.reader()).isIn(replicaA, replicaB);
+    }
+
+    @Test
+    void isFresh_requires_replica_role_link_up_and_recent_io() {
+        assertThat(ReplicaRouter.isFresh(FRESH, 5)).isTrue();
+        assertThat(ReplicaRouter.isFresh(FRESH.replace("link_status:up", "link_status:down"), 5)).isFalse();
+        assertThat(ReplicaRouter.isFresh(FRESH.replace("role:slave", "role:master"), 5)).isFalse();
+        assertThat(ReplicaRouter.isFresh(FRESH.replace("io_seconds_ago:1", "io_seconds_ago:-1"), 5)).isFalse();
+        assertThat(ReplicaRouter.isFresh(null, 5)).isFalse();
+    }
+
+    @Test
+    void close_closes_replicas_but_not_the_primary() {
+        router.close();
+
+        verify(replicaA).close();
+        verify(replicaB).close();
+        verify(primary, never()).close();
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.rediscartservice.infrastructure.redis.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void routing_is_deterministic_for_the_same_node_names() {
+        ConsistentHashRing<String> a = ring(4);
+        ConsistentHashRing<String> b = ring(4);
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "cart-" + i;
+            assertThat(a.nodeFor(key)).isEqualTo(b.nodeFor(key));
+        }
+    }
+
+    @Test
+    void placement_is_pinned_so_every_node_and_release_routes_alike() {
+        // Changing the hash function moves carts between shards: these must never change
+        assertThat(ConsistentHashRing.hash("The quick brown fox jumps over the lazy dog")).isEqualTo(0xe34bbc7bbc071b6cL);
+        ConsistentHashRing<String> ring = ring(4);
+
+        assertThat(ring.nodeFor("session-1")).isEqualTo("redis-3:6379");
+        assertThat(ring.nodeFor("session-2")).isEqualTo("redis-0:6379");
+        assertThat(ring.nodeFor("session-4")).isEqualTo("redis-2:6379");
+        assertThat(ring.nodeFor("session-8")).isEqualTo("redis-1:6379");
+    }
+
+    @Test
+    void virtual_nodes_spread_keys_evenly() {
+        ConsistentHashRing<String> ring = ring(4);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor(UUID.nameUUIDFromBytes(("k" + i).getBytes()).toString()), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        // ideal share is 25%; 160 points per node keeps every node well inside ±8 points
+        counts.values().forEach(n -> assertThat(n).isBetween(KEYS * 17 / 100, KEYS * 33 / 100));
+    }
+
+    @Test
+    void adding_a_node_moves_about_one_nth_of_the_keys_and_only_to_the_new_node() {
+        ConsistentHashRing<String> before = ring(4);
+        ConsistentHashRing<String> after = ring(5);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = UUID.nameUUIDFromBytes(("k" + i).getBytes()).toString();
+            String from = before.nodeFor(key);
+            String to = after.nodeFor(key);
+            if (!from.equals(to)) {
+                moved++;
+                assertThat(to).isEqualTo("redis-4:6379");
+            }
+        }
+        assertThat((double) moved / KEYS).isBetween(0.12, 0.28);   // ideal: 1/5
+    }
+
+    @Test
+    void rejects_an_empty_ring() {
+        assertThatThrownBy(() -> new ConsistentHashRing<>(Map.of(), 160))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ---------- helpers ----------
+
+    private static ConsistentHashRing<String> ring(int nodes) {
+        Map<String, String> byName = new LinkedHashMap<>();
+        for (int i = 0; i < nodes; i++) {
+            byName.put("redis-" + i + ":6379", "redis-" + i + ":6379");
+        }
+        return new ConsistentHashRing<>(byName, 160);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.rediscartservice.infrastructure.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+import org.springframework.session.events.SessionExpiredEvent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySessionOwnerRegistryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void entries_expire_after_ttl_without_access_and_lookups_slide_it() {
+        InMemorySessionOwnerRegistry registry = new InMemorySessionOwnerRegistry(10, Duration.ofMinutes(30), true, now::get);
+        registry.register("s1", "alice");
+        registry.register("s2", "bob");
+
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        assertThat(registry.findUsernameBySessionId("s1")).contains("alice");
+
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        assertThat(registry.findUsernameBySessionId("s1")).contains("alice");
+        assertThat(registry.findUsernameBySessionId("s2")).isEmpty();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void near_cache_variant_keeps_a_fixed_lifetime() {
+        InMemorySessionOwnerRegistry registry = new InMemorySessionOwnerRegistry(10, Duration.ofSeconds(5), false, now::get);
+        registry.register("s1", "alice");
+
+        now.addAndGet(3_000);
+        assertThat(registry.findUsernameBySessionId("s1")).contains("alice");
+        now.addAndGet(3_000);
+        assertThat(registry.findUsernameBySessionId("s1")).isEmpty();
+    }
+
+    @Test
+    void size_stays_bounded_when_full() {
+        InMemorySessionOwnerRegistry registry = new InMemorySessionOwnerRegistry(100, Duration.ofMinutes(30), true, now::get);
+        for (int i = 0; i < 1_000; i++) {
+            registry.register("s" + i, "user" + i);
+        }
+
+        assertThat(registry.size()).isEqualTo(100);
+    }
+
+    @Test
+    void touch_keeps_an_active_session_registered() {
+        InMemorySessionOwnerRegistry registry = new InMemorySessionOwnerRegistry(10, Duration.ofMinutes(30), true, now::get);
+        registry.register("s1", "alice");
+
+        for (int i = 0; i < 3; i++) {
+            now.addAndGet(Duration.ofMinutes(20).toMillis());
+            registry.touch("s1", "alice");
+        }
+
+        assertThat(registry.findUsernameBySessionId("s1")).contains("alice");
+    }
+
+    @Test
+    void blank_users_are_ignored_and_session_expiry_events_evict() {
+        InMemorySessionOwnerRegistry registry = new InMemorySessionOwnerRegistry(10, Duration.ofMinutes(30), true, now::get);
+        registry.register("s0", " ");
+        registry.register("s1", "alice");
+        assertThat(registry.findUsernameBySessionId("s0")).isEmpty();
+
+        MapSession session = new MapSession("s1");
+        new SessionOwnerExpiryListener(registry).onSessionDestroyed(new SessionExpiredEvent(this, session));
+
+        assertThat(registry.findUsernameBySessionId("s1")).isEmpty();
+        assertThat(registry.size()).isZero();
+    }
+}
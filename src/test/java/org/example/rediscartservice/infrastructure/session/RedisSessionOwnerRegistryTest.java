@@ -0,0 +1,118 @@
+package org.example.rediscartservice.infrastructure.session;
+
+import org.example.rediscartservice.support.resp.RespServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes (two registries with their own near cache) sharing the in-process RESP stand-in.
+ */
+class RedisSessionOwnerRegistryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Duration NEAR_TTL = Duration.ofSeconds(5);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private RespServer server;
+    private JedisPooled jedis;
+    private RedisSessionOwnerRegistry nodeA;
+    private RedisSessionOwnerRegistry nodeB;
+
+    @BeforeEach
+    void setUp() {
+        server = RespServer.start(0, now::get);
+        jedis = new JedisPooled(server.host(), server.port());
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jedis.close();
+        server.close();
+    }
+
+    @Test
+    void owner_registered_on_one_node_is_seen_by_another_with_one_read_per_near_cache_lifetime() {
+        nodeA.register("s1", "alice");
+        assertThat(jedis.pttl("sess:owner:s1")).isEqualTo(TTL.toMillis());
+
+        server.resetCounts();
+        assertThat(nodeB.findUsernameBySessionId("s1")).contains("alice");
+        assertThat(nodeB.findUsernameBySessionId("s1")).contains("alice");
+        assertThat(nodeA.findUsernameBySessionId("s1")).contains("alice");
+        assertThat(server.commandCounts()).containsEntry("GETEX", 1L);
+        assertThat(server.totalCommands()).isEqualTo(1);
+    }
+
+    @Test
+    void reads_slide_the_shared_ttl() {
+        nodeA.register("s1", "alice");
+
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        assertThat(nodeB.findUsernameBySessionId("s1")).contains("alice");
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+
+        assertThat(jedis.get("sess:owner:s1")).isEqualTo("alice");
+        assertThat(nodeA.findUsernameBySessionId("s1")).contains("alice");
+        now.addAndGet(TTL.toMillis());
+        assertThat(nodeB.findUsernameBySessionId("s1")).isEmpty();
+    }
+
+    @Test
+    void activity_slides_the_shared_ttl_once_per_near_cache_lifetime() {
+        nodeA.register("s1", "alice");
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+
+        server.resetCounts();
+        nodeA.touch("s1", "alice");
+        nodeA.touch("s1", "alice");
+        now.addAndGet(1_000);
+        nodeA.touch("s1", "alice");
+
+        assertThat(server.commandCounts()).containsEntry("SET", 1L);
+        assertThat(server.totalCommands()).isEqualTo(1);
+        assertThat(jedis.pttl("sess:owner:s1")).isEqualTo(TTL.toMillis() - 1_000);
+
+        now.addAndGet(NEAR_TTL.toMillis());
+        nodeA.touch("s1", "alice");
+        assertThat(jedis.pttl("sess:owner:s1")).isEqualTo(TTL.toMillis());
+    }
+
+    @Test
+    void eviction_reaches_other_nodes_once_their_near_cache_entry_ages_out() {
+        nodeA.register("s1", "alice");
+        assertThat(nodeB.findUsernameBySessionId("s1")).contains("alice");
+
+        nodeA.evict("s1");
+
+        assertThat(nodeA.findUsernameBySessionId("s1")).isEmpty();
+        assertThat(nodeB.findUsernameBySessionId("s1")).contains("alice");
+        now.addAndGet(NEAR_TTL.toMillis());
+        assertThat(nodeB.findUsernameBySessionId("s1")).isEmpty();
+    }
+
+    @Test
+    void near_cache_still_answers_when_redis_is_down() {
+        nodeA.register("s1", "alice");
+        server.close();
+
+        assertThat(nodeA.findUsernameBySessionId("s1")).contains("alice");
+        assertThat(nodeB.findUsernameBySessionId("s1")).isEmpty();
+        nodeA.register("s2", "bob");
+        assertThat(nodeA.findUsernameBySessionId("s2")).contains("bob");
+    }
+
+    // ---------- helpers ----------
+
+    private RedisSessionOwnerRegistry node() {
+        return new RedisSessionOwnerRegistry(jedis, TTL, new InMemorySessionOwnerRegistry(1000, NEAR_TTL, false, now::get));
+    }
+}
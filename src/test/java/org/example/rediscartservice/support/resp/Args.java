@@ -0,0 +1,87 @@
+package org.example.rediscartservice.support.resp;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command arguments as received. Every argument is a byte string held as an ISO-8859-1
+ * {@link String} (one char per byte), so binary values round-trip unchanged; use
+ * {@link RespProtocol#utf8} where the text itself matters (JSON, search).
+ */
+final class Args {
+
+    private final List<String> values;
+
+    Args(List<String> values) {
+        this.values = values;
+    }
+
+    /** Upper-cased command name, e.g. {@code HSET} or {@code JSON.GET}. */
+    String name() {
+        return values.getFirst().toUpperCase(Locale.ROOT);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    String get(int i) {
+        if (i >= values.size()) throw RespError.syntax();
+        return values.get(i);
+    }
+
+    /** Arguments from {@code from} (inclusive) to the end. */
+    List<String> from(int from) {
+        return values.subList(Math.min(from, values.size()), values.size());
+    }
+
+    boolean is(int i, String keyword) {
+        return i < values.size() && values.get(i).equalsIgnoreCase(keyword);
+    }
+
+    long longAt(int i) {
+        try {
+            return Long.parseLong(get(i));
+        } catch (NumberFormatException e) {
+            throw RespError.notInteger();
+        }
+    }
+
+    int intAt(int i) {
+        long value = longAt(i);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw RespError.notInteger();
+        return (int) value;
+    }
+
+    double doubleAt(int i) {
+        return parseDouble(get(i));
+    }
+
+    /** Fails with the standard arity error unless at least {@code min} values (name included) are present. */
+    Args atLeast(int min) {
+        if (values.size() < min) throw RespError.wrongArity(values.getFirst());
+        return this;
+    }
+
+    /** Fails with the standard arity error unless exactly {@code count} values (name included) are present. */
+    Args exactly(int count) {
+        if (values.size() != count) throw RespError.wrongArity(values.getFirst());
+        return this;
+    }
+
+    static double parseDouble(String raw) {
+        switch (raw.toLowerCase(Locale.ROOT)) {
+            case "inf", "+inf" -> { return Double.POSITIVE_INFINITY; }
+            case "-inf" -> { return Double.NEGATIVE_INFINITY; }
+            default -> {
+                try {
+                    double d = Double.parseDouble(raw);
+                    if (Double.isNaN(d)) throw RespError.notFloat();
+                    return d;
+                } catch (NumberFormatException e) {
+                    throw RespError.notFloat();
+                }
+            }
+        }
+    }
+}
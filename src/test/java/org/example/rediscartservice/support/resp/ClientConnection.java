@@ -0,0 +1,46 @@
+package org.example.rediscartservice.support.resp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * One client socket as the server sees it: the protocol picked with HELLO and the output stream
+ * shared by its replies and by invalidation pushes written from other connections' threads.
+ */
+final class ClientConnection {
+
+    private final OutputStream out;
+    private volatile int protocol = 2;
+
+    ClientConnection(OutputStream out) {
+        this.out = out;
+    }
+
+    boolean resp3() {
+        return protocol == 3;
+    }
+
+    void protocol(int version) {
+        this.protocol = version;
+    }
+
+    /** Buffers a reply; {@link #flush()} sends it. */
+    synchronized void reply(Object reply) throws IOException {
+        RespProtocol.write(out, reply, resp3());
+    }
+
+    synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    /** Writes and flushes a RESP3 push right away; a broken socket is left for the reply path to notice. */
+    synchronized void push(List<?> message) {
+        try {
+            RespProtocol.writePush(out, message);
+            out.flush();
+        } catch (IOException ignored) {
+            // the client's own read loop sees the closed socket
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.rediscartservice.support.resp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CLIENT TRACKING in its default mode (no BCAST, OPTIN, NOLOOP or REDIRECT) for RESP3 connections:
+ * keys read by a tracking connection are remembered, and the next write to one of them pushes
+ * {@code invalidate [key]} to that connection and forgets the key, as Redis does. FLUSHALL and
+ * FLUSHDB push a null invalidation. Keys expiring on their own send nothing here.
+ *
+ * Key positions are the stand-in's own table, not Redis' key specs: scripts are tracked through the
+ * commands they run. Not thread-safe: the server calls it under its command lock.
+ */
+final class ClientTracking {
+
+    private static final Set<String> WRITES = Set.of(
+            "DEL", "UNLINK", "EXPIRE", "PEXPIRE", "EXPIREAT", "PEXPIREAT", "PERSIST", "RENAME",
+            "SET", "GETEX", "MSET", "INCR", "INCRBY", "DECR", "DECRBY",
+            "HSET", "HMSET", "HSETNX", "HDEL", "HINCRBY", "HPEXPIRE", "HEXPIRE",
+            "SADD", "SREM", "ZADD", "ZINCRBY", "ZREM", "ZREMRANGEBYSCORE",
+            "JSON.SET", "JSON.DEL", "JSON.FORGET");
+    private static final Set<String> KEYLESS = Set.of(
+            "PING", "ECHO", "SELECT", "AUTH", "CLIENT", "HELLO", "INFO", "COMMAND", "CONFIG", "DBSIZE",
+            "KEYS", "SCAN", "MEMORY", "EVAL", "EVALSHA", "SCRIPT", "QUIT", "RESET");
+    private static final Set<String> FLUSHES = Set.of("FLUSHALL", "FLUSHDB");
+
+    private final Set<ClientConnection> clients = new HashSet<>();
+    private final Map<ClientConnection, Set<String>> tracked = new HashMap<>();
+
+    /** CLIENT TRACKING ON. */
+    void start(ClientConnection connection) {
+        clients.add(connection);
+    }
+
+    /** After a command ran: invalidate what it wrote, or remember what a tracking connection read. */
+    void afterCommand(ClientConnection caller, Args args) {
+        String name = args.name();
+        if (FLUSHES.contains(name)) {
+            invalidateAll();
+        } else if (WRITES.contains(name)) {
+            for (String key : keys(args)) invalidate(key);
+        } else if (caller != null && clients.contains(caller)) {
+            List<String> keys = keys(args);
+            if (!keys.isEmpty()) tracked.computeIfAbsent(caller, c -> new HashSet<>()).addAll(keys);
+        }
+    }
+
+    /** CLIENT TRACKING OFF, or the connection closed. */
+    void forget(ClientConnection connection) {
+        clients.remove(connection);
+        tracked.remove(connection);
+    }
+
+    // ---------- helpers ----------
+
+    private void invalidate(String key) {
+        for (Iterator<Map.Entry<ClientConnection, Set<String>>> it = tracked.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<ClientConnection, Set<String>> e = it.next();
+            if (e.getValue().remove(key)) {
+                e.getKey().push(List.of("invalidate", List.of(key)));
+                if (e.getValue().isEmpty()) it.remove();
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        for (ClientConnection connection : clients) {
+            connection.push(Arrays.asList("invalidate", null));
+        }
+        tracked.clear();
+    }
+
+    static List<String> keys(Args args) {
+        String name = args.name();
+        if (KEYLESS.contains(name) || name.startsWith("FT.") || args.size() < 2) return List.of();
+        return switch (name) {
+            case "DEL", "UNLINK", "EXISTS", "MGET" -> args.from(1);
+            case "RENAME" -> args.from(1).subList(0, Math.min(2, args.size() - 1));
+            case "JSON.MGET" -> args.from(1).subList(0, args.size() - 2);
+            case "MSET" -> {
+                List<String> keys = new ArrayList<>();
+                for (int i = 1; i < args.size(); i += 2) keys.add(args.get(i));
+                yield keys;
+            }
+            default -> List.of(args.get(1));
+        };
+    }
+}
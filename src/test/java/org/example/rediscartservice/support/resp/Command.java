@@ -0,0 +1,11 @@
+package org.example.rediscartservice.support.resp;
+
+/**
+ * One command implementation. Runs under the server lock, so it sees and leaves the keyspace
+ * consistent; the returned value is written with {@link RespProtocol#write}.
+ */
+@FunctionalInterface
+interface Command {
+
+    Object run(Args args);
+}
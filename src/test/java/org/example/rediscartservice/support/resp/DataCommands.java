@@ -0,0 +1,637 @@
+package org.example.rediscartservice.support.resp;
+
+import org.example.rediscartservice.support.resp.Keyspace.Hash;
+import org.example.rediscartservice.support.resp.Keyspace.ZSet;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.example.rediscartservice.support.resp.RespProtocol.OK;
+
+/**
+ * Connection, keyspace, string, hash, set and sorted-set commands: everything the service and
+ * Spring Session send outside RedisJSON, RediSearch and EVAL.
+ */
+final class DataCommands {
+
+    private final Keyspace ks;
+
+    DataCommands(Keyspace ks) {
+        this.ks = ks;
+    }
+
+    void registerInto(Map<String, Command> table) {
+        // connection / server
+        table.put("PING", a -> a.size() > 1 ? a.get(1) : new RespProtocol.Status("PONG"));
+        table.put("ECHO", a -> a.exactly(2).get(1));
+        table.put("SELECT", a -> OK);
+        table.put("AUTH", a -> OK);
+        table.put("INFO", a -> info());
+        table.put("COMMAND", a -> List.of());
+        table.put("CONFIG", a -> a.is(1, "GET") ? List.of() : OK);
+        table.put("DBSIZE", a -> (long) ks.size());
+        table.put("FLUSHALL", a -> { ks.clear(); return OK; });
+        table.put("FLUSHDB", a -> { ks.clear(); return OK; });
+
+        // keys
+        table.put("DEL", this::del);
+        table.put("UNLINK", this::del);
+        table.put("EXISTS", this::exists);
+        table.put("TYPE", a -> new RespProtocol.Status(Keyspace.typeName(ks.get(a.exactly(2).get(1)))));
+        table.put("EXPIRE", a -> ks.expireAt(a.atLeast(3).get(1), ks.now() + a.longAt(2) * 1000));
+        table.put("PEXPIRE", a -> ks.expireAt(a.atLeast(3).get(1), ks.now() + a.longAt(2)));
+        table.put("EXPIREAT", a -> ks.expireAt(a.atLeast(3).get(1), a.longAt(2) * 1000));
+        table.put("PEXPIREAT", a -> ks.expireAt(a.atLeast(3).get(1), a.longAt(2)));
+        table.put("TTL", a -> {
+            long ttl = ks.ttlMillis(a.exactly(2).get(1));
+            return ttl < 0 ? ttl : (ttl + 500) / 1000;
+        });
+        table.put("PTTL", a -> ks.ttlMillis(a.exactly(2).get(1)));
+        table.put("PERSIST", a -> ks.persist(a.exactly(2).get(1)));
+        table.put("RENAME", this::rename);
+        table.put("KEYS", a -> ks.keys().stream().filter(k -> Glob.matches(a.exactly(2).get(1), k)).toList());
+        table.put("SCAN", this::scan);
+        table.put("MEMORY", this::memory);
+
+        // strings
+        table.put("GET", a -> ks.get(a.exactly(2).get(1), String.class));
+        table.put("SET", this::set);
+        table.put("GETEX", this::getex);
+        table.put("MGET", this::mget);
+        table.put("MSET", this::mset);
+        table.put("INCR", a -> incrBy(a.exactly(2).get(1), 1));
+        table.put("INCRBY", a -> incrBy(a.exactly(3).get(1), a.longAt(2)));
+        table.put("DECR", a -> incrBy(a.exactly(2).get(1), -1));
+        table.put("DECRBY", a -> incrBy(a.exactly(3).get(1), -a.longAt(2)));
+
+        // hashes
+        table.put("HSET", this::hset);
+        table.put("HMSET", a -> { hset(a); return OK; });
+        table.put("HSETNX", this::hsetnx);
+        table.put("HGET", a -> {
+            Hash h = ks.get(a.exactly(3).get(1), Hash.class);
+            return h == null ? null : h.fields.get(a.get(2));
+        });
+        table.put("HMGET", this::hmget);
+        table.put("HGETALL", a -> {
+            Hash h = ks.get(a.exactly(2).get(1), Hash.class);
+            return h == null ? Map.of() : new LinkedHashMap<>(h.fields);
+        });
+        table.put("HKEYS", a -> {
+            Hash h = ks.get(a.exactly(2).get(1), Hash.class);
+            return h == null ? List.of() : new ArrayList<>(h.fields.keySet());
+        });
+        table.put("HVALS", a -> {
+            Hash h = ks.get(a.exactly(2).get(1), Hash.class);
+            return h == null ? List.of() : new ArrayList<>(h.fields.values());
+        });
+        table.put("HLEN", a -> {
+            Hash h = ks.get(a.exactly(2).get(1), Hash.class);
+            return h == null ? 0L : (long) h.fields.size();
+        });
+        table.put("HEXISTS", a -> {
+            Hash h = ks.get(a.exactly(3).get(1), Hash.class);
+            return h != null && h.fields.containsKey(a.get(2));
+        });
+        table.put("HDEL", this::hdel);
+        table.put("HINCRBY", this::hincrby);
+        table.put("HPEXPIRE", a -> hexpire(a, 1));
+        table.put("HEXPIRE", a -> hexpire(a, 1000));
+        table.put("HPTTL", a -> httl(a, 1));
+        table.put("HTTL", a -> httl(a, 1000));
+
+        // sets
+        table.put("SADD", this::sadd);
+        table.put("SREM", this::srem);
+        table.put("SMEMBERS", a -> {
+            LinkedHashSet<?> s = ks.get(a.exactly(2).get(1), LinkedHashSet.class);
+            return s == null ? List.of() : new ArrayList<>(s);
+        });
+        table.put("SISMEMBER", a -> {
+            LinkedHashSet<?> s = ks.get(a.exactly(3).get(1), LinkedHashSet.class);
+            return s != null && s.contains(a.get(2));
+        });
+        table.put("SCARD", a -> {
+            LinkedHashSet<?> s = ks.get(a.exactly(2).get(1), LinkedHashSet.class);
+            return s == null ? 0L : (long) s.size();
+        });
+
+        // sorted sets
+        table.put("ZADD", this::zadd);
+        table.put("ZINCRBY", this::zincrby);
+        table.put("ZREM", this::zrem);
+        table.put("ZSCORE", a -> {
+            ZSet z = ks.get(a.exactly(3).get(1), ZSet.class);
+            return z == null ? null : z.score(a.get(2));
+        });
+        table.put("ZCARD", a -> {
+            ZSet z = ks.get(a.exactly(2).get(1), ZSet.class);
+            return z == null ? 0L : (long) z.size();
+        });
+        table.put("ZRANGE", a -> zrangeByIndex(a, a.is(4, "REV") || a.is(5, "REV")));
+        table.put("ZREVRANGE", a -> zrangeByIndex(a, true));
+        table.put("ZRANGEBYSCORE", a -> zrangeByScore(a, false));
+        table.put("ZREVRANGEBYSCORE", a -> zrangeByScore(a, true));
+        table.put("ZCOUNT", a -> (long) byScore(a.exactly(4).get(1), a.get(2), a.get(3)).size());
+        table.put("ZREMRANGEBYSCORE", this::zremrangeByScore);
+        table.put("ZSCAN", this::zscan);
+    }
+
+    // ---------- server ----------
+
+    private String info() {
+        return "# Server\r\nredis_version:" + RespServer.VERSION + "\r\nredis_mode:standalone\r\n"
+                + "# Replication\r\nrole:master\r\nconnected_slaves:0\r\n"
+                + "# Cluster\r\ncluster_enabled:0\r\n"
+                + "# Keyspace\r\ndb0:keys=" + ks.size() + ",expires=0\r\n";
+    }
+
+    // ---------- keys ----------
+
+    private Object del(Args a) {
+        long removed = 0;
+        for (String key : a.atLeast(2).from(1)) {
+            if (ks.exists(key) && ks.remove(key)) removed++;
+        }
+        return removed;
+    }
+
+    private Object exists(Args a) {
+        long found = 0;
+        for (String key : a.atLeast(2).from(1)) {
+            if (ks.exists(key)) found++;
+        }
+        return found;
+    }
+
+    private Object rename(Args a) {
+        String from = a.exactly(3).get(1);
+        String to = a.get(2);
+        Object value = ks.get(from);
+        if (value == null) throw new RespError("ERR no such key");
+        long ttl = ks.ttlMillis(from);
+        ks.remove(from);
+        ks.put(to, value);
+        if (ttl > 0) ks.expireAt(to, ks.now() + ttl);
+        return OK;
+    }
+
+    // Cursor = sequence number of the next key (see Keyspace), so keys deleted mid-walk shift nothing;
+    // like Redis, MATCH / TYPE filter after COUNT picks the window
+    private Object scan(Args a) {
+        long cursor = a.atLeast(2).longAt(1);
+        String match = null;
+        String type = null;
+        int count = 10;
+        for (int i = 2; i < a.size(); i += 2) {
+            if (a.is(i, "MATCH")) match = a.get(i + 1);
+            else if (a.is(i, "COUNT")) count = Math.max(1, a.intAt(i + 1));
+            else if (a.is(i, "TYPE")) type = a.get(i + 1).toLowerCase(Locale.ROOT);
+            else throw RespError.syntax();
+        }
+        List<String> page = new ArrayList<>();
+        String next = "0";
+        int seen = 0;
+        for (String key : ks.keys()) {
+            if (ks.sequence(key) < cursor) continue;
+            if (seen++ == count) {
+                next = Long.toString(ks.sequence(key));
+                break;
+            }
+            if (match != null && !Glob.matches(match, key)) continue;
+            if (type != null && !Keyspace.typeName(ks.get(key)).equalsIgnoreCase(type)) continue;
+            page.add(key);
+        }
+        return List.of(next, page);
+    }
+
+    // Whole set in one reply, as Redis answers for small (listpack) sorted sets
+    private Object zscan(Args a) {
+        ZSet z = ks.get(a.atLeast(3).get(1), ZSet.class);
+        String match = null;
+        for (int i = 3; i < a.size(); i += 2) {
+            if (a.is(i, "MATCH")) match = a.get(i + 1);
+            else if (!a.is(i, "COUNT")) throw RespError.syntax();
+        }
+        List<ZSet.Member> hits = new ArrayList<>();
+        if (z != null) {
+            for (ZSet.Member m : z.members()) {
+                if (match == null || Glob.matches(match, m.name())) hits.add(m);
+            }
+        }
+        return List.of("0", reply(hits, true));
+    }
+
+    // MEMORY USAGE: a rough size (key, payload and a fixed per-entry overhead), not Redis' allocator figure
+    private Object memory(Args a) {
+        if (!a.is(1, "USAGE")) throw RespError.syntax();
+        String key = a.atLeast(3).get(2);
+        Object value = ks.get(key);
+        if (value == null) return null;
+        long bytes = 56 + key.length();
+        switch (value) {
+            case String s -> bytes += s.length();
+            case Hash h -> {
+                for (Map.Entry<String, String> e : h.fields.entrySet()) bytes += 16 + e.getKey().length() + e.getValue().length();
+            }
+            case LinkedHashSet<?> set -> {
+                for (Object m : set) bytes += 16 + m.toString().length();
+            }
+            case ZSet z -> {
+                for (ZSet.Member m : z.members()) bytes += 24 + m.name().length();
+            }
+            default -> bytes += value.toString().length();
+        }
+        return bytes;
+    }
+
+    // ---------- strings ----------
+
+    private Object set(Args a) {
+        String key = a.atLeast(3).get(1);
+        String value = a.get(2);
+        boolean nx = false, xx = false, keepTtl = false, get = false;
+        long expiresAt = -1;
+        for (int i = 3; i < a.size(); i++) {
+            switch (a.get(i).toUpperCase(Locale.ROOT)) {
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "GET" -> get = true;
+                case "KEEPTTL" -> keepTtl = true;
+                case "EX" -> expiresAt = ks.now() + a.longAt(++i) * 1000;
+                case "PX" -> expiresAt = ks.now() + a.longAt(++i);
+                case "EXAT" -> expiresAt = a.longAt(++i) * 1000;
+                case "PXAT" -> expiresAt = a.longAt(++i);
+                default -> throw RespError.syntax();
+            }
+        }
+        String previous = get ? ks.get(key, String.class) : null;
+        boolean exists = ks.exists(key);
+        if ((nx && exists) || (xx && !exists)) return get ? previous : null;
+
+        long ttl = keepTtl ? ks.ttlMillis(key) : -1;
+        ks.put(key, value);
+        if (expiresAt >= 0) ks.expireAt(key, expiresAt);
+        else if (ttl > 0) ks.expireAt(key, ks.now() + ttl);
+        return get ? previous : OK;
+    }
+
+    private Object getex(Args a) {
+        String key = a.atLeast(2).get(1);
+        String value = ks.get(key, String.class);
+        if (value == null || a.size() == 2) return value;
+        switch (a.get(2).toUpperCase(Locale.ROOT)) {
+            case "EX" -> ks.expireAt(key, ks.now() + a.exactly(4).longAt(3) * 1000);
+            case "PX" -> ks.expireAt(key, ks.now() + a.exactly(4).longAt(3));
+            case "EXAT" -> ks.expireAt(key, a.exactly(4).longAt(3) * 1000);
+            case "PXAT" -> ks.expireAt(key, a.exactly(4).longAt(3));
+            case "PERSIST" -> ks.persist(key);
+            default -> throw RespError.syntax();
+        }
+        return value;
+    }
+
+    private Object mget(Args a) {
+        List<Object> out = new ArrayList<>();
+        for (String key : a.atLeast(2).from(1)) {
+            Object value = ks.get(key);
+            out.add(value instanceof String s ? s : null);
+        }
+        return out;
+    }
+
+    private Object mset(Args a) {
+        if (a.size() < 3 || a.size() % 2 == 0) throw RespError.wrongArity("MSET");
+        for (int i = 1; i < a.size(); i += 2) {
+            ks.put(a.get(i), a.get(i + 1));
+        }
+        return OK;
+    }
+
+    private Object incrBy(String key, long delta) {
+        String current = ks.get(key, String.class);
+        long value;
+        try {
+            value = current == null ? 0 : Long.parseLong(current);
+        } catch (NumberFormatException e) {
+            throw RespError.notInteger();
+        }
+        value = Math.addExact(value, delta);
+        long ttl = ks.ttlMillis(key);
+        ks.put(key, Long.toString(value));
+        if (ttl > 0) ks.expireAt(key, ks.now() + ttl);
+        return value;
+    }
+
+    // ---------- hashes ----------
+
+    private Object hset(Args a) {
+        if (a.size() < 4 || a.size() % 2 != 0) throw RespError.wrongArity(a.get(0));
+        Hash h = ks.getOrCreate(a.get(1), Hash.class, Hash::new);
+        long added = 0;
+        for (int i = 2; i < a.size(); i += 2) {
+            if (!h.fields.containsKey(a.get(i))) added++;
+            h.put(a.get(i), a.get(i + 1));
+        }
+        return added;
+    }
+
+    private Object hsetnx(Args a) {
+        Hash h = ks.getOrCreate(a.exactly(4).get(1), Hash.class, Hash::new);
+        if (h.fields.containsKey(a.get(2))) return 0L;
+        h.put(a.get(2), a.get(3));
+        return 1L;
+    }
+
+    private Object hmget(Args a) {
+        Hash h = ks.get(a.atLeast(3).get(1), Hash.class);
+        List<Object> out = new ArrayList<>();
+        for (String field : a.from(2)) {
+            out.add(h == null ? null : h.fields.get(field));
+        }
+        return out;
+    }
+
+    private Object hdel(Args a) {
+        String key = a.atLeast(3).get(1);
+        Hash h = ks.get(key, Hash.class);
+        if (h == null) return 0L;
+        long removed = 0;
+        for (String field : a.from(2)) {
+            if (h.remove(field)) removed++;
+        }
+        ks.removeIfEmpty(key);
+        return removed;
+    }
+
+    private Object hincrby(Args a) {
+        Hash h = ks.getOrCreate(a.exactly(4).get(1), Hash.class, Hash::new);
+        String current = h.fields.get(a.get(2));
+        long value;
+        try {
+            value = Math.addExact(current == null ? 0 : Long.parseLong(current), a.longAt(3));
+        } catch (NumberFormatException e) {
+            throw new RespError("ERR hash value is not an integer");
+        }
+        h.fields.put(a.get(2), Long.toString(value));
+        return value;
+    }
+
+    // HPEXPIRE key ttl [NX | XX | GT | LT] FIELDS n field...; per field: -2 missing, 1 set, 2 deleted (ttl 0)
+    private Object hexpire(Args a, long unitMillis) {
+        String key = a.atLeast(6).get(1);
+        long ttl = a.longAt(2) * unitMillis;
+        int fieldsAt = a.is(3, "FIELDS") ? 3 : 4;
+        if (!a.is(fieldsAt, "FIELDS")) throw RespError.syntax();
+        List<String> fields = fieldList(a, fieldsAt);
+
+        Hash h = ks.get(key, Hash.class);
+        List<Long> out = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            if (h == null || !h.fields.containsKey(field)) {
+                out.add(-2L);
+            } else if (ttl <= 0) {
+                h.remove(field);
+                out.add(2L);
+            } else {
+                h.expireAt(field, ks.now() + ttl);
+                out.add(1L);
+            }
+        }
+        if (h != null) ks.removeIfEmpty(key);
+        return out;
+    }
+
+    private Object httl(Args a, long unitMillis) {
+        Hash h = ks.get(a.atLeast(5).get(1), Hash.class);
+        if (!a.is(2, "FIELDS")) throw RespError.syntax();
+        List<Long> out = new ArrayList<>();
+        for (String field : fieldList(a, 2)) {
+            long ttl = h == null ? -2 : h.ttlMillis(field, ks.now());
+            out.add(ttl < 0 ? ttl : (ttl + unitMillis / 2) / unitMillis);
+        }
+        return out;
+    }
+
+    private static List<String> fieldList(Args a, int fieldsAt) {
+        int n = a.intAt(fieldsAt + 1);
+        if (n < 1 || fieldsAt + 2 + n != a.size()) {
+            throw new RespError("ERR Parameter `numFields` should be greater than 0 and match the number of fields");
+        }
+        return a.from(fieldsAt + 2);
+    }
+
+    // ---------- sets ----------
+
+    @SuppressWarnings("unchecked")
+    private Object sadd(Args a) {
+        LinkedHashSet<String> s = ks.getOrCreate(a.atLeast(3).get(1), LinkedHashSet.class, LinkedHashSet::new);
+        long added = 0;
+        for (String member : a.from(2)) {
+            if (s.add(member)) added++;
+        }
+        return added;
+    }
+
+    private Object srem(Args a) {
+        String key = a.atLeast(3).get(1);
+        LinkedHashSet<?> s = ks.get(key, LinkedHashSet.class);
+        if (s == null) return 0L;
+        long removed = 0;
+        for (String member : a.from(2)) {
+            if (s.remove(member)) removed++;
+        }
+        ks.removeIfEmpty(key);
+        return removed;
+    }
+
+    // ---------- sorted sets ----------
+
+    private Object zadd(Args a) {
+        String key = a.atLeast(4).get(1);
+        boolean nx = false, xx = false, ch = false, incr = false;
+        int i = 2;
+        for (; i < a.size(); i++) {
+            String option = a.get(i).toUpperCase(Locale.ROOT);
+            if (option.equals("NX")) nx = true;
+            else if (option.equals("XX")) xx = true;
+            else if (option.equals("CH")) ch = true;
+            else if (option.equals("INCR")) incr = true;
+            else break;
+        }
+        if ((a.size() - i) % 2 != 0 || a.size() == i) throw RespError.syntax();
+
+        ZSet z = ks.getOrCreate(key, ZSet.class, ZSet::new);
+        long added = 0, changed = 0;
+        Double last = null;
+        for (; i < a.size(); i += 2) {
+            double score = a.doubleAt(i);
+            String member = a.get(i + 1);
+            Double current = z.score(member);
+            if ((nx && current != null) || (xx && current == null)) continue;
+            double next = incr && current != null ? current + score : score;
+            if (z.add(member, next)) added++;
+            else if (current != next) changed++;
+            last = next;
+        }
+        ks.removeIfEmpty(key);
+        if (incr) return last;
+        return ch ? added + changed : added;
+    }
+
+    private Object zincrby(Args a) {
+        ZSet z = ks.getOrCreate(a.exactly(4).get(1), ZSet.class, ZSet::new);
+        Double current = z.score(a.get(3));
+        double next = (current == null ? 0 : current) + a.doubleAt(2);
+        z.add(a.get(3), next);
+        return next;
+    }
+
+    private Object zrem(Args a) {
+        String key = a.atLeast(3).get(1);
+        ZSet z = ks.get(key, ZSet.class);
+        if (z == null) return 0L;
+        long removed = 0;
+        for (String member : a.from(2)) {
+            if (z.remove(member)) removed++;
+        }
+        ks.removeIfEmpty(key);
+        return removed;
+    }
+
+    private Object zrangeByIndex(Args a, boolean reverse) {
+        ZSet z = ks.get(a.atLeast(4).get(1), ZSet.class);
+        boolean withScores = a.from(4).stream().anyMatch(s -> s.equalsIgnoreCase("WITHSCORES"));
+        if (z == null) return List.of();
+        List<ZSet.Member> members = z.members();
+        if (reverse) members = members.reversed();
+        int n = members.size();
+        long start = a.longAt(2), stop = a.longAt(3);
+        if (start < 0) start = Math.max(0, n + start);
+        if (stop < 0) stop = n + stop;
+        stop = Math.min(stop, n - 1);
+        if (start > stop) return List.of();
+        return reply(members.subList((int) start, (int) stop + 1), withScores);
+    }
+
+    // ZRANGEBYSCORE key min max [WITHSCORES] [LIMIT offset count]; ZREVRANGEBYSCORE takes max first
+    private Object zrangeByScore(Args a, boolean reverse) {
+        String key = a.atLeast(4).get(1);
+        List<ZSet.Member> hits = reverse ? byScore(key, a.get(3), a.get(2)).reversed() : byScore(key, a.get(2), a.get(3));
+        boolean withScores = false;
+        int offset = 0, count = -1;
+        for (int i = 4; i < a.size(); i++) {
+            if (a.is(i, "WITHSCORES")) {
+                withScores = true;
+            } else if (a.is(i, "LIMIT")) {
+                offset = a.intAt(i + 1);
+                count = a.intAt(i + 2);
+                i += 2;
+            } else {
+                throw RespError.syntax();
+            }
+        }
+        int from = Math.min(Math.max(0, offset), hits.size());
+        int to = count < 0 ? hits.size() : Math.min(hits.size(), from + count);
+        return reply(hits.subList(from, to), withScores);
+    }
+
+    private Object zremrangeByScore(Args a) {
+        String key = a.exactly(4).get(1);
+        List<ZSet.Member> hits = byScore(key, a.get(2), a.get(3));
+        ZSet z = ks.get(key, ZSet.class);
+        for (ZSet.Member m : hits) z.remove(m.name());
+        ks.removeIfEmpty(key);
+        return (long) hits.size();
+    }
+
+    private List<ZSet.Member> byScore(String key, String min, String max) {
+        ZSet z = ks.get(key, ZSet.class);
+        if (z == null) return List.of();
+        boolean minExclusive = min.startsWith("("), maxExclusive = max.startsWith("(");
+        double lo = Args.parseDouble(minExclusive ? min.substring(1) : min);
+        double hi = Args.parseDouble(maxExclusive ? max.substring(1) : max);
+        List<ZSet.Member> out = new ArrayList<>();
+        for (ZSet.Member m : z.members()) {
+            boolean aboveMin = minExclusive ? m.score() > lo : m.score() >= lo;
+            boolean belowMax = maxExclusive ? m.score() < hi : m.score() <= hi;
+            if (aboveMin && belowMax) out.add(m);
+        }
+        return out;
+    }
+
+    private static List<Object> reply(List<ZSet.Member> members, boolean withScores) {
+        List<Object> out = new ArrayList<>(withScores ? members.size() * 2 : members.size());
+        for (ZSet.Member m : members) {
+            out.add(m.name());
+            if (withScores) out.add(m.score());
+        }
+        return out;
+    }
+
+    // ---------- glob ----------
+
+    /** Redis glob patterns: {@code * ? [abc] [^a] [a-z]} and backslash escapes. */
+    static final class Glob {
+        private Glob() {}
+
+        static boolean matches(String pattern, String s) {
+            return matches(pattern, 0, s, 0);
+        }
+
+        private static boolean matches(String p, int pi, String s, int si) {
+            while (pi < p.length()) {
+                char c = p.charAt(pi);
+                switch (c) {
+                    case '*' -> {
+                        while (pi + 1 < p.length() && p.charAt(pi + 1) == '*') pi++;
+                        if (pi + 1 == p.length()) return true;
+                        for (int k = si; k <= s.length(); k++) {
+                            if (matches(p, pi + 1, s, k)) return true;
+                        }
+                        return false;
+                    }
+                    case '?' -> {
+                        if (si >= s.length()) return false;
+                        pi++;
+                        si++;
+                    }
+                    case '[' -> {
+                        if (si >= s.length()) return false;
+                        int end = p.indexOf(']', pi + 1);
+                        if (end < 0) return false;
+                        if (!inClass(p.substring(pi + 1, end), s.charAt(si))) return false;
+                        pi = end + 1;
+                        si++;
+                    }
+                    default -> {
+                        if (c == '\\' && pi + 1 < p.length()) c = p.charAt(++pi);
+                        if (si >= s.length() || s.charAt(si) != c) return false;
+                        pi++;
+                        si++;
+                    }
+                }
+            }
+            return si == s.length();
+        }
+
+        private static boolean inClass(String cls, char c) {
+            boolean negate = cls.startsWith("^");
+            if (negate) cls = cls.substring(1);
+            boolean hit = false;
+            for (int i = 0; i < cls.length(); i++) {
+                if (i + 2 < cls.length() && cls.charAt(i + 1) == '-') {
+                    hit |= c >= cls.charAt(i) && c <= cls.charAt(i + 2);
+                    i += 2;
+                } else {
+                    hit |= c == cls.charAt(i);
+                }
+            }
+            return hit != negate;
+        }
+    }
+}
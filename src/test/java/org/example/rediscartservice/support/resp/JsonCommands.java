@@ -0,0 +1,214 @@
+package org.example.rediscartservice.support.resp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.example.rediscartservice.support.resp.RespProtocol.OK;
+import static org.example.rediscartservice.support.resp.RespProtocol.utf8;
+import static org.example.rediscartservice.support.resp.RespProtocol.wire;
+
+/**
+ * RedisJSON subset: JSON.SET / GET / MGET / DEL on documents addressed with simple paths
+ * ({@code $}, {@code $.a.b}, {@code $.list[0]} and their legacy {@code .a.b} forms).
+ * Replies follow RESP2 RedisJSON: {@code $}-paths return a JSON array of matches, legacy paths
+ * the single value.
+ */
+final class JsonCommands {
+
+    static final ObjectMapper MAPPER = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private final Keyspace ks;
+
+    JsonCommands(Keyspace ks) {
+        this.ks = ks;
+    }
+
+    void registerInto(Map<String, Command> table) {
+        table.put("JSON.SET", this::set);
+        table.put("JSON.GET", this::get);
+        table.put("JSON.MGET", this::mget);
+        table.put("JSON.DEL", this::del);
+        table.put("JSON.FORGET", this::del);
+        table.put("JSON.TYPE", a -> {
+            List<JsonNode> hits = select(ks.get(a.atLeast(2).get(1), JsonNode.class), a.size() > 2 ? a.get(2) : "$");
+            return hits.stream().map(n -> n.getNodeType().name().toLowerCase()).toList();
+        });
+    }
+
+    // JSON.SET key path json [NX | XX] → OK, or null when the condition / parent path does not hold
+    private Object set(Args a) {
+        String key = a.atLeast(4).get(1);
+        List<String> segments = parsePath(a.get(2));
+        JsonNode value = parse(a.get(3));
+        boolean nx = a.is(4, "NX"), xx = a.is(4, "XX");
+        JsonNode doc = ks.get(key, JsonNode.class);
+
+        if (segments.isEmpty()) {
+            if ((nx && doc != null) || (xx && doc == null)) return null;
+            ks.put(key, value);
+            return OK;
+        }
+        if (doc == null) throw new RespError("ERR new objects must be created at the root");
+
+        JsonNode parent = walk(doc, segments.subList(0, segments.size() - 1));
+        String last = segments.getLast();
+        if (parent instanceof ObjectNode object) {
+            boolean exists = object.has(last);
+            if ((nx && exists) || (xx && !exists)) return null;
+            object.set(last, value);
+            return OK;
+        }
+        if (parent instanceof ArrayNode array && isIndex(last)) {
+            int i = index(array, last);
+            if (i < 0 || i >= array.size() || nx) return null;
+            array.set(i, value);
+            return OK;
+        }
+        return null;
+    }
+
+    private Object get(Args a) {
+        JsonNode doc = ks.get(a.atLeast(2).get(1), JsonNode.class);
+        if (doc == null) return null;
+        List<String> paths = new ArrayList<>();
+        for (String arg : a.from(2)) {
+            // formatting options of the CLI are accepted and ignored
+            if (arg.equalsIgnoreCase("INDENT") || arg.equalsIgnoreCase("NEWLINE") || arg.equalsIgnoreCase("SPACE")) continue;
+            paths.add(arg);
+        }
+        if (paths.isEmpty()) return render(doc);
+        if (paths.size() == 1) return render(doc, paths.getFirst());
+
+        Map<String, JsonNode> byPath = new LinkedHashMap<>();
+        for (String path : paths) {
+            ArrayNode matches = MAPPER.createArrayNode();
+            select(doc, path).forEach(matches::add);
+            byPath.put(path, matches);
+        }
+        return render(MAPPER.valueToTree(byPath));
+    }
+
+    private Object mget(Args a) {
+        String path = a.atLeast(3).get(a.size() - 1);
+        List<Object> out = new ArrayList<>();
+        for (String key : a.from(1).subList(0, a.size() - 2)) {
+            Object value = ks.get(key);
+            out.add(value instanceof JsonNode doc ? render(doc, path) : null);
+        }
+        return out;
+    }
+
+    private Object del(Args a) {
+        String key = a.atLeast(2).get(1);
+        JsonNode doc = ks.get(key, JsonNode.class);
+        if (doc == null) return 0L;
+        List<String> segments = parsePath(a.size() > 2 ? a.get(2) : "$");
+        if (segments.isEmpty()) {
+            ks.remove(key);
+            return 1L;
+        }
+        JsonNode parent = walk(doc, segments.subList(0, segments.size() - 1));
+        if (parent instanceof ObjectNode object && object.remove(segments.getLast()) != null) return 1L;
+        return 0L;
+    }
+
+    // ---------- paths ----------
+
+    /** Matches for {@code path}; at most one with the simple path forms supported here. */
+    static List<JsonNode> select(JsonNode doc, String path) {
+        if (doc == null) return List.of();
+        JsonNode node = walk(doc, parsePath(path));
+        return node == null || node.isMissingNode() ? List.of() : List.of(node);
+    }
+
+    private static String render(JsonNode doc, String path) {
+        List<JsonNode> hits = select(doc, path);
+        if (path.startsWith("$")) {
+            ArrayNode array = MAPPER.createArrayNode();
+            hits.forEach(array::add);
+            return render(array);
+        }
+        if (hits.isEmpty()) throw new RespError("ERR Path '" + path + "' does not exist");
+        return render(hits.getFirst());
+    }
+
+    private static JsonNode walk(JsonNode node, List<String> segments) {
+        JsonNode current = node;
+        for (String segment : segments) {
+            if (current == null) return null;
+            if (current.isArray() && isIndex(segment)) {
+                int i = index(current, segment);
+                current = i >= 0 && i < current.size() ? current.get(i) : null;
+            } else {
+                current = current.isObject() ? current.get(segment) : null;
+            }
+        }
+        return current;
+    }
+
+    // "$", ".", "$.a.b", ".a", "a.b", "$.list[0]", "$['a b']" → segments
+    static List<String> parsePath(String path) {
+        String p = path.startsWith("$") ? path.substring(1) : path;
+        List<String> segments = new ArrayList<>();
+        int i = 0;
+        while (i < p.length()) {
+            char c = p.charAt(i);
+            if (c == '.') {
+                i++;
+            } else if (c == '[') {
+                int end = p.indexOf(']', i);
+                if (end < 0) throw new RespError("ERR invalid JSON path '" + path + "'");
+                String inner = p.substring(i + 1, end).trim();
+                if (inner.length() >= 2 && (inner.startsWith("'") || inner.startsWith("\""))) {
+                    inner = inner.substring(1, inner.length() - 1);
+                }
+                segments.add(inner);
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < p.length() && p.charAt(end) != '.' && p.charAt(end) != '[') end++;
+                String name = p.substring(i, end);
+                if (name.equals("*") || name.isEmpty()) throw new RespError("ERR unsupported JSON path '" + path + "'");
+                segments.add(name);
+                i = end;
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isIndex(String segment) {
+        return segment.matches("-?\\d+");
+    }
+
+    private static int index(JsonNode array, String segment) {
+        int i = Integer.parseInt(segment);
+        return i < 0 ? array.size() + i : i;
+    }
+
+    // ---------- encoding ----------
+
+    static JsonNode parse(String wireJson) {
+        try {
+            return MAPPER.readTree(utf8(wireJson));
+        } catch (JsonProcessingException e) {
+            throw new RespError("ERR expected value at line 1 column 1");
+        }
+    }
+
+    static String render(JsonNode node) {
+        try {
+            return wire(MAPPER.writeValueAsString(node));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package org.example.rediscartservice.support.resp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The single database of the stand-in. Values are one of:
+ *  - {@link String} (string), {@link Hash}, {@link LinkedHashSet} of members (set), {@link ZSet}
+ *  - {@link JsonNode} (RedisJSON document)
+ *
+ * Keys and hash fields expire lazily on access, like Redis' passive expiry. Iteration follows
+ * insertion order so SCAN and FT.SEARCH paging are stable; every key also gets an ascending
+ * sequence number when created, which SCAN uses as its cursor so deletes do not shift the walk. Not thread-safe: the server runs every
+ * command under one lock.
+ */
+final class Keyspace {
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final Map<String, Long> expiries = new HashMap<>();   // key → epoch millis
+    private final Map<String, Long> sequence = new HashMap<>();   // key → creation order, from 1
+    private long nextSequence = 1;
+    private final LongSupplier clock;
+
+    Keyspace(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    // ---------- access ----------
+
+    /** Live value or {@code null}; expired keys and hashes whose fields all expired are dropped. */
+    Object get(String key) {
+        Long expiresAt = expiries.get(key);
+        if (expiresAt != null && expiresAt <= now()) {
+            remove(key);
+            return null;
+        }
+        Object value = values.get(key);
+        if (value instanceof Hash hash && hash.purge(now()) && hash.fields.isEmpty()) {
+            remove(key);
+            return null;
+        }
+        return value;
+    }
+
+    <T> T get(String key, Class<T> type) {
+        Object value = get(key);
+        if (value == null) return null;
+        if (!type.isInstance(value)) throw RespError.wrongType();
+        return type.cast(value);
+    }
+
+    <T> T getOrCreate(String key, Class<T> type, Supplier<T> factory) {
+        T value = get(key, type);
+        if (value == null) {
+            value = factory.get();
+            values.put(key, value);
+            sequence.putIfAbsent(key, nextSequence++);
+        }
+        return value;
+    }
+
+    boolean exists(String key) {
+        return get(key) != null;
+    }
+
+    /** Replaces the value and clears any expiry (SET semantics). */
+    void put(String key, Object value) {
+        values.put(key, value);
+        expiries.remove(key);
+        sequence.putIfAbsent(key, nextSequence++);
+    }
+
+    boolean remove(String key) {
+        expiries.remove(key);
+        sequence.remove(key);
+        return values.remove(key) != null;
+    }
+
+    /** Creation order of a key; keys() returns keys in ascending sequence. */
+    long sequence(String key) {
+        return sequence.getOrDefault(key, 0L);
+    }
+
+    /** Collections disappear with their last element. */
+    void removeIfEmpty(String key) {
+        Object value = values.get(key);
+        boolean empty = switch (value) {
+            case Hash h -> h.fields.isEmpty();
+            case LinkedHashSet<?> s -> s.isEmpty();
+            case ZSet z -> z.size() == 0;
+            case null, default -> false;
+        };
+        if (empty) remove(key);
+    }
+
+    /** Live keys in insertion order (a snapshot, safe to modify the keyspace while iterating). */
+    List<String> keys() {
+        List<String> live = new ArrayList<>(values.size());
+        for (String key : new ArrayList<>(values.keySet())) {
+            if (get(key) != null) live.add(key);
+        }
+        return live;
+    }
+
+    int size() {
+        return keys().size();
+    }
+
+    void clear() {
+        values.clear();
+        expiries.clear();
+        sequence.clear();
+    }
+
+    // ---------- expiry ----------
+
+    boolean expireAt(String key, long epochMillis) {
+        if (!exists(key)) return false;
+        if (epochMillis <= now()) {
+            remove(key);
+        } else {
+            expiries.put(key, epochMillis);
+        }
+        return true;
+    }
+
+    boolean persist(String key) {
+        return exists(key) && expiries.remove(key) != null;
+    }
+
+    /** Remaining millis, {@code -1} without expiry, {@code -2} if the key does not exist. */
+    long ttlMillis(String key) {
+        if (!exists(key)) return -2;
+        Long expiresAt = expiries.get(key);
+        return expiresAt == null ? -1 : Math.max(0, expiresAt - now());
+    }
+
+    static String typeName(Object value) {
+        return switch (value) {
+            case null -> "none";
+            case String s -> "string";
+            case Hash h -> "hash";
+            case LinkedHashSet<?> s -> "set";
+            case ZSet z -> "zset";
+            case JsonNode j -> "ReJSON-RL";
+            default -> "unknown";
+        };
+    }
+
+    // ---------- value types ----------
+
+    /** Hash with optional per-field expiry (HPEXPIRE, Redis 7.4+). */
+    static final class Hash {
+        final LinkedHashMap<String, String> fields = new LinkedHashMap<>();
+        private final Map<String, Long> fieldExpiries = new HashMap<>();
+
+        /** Sets a field and clears its TTL, as HSET does. */
+        void put(String field, String value) {
+            fields.put(field, value);
+            fieldExpiries.remove(field);
+        }
+
+        boolean remove(String field) {
+            fieldExpiries.remove(field);
+            return fields.remove(field) != null;
+        }
+
+        void expireAt(String field, long epochMillis) {
+            fieldExpiries.put(field, epochMillis);
+        }
+
+        /** Remaining millis, {@code -1} without expiry, {@code -2} if the field does not exist. */
+        long ttlMillis(String field, long now) {
+            if (!fields.containsKey(field)) return -2;
+            Long expiresAt = fieldExpiries.get(field);
+            return expiresAt == null ? -1 : Math.max(0, expiresAt - now);
+        }
+
+        /** Drops expired fields; true if any were dropped. */
+        boolean purge(long now) {
+            if (fieldExpiries.isEmpty()) return false;
+            boolean purged = false;
+            for (Iterator<Map.Entry<String, Long>> it = fieldExpiries.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Long> e = it.next();
+                if (e.getValue() <= now) {
+                    fields.remove(e.getKey());
+                    it.remove();
+                    purged = true;
+                }
+            }
+            return purged;
+        }
+    }
+
+    /** Sorted set ordered by (score, member) like Redis' skip list. */
+    static final class ZSet {
+        record Member(double score, String name) implements Comparable<Member> {
+            @Override
+            public int compareTo(Member o) {
+                int c = Double.compare(score, o.score);
+                return c != 0 ? c : name.compareTo(o.name);
+            }
+        }
+
+        private final Map<String, Double> scores = new HashMap<>();
+        private final TreeSet<Member> ordered = new TreeSet<>();
+
+        /** True if the member is new. */
+        boolean add(String name, double score) {
+            Double previous = scores.put(name, score);
+            if (previous != null) ordered.remove(new Member(previous, name));
+            ordered.add(new Member(score, name));
+            return previous == null;
+        }
+
+        boolean remove(String name) {
+            Double previous = scores.remove(name);
+            if (previous == null) return false;
+            ordered.remove(new Member(previous, name));
+            return true;
+        }
+
+        Double score(String name) {
+            return scores.get(name);
+        }
+
+        int size() {
+            return scores.size();
+        }
+
+        /** Ascending (score, member) order. */
+        List<Member> members() {
+            return new ArrayList<>(ordered);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.rediscartservice.support.resp;
+
+/**
+ * Error reply; the message starts with the Redis error code ({@code ERR}, {@code WRONGTYPE}, ...)
+ * exactly as it goes on the wire after the {@code -}.
+ */
+final class RespError extends RuntimeException {
+
+    RespError(String message) {
+        super(message, null, false, false);
+    }
+
+    static RespError wrongArity(String command) {
+        return new RespError("ERR wrong number of arguments for '" + command.toLowerCase() + "' command");
+    }
+
+    static RespError syntax() {
+        return new RespError("ERR syntax error");
+    }
+
+    static RespError wrongType() {
+        return new RespError("WRONGTYPE Operation against a key holding the wrong kind of value");
+    }
+
+    static RespError notInteger() {
+        return new RespError("ERR value is not an integer or out of range");
+    }
+
+    static RespError notFloat() {
+        return new RespError("ERR value is not a valid float");
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.rediscartservice.support.resp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RESP2 / RESP3 framing. Requests are arrays of bulk strings (inline commands are accepted for telnet);
+ * replies are mapped from plain Java values:
+ *  - {@code null} → null bulk string, {@link #NULL_ARRAY} → null array (RESP3: both null)
+ *  - {@link Status} → simple string, {@link RespError} → error
+ *  - {@link String} (ISO-8859-1 bytes) / {@code byte[]} / {@link Double} → bulk string
+ *  - {@link Long} / {@link Integer} / {@link Boolean} → integer
+ *  - {@link Collection} → array; {@link Map} → flat key/value array (RESP3: map)
+ * Module replies keep their RESP2 shape on RESP3 connections.
+ */
+final class RespProtocol {
+
+    record Status(String text) {}
+
+    static final Status OK = new Status("OK");
+    static final Object NULL_ARRAY = new Object();
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private RespProtocol() {}
+
+    // ---------- requests ----------
+
+    /** Next command, or {@code null} once the client has closed the connection. */
+    static List<String> readCommand(InputStream in) throws IOException {
+        int first = in.read();
+        if (first == -1) return null;
+        if (first != '*') {
+            return inline((char) first + readLine(in));
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> args = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            int marker = in.read();
+            if (marker != '$') throw new IOException("Protocol error: expected '$', got '" + (char) marker + "'");
+            int length = Integer.parseInt(readLine(in));
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length < length || in.read() != '\r' || in.read() != '\n') {
+                throw new EOFException("Truncated bulk string");
+            }
+            args.add(new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+        return args;
+    }
+
+    private static List<String> inline(String line) {
+        List<String> args = new ArrayList<>();
+        for (String token : line.trim().split("\\s+")) {
+            if (!token.isEmpty()) args.add(token);
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder(16);
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\r') {
+                in.read();   // '\n'
+                return sb.toString();
+            }
+            sb.append((char) c);
+        }
+        throw new EOFException("Connection closed mid-command");
+    }
+
+    // ---------- replies ----------
+
+    static void write(OutputStream out, Object reply) throws IOException {
+        write(out, reply, false);
+    }
+
+    static void write(OutputStream out, Object reply, boolean resp3) throws IOException {
+        switch (reply) {
+            case null -> out.write(resp3 ? new byte[]{'_', '\r', '\n'} : new byte[]{'$', '-', '1', '\r', '\n'});
+            case Status s -> line(out, '+', s.text());
+            case RespError e -> line(out, '-', e.getMessage());
+            case String s -> bulk(out, s.getBytes(StandardCharsets.ISO_8859_1));
+            case byte[] b -> bulk(out, b);
+            case Double d -> bulk(out, formatDouble(d).getBytes(StandardCharsets.US_ASCII));
+            case Long l -> line(out, ':', Long.toString(l));
+            case Integer i -> line(out, ':', Integer.toString(i));
+            case Boolean b -> line(out, ':', b ? "1" : "0");
+            case Collection<?> items -> {
+                line(out, '*', Integer.toString(items.size()));
+                for (Object item : items) write(out, item, resp3);
+            }
+            case Map<?, ?> map -> {
+                if (resp3) {
+                    line(out, '%', Integer.toString(map.size()));
+                } else {
+                    line(out, '*', Integer.toString(map.size() * 2));
+                }
+                for (Map.Entry<?, ?> e : map.entrySet()) {
+                    write(out, e.getKey(), resp3);
+                    write(out, e.getValue(), resp3);
+                }
+            }
+            default -> {
+                if (reply == NULL_ARRAY) {
+                    if (resp3) {
+                        out.write(new byte[]{'_', '\r', '\n'});
+                    } else {
+                        line(out, '*', "-1");
+                    }
+                } else {
+                    throw new IllegalArgumentException("No RESP mapping for " + reply.getClass());
+                }
+            }
+        }
+    }
+
+    /** RESP3 out-of-band push, e.g. {@code invalidate}. */
+    static void writePush(OutputStream out, List<?> message) throws IOException {
+        line(out, '>', Integer.toString(message.size()));
+        for (Object item : message) write(out, item, true);
+    }
+
+    private static void line(OutputStream out, char marker, String text) throws IOException {
+        out.write(marker);
+        out.write(text.getBytes(StandardCharsets.ISO_8859_1));
+        out.write(CRLF);
+    }
+
+    private static void bulk(OutputStream out, byte[] bytes) throws IOException {
+        line(out, '$', Integer.toString(bytes.length));
+        out.write(bytes);
+        out.write(CRLF);
+    }
+
+    // ---------- encoding helpers ----------
+
+    /** Scores the way Redis prints them: {@code 3}, {@code 2.5}, {@code inf}. */
+    static String formatDouble(double d) {
+        if (Double.isInfinite(d)) return d > 0 ? "inf" : "-inf";
+        if (d == Math.rint(d) && Math.abs(d) < 1e15) return Long.toString((long) d);
+        return BigDecimal.valueOf(d).stripTrailingZeros().toPlainString();
+    }
+
+    /** Wire bytes (ISO-8859-1 string) → the UTF-8 text they encode. */
+    static String utf8(String wire) {
+        return new String(wire.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+    }
+
+    /** Text → its UTF-8 bytes as a wire (ISO-8859-1) string. */
+    static String wire(String text) {
+        return new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+    }
+}
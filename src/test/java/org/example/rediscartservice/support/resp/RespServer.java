@@ -0,0 +1,303 @@
+package org.example.rediscartservice.support.resp;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-JVM stand-in for the Redis Stack subset this service uses, speaking RESP2 on a loopback
+ * port so the real Jedis / Lettuce clients and repositories run against it unchanged:
+ *  - strings, hashes (with HPEXPIRE field expiry), sets, sorted sets, key expiry, SCAN
+ *  - RedisJSON: JSON.SET / GET / MGET / DEL with simple paths
+ *  - RediSearch: FT.CREATE / FT.SEARCH over HASH and JSON (see {@link SearchQuery} for the syntax)
+ *  - EVAL of the service's own scripts ({@link ScriptCommands#KNOWN}) and of registered {@link Script}s
+ *  - HELLO 2 / 3 and CLIENT TRACKING, pushing RESP3 invalidations for client-side caching ({@link ClientTracking})
+ *
+ * Every command runs under one lock, so commands and scripts are atomic as in Redis. Transactions,
+ * pub/sub and cluster commands are not supported.
+ *
+ * <pre>{@code
+ * try (RespServer redis = RespServer.start()) {
+ *     JedisPooled jedis = new JedisPooled(redis.host(), redis.port());
+ *     ...
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class RespServer implements AutoCloseable {
+
+    static final String VERSION = "7.4.0";
+
+    private final ServerSocket socket;
+    private final Keyspace keyspace;
+    private final SearchCommands search;
+    private final ScriptCommands scripts;
+    private final Map<String, Command> commands = new HashMap<>();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ClientTracking tracking = new ClientTracking();
+    private ClientConnection current;   // caller of the running command, guarded by lock
+    private final Thread acceptor;
+    private volatile boolean running = true;
+    private volatile long latencyNanos;
+
+    private RespServer(int port, LongSupplier clock) throws IOException {
+        this.socket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.keyspace = new Keyspace(clock);
+        this.search = new SearchCommands(keyspace);
+        this.scripts = new ScriptCommands(this::dispatch);
+        new DataCommands(keyspace).registerInto(commands);
+        new JsonCommands(keyspace).registerInto(commands);
+        search.registerInto(commands);
+        scripts.registerInto(commands);
+        commands.put("FLUSHALL", a -> { flushAll(); return RespProtocol.OK; });
+        commands.put("HELLO", this::hello);
+        commands.put("CLIENT", this::client);
+
+        this.acceptor = Thread.ofPlatform().daemon().name("resp-stand-in-accept-" + socket.getLocalPort()).start(this::acceptLoop);
+    }
+
+    /** Starts on an ephemeral loopback port. */
+    public static RespServer start() {
+        return start(0, System::currentTimeMillis);
+    }
+
+    /** Starts on {@code port} (0 = ephemeral) with a custom millisecond clock for key / field expiry. */
+    public static RespServer start(int port, LongSupplier clock) {
+        try {
+            return new RespServer(port, clock);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start RESP stand-in on port " + port, e);
+        }
+    }
+
+    public String host() {
+        return socket.getInetAddress().getHostAddress();
+    }
+
+    public int port() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Delays every reply flush by {@code latency}, outside the command lock, like a network round
+     * trip: concurrent connections wait in parallel and a pipeline pays it once. Zero turns it off.
+     */
+    public void setLatency(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    /** Drops all keys and indexes; registered scripts stay. */
+    public void flushAll() {
+        lock.lock();
+        try {
+            keyspace.clear();
+            search.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Makes EVAL / EVALSHA of {@code source} run {@code script}. */
+    public void registerScript(String source, Script script) {
+        scripts.register(source, script);
+    }
+
+    /** Commands executed per name (upper case) since start or the last {@link #resetCounts()}; script calls included. */
+    public Map<String, Long> commandCounts() {
+        Map<String, Long> out = new TreeMap<>();
+        counts.forEach((name, n) -> out.put(name, n.sum()));
+        return out;
+    }
+
+    public long totalCommands() {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public void resetCounts() {
+        counts.values().forEach(LongAdder::reset);
+    }
+
+    /** Runs one command in-process, bypassing the socket (test setup / assertions). */
+    public Object execute(String... args) {
+        return dispatch(List.of(args));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+        acceptor.interrupt();
+    }
+
+    // ---------- connections ----------
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket client = socket.accept();
+                client.setTcpNoDelay(true);
+                clients.add(client);
+                Thread.ofVirtual().name("resp-stand-in-client").start(() -> serve(client));
+            } catch (IOException e) {
+                if (running) log.warn("RESP stand-in accept failed: {}", e.toString());
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        ClientConnection connection = null;
+        try (client;
+             InputStream in = new BufferedInputStream(client.getInputStream(), 16 * 1024);
+             OutputStream out = new BufferedOutputStream(client.getOutputStream(), 16 * 1024)) {
+            connection = new ClientConnection(out);
+            List<String> args;
+            while ((args = RespProtocol.readCommand(in)) != null) {
+                if (args.isEmpty()) continue;
+                Object reply;
+                try {
+                    reply = dispatch(connection, args);
+                } catch (RespError e) {
+                    reply = e;
+                } catch (RuntimeException e) {
+                    log.warn("RESP stand-in failed on {}: {}", args.getFirst(), e.toString(), e);
+                    reply = new RespError("ERR stand-in: " + e);
+                }
+                connection.reply(reply);
+                // Pipelined requests already buffered are answered in one flush
+                if (in.available() == 0) {
+                    if (latencyNanos > 0) LockSupport.parkNanos(latencyNanos);
+                    connection.flush();
+                }
+                if (args.getFirst().equalsIgnoreCase("QUIT")) break;
+            }
+            connection.flush();
+        } catch (SocketException e) {
+            // client went away
+        } catch (IOException e) {
+            if (running) log.debug("RESP stand-in connection closed: {}", e.toString());
+        } finally {
+            clients.remove(client);
+            if (connection != null) forget(connection);
+        }
+    }
+
+    private void forget(ClientConnection connection) {
+        lock.lock();
+        try {
+            tracking.forget(connection);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object hello(Args a) {
+        int protocol = current != null && current.resp3() ? 3 : 2;
+        if (a.size() > 1) protocol = parseProtocol(a.get(1));
+        if (current != null) current.protocol(protocol);
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("server", "redis");
+        info.put("version", VERSION);
+        info.put("proto", (long) protocol);
+        info.put("id", 1L);
+        info.put("mode", "standalone");
+        info.put("role", "master");
+        info.put("modules", List.of());
+        return info;
+    }
+
+    private static int parseProtocol(String version) {
+        return switch (version) {
+            case "2" -> 2;
+            case "3" -> 3;
+            default -> throw new RespError("NOPROTO unsupported protocol version");
+        };
+    }
+
+    private Object client(Args a) {
+        if (a.is(1, "GETNAME")) return null;
+        if (a.is(1, "ID")) return 1L;
+        if (a.is(1, "INFO")) {
+            int protocol = current != null && current.resp3() ? 3 : 2;
+            return "id=1 addr=127.0.0.1 name= db=0 resp=" + protocol + "\n";
+        }
+        if (a.is(1, "TRACKING") && current != null) {
+            boolean on = a.is(2, "ON");
+            if (on && !current.resp3()) {
+                // RESP2 tracking needs REDIRECT to a pub/sub connection, which the stand-in has no support for
+                throw new RespError("ERR stand-in: CLIENT TRACKING needs RESP3 (HELLO 3)");
+            }
+            if (on) {
+                tracking.start(current);
+            } else {
+                tracking.forget(current);
+            }
+        }
+        return RespProtocol.OK;   // SETNAME, SETINFO, ...
+    }
+
+    // ---------- dispatch ----------
+
+    private Object dispatch(ClientConnection connection, List<String> argv) {
+        lock.lock();
+        try {
+            current = connection;
+            return dispatch(argv);
+        } finally {
+            current = null;
+            lock.unlock();
+        }
+    }
+
+    private Object dispatch(List<String> argv) {
+        Args args = new Args(argv);
+        String name = args.name();
+        if (name.equals("QUIT") || name.equals("RESET")) return RespProtocol.OK;
+        Command command = commands.get(name);
+        if (command == null) {
+            throw new RespError("ERR unknown command '" + argv.getFirst() + "', with args beginning with: ");
+        }
+        counts.computeIfAbsent(name, n -> new LongAdder()).increment();
+        lock.lock();
+        try {
+            Object reply = command.run(args);
+            tracking.afterCommand(current, args);
+            return reply;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.rediscartservice.support.resp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.json.Path2;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.search.Document;
+import redis.clients.jedis.search.IndexDefinition;
+import redis.clients.jedis.search.IndexOptions;
+import redis.clients.jedis.search.Query;
+import redis.clients.jedis.search.Schema;
+import redis.clients.jedis.search.SearchResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RespServerTest {
+
+    final AtomicLong clock = new AtomicLong(1_000_000L);
+    RespServer server;
+    JedisPooled jedis;
+
+    @BeforeEach
+    void setUp() {
+        server = RespServer.start(0, clock::get);
+        jedis = new JedisPooled(server.host(), server.port());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jedis.close();
+        server.close();
+    }
+
+    @Test
+    void strings_with_px_expire_on_the_server_clock() {
+        jedis.set("a", "1", SetParams.setParams().px(500));
+        assertThat(jedis.incr("a")).isEqualTo(2L);
+        assertThat(jedis.mget("a", "missing")).containsExactly("2", null);
+
+        clock.addAndGet(501);
+        assertThat(jedis.get("a")).isNull();
+        assertThat(jedis.exists("a")).isFalse();
+    }
+
+    @Test
+    void hash_fields_expire_individually_and_empty_hashes_disappear() {
+        jedis.hset("h", Map.of("active", "1", "user", "alice"));
+        Object reply = jedis.eval("return redis.call('HPEXPIRE', KEYS[1], ARGV[1], 'FIELDS', 1, 'active')", 1, "h", "100");
+        assertThat(reply).isEqualTo(List.of(1L));
+
+        clock.addAndGet(100);
+        assertThat(jedis.hexists("h", "active")).isFalse();
+        assertThat(jedis.hgetAll("h")).containsExactly(Map.entry("user", "alice"));
+
+        jedis.hdel("h", "user");
+        assertThat(jedis.exists("h")).isFalse();
+    }
+
+    @Test
+    void binary_values_round_trip_unchanged() {
+        byte[] key = "lines".getBytes(StandardCharsets.UTF_8);
+        byte[] value = {0, (byte) 0xff, (byte) 0x80, '\r', '\n', 42};
+        jedis.hset(key, "p1".getBytes(StandardCharsets.UTF_8), value);
+        assertThat(jedis.hget(key, "p1".getBytes(StandardCharsets.UTF_8))).isEqualTo(value);
+    }
+
+    @Test
+    void sorted_sets_range_by_score_and_rank() {
+        jedis.zincrby("z", 3, "c");
+        jedis.zincrby("z", 1, "a");
+        jedis.zincrby("z", 2, "b");
+        jedis.zincrby("z", -1, "c");
+
+        assertThat(jedis.zrangeByScore("z", "(1", "+inf")).containsExactly("b", "c");
+        assertThat(jedis.zrevrange("z", 0, 0)).containsExactly("c");   // c and b tie at 2 → member order
+        assertThat(jedis.zrem("z", "a", "missing")).isEqualTo(1L);
+        assertThat(jedis.zcard("z")).isEqualTo(2L);
+    }
+
+    @Test
+    void scan_walks_every_key_with_match_and_cursor() {
+        for (int i = 0; i < 25; i++) jedis.set("k:" + i, "v");
+        jedis.set("other", "v");
+
+        List<String> seen = new ArrayList<>();
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> page = jedis.scan(cursor, new ScanParams().match("k:*").count(10));
+            seen.addAll(page.getResult());
+            cursor = page.getCursor();
+        } while (!cursor.equals(ScanParams.SCAN_POINTER_START));
+
+        assertThat(seen).hasSize(25).doesNotContain("other");
+    }
+
+    @Test
+    void scan_does_not_skip_keys_when_earlier_ones_are_deleted_mid_walk() {
+        for (int i = 0; i < 25; i++) jedis.set("k:" + i, "v");
+
+        List<String> seen = new ArrayList<>();
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> page = jedis.scan(cursor, new ScanParams().count(10));
+            seen.addAll(page.getResult());
+            page.getResult().forEach(jedis::del);
+            cursor = page.getCursor();
+        } while (!cursor.equals(ScanParams.SCAN_POINTER_START));
+
+        assertThat(seen).hasSize(25);
+        assertThat(jedis.memoryUsage("k:0")).isNull();
+    }
+
+    @Test
+    void json_documents_support_root_and_field_paths() {
+        jedis.jsonSet("doc", Path2.ROOT_PATH, "{\"name\":\"Mug\",\"price\":12.5}");
+        jedis.jsonSet("doc", Path2.of("$.name"), "\"Cup\"");
+
+        assertThat(jedis.jsonGet("doc", Path2.of("$.name")).toString()).isEqualTo("[\"Cup\"]");
+        assertThat(jedis.jsonGet("missing", Path2.ROOT_PATH)).isNull();
+        assertThat(server.execute("JSON.SET", "doc", "$.colour", "\"red\"", "XX")).isNull();
+    }
+
+    @Test
+    void search_matches_tags_prefixes_and_fuzzy_terms() {
+        jedis.ftCreate("idx", IndexOptions.defaultOptions().setDefinition(
+                        new IndexDefinition(IndexDefinition.Type.HASH).setPrefixes("item:")),
+                new Schema().addTagField("cart").addTextField("name", 1.0).addNumericField("amount"));
+        jedis.hset("item:1", Map.of("cart", "c-1", "name", "Black Mug", "amount", "2"));
+        jedis.hset("item:2", Map.of("cart", "c-1", "name", "Tea Spoon", "amount", "5"));
+        jedis.hset("item:3", Map.of("cart", "c-2", "name", "Black Hoodie", "amount", "1"));
+
+        assertThat(ids(jedis.ftSearch("idx", new Query("@cart:{c\\-1} @name:(bla*)")))).containsExactly("item:1");
+        assertThat(ids(jedis.ftSearch("idx", new Query("@name:(%blak%)")))).containsExactlyInAnyOrder("item:1", "item:3");
+        assertThat(ids(jedis.ftSearch("idx", new Query("@amount:[(1 5] -@name:spoon")))).containsExactly("item:1");
+        assertThat(jedis.ftSearch("idx", new Query("*").limit(0, 1)).getTotalResults()).isEqualTo(3);
+    }
+
+    @Test
+    void unknown_scripts_and_commands_fail_like_redis() {
+        assertThatThrownBy(() -> jedis.eval("return 1")).isInstanceOf(JedisDataException.class).hasMessageContaining("NOSCRIPT");
+
+        server.registerScript("return 1", (redis, keys, argv) -> 1L);
+        assertThat(jedis.eval("return 1")).isEqualTo(1L);
+        assertThatThrownBy(() -> jedis.sendCommand(() -> "NOPE".getBytes(StandardCharsets.US_ASCII)))
+                .isInstanceOf(JedisDataException.class).hasMessageContaining("unknown command");
+    }
+
+    @Test
+    void pipelined_commands_are_answered_in_order_and_counted() {
+        server.resetCounts();
+        try (Pipeline pipeline = jedis.pipelined()) {
+            pipeline.sadd("s", "a", "b");
+            pipeline.srem("s", "a");
+            pipeline.smembers("s");
+            List<Object> replies = pipeline.syncAndReturnAll();
+            assertThat(replies).containsExactly(2L, 1L, Set.of("b"));
+        }
+        assertThat(server.commandCounts()).containsEntry("SADD", 1L).containsEntry("SMEMBERS", 1L);
+    }
+
+    @Test
+    void latency_delays_each_round_trip_until_turned_off() {
+        server.setLatency(Duration.ofMillis(50));
+        long start = System.nanoTime();
+        jedis.set("a", "1");
+        assertThat(jedis.get("a")).isEqualTo("1");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+
+        server.setLatency(Duration.ZERO);
+        start = System.nanoTime();
+        jedis.get("a");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(50));
+    }
+
+    @Test
+    void resp3_tracking_pushes_invalidations_for_keys_read_then_written_or_flushed() throws Exception {
+        jedis.set("k", "v");
+        try (Socket socket = new Socket(server.host(), server.port())) {
+            socket.setSoTimeout(2_000);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+
+            send(out, "HELLO", "3");
+            expect(in, "%7\r\n$6\r\nserver\r\n$5\r\nredis\r\n$7\r\nversion\r\n$5\r\n7.4.0\r\n$5\r\nproto\r\n:3\r\n"
+                    + "$2\r\nid\r\n:1\r\n$4\r\nmode\r\n$10\r\nstandalone\r\n$4\r\nrole\r\n$6\r\nmaster\r\n$7\r\nmodules\r\n*0\r\n");
+            send(out, "CLIENT", "TRACKING", "ON");
+            expect(in, "+OK\r\n");
+            send(out, "GET", "k");
+            expect(in, "$1\r\nv\r\n");
+
+            jedis.set("k", "w");
+            expect(in, ">2\r\n$10\r\ninvalidate\r\n*1\r\n$1\r\nk\r\n");
+
+            jedis.flushAll();
+            expect(in, ">2\r\n$10\r\ninvalidate\r\n_\r\n");
+        }
+    }
+
+    private static void send(OutputStream out, String... args) throws IOException {
+        StringBuilder command = new StringBuilder("*").append(args.length).append("\r\n");
+        for (String arg : args) command.append('$').append(arg.length()).append("\r\n").append(arg).append("\r\n");
+        out.write(command.toString().getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void expect(InputStream in, String frames) throws IOException {
+        assertThat(new String(in.readNBytes(frames.length()), StandardCharsets.US_ASCII)).isEqualTo(frames);
+    }
+
+    private static List<String> ids(SearchResult result) {
+        return result.getDocuments().stream().map(Document::getId).toList();
+    }
+}
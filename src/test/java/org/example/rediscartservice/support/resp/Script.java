@@ -0,0 +1,20 @@
+package org.example.rediscartservice.support.resp;
+
+import java.util.List;
+
+/**
+ * Java body standing in for one Lua script. The stand-in has no Lua interpreter: EVAL looks the
+ * script text up (whitespace-insensitively) and runs the registered body atomically, with
+ * {@code redis.call} routed through the normal command table.
+ */
+@FunctionalInterface
+public interface Script {
+
+    Object run(Redis redis, List<String> keys, List<String> argv);
+
+    /** {@code redis.call(...)}: errors propagate and abort the script, as in Lua. */
+    @FunctionalInterface
+    interface Redis {
+        Object call(String... args);
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.rediscartservice.support.resp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.example.rediscartservice.support.resp.RespProtocol.OK;
+
+/**
+ * EVAL / EVALSHA / SCRIPT against registered {@link Script} bodies. The service's own scripts are
+ * built in (see {@link #KNOWN}); their text is duplicated here on purpose — if a script changes in
+ * main code, EVAL fails with {@code NOSCRIPT} and the body below has to follow.
+ */
+final class ScriptCommands {
+
+    private static final String DROP_PREVIOUS_SKU =
+            "if prev then local old = cjson.decode(prev)[1] " +
+            "if type(old) == 'string' and old ~= ARGV[2] and redis.call('GET', 'sku:' .. old) == ARGV[1] then " +
+            "redis.call('DEL', 'sku:' .. old) end end ";
+
+    /** Scripts the service sends, keyed by their source text. */
+    static final Map<String, Script> KNOWN = Map.of(
+            // SessionTouchAspect: idle expiry of the session's "active" flag
+            "return redis.call('HPEXPIRE', KEYS[1], ARGV[1], 'FIELDS', 1, 'active')",
+            (redis, keys, argv) -> redis.call("HPEXPIRE", keys.get(0), argv.get(0), "FIELDS", "1", "active"),
+
+            // Compare-and-delete: ExpiredSessionReclaimer lease release
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            (redis, keys, argv) -> Objects.equals(redis.call("GET", keys.get(0)), argv.get(0))
+                    ? redis.call("DEL", keys.get(0))
+                    : 0L,
+
+            // Compare-and-extend: ExpiredSessionReclaimer lease renewal
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0",
+            (redis, keys, argv) -> Objects.equals(redis.call("GET", keys.get(0)), argv.get(0))
+                    ? redis.call("PEXPIRE", keys.get(0), argv.get(1))
+                    : 0L,
+
+            // JedisProductRepository.SAVE: document write + sku:{sku} pointer upkeep
+            "local prev = redis.call('JSON.GET', KEYS[1], '$.sku') " +
+            "redis.call('JSON.SET', KEYS[1], '$', ARGV[3]) " +
+            "if ARGV[2] ~= '' then redis.call('SET', 'sku:' .. ARGV[2], ARGV[1]) end " +
+            DROP_PREVIOUS_SKU +
+            "return 1",
+            (redis, keys, argv) -> {
+                String prev = previousSku(redis, keys.get(0));
+                redis.call("JSON.SET", keys.get(0), "$", argv.get(2));
+                if (!argv.get(1).isEmpty()) redis.call("SET", "sku:" + argv.get(1), argv.get(0));
+                dropPreviousSku(redis, prev, argv);
+                return 1L;
+            },
+
+            // JedisProductRepository.DELETE: document delete + pointer cleanup
+            "local prev = redis.call('JSON.GET', KEYS[1], '$.sku') " +
+            "local removed = redis.call('DEL', KEYS[1]) " +
+            DROP_PREVIOUS_SKU +
+            "return removed",
+            (redis, keys, argv) -> {
+                String prev = previousSku(redis, keys.get(0));
+                Object removed = redis.call("DEL", keys.get(0));
+                dropPreviousSku(redis, prev, argv);
+                return removed;
+            },
+
+            // JedisProductRepository.PATCH_PATHS: existence check + XX path writes, counted
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local written = 0 " +
+            "for i = 1, #ARGV, 2 do " +
+            "if redis.call('JSON.SET', KEYS[1], ARGV[i], ARGV[i + 1], 'XX') then written = written + 1 end end " +
+            "return written",
+            (redis, keys, argv) -> {
+                if (Long.valueOf(0L).equals(redis.call("EXISTS", keys.get(0)))) return 0L;
+                long written = 0;
+                for (int i = 0; i + 1 < argv.size(); i += 2) {
+                    if (redis.call("JSON.SET", keys.get(0), argv.get(i), argv.get(i + 1), "XX") != null) written++;
+                }
+                return written;
+            });
+
+    private final Function<List<String>, Object> dispatcher;
+    private final Map<String, Script> bySource = new ConcurrentHashMap<>();
+    private final Map<String, Script> bySha = new ConcurrentHashMap<>();
+
+    ScriptCommands(Function<List<String>, Object> dispatcher) {
+        this.dispatcher = dispatcher;
+        KNOWN.forEach(this::register);
+    }
+
+    void register(String source, Script script) {
+        bySource.put(normalize(source), script);
+        bySha.put(sha1(source), script);
+    }
+
+    void registerInto(Map<String, Command> table) {
+        table.put("EVAL", a -> eval(a, bySource.get(normalize(a.atLeast(3).get(1)))));
+        table.put("EVAL_RO", a -> eval(a, bySource.get(normalize(a.atLeast(3).get(1)))));
+        table.put("EVALSHA", a -> eval(a, bySha.get(a.atLeast(3).get(1).toLowerCase())));
+        table.put("EVALSHA_RO", a -> eval(a, bySha.get(a.atLeast(3).get(1).toLowerCase())));
+        table.put("SCRIPT", this::script);
+    }
+
+    private Object eval(Args a, Script script) {
+        if (script == null) throw new RespError("NOSCRIPT No matching script registered with the stand-in");
+        int numKeys = a.intAt(2);
+        if (numKeys < 0 || 3 + numKeys > a.size()) throw new RespError("ERR Number of keys can't be greater than number of args");
+        List<String> keys = a.from(3).subList(0, numKeys);
+        List<String> argv = a.from(3 + numKeys);
+        return script.run(args -> dispatcher.apply(List.of(args)), keys, argv);
+    }
+
+    private Object script(Args a) {
+        if (a.is(1, "LOAD")) {
+            String source = a.exactly(3).get(2);
+            if (!bySource.containsKey(normalize(source))) {
+                throw new RespError("ERR the stand-in cannot run arbitrary Lua; register a Script body for it");
+            }
+            String sha = sha1(source);
+            bySha.putIfAbsent(sha, bySource.get(normalize(source)));
+            return sha;
+        }
+        if (a.is(1, "EXISTS")) {
+            List<Long> out = new ArrayList<>();
+            for (String sha : a.from(2)) out.add(bySha.containsKey(sha.toLowerCase()) ? 1L : 0L);
+            return out;
+        }
+        return OK;   // FLUSH, KILL
+    }
+
+    // ---------- helpers for the product scripts ----------
+
+    // JSON.GET key $.sku → ["SKU"]; cjson.decode(prev)[1] in the Lua body
+    private static String previousSku(Script.Redis redis, String key) {
+        Object raw = redis.call("JSON.GET", key, "$.sku");
+        if (raw == null) return null;
+        try {
+            JsonNode first = JsonCommands.MAPPER.readTree(raw.toString()).path(0);
+            return first.isTextual() ? first.asText() : null;
+        } catch (Exception e) {
+            throw new RespError("ERR cjson: " + e.getMessage());
+        }
+    }
+
+    private static void dropPreviousSku(Script.Redis redis, String previous, List<String> argv) {
+        if (previous != null && !previous.equals(argv.get(1))
+                && Objects.equals(redis.call("GET", "sku:" + previous), argv.get(0))) {
+            redis.call("DEL", "sku:" + previous);
+        }
+    }
+
+    private static String normalize(String source) {
+        return source.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String sha1(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.ISO_8859_1));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.example.rediscartservice.support.resp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.example.rediscartservice.support.resp.RespProtocol.OK;
+
+/**
+ * RediSearch subset: FT.CREATE (HASH / JSON, PREFIX, TEXT / TAG / NUMERIC fields), FT.ALTER ... SCHEMA ADD,
+ * FT.SEARCH (NOCONTENT, WITHSCORES, RETURN ... AS, LIMIT, SORTBY, numeric FILTER), FT.DROPINDEX,
+ * FT.INFO and FT._LIST. Replies use the RESP2 layout Jedis' SearchResult expects.
+ */
+final class SearchCommands {
+
+    private final Keyspace ks;
+    private final Map<String, SearchIndex> indexes = new LinkedHashMap<>();
+
+    SearchCommands(Keyspace ks) {
+        this.ks = ks;
+    }
+
+    void registerInto(Map<String, Command> table) {
+        table.put("FT.CREATE", this::create);
+        table.put("FT.ALTER", this::alter);
+        table.put("FT.DROPINDEX", this::drop);
+        table.put("FT._LIST", a -> new ArrayList<>(indexes.keySet()));
+        table.put("FT.INFO", this::info);
+        table.put("FT.SEARCH", this::search);
+    }
+
+    void clear() {
+        indexes.clear();
+    }
+
+    // ---------- FT.CREATE / FT.ALTER ----------
+
+    private Object create(Args a) {
+        String name = a.atLeast(4).get(1);
+        if (indexes.containsKey(name)) throw new RespError("Index already exists");
+
+        boolean json = false;
+        List<String> prefixes = new ArrayList<>();
+        int i = 2;
+        while (i < a.size() && !a.is(i, "SCHEMA")) {
+            String option = a.get(i).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "ON" -> json = a.is(++i, "JSON");
+                case "PREFIX" -> {
+                    int n = a.intAt(++i);
+                    for (int k = 0; k < n; k++) prefixes.add(a.get(++i));
+                }
+                case "STOPWORDS" -> i += a.intAt(i + 1) + 1;
+                case "FILTER", "LANGUAGE", "LANGUAGE_FIELD", "SCORE", "SCORE_FIELD", "PAYLOAD_FIELD", "TEMPORARY" -> i++;
+                default -> { /* flags: NOOFFSETS, NOHL, NOFIELDS, NOFREQS, MAXTEXTFIELDS, SKIPINITIALSCAN */ }
+            }
+            i++;
+        }
+        if (!a.is(i, "SCHEMA")) throw new RespError("No schema found");
+
+        indexes.put(name, new SearchIndex(name, json, List.copyOf(prefixes), fields(a, i + 1)));
+        return OK;
+    }
+
+    // FT.ALTER <index> [SKIPINITIALSCAN] SCHEMA ADD <field> ...; documents are read at query time, so
+    // existing ones are covered at once (RediSearch rescans them in the background)
+    private Object alter(Args a) {
+        String name = a.atLeast(6).get(1);
+        SearchIndex index = index(name);
+        int i = a.is(2, "SKIPINITIALSCAN") ? 3 : 2;
+        if (!a.is(i, "SCHEMA") || !a.is(i + 1, "ADD")) throw new RespError("ERR Unknown argument `" + a.get(i) + "`");
+
+        List<SearchIndex.Field> fields = new ArrayList<>(index.fields());
+        for (SearchIndex.Field added : fields(a, i + 2)) {
+            if (index.field(added.alias()) != null) throw new RespError("Duplicate field in schema - " + added.alias());
+            fields.add(added);
+        }
+        indexes.put(name, new SearchIndex(name, index.json(), index.prefixes(), List.copyOf(fields)));
+        return OK;
+    }
+
+    // Field definitions from {@code i} to the end: identifier [AS alias] type [options]
+    private static List<SearchIndex.Field> fields(Args a, int i) {
+        List<SearchIndex.Field> fields = new ArrayList<>();
+        while (i < a.size()) {
+            String identifier = a.get(i++);
+            String alias = identifier;
+            if (a.is(i, "AS")) {
+                alias = a.get(i + 1);
+                i += 2;
+            }
+            SearchIndex.FieldType type;
+            try {
+                type = SearchIndex.FieldType.valueOf(a.get(i++).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RespError("ERR stand-in supports TEXT, TAG and NUMERIC fields only");
+            }
+            double weight = 1.0;
+            String separator = ",";
+            boolean caseSensitive = false;
+            while (i < a.size()) {
+                String option = a.get(i).toUpperCase(Locale.ROOT);
+                if (option.equals("WEIGHT")) {
+                    weight = a.doubleAt(i + 1);
+                    i += 2;
+                } else if (option.equals("SEPARATOR") || option.equals("PHONETIC")) {
+                    if (option.equals("SEPARATOR")) separator = a.get(i + 1);
+                    i += 2;
+                } else if (option.equals("CASESENSITIVE")) {
+                    caseSensitive = true;
+                    i++;
+                } else if (List.of("SORTABLE", "UNF", "NOSTEM", "NOINDEX", "WITHSUFFIXTRIE", "INDEXEMPTY", "INDEXMISSING").contains(option)) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            fields.add(new SearchIndex.Field(identifier, alias, type, weight, separator, caseSensitive));
+        }
+        return List.copyOf(fields);
+    }
+
+    private Object drop(Args a) {
+        SearchIndex index = indexes.remove(a.atLeast(2).get(1));
+        if (index == null) throw new RespError("Unknown Index name");
+        if (a.is(2, "DD")) {
+            for (String key : ks.keys()) {
+                if (index.covers(key) && index.indexes(ks.get(key))) ks.remove(key);
+            }
+        }
+        return OK;
+    }
+
+    private Object info(Args a) {
+        SearchIndex index = index(a.atLeast(2).get(1));
+        return List.of("index_name", index.name(), "num_docs", (long) candidates(index).size());
+    }
+
+    // ---------- FT.SEARCH ----------
+
+    private record Hit(SearchQuery.Doc doc, Object value, double score, int order) {}
+
+    private record Returned(String identifier, String name) {}
+
+    private Object search(Args a) {
+        SearchIndex index = index(a.atLeast(3).get(1));
+        SearchQuery.Node query = SearchQuery.parse(RespProtocol.utf8(a.get(2)));
+
+        boolean noContent = false, withScores = false, sortDescending = false;
+        int offset = 0, limit = 10;
+        String sortBy = null;
+        List<Returned> returned = null;
+        List<SearchQuery.Numeric> filters = new ArrayList<>();
+        for (int i = 3; i < a.size(); i++) {
+            String option = a.get(i).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "NOCONTENT" -> noContent = true;
+                case "WITHSCORES" -> withScores = true;
+                case "VERBATIM", "NOSTOPWORDS", "INORDER", "WITHSORTKEYS", "EXPLAINSCORE" -> { }
+                case "LIMIT" -> {
+                    offset = a.intAt(i + 1);
+                    limit = a.intAt(i + 2);
+                    i += 2;
+                }
+                case "RETURN" -> {
+                    int n = a.intAt(++i);
+                    int end = i + n;
+                    returned = new ArrayList<>();
+                    while (i < end) {
+                        String identifier = a.get(++i);
+                        String name = identifier;
+                        if (i + 2 <= end && a.is(i + 1, "AS")) {
+                            name = a.get(i + 2);
+                            i += 2;
+                        }
+                        returned.add(new Returned(identifier, name));
+                    }
+                }
+                case "SORTBY" -> {
+                    sortBy = a.get(++i);
+                    if (a.is(i + 1, "ASC") || a.is(i + 1, "DESC")) sortDescending = a.is(++i, "DESC");
+                }
+                case "FILTER" -> {
+                    String min = a.get(i + 2), max = a.get(i + 3);
+                    boolean minEx = min.startsWith("("), maxEx = max.startsWith("(");
+                    filters.add(new SearchQuery.Numeric(a.get(i + 1),
+                            Args.parseDouble(minEx ? min.substring(1) : min), minEx,
+                            Args.parseDouble(maxEx ? max.substring(1) : max), maxEx));
+                    i += 3;
+                }
+                case "PARAMS", "INKEYS", "INFIELDS" -> i += a.intAt(i + 1) + 1;
+                case "DIALECT", "TIMEOUT", "SLOP", "LANGUAGE", "SCORER", "EXPANDER", "PAYLOAD" -> i++;
+                default -> throw new RespError("Unknown argument `" + a.get(i) + "`");
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        int order = 0;
+        for (Map.Entry<String, Object> candidate : candidates(index).entrySet()) {
+            SearchQuery.Doc doc = index.document(candidate.getKey(), candidate.getValue());
+            double score = query.score(doc, index);
+            for (SearchQuery.Numeric filter : filters) {
+                if (score != SearchQuery.NO_MATCH && filter.score(doc, index) == SearchQuery.NO_MATCH) score = SearchQuery.NO_MATCH;
+            }
+            if (score != SearchQuery.NO_MATCH) hits.add(new Hit(doc, candidate.getValue(), score, order++));
+        }
+        sort(hits, index, query, sortBy, sortDescending);
+
+        List<Object> reply = new ArrayList<>();
+        reply.add((long) hits.size());
+        int from = Math.min(Math.max(0, offset), hits.size());
+        int to = Math.min(hits.size(), from + Math.max(0, limit));
+        for (Hit hit : hits.subList(from, to)) {
+            reply.add(hit.doc().key());
+            if (withScores) reply.add(hit.score());
+            if (!noContent) reply.add(content(index, hit, returned));
+        }
+        return reply;
+    }
+
+    private static void sort(List<Hit> hits, SearchIndex index, SearchQuery.Node query, String sortBy, boolean descending) {
+        if (sortBy != null) {
+            SearchIndex.Field field = index.field(sortBy);
+            String alias = field == null ? sortBy : field.alias();
+            // NUMERIC fields extract to Double, TEXT / TAG to token lists; the other key is null throughout
+            Comparator<Hit> bySortKey = Comparator
+                    .comparing((Hit h) -> numericKey(h.doc().field(alias)), Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(h -> textKey(h.doc().field(alias)), Comparator.nullsLast(Comparator.naturalOrder()));
+            hits.sort(descending ? bySortKey.reversed() : bySortKey);
+        } else if (query.hasText()) {
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingInt(Hit::order));
+        }
+    }
+
+    private static Double numericKey(Object value) {
+        return value instanceof Double d ? d : null;
+    }
+
+    private static String textKey(Object value) {
+        if (!(value instanceof List<?> tokens)) return null;
+        StringJoiner joined = new StringJoiner(" ");
+        tokens.forEach(t -> joined.add(String.valueOf(t)));
+        return joined.toString();
+    }
+
+    private static List<Object> content(SearchIndex index, Hit hit, List<Returned> returned) {
+        List<Object> fields = new ArrayList<>();
+        if (returned == null) {
+            if (hit.value() instanceof Keyspace.Hash hash) {
+                hash.fields.forEach((k, v) -> {
+                    fields.add(k);
+                    fields.add(v);
+                });
+            } else {
+                fields.add("$");
+                fields.add(JsonCommands.render((JsonNode) hit.value()));
+            }
+            return fields;
+        }
+        for (Returned r : returned) {
+            String value = index.returnValue(hit.value(), r.identifier());
+            if (value != null) {
+                fields.add(r.name());
+                fields.add(value);
+            }
+        }
+        return fields;
+    }
+
+    // ---------- helpers ----------
+
+    private SearchIndex index(String name) {
+        SearchIndex index = indexes.get(name);
+        if (index == null) throw new RespError(name + ": no such index");
+        return index;
+    }
+
+    private Map<String, Object> candidates(SearchIndex index) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (String key : ks.keys()) {
+            if (!index.covers(key)) continue;
+            Object value = ks.get(key);
+            if (index.indexes(value)) out.put(key, value);
+        }
+        return out;
+    }
+}
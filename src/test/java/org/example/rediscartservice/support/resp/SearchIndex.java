@@ -0,0 +1,104 @@
+package org.example.rediscartservice.support.resp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.rediscartservice.support.resp.Keyspace.Hash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An FT.CREATE definition. There is no inverted index: documents are read from the keyspace at
+ * query time (every key under one of the prefixes holding the indexed type), so results always
+ * reflect the latest writes, as a synchronously updated RediSearch index would.
+ */
+record SearchIndex(String name, boolean json, List<String> prefixes, List<Field> fields) {
+
+    enum FieldType { TEXT, TAG, NUMERIC }
+
+    /** {@code identifier} is the hash field or JSON path; {@code alias} is what queries use. */
+    record Field(String identifier, String alias, FieldType type, double weight, String separator, boolean caseSensitive) {}
+
+    boolean covers(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) return true;
+        }
+        return prefixes.isEmpty();
+    }
+
+    Field field(String aliasOrIdentifier) {
+        for (Field f : fields) {
+            if (f.alias().equals(aliasOrIdentifier) || f.identifier().equals(aliasOrIdentifier)) return f;
+        }
+        return null;
+    }
+
+    /** True if {@code value} is of the type this index reads (JSON document or hash). */
+    boolean indexes(Object value) {
+        return json ? value instanceof JsonNode : value instanceof Hash;
+    }
+
+    /** The indexed view of {@code value}, or {@code null} if this index does not cover that value type. */
+    SearchQuery.Doc document(String key, Object value) {
+        return indexes(value) ? new SearchQuery.Doc(key, value, this) : null;
+    }
+
+    /** TEXT → tokens, TAG → values, NUMERIC → {@link Double}; {@code null} when absent or not convertible. */
+    Object extract(Object value, Field f) {
+        String raw = rawText(value, f.identifier());
+        if (raw == null) return null;
+        return switch (f.type()) {
+            case TEXT -> SearchQuery.tokenize(raw);
+            case TAG -> {
+                List<String> tags = new ArrayList<>();
+                for (String t : raw.split(Pattern.quote(f.separator()))) {
+                    String tag = t.trim();
+                    if (!tag.isEmpty()) tags.add(f.caseSensitive() ? tag : tag.toLowerCase(Locale.ROOT));
+                }
+                yield tags;
+            }
+            case NUMERIC -> {
+                try {
+                    yield Double.parseDouble(raw);
+                } catch (NumberFormatException e) {
+                    yield null;   // not indexed, like a failed numeric conversion in RediSearch
+                }
+            }
+        };
+    }
+
+    /**
+     * Value of a RETURN identifier as sent back: hash fields verbatim, JSON scalars as text
+     * (strings unquoted), other JSON values serialized. Wire (ISO-8859-1) encoding.
+     */
+    String returnValue(Object value, String identifier) {
+        if (value instanceof Hash hash) {
+            Field f = field(identifier);
+            return hash.fields.get(f == null ? identifier : f.identifier());
+        }
+        Field f = identifier.startsWith("$") ? null : field(identifier);
+        List<JsonNode> hits = JsonCommands.select((JsonNode) value, f == null ? identifier : f.identifier());
+        if (hits.isEmpty()) return null;
+        JsonNode node = hits.getFirst();
+        return node.isValueNode() ? RespProtocol.wire(node.asText()) : JsonCommands.render(node);
+    }
+
+    // Decoded (UTF-8) text of a field; JSON arrays of strings become separator-joined tag lists
+    private String rawText(Object value, String identifier) {
+        if (value instanceof Hash hash) {
+            String raw = hash.fields.get(identifier);
+            return raw == null ? null : RespProtocol.utf8(raw);
+        }
+        List<JsonNode> hits = JsonCommands.select((JsonNode) value, identifier);
+        if (hits.isEmpty() || hits.getFirst().isNull()) return null;
+        JsonNode node = hits.getFirst();
+        if (node.isArray()) {
+            List<String> items = new ArrayList<>();
+            node.forEach(n -> items.add(n.asText()));
+            return String.join(",", items);
+        }
+        return node.isValueNode() ? node.asText() : null;
+    }
+}
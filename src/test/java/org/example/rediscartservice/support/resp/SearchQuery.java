@@ -0,0 +1,373 @@
+package org.example.rediscartservice.support.resp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal RediSearch query language (DIALECT 2 flavour) for the queries this service builds:
+ *  - {@code *}; whitespace = AND, {@code |} = OR, {@code -x} = NOT, parentheses
+ *  - {@code @field:term}, {@code @field:(terms)}, {@code @tag:{a|b}}, {@code @num:[min (max]}
+ *  - {@code term*} prefix, {@code %term%} / {@code %%term%%} fuzzy (Levenshtein 1 / 2),
+ *    {@code "quoted phrase"} (all words, order not checked), backslash escapes
+ *
+ * Scoring is a plain weighted term frequency — enough to order hits, not RediSearch's TF-IDF.
+ * Stemming, stop words and highlighting are not modelled.
+ */
+final class SearchQuery {
+
+    /** Score of a document that does not match. */
+    static final double NO_MATCH = -1;
+
+    /**
+     * A candidate document. Field values (TEXT tokens, TAG values or NUMERIC value, by alias) are
+     * extracted on first use, so a leading tag clause rejects most documents without tokenizing them.
+     */
+    static final class Doc {
+        private final String key;
+        private final Object value;
+        private final SearchIndex index;
+        private final Map<String, Object> fields = new HashMap<>();
+
+        Doc(String key, Object value, SearchIndex index) {
+            this.key = key;
+            this.value = value;
+            this.index = index;
+        }
+
+        String key() {
+            return key;
+        }
+
+        Object field(String alias) {
+            if (fields.containsKey(alias)) return fields.get(alias);
+            SearchIndex.Field f = index.field(alias);
+            Object extracted = f == null ? null : index.extract(value, f);
+            fields.put(alias, extracted);
+            return extracted;
+        }
+    }
+
+    enum TermKind { EXACT, PREFIX, FUZZY }
+
+    sealed interface Node {
+        double score(Doc doc, SearchIndex index);
+
+        default boolean hasText() { return false; }
+    }
+
+    record MatchAll() implements Node {
+        public double score(Doc doc, SearchIndex index) { return 1.0; }
+    }
+
+    record MatchNone() implements Node {
+        public double score(Doc doc, SearchIndex index) { return NO_MATCH; }
+    }
+
+    record And(List<Node> children) implements Node {
+        public double score(Doc doc, SearchIndex index) {
+            double total = 0;
+            for (Node child : children) {
+                double s = child.score(doc, index);
+                if (s == NO_MATCH) return NO_MATCH;
+                total += s;
+            }
+            return total;
+        }
+
+        public boolean hasText() { return children.stream().anyMatch(Node::hasText); }
+    }
+
+    record Or(List<Node> children) implements Node {
+        public double score(Doc doc, SearchIndex index) {
+            double total = NO_MATCH;
+            for (Node child : children) {
+                double s = child.score(doc, index);
+                if (s != NO_MATCH) total = total == NO_MATCH ? s : total + s;
+            }
+            return total;
+        }
+
+        public boolean hasText() { return children.stream().anyMatch(Node::hasText); }
+    }
+
+    record Not(Node child) implements Node {
+        public double score(Doc doc, SearchIndex index) {
+            return child.score(doc, index) == NO_MATCH ? 0.0 : NO_MATCH;
+        }
+    }
+
+    /** {@code field == null}: any TEXT field of the index. */
+    record Term(String field, String token, TermKind kind, int distance) implements Node {
+        public double score(Doc doc, SearchIndex index) {
+            double total = 0;
+            boolean matched = false;
+            for (SearchIndex.Field f : index.fields()) {
+                if (f.type() != SearchIndex.FieldType.TEXT) continue;
+                if (field != null && !f.alias().equalsIgnoreCase(field)) continue;
+                if (!(doc.field(f.alias()) instanceof List<?> tokens) || tokens.isEmpty()) continue;
+                int hits = 0;
+                for (Object t : tokens) {
+                    if (matches((String) t)) hits++;
+                }
+                if (hits > 0) {
+                    matched = true;
+                    total += f.weight() * hits / tokens.size();
+                }
+            }
+            return matched ? total : NO_MATCH;
+        }
+
+        public boolean hasText() { return true; }
+
+        private boolean matches(String candidate) {
+            return switch (kind) {
+                case EXACT -> candidate.equals(token);
+                case PREFIX -> candidate.startsWith(token);
+                case FUZZY -> levenshtein(candidate, token, distance) <= distance;
+            };
+        }
+    }
+
+    record Tag(String field, List<String> values) implements Node {
+        public double score(Doc doc, SearchIndex index) {
+            if (!(doc.field(field) instanceof List<?> tags)) return NO_MATCH;
+            for (String v : values) {
+                if (tags.contains(v)) return 0.0;
+            }
+            return NO_MATCH;
+        }
+    }
+
+    record Numeric(String field, double min, boolean minExclusive, double max, boolean maxExclusive) implements Node {
+        public double score(Doc doc, SearchIndex index) {
+            if (!(doc.field(field) instanceof Double d)) return NO_MATCH;
+            boolean above = minExclusive ? d > min : d >= min;
+            boolean below = maxExclusive ? d < max : d <= max;
+            return above && below ? 0.0 : NO_MATCH;
+        }
+    }
+
+    // ---------- parser ----------
+
+    private final String q;
+    private int pos;
+
+    private SearchQuery(String q) {
+        this.q = q;
+    }
+
+    static Node parse(String query) {
+        SearchQuery parser = new SearchQuery(query.trim());
+        if (parser.q.equals("*") || parser.q.isEmpty()) return new MatchAll();
+        Node node = parser.union(null);
+        parser.skipSpace();
+        if (parser.pos < parser.q.length()) throw parser.error("unexpected '" + parser.q.charAt(parser.pos) + "'");
+        return node;
+    }
+
+    private Node union(String scope) {
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(intersect(scope));
+        while (peek() == '|') {
+            pos++;
+            alternatives.add(intersect(scope));
+        }
+        return alternatives.size() == 1 ? alternatives.getFirst() : new Or(alternatives);
+    }
+
+    private Node intersect(String scope) {
+        List<Node> terms = new ArrayList<>();
+        while (true) {
+            char c = peek();
+            if (c == 0 || c == ')' || c == '|') break;
+            terms.add(term(scope));
+        }
+        if (terms.isEmpty()) throw error("empty expression");
+        return terms.size() == 1 ? terms.getFirst() : new And(terms);
+    }
+
+    private Node term(String scope) {
+        char c = peek();
+        switch (c) {
+            case '-' -> {
+                pos++;
+                return new Not(term(scope));
+            }
+            case '(' -> {
+                pos++;
+                Node inner = union(scope);
+                expect(')');
+                return inner;
+            }
+            case '@' -> {
+                pos++;
+                String field = fieldName();
+                expect(':');
+                char next = pos < q.length() ? q.charAt(pos) : 0;
+                if (next == '{') return tag(field);
+                if (next == '[') return numeric(field);
+                if (next == '(') {
+                    pos++;
+                    Node inner = union(field);
+                    expect(')');
+                    return inner;
+                }
+                return word(field);
+            }
+            case '"' -> {
+                pos++;
+                int end = q.indexOf('"', pos);
+                if (end < 0) throw error("unterminated phrase");
+                List<Node> words = new ArrayList<>();
+                for (String token : tokenize(q.substring(pos, end))) {
+                    words.add(new Term(scope, token, TermKind.EXACT, 0));
+                }
+                pos = end + 1;
+                return words.isEmpty() ? new MatchNone() : words.size() == 1 ? words.getFirst() : new And(words);
+            }
+            case '*' -> {
+                pos++;
+                return new MatchAll();
+            }
+            default -> {
+                return word(scope);
+            }
+        }
+    }
+
+    private Node word(String scope) {
+        int fuzz = 0;
+        while (pos < q.length() && q.charAt(pos) == '%') {
+            fuzz++;
+            pos++;
+        }
+        StringBuilder text = new StringBuilder();
+        while (pos < q.length()) {
+            char c = q.charAt(pos);
+            if (c == '\\' && pos + 1 < q.length()) {
+                text.append(q.charAt(pos + 1));
+                pos += 2;
+                continue;
+            }
+            if (Character.isWhitespace(c) || "()|{}[]@\"%*".indexOf(c) >= 0) break;
+            text.append(c);
+            pos++;
+        }
+        TermKind kind = fuzz > 0 ? TermKind.FUZZY : TermKind.EXACT;
+        if (fuzz > 0) {
+            for (int i = 0; i < fuzz && pos < q.length() && q.charAt(pos) == '%'; i++) pos++;
+        } else if (pos < q.length() && q.charAt(pos) == '*') {
+            kind = TermKind.PREFIX;
+            pos++;
+        }
+        if (text.isEmpty()) throw error("expected a term");
+
+        List<Node> terms = new ArrayList<>();
+        for (String token : tokenize(text.toString())) {
+            terms.add(new Term(scope, token, kind, fuzz));
+        }
+        return terms.isEmpty() ? new MatchNone() : terms.size() == 1 ? terms.getFirst() : new And(terms);
+    }
+
+    private Node tag(String field) {
+        pos++;   // '{'
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        while (true) {
+            if (pos >= q.length()) throw error("unterminated tag list");
+            char c = q.charAt(pos++);
+            if (c == '\\' && pos < q.length()) {
+                current.append(q.charAt(pos++));
+            } else if (c == '|' || c == '}') {
+                values.add(current.toString().trim().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+                if (c == '}') break;
+            } else {
+                current.append(c);
+            }
+        }
+        return new Tag(field, values);
+    }
+
+    private Node numeric(String field) {
+        int end = q.indexOf(']', pos);
+        if (end < 0) throw error("unterminated numeric range");
+        String[] bounds = q.substring(pos + 1, end).trim().split("\\s+");
+        pos = end + 1;
+        if (bounds.length != 2) throw error("numeric range needs two bounds");
+        boolean minEx = bounds[0].startsWith("("), maxEx = bounds[1].startsWith("(");
+        return new Numeric(field,
+                Args.parseDouble(minEx ? bounds[0].substring(1) : bounds[0]), minEx,
+                Args.parseDouble(maxEx ? bounds[1].substring(1) : bounds[1]), maxEx);
+    }
+
+    private String fieldName() {
+        int start = pos;
+        while (pos < q.length() && (Character.isLetterOrDigit(q.charAt(pos)) || q.charAt(pos) == '_' || q.charAt(pos) == '$' || q.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (start == pos) throw error("expected a field name");
+        return q.substring(start, pos);
+    }
+
+    private char peek() {
+        skipSpace();
+        return pos < q.length() ? q.charAt(pos) : 0;
+    }
+
+    private void skipSpace() {
+        while (pos < q.length() && Character.isWhitespace(q.charAt(pos))) pos++;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) throw error("expected '" + c + "'");
+        pos++;
+    }
+
+    private RespError error(String what) {
+        return new RespError("Syntax error at offset " + pos + " near " + what);
+    }
+
+    // ---------- text ----------
+
+    /** Lower-cased words; punctuation separates tokens as in RediSearch's default tokenizer. */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_');
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Bounded: gives up (returns limit + 1) as soon as every cell of a row exceeds the limit
+    static int levenshtein(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) return limit + 1;
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > limit) return limit + 1;
+            int[] swap = prev;
+            prev = curr;
+            curr = swap;
+        }
+        return prev[b.length()];
+    }
+}
@@ -2,6 +2,7 @@ package org.example.rediscartservice.web.cart;
 
 import org.example.rediscartservice.application.cart.CartService;
 import org.example.rediscartservice.domain.model.cart.CartItem;
+import org.example.rediscartservice.infrastructure.session.SessionOwnerRegistry;
 import org.example.rediscartservice.web.SecurityTestConfig;
 import org.example.rediscartservice.web.cart.dto.CartDto;
 import org.example.rediscartservice.web.cart.dto.CartItemDto;
@@ -40,6 +41,9 @@ class CartControllerTest {
     @Resource
     CartService cartService;
 
+    @Resource
+    SessionOwnerRegistry sessionOwners;
+
     @Test
     @WithMockUser(username = "user", roles = "USER")
     void getCart_with_cart_items_returns_ok_and_maps_to_dtos() throws Exception {
@@ -175,8 +179,6 @@ class CartControllerTest {
 
     @Test
     void reportCarts_returns_list_of_carts_for_admin_user() throws Exception {
-        CartItemDto item = new CartItemDto("p1", "Test", "Short", 2, new BigDecimal("19.98"));
-        CartDto cart = new CartDto("session-123", List.of(item));
         CartItem cartItem = CartItem.builder()
                 .productId("p1")
                 .name("Test")
@@ -189,12 +191,14 @@ class CartControllerTest {
                 .thenReturn(List.of("session-123"));
         Mockito.when(cartService.findBySession("session-123"))
                 .thenReturn(List.of(cartItem));
+        sessionOwners.register("session-123", "alice");
 
         mockMvc.perform(get("/api/cart/report?threshold=10")
                         .with(SecurityMockMvcRequestPostProcessors.httpBasic("admin", "admin123"))
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].sessionId").value("session-123"))
+                .andExpect(jsonPath("$[0].username").value("alice"))
                 .andExpect(jsonPath("$[0].items[0].name").value("Test"))
                 .andExpect(jsonPath("$[0].items[0].amount").value(2))
                 .andExpect(jsonPath("$[0].items[0].totalPrice").value(19.98));
@@ -2,6 +2,9 @@ package org.example.rediscartservice.web.cart;
 
 import org.example.rediscartservice.application.cart.CartService;
 import org.example.rediscartservice.config.CartIdleProperties;
+import org.example.rediscartservice.domain.port.cart.CartRepository;
+import org.example.rediscartservice.infrastructure.session.InMemorySessionOwnerRegistry;
+import org.example.rediscartservice.infrastructure.session.SessionOwnerRegistry;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -15,12 +18,22 @@ public class CartControllerTestConfig {
         return Mockito.mock(CartService.class);
     }
 
+    @Bean
+    SessionOwnerRegistry sessionOwnerRegistry() {
+        return new InMemorySessionOwnerRegistry(100, java.time.Duration.ofMinutes(30));
+    }
+
     // SessionTouchAspect dependencies
     @Bean
     JedisPooled jedisPooled() {
         return Mockito.mock(JedisPooled.class);
     }
 
+    @Bean
+    CartRepository cartRepository() {
+        return Mockito.mock(CartRepository.class);
+    }
+
     @Bean
     CartIdleProperties cartIdleProperties() {
         CartIdleProperties properties = new CartIdleProperties();
@@ -3,6 +3,11 @@ package org.example.rediscartservice.web.product;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.rediscartservice.application.product.ProductService;
 import org.example.rediscartservice.domain.model.product.Product;
+import org.example.rediscartservice.domain.model.product.ProductField;
+import org.example.rediscartservice.domain.model.product.ProductPatch;
+import org.example.rediscartservice.domain.model.product.ProductSearchHit;
+import org.example.rediscartservice.domain.model.product.SearchMode;
+import org.example.rediscartservice.web.RestExceptionHandler;
 import org.example.rediscartservice.web.product.dto.ProductDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +20,16 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -40,6 +50,7 @@ class ProductControllerTest {
         // Build standalone MockMvc with JSON converter + Bean Validation
         mvc = MockMvcBuilders
                 .standaloneSetup(new ProductController(productService))
+                .setControllerAdvice(new RestExceptionHandler(), new ProductProjectionAdvice())
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .setValidator(new LocalValidatorFactoryBean())
                 .build();
@@ -127,6 +138,41 @@ class ProductControllerTest {
         ));
     }
 
+    // ---------- PATCH ----------
+
+    @Test
+    void patch_returns_204_and_passes_only_given_fields() throws Exception {
+        String id = UUID.randomUUID().toString();
+
+        mvc.perform(patch("/api/products/{id}", id)
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"price\": 12.50}"))
+                .andExpect(status().isNoContent());
+
+        verify(productService).patch(eq(id), argThat((ProductPatch p) ->
+                p.getPrice().compareTo(new BigDecimal("12.50")) == 0 && p.getName() == null && p.getDescription() == null));
+    }
+
+    @Test
+    void patch_returns_400_on_validation_error() throws Exception {
+        mvc.perform(patch("/api/products/{id}", "x")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"name\": \"  \", \"price\": 1.999}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void patch_without_any_field_returns_400() throws Exception {
+        mvc.perform(patch("/api/products/{id}", "x")
+                        .contentType(APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
     // ---------- GET ----------
 
     @Test
@@ -144,25 +190,90 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.name").value("Name"));
     }
 
+    @Test
+    void getBySku_returns_200_with_body() throws Exception {
+        var prod = Product.builder()
+                .id(UUID.randomUUID().toString()).sku("ERP-42").name("Name").price(new BigDecimal("9.99")).build();
+        when(productService.getBySku("ERP-42")).thenReturn(prod);
+
+        mvc.perform(get("/api/products/sku/{sku}", "ERP-42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(prod.getId()))
+                .andExpect(jsonPath("$.sku").value("ERP-42"));
+    }
+
+    @Test
+    void getAllBySkus_returns_list() throws Exception {
+        var prod = Product.builder()
+                .id(UUID.randomUUID().toString()).sku("ERP-1").name("Name").price(new BigDecimal("9.99")).build();
+        when(productService.getAllBySkus(List.of("ERP-1", "ERP-2"))).thenReturn(List.of(prod));
+
+        mvc.perform(get("/api/products/sku").param("skus", "ERP-1,ERP-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].sku").value("ERP-1"));
+    }
+
+    @Test
+    void ids_param_routes_to_batch_lookup_instead_of_listing() throws Exception {
+        var a = Product.builder().id("a").sku("SKU-a").name("A").price(new BigDecimal("1.00")).build();
+        var b = Product.builder().id("b").sku("SKU-b").name("B").price(new BigDecimal("2.00")).build();
+        when(productService.getAll(List.of("b", "a"))).thenReturn(List.of(b, a));
+
+        mvc.perform(get("/api/products").param("ids", "b,a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("b"))
+                .andExpect(jsonPath("$[1].id").value("a"));
+
+        verify(productService, never()).listAll(anyInt(), anyInt(), any());
+    }
+
     // ---------- SEARCH ----------
 
     @Test
     void searchByName_returns_list() throws Exception {
         var p1 = Product.builder().id(UUID.randomUUID().toString()).sku("S1").name("Mug").price(new BigDecimal("10.00")).build();
         var p2 = Product.builder().id(UUID.randomUUID().toString()).sku("S2").name("Bottle").price(new BigDecimal("12.00")).build();
-        when(productService.searchByName("Mug")).thenReturn(List.of(p1, p2));
+        when(productService.searchByName("Mug", SearchMode.EXACT, 1, Set.of()))
+                .thenReturn(List.of(new ProductSearchHit(p1, 2.0), new ProductSearchHit(p2, 1.0)));
 
         mvc.perform(get("/api/products/search/name").param("q", "Mug"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value(p1.getId()))
+                .andExpect(jsonPath("$[0].score").value(2.0))
                 .andExpect(jsonPath("$[1].id").value(p2.getId()));
     }
 
+    @Test
+    void searchByName_passes_mode_and_distance() throws Exception {
+        var p = Product.builder().id(UUID.randomUUID().toString()).sku("S4").name("Hoodie").price(new BigDecimal("30.00")).build();
+        when(productService.searchByName("hoodei", SearchMode.FUZZY, 2, Set.of())).thenReturn(List.of(new ProductSearchHit(p, 0.5)));
+
+        mvc.perform(get("/api/products/search/name")
+                        .param("q", "hoodei")
+                        .param("mode", "FUZZY")
+                        .param("distance", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Hoodie"))
+                .andExpect(jsonPath("$[0].score").value(0.5));
+    }
+
+    @Test
+    void get_omits_score() throws Exception {
+        String id = UUID.randomUUID().toString();
+        when(productService.get(id)).thenReturn(
+                Product.builder().id(id).sku("S5").name("Cap").price(new BigDecimal("5.00")).build());
+
+        mvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").doesNotExist());
+    }
+
     @Test
     void searchByDescription_returns_list() throws Exception {
         var p = Product.builder().id(UUID.randomUUID().toString()).sku("S3").name("Cap").price(new BigDecimal("7.00")).build();
-        when(productService.searchByDescription("cotton")).thenReturn(List.of(p));
+        when(productService.searchByDescription("cotton", SearchMode.EXACT, 1, Set.of())).thenReturn(List.of(new ProductSearchHit(p, 1.0)));
 
         mvc.perform(get("/api/products/search/description").param("q", "cotton"))
                 .andExpect(status().isOk())
@@ -170,6 +281,57 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].id").value(p.getId()));
     }
 
+    // ---------- PROJECTION ----------
+
+    @Test
+    void listAll_with_fields_serializes_only_projected_attributes() throws Exception {
+        var p = Product.builder().id("p-1").name("Mug").price(new BigDecimal("10.00")).build();
+        when(productService.listAll(0, 100, EnumSet.of(ProductField.ID, ProductField.NAME, ProductField.PRICE)))
+                .thenReturn(List.of(p));
+
+        mvc.perform(get("/api/products").param("size", "100").param("fields", "id,name,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("p-1"))
+                .andExpect(jsonPath("$[0].name").value("Mug"))
+                .andExpect(jsonPath("$[0].price").value(10.00))
+                .andExpect(content().string(not(containsString("description"))))
+                .andExpect(content().string(not(containsString("sku"))))
+                .andExpect(content().string(not(containsString("score"))));
+    }
+
+    @Test
+    void listAll_without_fields_serializes_every_attribute_but_score() throws Exception {
+        var p = Product.builder().id("p-1").sku("SKU-1").name("Mug").price(new BigDecimal("10.00")).build();
+        when(productService.listAll(0, 50, Set.of())).thenReturn(List.of(p));
+
+        mvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"description\":null")))
+                .andExpect(content().string(not(containsString("score"))));
+    }
+
+    @Test
+    void get_ignores_fields_and_serializes_the_whole_product() throws Exception {
+        var p = Product.builder().id("p-1").sku("SKU-1").name("Mug").price(new BigDecimal("10.00")).build();
+        when(productService.get("p-1")).thenReturn(p);
+
+        mvc.perform(get("/api/products/{id}", "p-1").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("p-1"))
+                .andExpect(jsonPath("$.sku").value("SKU-1"))
+                .andExpect(jsonPath("$.name").value("Mug"))
+                .andExpect(content().string(containsString("\"description\":null")));
+    }
+
+    @Test
+    void search_with_unknown_field_returns_400() throws Exception {
+        mvc.perform(get("/api/products/search/name").param("q", "mug").param("fields", "id,colour"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown product field: colour"));
+
+        verifyNoInteractions(productService);
+    }
+
     // ---------- DELETE ----------
 
     @Test
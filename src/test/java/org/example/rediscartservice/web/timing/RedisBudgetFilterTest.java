@@ -0,0 +1,106 @@
+package org.example.rediscartservice.web.timing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.rediscartservice.config.RedisBudgetProperties;
+import org.example.rediscartservice.infrastructure.redis.metrics.RedisRequestStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisBudgetFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RedisBudgetProperties props;
+    private RedisBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new RedisBudgetProperties();
+        props.setEnabled(true);
+        props.setRoundTrips(5);
+        filter = new RedisBudgetFilter(props, registry);
+    }
+
+    @Test
+    void counts_commands_and_round_trips_per_endpoint() throws Exception {
+        MockHttpServletRequest request = handledBy("getCart");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            redisCalls(3, 2);
+            res.getWriter().write("[]");
+            res.flushBuffer();
+        });
+
+        assertThat(response.getHeader("Server-Timing")).startsWith("redis;dur=").endsWith(";desc=\"3 cmd, 2 rt\"");
+        String endpoint = "RedisBudgetFilterTest.getCart";
+        assertThat(registry.get("http.server.redis.commands").tag("endpoint", endpoint).summary().totalAmount())
+                .isEqualTo(3.0);
+        assertThat(registry.get("http.server.redis.roundtrips").tag("endpoint", endpoint).summary().totalAmount())
+                .isEqualTo(2.0);
+        assertThat(registry.get("http.server.redis.budget.exceeded").tag("endpoint", endpoint).counter().count())
+                .isZero();
+    }
+
+    @Test
+    void header_is_set_when_nothing_commits_the_response() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(handledBy("getCart"), response, (req, res) -> redisCalls(1, 1));
+
+        assertThat(response.getHeader("Server-Timing")).contains("1 cmd, 1 rt");
+    }
+
+    @Test
+    void over_budget_requests_are_counted() throws Exception {
+        props.setEndpoints(Map.of("RedisBudgetFilterTest.getCart", 2));
+
+        filter.doFilter(handledBy("getCart"), new MockHttpServletResponse(), (req, res) -> redisCalls(3, 3));
+
+        assertThat(registry.get("http.server.redis.budget.exceeded")
+                .tag("endpoint", "RedisBudgetFilterTest.getCart").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void requests_without_a_controller_method_are_not_reported() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/favicon.ico"), new MockHttpServletResponse(),
+                (req, res) -> redisCalls(1, 1));
+
+        assertThat(registry.find("http.server.redis.commands").summary()).isNull();
+    }
+
+    @Test
+    void commands_outside_a_request_are_ignored() {
+        RedisRequestStats.recordCommand(1_000);
+        RedisRequestStats stats = RedisRequestStats.begin();
+        RedisRequestStats.end();
+
+        assertThat(stats.commands()).isZero();
+    }
+
+    // ---------- helpers ----------
+
+    private MockHttpServletRequest handledBy(String method) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, getClass().getDeclaredMethod(method)));
+        return request;
+    }
+
+    private static void redisCalls(int commands, int roundTrips) {
+        for (int i = 0; i < commands; i++) RedisRequestStats.recordCommand(1_000_000);
+        for (int i = 0; i < roundTrips; i++) RedisRequestStats.recordRoundTrip();
+    }
+
+    @SuppressWarnings("unused")
+    private void getCart() {
+    }
+}